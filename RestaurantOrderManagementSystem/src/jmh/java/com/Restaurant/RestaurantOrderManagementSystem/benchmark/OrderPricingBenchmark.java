@@ -0,0 +1,98 @@
+package com.Restaurant.RestaurantOrderManagementSystem.benchmark;
+
+import com.Restaurant.RestaurantOrderManagementSystem.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the pricing loop of createOrder across money representations.
+ * <p>
+ * {@code doublePricing} is the loop as it was before amounts moved to minor units,
+ * {@code bigDecimalPricing} is the usual exact alternative, and {@code longPricing}
+ * is the current {@link Money} path. Run with
+ * {@code mvn -Pbenchmark test-compile exec:exec} and pass {@code -Djmh.args=...}
+ * to forward options to JMH. Add {@code -prof gc} to compare allocation rates.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderPricingBenchmark {
+
+    private static final double TAX_RATE = 0.18;
+    private static final BigDecimal BIG_TAX_RATE = new BigDecimal("0.18");
+
+    @Param({"3", "20"})
+    private int lines;
+
+    private long[] minorPrices;
+    private double[] majorPrices;
+    private BigDecimal[] bigPrices;
+    private int[] quantities;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        minorPrices = new long[lines];
+        majorPrices = new double[lines];
+        bigPrices = new BigDecimal[lines];
+        quantities = new int[lines];
+
+        for (int i = 0; i < lines; i++) {
+            minorPrices[i] = random.nextLong(5_000, 90_000);
+            majorPrices[i] = minorPrices[i] / 100.0;
+            bigPrices[i] = BigDecimal.valueOf(minorPrices[i], 2);
+            quantities[i] = random.nextInt(1, 5);
+        }
+    }
+
+    @Benchmark
+    public double doublePricing() {
+        double subtotal = 0;
+        for (int i = 0; i < lines; i++) {
+            subtotal += majorPrices[i] * quantities[i];
+        }
+        return subtotal + subtotal * TAX_RATE;
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalPricing() {
+        BigDecimal subtotal = BigDecimal.ZERO;
+        BigDecimal tax = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            BigDecimal lineTotal = bigPrices[i].multiply(BigDecimal.valueOf(quantities[i]));
+            subtotal = subtotal.add(lineTotal);
+            tax = tax.add(lineTotal.multiply(BIG_TAX_RATE).setScale(2, RoundingMode.HALF_UP));
+        }
+        return subtotal.add(tax);
+    }
+
+    @Benchmark
+    public long longPricing() {
+        long subtotal = 0;
+        long tax = 0;
+        for (int i = 0; i < lines; i++) {
+            long lineTotal = Money.times(minorPrices[i], quantities[i]);
+            subtotal = Money.plus(subtotal, lineTotal);
+            tax = Money.plus(tax, Money.tax(lineTotal));
+        }
+        return Money.plus(subtotal, tax);
+    }
+}
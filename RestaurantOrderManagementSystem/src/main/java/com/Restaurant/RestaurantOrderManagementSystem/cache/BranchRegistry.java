@@ -0,0 +1,215 @@
+package com.Restaurant.RestaurantOrderManagementSystem.cache;
+
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Branch;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.BranchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * In-memory registry of all branches, used on the order and menu validation paths.
+ * <p>
+ * The whole branch table is loaded at startup and kept up to date write-through by
+ * {@link com.Restaurant.RestaurantOrderManagementSystem.service.impl.BranchServiceImpl}.
+ * Every change is broadcast on the invalidation bus so the other instances reload the
+ * affected branches; a periodic full reload bounds the damage of a lost message.
+ * A lookup of an unknown branch falls back to the database once, so a branch created
+ * on another instance is found even before its invalidation arrives.
+ * </p>
+ */
+@Component
+public class BranchRegistry {
+
+    /** Name under which branch changes are broadcast. */
+    public static final String CACHE = "branch-registry";
+
+    private static final Logger log = LoggerFactory.getLogger(BranchRegistry.class);
+
+    private final BranchRepository branchRepo;
+    private final CacheInvalidationBus bus;
+
+    // Replaced as a whole on every change; the branch table is small and rarely written
+    private volatile Map<Long, BranchInfo> branches = Map.of();
+
+    /**
+     * Constructor for BranchRegistry; loads every branch.
+     *
+     * @param branchRepo Repository for Branch entities
+     * @param bus        bus shared with the other instances, absent when running on its own
+     * @param remote     shared cache tier, whose recovery from an outage triggers a full reload
+     */
+    @Autowired
+    public BranchRegistry(BranchRepository branchRepo, ObjectProvider<CacheInvalidationBus> bus,
+                          ObjectProvider<RemoteCacheTier> remote) {
+        this(branchRepo, bus.getIfAvailable(() -> CacheInvalidationBus.NONE));
+        remote.ifAvailable(tier -> tier.onReconnect(this::refresh));
+    }
+
+    /**
+     * Constructor for BranchRegistry over a given bus; loads every branch.
+     *
+     * @param branchRepo Repository for Branch entities
+     * @param bus        bus shared with the other instances
+     */
+    public BranchRegistry(BranchRepository branchRepo, CacheInvalidationBus bus) {
+        this.branchRepo = branchRepo;
+        this.bus = bus;
+        bus.subscribe(this::onInvalidation);
+        refresh();
+    }
+
+    /**
+     * Looks up a branch.
+     *
+     * @param id ID of the branch
+     * @return the branch, or empty if it does not exist
+     */
+    public Optional<BranchInfo> find(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        BranchInfo info = branches.get(id);
+        if (info != null) {
+            return Optional.of(info);
+        }
+        // Unknown here, but it may have just been created elsewhere
+        return branchRepo.findById(id).map(this::store);
+    }
+
+    /**
+     * Looks up several branches at once.
+     *
+     * @param ids IDs of the branches
+     * @return map of branch ID to branch; IDs that do not exist are absent
+     */
+    public Map<Long, BranchInfo> findAll(Collection<Long> ids) {
+        Map<Long, BranchInfo> snapshot = branches;
+        Map<Long, BranchInfo> found = new HashMap<>(ids.size() * 2);
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            if (id == null) {
+                continue;
+            }
+            BranchInfo info = snapshot.get(id);
+            if (info != null) {
+                found.put(id, info);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Branch branch : branchRepo.findAllById(missing)) {
+                found.put(branch.getId(), store(branch));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Records a saved branch and tells the other instances to reload it.
+     *
+     * @param branch the branch as it was saved
+     */
+    public void put(Branch branch) {
+        store(branch);
+        bus.publish(new CacheInvalidation(CACHE, List.of(String.valueOf(branch.getId()))));
+    }
+
+    /**
+     * Forgets a deleted branch and tells the other instances to do the same.
+     *
+     * @param id ID of the deleted branch
+     */
+    public void remove(Long id) {
+        synchronized (this) {
+            Map<Long, BranchInfo> updated = new HashMap<>(branches);
+            updated.remove(id);
+            branches = Map.copyOf(updated);
+        }
+        bus.publish(new CacheInvalidation(CACHE, List.of(String.valueOf(id))));
+    }
+
+    /**
+     * Reloads every branch from the database.
+     */
+    @Scheduled(fixedDelayString = "${branches.registry.refresh-interval:PT5M}",
+            initialDelayString = "${branches.registry.refresh-interval:PT5M}")
+    public void refresh() {
+        Map<Long, BranchInfo> loaded = new HashMap<>();
+        for (Branch branch : branchRepo.findAll()) {
+            loaded.put(branch.getId(), BranchInfo.of(branch));
+        }
+        synchronized (this) {
+            branches = Map.copyOf(loaded);
+        }
+        log.debug("Branch registry loaded with {} branches", loaded.size());
+    }
+
+    private BranchInfo store(Branch branch) {
+        BranchInfo info = BranchInfo.of(branch);
+        synchronized (this) {
+            Map<Long, BranchInfo> updated = new HashMap<>(branches);
+            updated.put(info.id(), info);
+            branches = Map.copyOf(updated);
+        }
+        return info;
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (!CACHE.equals(invalidation.cache())) {
+            return;
+        }
+        if (invalidation.keys() == null) {
+            refresh();
+            return;
+        }
+        Set<Long> ids = new HashSet<>();
+        invalidation.keys().forEach(key -> ids.add(Long.valueOf(key)));
+
+        Map<Long, BranchInfo> reloaded = new HashMap<>();
+        for (Branch branch : branchRepo.findAllById(ids)) {
+            reloaded.put(branch.getId(), BranchInfo.of(branch));
+        }
+        synchronized (this) {
+            Map<Long, BranchInfo> updated = new HashMap<>(branches);
+            ids.forEach(updated::remove);
+            updated.putAll(reloaded);
+            branches = Map.copyOf(updated);
+        }
+        log.debug("Reloaded {} branches changed on another instance", ids.size());
+    }
+
+    /**
+     * Immutable view of a branch.
+     *
+     * @param id       branch ID
+     * @param name     branch name
+     * @param location branch location
+     * @param active   whether the branch currently accepts orders
+     */
+    public record BranchInfo(Long id, String name, String location, boolean active) {
+
+        static BranchInfo of(Branch branch) {
+            return new BranchInfo(branch.getId(), branch.getName(), branch.getLocation(), branch.isActive());
+        }
+
+        /**
+         * @return a detached Branch with these fields, usable as an association without loading it
+         */
+        public Branch toBranch() {
+            return new Branch(id, name, location, active);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.Restaurant.RestaurantOrderManagementSystem.cache;
+
+import java.util.List;
+
+/**
+ * Invalidation broadcast to the other application instances.
+ *
+ * @param cache name of the cache whose entries changed
+ * @param keys  keys of the changed entries, or null if the whole cache was cleared
+ */
+public record CacheInvalidation(String cache, List<String> keys) {
+}
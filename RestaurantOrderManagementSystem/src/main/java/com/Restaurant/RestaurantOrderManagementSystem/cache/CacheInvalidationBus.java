@@ -0,0 +1,27 @@
+package com.Restaurant.RestaurantOrderManagementSystem.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts cache invalidations between application instances.
+ * Instances never receive the invalidations they published themselves.
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Bus of a single instance, where there is nobody to tell.
+     */
+    CacheInvalidationBus NONE = new CacheInvalidationBus() {
+        @Override
+        public void publish(CacheInvalidation invalidation) {
+        }
+
+        @Override
+        public void subscribe(Consumer<CacheInvalidation> listener) {
+        }
+    };
+
+    void publish(CacheInvalidation invalidation);
+
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
@@ -0,0 +1,366 @@
+package com.Restaurant.RestaurantOrderManagementSystem.cache;
+
+import com.Restaurant.RestaurantOrderManagementSystem.entities.ComboMeal;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
+import com.Restaurant.RestaurantOrderManagementSystem.event.ComboChangedEvent;
+import com.Restaurant.RestaurantOrderManagementSystem.event.MenuChangedEvent;
+import com.Restaurant.RestaurantOrderManagementSystem.money.Money;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.ComboMealRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the combo meals of each branch, used to list, order and detect combos.
+ * <p>
+ * A branch's combos are loaded with their items in a single query the first time they are
+ * needed and kept as immutable {@link Combo} views with their prices worked out. A branch is
+ * dropped, and reloaded on next use, when one of its combos is created or when a menu item
+ * used by one of its combos changes; other instances are told over the invalidation bus.
+ * </p>
+ */
+@Component
+public class ComboIndex {
+
+    /** Name under which combo changes are broadcast. */
+    public static final String CACHE = "combo-index";
+
+    // Candidate combos searched exhaustively by bestCombos; any beyond are applied greedily
+    private static final int EXACT_SEARCH_LIMIT = 12;
+
+    // Combinations tried by one search before it settles for the best found so far
+    private static final int SEARCH_BUDGET = 20_000;
+
+    private static final Logger log = LoggerFactory.getLogger(ComboIndex.class);
+
+    private final ComboMealRepository comboRepo;
+    private final CacheInvalidationBus bus;
+
+    // branchId -> immutable combo snapshot
+    private final Map<Long, BranchCombos> branches = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for ComboIndex.
+     *
+     * @param comboRepo Repository used to load a branch's combos on first use
+     * @param bus       bus shared with the other instances, absent when running on its own
+     */
+    @Autowired
+    public ComboIndex(ComboMealRepository comboRepo, ObjectProvider<CacheInvalidationBus> bus) {
+        this(comboRepo, bus.getIfAvailable(() -> CacheInvalidationBus.NONE));
+    }
+
+    /**
+     * Constructor for ComboIndex over a given bus.
+     *
+     * @param comboRepo Repository used to load a branch's combos on first use
+     * @param bus       bus shared with the other instances
+     */
+    public ComboIndex(ComboMealRepository comboRepo, CacheInvalidationBus bus) {
+        this.comboRepo = comboRepo;
+        this.bus = bus;
+        bus.subscribe(this::onInvalidation);
+    }
+
+    /**
+     * @param branchId ID of the branch
+     * @return every combo of the branch, including those with unavailable items
+     */
+    public List<Combo> findAll(Long branchId) {
+        return List.copyOf(combos(branchId).byId.values());
+    }
+
+    /**
+     * @param branchId ID of the branch
+     * @param comboId  ID of the combo
+     * @return the combo, or empty if the branch has no such combo
+     */
+    public Optional<Combo> find(Long branchId, Long comboId) {
+        return Optional.ofNullable(combos(branchId).byId.get(comboId));
+    }
+
+    /**
+     * Finds the combination of combos that saves the most on a basket of loose items.
+     * <p>
+     * Only available combos whose items are all in the basket are considered. Up to
+     * {@value #EXACT_SEARCH_LIMIT} candidates are searched exhaustively, within a budget
+     * of {@value #SEARCH_BUDGET} combinations; beyond that the remaining ones are applied
+     * greedily, largest saving first. The search tries the greedy combination first, so
+     * running out of budget never does worse than greedy.
+     * </p>
+     *
+     * @param branchId ID of the branch
+     * @param basket   map of menu item IDs to quantities
+     * @return the combos to apply and how many times, largest saving first; empty if none apply
+     */
+    public List<ComboMatch> bestCombos(Long branchId, Map<Long, Integer> basket) {
+        if (basket == null || basket.isEmpty()) {
+            return List.of();
+        }
+        BranchCombos snapshot = combos(branchId);
+
+        // Only combos sharing an item with the basket can possibly fit
+        Set<Long> seen = new HashSet<>();
+        List<Combo> candidates = new ArrayList<>();
+        for (Long itemId : basket.keySet()) {
+            for (Combo combo : snapshot.byItem.getOrDefault(itemId, List.of())) {
+                if (combo.available() && combo.savings() > 0 && seen.add(combo.id()) && fits(combo, basket, 1)) {
+                    candidates.add(combo);
+                }
+            }
+        }
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        candidates.sort(Comparator.comparingLong(Combo::savings).reversed().thenComparing(Combo::id));
+
+        Map<Long, Integer> remaining = new HashMap<>(basket);
+        int exact = Math.min(candidates.size(), EXACT_SEARCH_LIMIT);
+        int[] times = new int[candidates.size()];
+        new Search(candidates, exact, remaining).run(times);
+
+        // Take the best exact combination out of the basket, then fill greedily
+        for (int i = 0; i < exact; i++) {
+            apply(candidates.get(i), remaining, -times[i]);
+        }
+        for (int i = exact; i < candidates.size(); i++) {
+            times[i] = maxTimes(candidates.get(i), remaining);
+            apply(candidates.get(i), remaining, -times[i]);
+        }
+
+        List<ComboMatch> matches = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (times[i] > 0) {
+                Combo combo = candidates.get(i);
+                matches.add(new ComboMatch(combo.id(), times[i], Money.times(combo.savings(), times[i])));
+            }
+        }
+        return matches;
+    }
+
+    private static boolean fits(Combo combo, Map<Long, Integer> basket, int times) {
+        for (ComboItem item : combo.items()) {
+            if (basket.getOrDefault(item.menuItemId(), 0) < item.quantity() * times) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int maxTimes(Combo combo, Map<Long, Integer> remaining) {
+        int max = Integer.MAX_VALUE;
+        for (ComboItem item : combo.items()) {
+            max = Math.min(max, remaining.getOrDefault(item.menuItemId(), 0) / item.quantity());
+        }
+        return max;
+    }
+
+    private static void apply(Combo combo, Map<Long, Integer> remaining, int delta) {
+        for (ComboItem item : combo.items()) {
+            remaining.merge(item.menuItemId(), delta * item.quantity(), Integer::sum);
+        }
+    }
+
+    /**
+     * Drops the combos of a branch so they are reloaded on next use.
+     *
+     * @param branchId ID of the branch
+     */
+    public void evictBranch(Long branchId) {
+        branches.remove(branchId);
+    }
+
+    /**
+     * Reloads a branch once a change to its combos is committed and tells the other instances.
+     *
+     * @param event event naming the branch whose combos changed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComboChanged(ComboChangedEvent event) {
+        evictBranch(event.branchId());
+        bus.publish(new CacheInvalidation(CACHE, List.of(String.valueOf(event.branchId()))));
+    }
+
+    /**
+     * Drops every branch with a combo using one of the changed menu items.
+     * Changes made on other instances are replayed here by {@link MenuCacheSync}.
+     *
+     * @param event event carrying the saved menu items
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        Set<Long> changed = new HashSet<>();
+        for (MenuItem item : event.items()) {
+            if (item.getId() != null) {
+                changed.add(item.getId());
+            }
+        }
+        branches.entrySet().removeIf(entry -> entry.getValue().byItem.keySet().stream().anyMatch(changed::contains));
+    }
+
+    private BranchCombos combos(Long branchId) {
+        BranchCombos snapshot = branches.get(branchId);
+        return snapshot != null ? snapshot : branches.computeIfAbsent(branchId, this::load);
+    }
+
+    private BranchCombos load(Long branchId) {
+        Map<Long, Combo> byId = new LinkedHashMap<>();
+        Map<Long, List<Combo>> byItem = new HashMap<>();
+        for (ComboMeal meal : comboRepo.findByBranchIdWithItems(branchId)) {
+            Combo combo = Combo.of(meal);
+            byId.put(combo.id(), combo);
+            for (ComboItem item : combo.items()) {
+                byItem.computeIfAbsent(item.menuItemId(), id -> new ArrayList<>()).add(combo);
+            }
+        }
+        byItem.replaceAll((id, combos) -> List.copyOf(combos));
+        log.info("Loaded combo index for branch {} with {} combos", branchId, byId.size());
+        return new BranchCombos(byId, byItem);
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (!CACHE.equals(invalidation.cache())) {
+            return;
+        }
+        if (invalidation.keys() == null) {
+            branches.clear();
+            return;
+        }
+        invalidation.keys().forEach(key -> evictBranch(Long.valueOf(key)));
+    }
+
+    /**
+     * Depth-first search over how many times to apply each candidate, most times first.
+     */
+    private static final class Search {
+
+        private final List<Combo> candidates;
+        private final int depth;
+        private final Map<Long, Integer> remaining;
+        private final int[] current;
+        private int[] best;
+        private long bestSavings = -1;
+        private int budget = SEARCH_BUDGET;
+
+        Search(List<Combo> candidates, int depth, Map<Long, Integer> remaining) {
+            this.candidates = candidates;
+            this.depth = depth;
+            this.remaining = remaining;
+            this.current = new int[depth];
+        }
+
+        void run(int[] times) {
+            best = times;
+            visit(0, 0);
+        }
+
+        private void visit(int index, long savings) {
+            if (index == depth) {
+                budget--;
+                if (savings > bestSavings) {
+                    bestSavings = savings;
+                    System.arraycopy(current, 0, best, 0, depth);
+                }
+                return;
+            }
+            Combo combo = candidates.get(index);
+            for (int k = maxTimes(combo, remaining); k >= 0 && budget > 0; k--) {
+                apply(combo, remaining, -k);
+                current[index] = k;
+                visit(index + 1, savings + combo.savings() * k);
+                apply(combo, remaining, k);
+            }
+            current[index] = 0;
+        }
+    }
+
+    /**
+     * Combos of one branch, by ID and by the menu items they contain.
+     */
+    private record BranchCombos(Map<Long, Combo> byId, Map<Long, List<Combo>> byItem) {
+    }
+
+    /**
+     * Immutable view of a combo meal.
+     *
+     * @param id                  combo ID
+     * @param name                combo name
+     * @param discountBasisPoints discount on the list price, in basis points
+     * @param items               distinct menu items of the combo with their quantities
+     * @param listPrice           combined price of the items, in minor units
+     * @param price               price of the combo after the discount, in minor units
+     * @param available           whether every item of the combo can currently be ordered
+     */
+    public record Combo(Long id, String name, int discountBasisPoints, List<ComboItem> items,
+                        long listPrice, long price, boolean available) {
+
+        /**
+         * @return amount saved by ordering the combo once instead of its items
+         */
+        public long savings() {
+            return listPrice - price;
+        }
+
+        public static Combo of(ComboMeal meal) {
+            int discount = (int) Math.round(meal.getDiscountPercentage() * Money.FULL_BASIS_POINTS / 100);
+
+            // A combo may list the same item more than once
+            Map<Long, MenuItem> menuItems = new LinkedHashMap<>();
+            Map<Long, Integer> quantities = new HashMap<>();
+            for (MenuItem item : meal.getItems()) {
+                menuItems.putIfAbsent(item.getId(), item);
+                quantities.merge(item.getId(), 1, Integer::sum);
+            }
+
+            List<ComboItem> items = new ArrayList<>(menuItems.size());
+            long listPrice = 0;
+            long price = 0;
+            boolean available = !menuItems.isEmpty();
+            for (MenuItem item : menuItems.values()) {
+                int quantity = quantities.get(item.getId());
+                long gross = Money.times(item.getPrice(), quantity);
+                items.add(new ComboItem(item.getId(), item.getName(), quantity, item.getPrice()));
+                listPrice = Money.plus(listPrice, gross);
+                // Discount per item, exactly as the order lines are priced
+                price = Money.plus(price, gross - Money.percentOf(gross, discount));
+                available &= item.isAvailable();
+            }
+            return new Combo(meal.getId(), meal.getName(), discount, List.copyOf(items), listPrice, price, available);
+        }
+    }
+
+    /**
+     * One menu item of a combo.
+     *
+     * @param menuItemId menu item ID
+     * @param name       menu item name
+     * @param quantity   units of the item in one combo
+     * @param unitPrice  current price of the item, in minor units
+     */
+    public record ComboItem(Long menuItemId, String name, int quantity, long unitPrice) {
+    }
+
+    /**
+     * A combo detected in a basket.
+     *
+     * @param comboId ID of the combo
+     * @param times   how many times the combo is applied
+     * @param savings total amount saved, in minor units
+     */
+    public record ComboMatch(Long comboId, int times, long savings) {
+    }
+}
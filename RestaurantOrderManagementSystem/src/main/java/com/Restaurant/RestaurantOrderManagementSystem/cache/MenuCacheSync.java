@@ -0,0 +1,95 @@
+package com.Restaurant.RestaurantOrderManagementSystem.cache;
+
+import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
+import com.Restaurant.RestaurantOrderManagementSystem.event.MenuChangedEvent;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.MenuItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the in-memory menu caches of all application instances in step.
+ * <p>
+ * The price book, facet index and search index each hold whole branch menus in memory and
+ * are refreshed by {@link MenuChangedEvent}, which only reaches the instance that saved the
+ * items. Once a change commits, the IDs of the saved items are broadcast on the invalidation
+ * bus; the other instances reload those items with one query and replay the event locally.
+ * </p>
+ */
+@Component
+public class MenuCacheSync {
+
+    /** Name under which menu item invalidations are broadcast. */
+    public static final String CACHE = "menu-items";
+
+    private static final Logger log = LoggerFactory.getLogger(MenuCacheSync.class);
+
+    private final CacheInvalidationBus bus;
+    private final MenuItemRepository menuRepo;
+    private final ApplicationEventPublisher events;
+
+    /**
+     * Constructor for MenuCacheSync.
+     *
+     * @param bus      bus shared with the other instances, absent when running on its own
+     * @param menuRepo Repository used to reload changed menu items
+     * @param events   Publisher used to replay changes to the local caches
+     */
+    @Autowired
+    public MenuCacheSync(ObjectProvider<CacheInvalidationBus> bus, MenuItemRepository menuRepo,
+                         ApplicationEventPublisher events) {
+        this(bus.getIfAvailable(() -> CacheInvalidationBus.NONE), menuRepo, events);
+    }
+
+    /**
+     * Constructor for MenuCacheSync over a given bus.
+     *
+     * @param bus      bus shared with the other instances
+     * @param menuRepo Repository used to reload changed menu items
+     * @param events   Publisher used to replay changes to the local caches
+     */
+    public MenuCacheSync(CacheInvalidationBus bus, MenuItemRepository menuRepo, ApplicationEventPublisher events) {
+        this.bus = bus;
+        this.menuRepo = menuRepo;
+        this.events = events;
+        bus.subscribe(this::onInvalidation);
+    }
+
+    /**
+     * Broadcasts menu items saved on this instance once their changes are committed.
+     *
+     * @param event event carrying the saved menu items
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        if (event.remote()) {
+            return;
+        }
+        List<String> ids = new ArrayList<>(event.items().size());
+        for (MenuItem item : event.items()) {
+            if (item.getId() != null) {
+                ids.add(String.valueOf(item.getId()));
+            }
+        }
+        if (!ids.isEmpty()) {
+            bus.publish(new CacheInvalidation(CACHE, ids));
+        }
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (!CACHE.equals(invalidation.cache()) || invalidation.keys() == null) {
+            return;
+        }
+        List<Long> ids = invalidation.keys().stream().map(Long::valueOf).toList();
+        List<MenuItem> items = menuRepo.findAllById(ids);
+        log.debug("Replaying {} menu items changed on another instance", items.size());
+        events.publishEvent(new MenuChangedEvent(items, true));
+    }
+}
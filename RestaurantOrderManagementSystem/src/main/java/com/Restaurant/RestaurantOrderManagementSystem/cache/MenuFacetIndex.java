@@ -0,0 +1,324 @@
+package com.Restaurant.RestaurantOrderManagementSystem.cache;
+
+import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.Category;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.DietType;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.MenuType;
+import com.Restaurant.RestaurantOrderManagementSystem.event.MenuChangedEvent;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.MenuItemRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory facet index used to browse and filter branch menus.
+ * <p>
+ * Each branch's menu is held in slots, with one {@link BitSet} per {@link MenuType},
+ * {@link DietType} and {@link Category} value plus one for availability. Any combination
+ * of filters is answered by AND-ing the matching bitsets, without touching the database.
+ * A branch is loaded with a single query the first time it is browsed; after that, menu
+ * changes are applied to a copy of its index which then replaces the old one, so readers
+ * always see a consistent snapshot and never block. The index holds copies of the items,
+ * and every query returns fresh detached ones.
+ * </p>
+ * <p>
+ * Only branches known to {@link BranchRegistry} are loaded; an unknown branch has an empty
+ * menu that is never stored. At most {@value #MAX_BRANCHES} branches are held at once; the
+ * least used are dropped and reloaded on demand. A load that overlaps a menu change is served but not kept,
+ * since the change may have been applied before the loaded snapshot was stored.
+ * </p>
+ */
+@Component
+public class MenuFacetIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuFacetIndex.class);
+
+    /** Branch indexes held at once. */
+    static final int MAX_BRANCHES = 1_000;
+
+    /** Menu version of a branch that does not exist; no loaded snapshot ever has it. */
+    public static final long UNKNOWN_BRANCH_VERSION = 0;
+
+    private final MenuItemRepository menuRepo;
+    private final BranchRegistry branchRegistry;
+
+    // branchId -> immutable facet snapshot
+    private final Map<Long, Facets> branches = Caffeine.newBuilder()
+            .maximumSize(MAX_BRANCHES)
+            .<Long, Facets>build()
+            .asMap();
+
+    // Bumped before every change or eviction, so a load can tell whether it overlapped one
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Constructor for MenuFacetIndex.
+     *
+     * @param menuRepo       Repository used to load a branch menu on first use
+     * @param branchRegistry Registry used to reject unknown branches before loading them
+     */
+    public MenuFacetIndex(MenuItemRepository menuRepo, BranchRegistry branchRegistry) {
+        this.menuRepo = menuRepo;
+        this.branchRegistry = branchRegistry;
+    }
+
+    /**
+     * Finds the available menu items of a branch matching every given facet.
+     *
+     * @param branchId ID of the branch
+     * @param type     menu type to match, or null for any
+     * @param dietType diet type to match, or null for any
+     * @param category category to match, or null for any
+     * @return matching available items, none if the branch does not exist
+     */
+    public List<MenuItem> find(Long branchId, MenuType type, DietType dietType, Category category) {
+        return select(branchId, type, dietType, category).items();
+    }
+
+    /**
+     * Same as {@link #find}, but also returns the version of the snapshot the items were read from.
+     *
+     * @param branchId ID of the branch
+     * @param type     menu type to match, or null for any
+     * @param dietType diet type to match, or null for any
+     * @param category category to match, or null for any
+     * @return matching available items and the menu version they belong to
+     */
+    public Selection select(Long branchId, MenuType type, DietType dietType, Category category) {
+        Facets facets = facets(branchId);
+
+        BitSet match = (BitSet) facets.available.clone();
+        if (type != null) {
+            match.and(facets.byType.get(type));
+        }
+        if (dietType != null) {
+            match.and(facets.byDiet.get(dietType));
+        }
+        if (category != null) {
+            match.and(facets.byCategory.get(category));
+        }
+
+        List<MenuItem> result = new ArrayList<>(match.cardinality());
+        for (int slot = match.nextSetBit(0); slot >= 0; slot = match.nextSetBit(slot + 1)) {
+            result.add(facets.slots[slot].toMenuItem());
+        }
+        return new Selection(facets.version, result);
+    }
+
+    /**
+     * Current menu version of a branch. The version changes whenever the branch menu does,
+     * and a version number is never reused by another snapshot while the application runs.
+     *
+     * @param branchId ID of the branch
+     * @return current menu version, {@link #UNKNOWN_BRANCH_VERSION} if the branch does not exist
+     */
+    public long version(Long branchId) {
+        return facets(branchId).version;
+    }
+
+    /**
+     * Drops the index of a branch so it is reloaded on next use.
+     *
+     * @param branchId ID of the branch
+     */
+    public void evictBranch(Long branchId) {
+        generation.incrementAndGet();
+        branches.remove(branchId);
+    }
+
+    /**
+     * Applies committed menu changes to the loaded branch indexes.
+     *
+     * @param event event carrying the saved menu items
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        Map<Long, List<MenuItem>> changesByBranch = new HashMap<>();
+        List<Long> ids = new ArrayList<>(event.items().size());
+        for (MenuItem item : event.items()) {
+            if (item.getId() == null) {
+                continue;
+            }
+            ids.add(item.getId());
+            if (item.getBranch() != null && item.getBranch().getId() != null) {
+                changesByBranch.computeIfAbsent(item.getBranch().getId(), b -> new ArrayList<>()).add(item);
+            }
+        }
+
+        generation.incrementAndGet();
+
+        // An item may have moved between branches, so every loaded branch drops the changed ids
+        for (Long branchId : branches.keySet()) {
+            List<MenuItem> upserts = changesByBranch.getOrDefault(branchId, List.of());
+            branches.computeIfPresent(branchId, (id, facets) -> facets.apply(ids, upserts));
+        }
+        log.debug("Menu facet index updated for {} menu items", ids.size());
+    }
+
+    private Facets facets(Long branchId) {
+        Facets facets = branches.get(branchId);
+        if (facets != null) {
+            return facets;
+        }
+
+        if (branchRegistry.find(branchId).isEmpty()) {
+            return Facets.EMPTY;
+        }
+
+        long stamp = generation.get();
+        List<MenuItem> items = menuRepo.findByBranchId(branchId);
+        // Forced so that even an empty menu gets a version of its own
+        Facets loaded = Facets.EMPTY.apply(List.of(), items, true);
+        log.info("Loaded menu facet index for branch {} with {} items", branchId, items.size());
+
+        // Stored only if no change started since the query; a change applied after this
+        // finds the branch loaded and updates it like any other
+        Facets current = branches.compute(branchId, (id, existing) ->
+                existing != null ? existing : generation.get() == stamp ? loaded : null);
+        return current != null ? current : loaded;
+    }
+
+    /**
+     * Items of a branch menu matching a query, with the menu version they were read from.
+     *
+     * @param version menu version of the branch snapshot
+     * @param items   matching available items
+     */
+    public record Selection(long version, List<MenuItem> items) {
+    }
+
+    /**
+     * Immutable facet snapshot of one branch menu. Changes produce a new snapshot with a new version.
+     */
+    private static final class Facets {
+
+        private static final AtomicLong VERSIONS = new AtomicLong();
+
+        static final Facets EMPTY = new Facets(UNKNOWN_BRANCH_VERSION, new MenuItemSnapshot[0], Map.of(), new BitSet(),
+                buckets(MenuType.class), buckets(DietType.class), buckets(Category.class));
+
+        final long version;
+        final MenuItemSnapshot[] slots;
+        final Map<Long, Integer> slotById;
+        final BitSet available;
+        final EnumMap<MenuType, BitSet> byType;
+        final EnumMap<DietType, BitSet> byDiet;
+        final EnumMap<Category, BitSet> byCategory;
+
+        private Facets(long version, MenuItemSnapshot[] slots, Map<Long, Integer> slotById, BitSet available,
+                       EnumMap<MenuType, BitSet> byType, EnumMap<DietType, BitSet> byDiet,
+                       EnumMap<Category, BitSet> byCategory) {
+            this.version = version;
+            this.slots = slots;
+            this.slotById = slotById;
+            this.available = available;
+            this.byType = byType;
+            this.byDiet = byDiet;
+            this.byCategory = byCategory;
+        }
+
+        /**
+         * Returns a copy with the given ids removed and the given items (re)inserted,
+         * or this snapshot if the change does not touch it.
+         */
+        Facets apply(Collection<Long> removedIds, Collection<MenuItem> upserts) {
+            return apply(removedIds, upserts, false);
+        }
+
+        Facets apply(Collection<Long> removedIds, Collection<MenuItem> upserts, boolean force) {
+            if (!force && upserts.isEmpty() && removedIds.stream().noneMatch(slotById::containsKey)) {
+                return this;
+            }
+
+            MenuItemSnapshot[] newSlots = Arrays.copyOf(slots, Math.max(slots.length, 8));
+            Map<Long, Integer> newSlotById = new HashMap<>(slotById);
+            BitSet newAvailable = (BitSet) available.clone();
+            EnumMap<MenuType, BitSet> newByType = copy(byType);
+            EnumMap<DietType, BitSet> newByDiet = copy(byDiet);
+            EnumMap<Category, BitSet> newByCategory = copy(byCategory);
+
+            BitSet free = new BitSet(newSlots.length);
+            for (int i = 0; i < newSlots.length; i++) {
+                if (newSlots[i] == null) {
+                    free.set(i);
+                }
+            }
+
+            for (Long id : removedIds) {
+                Integer slot = newSlotById.remove(id);
+                if (slot != null) {
+                    newSlots[slot] = null;
+                    clear(slot, newAvailable, newByType, newByDiet, newByCategory);
+                    free.set(slot);
+                }
+            }
+
+            for (MenuItem item : upserts) {
+                Integer slot = newSlotById.get(item.getId());
+                if (slot == null) {
+                    slot = free.nextSetBit(0);
+                    if (slot < 0) {
+                        slot = newSlots.length;
+                        newSlots = Arrays.copyOf(newSlots, newSlots.length * 2);
+                        free.set(slot + 1, newSlots.length);
+                    } else {
+                        free.clear(slot);
+                    }
+                    newSlotById.put(item.getId(), slot);
+                } else {
+                    clear(slot, newAvailable, newByType, newByDiet, newByCategory);
+                }
+
+                newSlots[slot] = MenuItemSnapshot.of(item);
+                if (item.isAvailable()) {
+                    newAvailable.set(slot);
+                }
+                if (item.getMenuType() != null) {
+                    newByType.get(item.getMenuType()).set(slot);
+                }
+                if (item.getDietType() != null) {
+                    newByDiet.get(item.getDietType()).set(slot);
+                }
+                if (item.getCategory() != null) {
+                    newByCategory.get(item.getCategory()).set(slot);
+                }
+            }
+
+            return new Facets(VERSIONS.incrementAndGet(), newSlots, newSlotById, newAvailable, newByType, newByDiet, newByCategory);
+        }
+
+        private static void clear(int slot, BitSet available, EnumMap<MenuType, BitSet> byType,
+                                  EnumMap<DietType, BitSet> byDiet, EnumMap<Category, BitSet> byCategory) {
+            available.clear(slot);
+            byType.values().forEach(bits -> bits.clear(slot));
+            byDiet.values().forEach(bits -> bits.clear(slot));
+            byCategory.values().forEach(bits -> bits.clear(slot));
+        }
+
+        private static <E extends Enum<E>> EnumMap<E, BitSet> buckets(Class<E> type) {
+            EnumMap<E, BitSet> buckets = new EnumMap<>(type);
+            for (E value : type.getEnumConstants()) {
+                buckets.put(value, new BitSet());
+            }
+            return buckets;
+        }
+
+        private static <E extends Enum<E>> EnumMap<E, BitSet> copy(EnumMap<E, BitSet> buckets) {
+            EnumMap<E, BitSet> copy = new EnumMap<>(buckets);
+            copy.replaceAll((value, bits) -> (BitSet) bits.clone());
+            return copy;
+        }
+    }
+}
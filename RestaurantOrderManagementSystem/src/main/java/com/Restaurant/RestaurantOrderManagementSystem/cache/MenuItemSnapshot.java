@@ -0,0 +1,29 @@
+package com.Restaurant.RestaurantOrderManagementSystem.cache;
+
+import com.Restaurant.RestaurantOrderManagementSystem.cache.BranchRegistry.BranchInfo;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.Category;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.DietType;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.MenuType;
+
+/**
+ * Immutable copy of a menu item held by the in-memory menu indexes, with no reference to
+ * the entity it was read from. Callers get a fresh detached {@link MenuItem} each time, so
+ * neither the caller's entities nor what is handed out can change the index.
+ */
+record MenuItemSnapshot(Long id, String name, String description, long price, int preparationTimeMinutes,
+                        Category category, DietType dietType, MenuType menuType, boolean available,
+                        BranchInfo branch, Long changeSeq) {
+
+    static MenuItemSnapshot of(MenuItem item) {
+        return new MenuItemSnapshot(item.getId(), item.getName(), item.getDescription(), item.getPrice(),
+                item.getPreparationTimeMinutes(), item.getCategory(), item.getDietType(), item.getMenuType(),
+                item.isAvailable(), item.getBranch() != null ? BranchInfo.of(item.getBranch()) : null,
+                item.getChangeSeq());
+    }
+
+    MenuItem toMenuItem() {
+        return new MenuItem(id, name, description, price, preparationTimeMinutes, category, dietType, menuType,
+                available, branch != null ? branch.toBranch() : null, changeSeq);
+    }
+}
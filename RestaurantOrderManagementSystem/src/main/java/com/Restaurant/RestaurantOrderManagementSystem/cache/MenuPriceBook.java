@@ -0,0 +1,159 @@
+package com.Restaurant.RestaurantOrderManagementSystem.cache;
+
+import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
+import com.Restaurant.RestaurantOrderManagementSystem.event.MenuChangedEvent;
+import com.Restaurant.RestaurantOrderManagementSystem.pricing.PricingPlan;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.MenuItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory price book used on the order path to resolve menu items.
+ * <p>
+ * Keeps a per-branch snapshot of menu item id to (name, price, availability, pricing slot),
+ * loaded with a single query the first time a branch is priced. Lookups that
+ * miss the snapshot are resolved with one batched {@code findAllById} call,
+ * so resolving a basket never costs more than two queries regardless of its size.
+ * The snapshot is refreshed after menu changes are committed.
+ * </p>
+ */
+@Component
+public class MenuPriceBook {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuPriceBook.class);
+
+    private final MenuItemRepository menuRepo;
+
+    // branchId -> (menuItemId -> price entry)
+    private final Map<Long, Map<Long, PriceEntry>> branches = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for MenuPriceBook.
+     *
+     * @param menuRepo Repository used to load menu items on a cache miss
+     */
+    public MenuPriceBook(MenuItemRepository menuRepo) {
+        this.menuRepo = menuRepo;
+    }
+
+    /**
+     * Resolves all requested menu items for a branch in one lookup.
+     *
+     * @param branchId ID of the branch the order is placed at
+     * @param ids      IDs of the requested menu items
+     * @return map of menu item ID to price entry; IDs that do not exist at the branch are absent
+     */
+    public Map<Long, PriceEntry> resolve(Long branchId, Collection<Long> ids) {
+        Map<Long, PriceEntry> snapshot = snapshot(branchId);
+        Map<Long, PriceEntry> resolved = new HashMap<>(ids.size() * 2);
+        List<Long> missing = null;
+
+        for (Long id : ids) {
+            PriceEntry entry = snapshot.get(id);
+            if (entry != null) {
+                resolved.put(id, entry);
+            } else {
+                if (missing == null) {
+                    missing = new ArrayList<>();
+                }
+                missing.add(id);
+            }
+        }
+
+        // Fall back to a single batched query for anything not in the snapshot
+        if (missing != null) {
+            log.debug("Price book miss for {} items at branch {}", missing.size(), branchId);
+            for (MenuItem item : menuRepo.findAllById(missing)) {
+                // Items of other branches cannot be ordered here
+                if (item.getBranch() == null || !branchId.equals(item.getBranch().getId())) {
+                    continue;
+                }
+                PriceEntry entry = PriceEntry.of(item);
+                resolved.put(item.getId(), entry);
+                store(item, entry);
+            }
+        }
+
+        return resolved;
+    }
+
+    /**
+     * Drops the cached snapshot for a branch so it is reloaded on next use.
+     *
+     * @param branchId ID of the branch
+     */
+    public void evictBranch(Long branchId) {
+        branches.remove(branchId);
+    }
+
+    /**
+     * Refreshes the snapshot entries of menu items once their changes are committed.
+     *
+     * @param event event carrying the saved menu items
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        for (MenuItem item : event.items()) {
+            if (item.getId() == null) {
+                continue;
+            }
+            // An item may have moved between branches, so drop it everywhere first
+            branches.values().forEach(snapshot -> snapshot.remove(item.getId()));
+            store(item, PriceEntry.of(item));
+        }
+        log.debug("Price book refreshed for {} menu items", event.items().size());
+    }
+
+    private Map<Long, PriceEntry> snapshot(Long branchId) {
+        Map<Long, PriceEntry> snapshot = branches.get(branchId);
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        Map<Long, PriceEntry> loaded = new ConcurrentHashMap<>();
+        for (MenuItem item : menuRepo.findByBranchId(branchId)) {
+            loaded.put(item.getId(), PriceEntry.of(item));
+        }
+        log.info("Loaded price book for branch {} with {} items", branchId, loaded.size());
+
+        Map<Long, PriceEntry> existing = branches.putIfAbsent(branchId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private void store(MenuItem item, PriceEntry entry) {
+        if (item.getBranch() == null || item.getBranch().getId() == null) {
+            return;
+        }
+        // Only keep entries for branches whose snapshot has already been loaded
+        Map<Long, PriceEntry> snapshot = branches.get(item.getBranch().getId());
+        if (snapshot != null) {
+            snapshot.put(item.getId(), entry);
+        }
+    }
+
+    /**
+     * Immutable view of the fields needed to price a menu item.
+     *
+     * @param id        menu item ID
+     * @param name      menu item name
+     * @param price     unit price in minor units
+     * @param available whether the item can currently be ordered
+     * @param slot      slot of the item's category and diet type in a {@link PricingPlan}
+     */
+    public record PriceEntry(Long id, String name, long price, boolean available, int slot) {
+
+        static PriceEntry of(MenuItem item) {
+            return new PriceEntry(item.getId(), item.getName(), item.getPrice(), item.isAvailable(),
+                    PricingPlan.slotOf(item.getCategory(), item.getDietType()));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.Restaurant.RestaurantOrderManagementSystem.cache;
+
+import com.Restaurant.RestaurantOrderManagementSystem.cache.MenuFacetIndex.Selection;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.Category;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.DietType;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.MenuType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of encoded menu responses used by the menu browsing endpoints.
+ * <p>
+ * Holds the JSON bytes, and a gzip variant of them, for every branch and filter
+ * combination that has been requested. Each entry is tagged with the branch menu
+ * version from {@link MenuFacetIndex}, so a menu change makes the old entries stale
+ * without any explicit invalidation, and the version doubles as the response ETag.
+ * A stale entry is re-encoded by the first request that finds it, and an encoding that
+ * the menu changed under is returned but not kept. The empty menu of an unknown branch is
+ * never cached, and at most {@value #MAX_RESPONSES} responses are held.
+ * </p>
+ */
+@Component
+public class MenuResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuResponseCache.class);
+
+    // Below this size gzip saves too little to be worth it
+    private static final int GZIP_MIN_SIZE = 1024;
+
+    /** Encoded responses held at once, over all branches and filter combinations. */
+    static final int MAX_RESPONSES = 10_000;
+
+    private final MenuFacetIndex facetIndex;
+    private final ObjectMapper objectMapper;
+
+    // Versions restart with the application, so ETags carry the start time too
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Map<Key, CachedMenu> responses = Caffeine.newBuilder()
+            .maximumSize(MAX_RESPONSES)
+            .<Key, CachedMenu>build()
+            .asMap();
+
+    /**
+     * Constructor for MenuResponseCache.
+     *
+     * @param facetIndex   Index the menu items and versions are read from
+     * @param objectMapper Mapper used to encode menu items
+     */
+    public MenuResponseCache(MenuFacetIndex facetIndex, ObjectMapper objectMapper) {
+        this.facetIndex = facetIndex;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the encoded available menu items of a branch matching every given facet.
+     *
+     * @param branchId ID of the branch
+     * @param type     menu type to match, or null for any
+     * @param dietType diet type to match, or null for any
+     * @param category category to match, or null for any
+     * @return encoded response for the current menu version
+     */
+    public CachedMenu get(Long branchId, MenuType type, DietType dietType, Category category) {
+        Key key = new Key(branchId, type, dietType, category);
+
+        CachedMenu cached = responses.get(key);
+        if (cached != null && cached.version() == facetIndex.version(branchId)) {
+            return cached;
+        }
+
+        CachedMenu encoded = encode(facetIndex.select(branchId, type, dietType, category));
+        if (encoded.version() == MenuFacetIndex.UNKNOWN_BRANCH_VERSION) {
+            return encoded; // no such branch; keeping it would let any ID take an entry
+        }
+        if (encoded.version() != facetIndex.version(branchId)) {
+            return encoded; // the menu changed while encoding; not worth keeping
+        }
+        // Never replace an entry with one read from an older snapshot
+        responses.merge(key, encoded, (old, fresh) -> fresh.version() >= old.version() ? fresh : old);
+        log.debug("Encoded menu response {} for version {}", key, encoded.version());
+        return encoded;
+    }
+
+    private CachedMenu encode(Selection selection) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(selection.items());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode menu", e);
+        }
+
+        byte[] gzip = json.length >= GZIP_MIN_SIZE ? gzip(json) : null;
+        String etag = "W/\"" + epoch + "-" + selection.version() + "\"";
+        return new CachedMenu(selection.version(), etag, json, gzip);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Encoded menu response.
+     * <p>
+     * The ETag is weak because the identity and gzip encodings share it.
+     * </p>
+     *
+     * @param version menu version the response was encoded from
+     * @param etag    weak entity tag identifying the version
+     * @param json    JSON encoded menu items
+     * @param gzip    gzip compressed {@code json}, or null when the body is too small to compress
+     */
+    public record CachedMenu(long version, String etag, byte[] json, byte[] gzip) {
+    }
+
+    private record Key(Long branchId, MenuType type, DietType dietType, Category category) {
+    }
+}
@@ -0,0 +1,387 @@
+package com.Restaurant.RestaurantOrderManagementSystem.cache;
+
+import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
+import com.Restaurant.RestaurantOrderManagementSystem.event.MenuChangedEvent;
+import com.Restaurant.RestaurantOrderManagementSystem.exception.MenuException;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.MenuItemRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory full-text index used by menu search.
+ * <p>
+ * Each branch has an inverted index from term to the menu items whose name or description
+ * contain it, plus a trie over the same terms. A query matches every one of its tokens
+ * against the terms exactly, with a bounded number of typos, and, for the last token
+ * as it is still being typed, as a prefix. Items must match every token; they are ranked
+ * by how well each token matched and whether it matched the name or only the description.
+ * A branch is loaded with one query the first time it is searched and kept up to date
+ * from committed menu changes.
+ * </p>
+ * <p>
+ * Items are held as immutable copies, detached from the persistence context they were
+ * read in, and every search returns fresh {@link MenuItem} instances built from them.
+ * Only branches known to {@link BranchRegistry} are loaded, at most {@value #MAX_BRANCHES}
+ * at once, and a load that overlaps a menu change is served but not kept.
+ * </p>
+ */
+@Component
+public class MenuSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuSearchIndex.class);
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private static final int NAME = 1;
+    private static final int DESCRIPTION = 2;
+
+    // Prefix matches stop being useful long before a short prefix runs out of terms
+    private static final int MAX_PREFIX_TERMS = 64;
+
+    /** Branch indexes held at once. */
+    static final int MAX_BRANCHES = 1_000;
+
+    private final MenuItemRepository menuRepo;
+    private final BranchRegistry branchRegistry;
+
+    // branchId -> search index of the branch menu
+    private final Map<Long, BranchIndex> branches = Caffeine.newBuilder()
+            .maximumSize(MAX_BRANCHES)
+            .<Long, BranchIndex>build()
+            .asMap();
+
+    // Bumped before every change or eviction, so a load can tell whether it overlapped one
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Constructor for MenuSearchIndex.
+     *
+     * @param menuRepo       Repository used to load a branch menu on first use
+     * @param branchRegistry Registry used to reject unknown branches before loading them
+     */
+    public MenuSearchIndex(MenuItemRepository menuRepo, BranchRegistry branchRegistry) {
+        this.menuRepo = menuRepo;
+        this.branchRegistry = branchRegistry;
+    }
+
+    /**
+     * Searches the available menu items of a branch.
+     *
+     * @param branchId ID of the branch
+     * @param query    free text, the last word may be incomplete
+     * @param limit    maximum number of items returned
+     * @return matching available items, best match first
+     * @throws MenuException if the branch does not exist
+     */
+    public List<MenuItem> search(Long branchId, String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        return index(branchId).search(tokens, limit);
+    }
+
+    /**
+     * Drops the index of a branch so it is reloaded on next use.
+     *
+     * @param branchId ID of the branch
+     */
+    public void evictBranch(Long branchId) {
+        generation.incrementAndGet();
+        branches.remove(branchId);
+    }
+
+    /**
+     * Re-indexes menu items once their changes are committed.
+     *
+     * @param event event carrying the saved menu items
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        generation.incrementAndGet();
+
+        // An item may have moved between branches, so every loaded branch drops it first
+        branches.forEach((branchId, index) -> index.update(branchId, event.items()));
+        log.debug("Menu search index updated for {} menu items", event.items().size());
+    }
+
+    private BranchIndex index(Long branchId) {
+        BranchIndex index = branches.get(branchId);
+        if (index != null) {
+            return index;
+        }
+
+        branchRegistry.find(branchId).orElseThrow(() -> new MenuException("Branch not found"));
+
+        long stamp = generation.get();
+        BranchIndex loaded = new BranchIndex();
+        List<MenuItem> items = menuRepo.findByBranchId(branchId);
+        loaded.update(branchId, items);
+        log.info("Loaded menu search index for branch {} with {} items", branchId, items.size());
+
+        // Stored only if no change started since the query; a change applied after this
+        // finds the branch loaded and updates it like any other
+        BranchIndex current = branches.compute(branchId, (id, existing) ->
+                existing != null ? existing : generation.get() == stamp ? loaded : null);
+        return current != null ? current : loaded;
+    }
+
+    /**
+     * Lower-cases, strips accents and splits text on anything but letters and digits.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String token : SEPARATORS.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Typos tolerated in a token: none for short words, where one edit changes the word.
+     */
+    private static int maxEdits(String token) {
+        if (token.length() < 4) {
+            return 0;
+        }
+        return token.length() < 8 ? 1 : 2;
+    }
+
+    /**
+     * Search index of one branch menu. Searches share a read lock, updates take the write lock.
+     */
+    private static final class BranchIndex {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private final Map<Long, MenuItemSnapshot> items = new HashMap<>();
+        // itemId -> term -> fields (NAME, DESCRIPTION) the term occurs in
+        private final Map<Long, Map<String, Integer>> termsByItem = new HashMap<>();
+        // term -> itemId -> fields the term occurs in
+        private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+        private final TrieNode trie = new TrieNode();
+
+        void update(Long branchId, List<MenuItem> changed) {
+            lock.writeLock().lock();
+            try {
+                for (MenuItem item : changed) {
+                    if (item.getId() == null) {
+                        continue;
+                    }
+                    remove(item.getId());
+                    if (item.getBranch() != null && branchId.equals(item.getBranch().getId())) {
+                        add(item);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<MenuItem> search(List<String> tokens, int limit) {
+            lock.readLock().lock();
+            try {
+                Map<Long, Double> scores = null;
+                for (int i = 0; i < tokens.size(); i++) {
+                    boolean last = i == tokens.size() - 1;
+                    Map<Long, Double> tokenScores = score(tokens.get(i), last);
+
+                    // Every token has to match
+                    if (scores == null) {
+                        scores = tokenScores;
+                    } else {
+                        scores.keySet().retainAll(tokenScores.keySet());
+                        scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                    }
+                    if (scores.isEmpty()) {
+                        return List.of();
+                    }
+                }
+
+                Map<Long, Double> ranked = scores;
+                return ranked.keySet().stream()
+                        .map(items::get)
+                        .filter(MenuItemSnapshot::available)
+                        .sorted(Comparator.<MenuItemSnapshot>comparingDouble(item -> -ranked.get(item.id()))
+                                .thenComparing(MenuItemSnapshot::name, Comparator.nullsLast(Comparator.naturalOrder()))
+                                .thenComparing(MenuItemSnapshot::id))
+                        .limit(limit)
+                        .map(MenuItemSnapshot::toMenuItem)
+                        .toList();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Scores every item matching one query token; a name match counts double.
+         */
+        private Map<Long, Double> score(String token, boolean prefix) {
+            Map<String, Double> terms = new HashMap<>();
+            if (postings.containsKey(token)) {
+                terms.put(token, 1.0);
+            }
+            if (prefix) {
+                TrieNode node = trie.find(token);
+                if (node != null) {
+                    node.collect(token.length(), terms, MAX_PREFIX_TERMS);
+                }
+            }
+            int maxEdits = maxEdits(token);
+            if (maxEdits > 0) {
+                trie.fuzzy(token, maxEdits, terms);
+            }
+
+            Map<Long, Double> scores = new HashMap<>();
+            terms.forEach((term, match) -> postings.get(term).forEach((id, fields) ->
+                    scores.merge(id, (fields & NAME) != 0 ? 2 * match : match, Math::max)));
+            return scores;
+        }
+
+        private void add(MenuItem item) {
+            Map<String, Integer> terms = new HashMap<>();
+            tokenize(item.getName()).forEach(term -> terms.merge(term, NAME, (a, b) -> a | b));
+            tokenize(item.getDescription()).forEach(term -> terms.merge(term, DESCRIPTION, (a, b) -> a | b));
+
+            items.put(item.getId(), MenuItemSnapshot.of(item));
+            termsByItem.put(item.getId(), terms);
+            terms.forEach((term, fields) -> postings.computeIfAbsent(term, t -> {
+                trie.insert(t);
+                return new HashMap<>();
+            }).put(item.getId(), fields));
+        }
+
+        private void remove(Long id) {
+            items.remove(id);
+            Map<String, Integer> terms = termsByItem.remove(id);
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms.keySet()) {
+                Map<Long, Integer> posting = postings.get(term);
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                    trie.delete(term, 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Trie node; {@code term} is set when a term ends here.
+     */
+    private static final class TrieNode {
+
+        private final Map<Character, TrieNode> children = new HashMap<>();
+        private String term;
+
+        void insert(String word) {
+            TrieNode node = this;
+            for (int i = 0; i < word.length(); i++) {
+                node = node.children.computeIfAbsent(word.charAt(i), c -> new TrieNode());
+            }
+            node.term = word;
+        }
+
+        /**
+         * Removes a term, pruning nodes left without terms. Returns whether this node is now empty.
+         */
+        boolean delete(String word, int depth) {
+            if (depth == word.length()) {
+                term = null;
+            } else {
+                TrieNode child = children.get(word.charAt(depth));
+                if (child != null && child.delete(word, depth + 1)) {
+                    children.remove(word.charAt(depth));
+                }
+            }
+            return term == null && children.isEmpty();
+        }
+
+        TrieNode find(String prefix) {
+            TrieNode node = this;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            return node;
+        }
+
+        /**
+         * Adds the terms under this node, shortest first, scored by how much of each term
+         * the prefix covers. A completion never scores as high as an exact match.
+         */
+        void collect(int prefixLength, Map<String, Double> matches, int max) {
+            Deque<TrieNode> pending = new ArrayDeque<>();
+            pending.add(this);
+            int found = 0;
+            while (!pending.isEmpty() && found < max) {
+                TrieNode node = pending.poll();
+                if (node.term != null) {
+                    matches.merge(node.term, 0.5 + 0.4 * prefixLength / node.term.length(), Math::max);
+                    found++;
+                }
+                pending.addAll(node.children.values());
+            }
+        }
+
+        /**
+         * Adds the terms within {@code maxEdits} Levenshtein edits of {@code word}, walking
+         * the trie one row of the edit distance table per character and pruning branches
+         * that can no longer come within reach.
+         */
+        void fuzzy(String word, int maxEdits, Map<String, Double> matches) {
+            int[] row = new int[word.length() + 1];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = i;
+            }
+            children.forEach((c, child) -> child.fuzzy(c, row, word, maxEdits, matches));
+        }
+
+        private void fuzzy(char c, int[] previous, String word, int maxEdits, Map<String, Double> matches) {
+            int[] row = new int[previous.length];
+            row[0] = previous[0] + 1;
+            int best = row[0];
+            for (int j = 1; j < row.length; j++) {
+                int insert = row[j - 1] + 1;
+                int delete = previous[j] + 1;
+                int replace = previous[j - 1] + (word.charAt(j - 1) == c ? 0 : 1);
+                row[j] = Math.min(insert, Math.min(delete, replace));
+                best = Math.min(best, row[j]);
+            }
+
+            int distance = row[row.length - 1];
+            if (term != null && distance <= maxEdits) {
+                matches.merge(term, 1.0 - 0.25 * distance, Math::max);
+            }
+            if (best <= maxEdits) {
+                children.forEach((next, child) -> child.fuzzy(next, row, word, maxEdits, matches));
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.Restaurant.RestaurantOrderManagementSystem.cache;
+
+import com.Restaurant.RestaurantOrderManagementSystem.config.TieredCacheProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * {@link RemoteCacheTier} stored in Redis under {@code <keyPrefix><cache>:<key>}.
+ * <p>
+ * A failed call marks Redis as down and every call is skipped for {@code retryAfter},
+ * so an outage costs one timeout per interval instead of one per request.
+ * The first successful call afterwards notifies the reconnect listeners.
+ * </p>
+ */
+public class RedisCacheTier implements RemoteCacheTier {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisCacheTier.class);
+
+    private final RedisTemplate<String, Object> redis;
+    private final TieredCacheProperties.Redis properties;
+    private final Clock clock;
+    private final List<Runnable> reconnectListeners = new CopyOnWriteArrayList<>();
+
+    // Epoch millis before which Redis is not called; zero while it is up
+    private volatile long downUntil;
+    private volatile boolean down;
+
+    /**
+     * Constructor for RedisCacheTier.
+     *
+     * @param redis      template with string keys and JSON values
+     * @param properties shared tier settings
+     * @param clock      clock used to time the retry interval
+     */
+    public RedisCacheTier(RedisTemplate<String, Object> redis, TieredCacheProperties.Redis properties, Clock clock) {
+        this.redis = redis;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Override
+    public Object get(String cache, String key) {
+        return call(() -> redis.opsForValue().get(key(cache, key)));
+    }
+
+    @Override
+    public void put(String cache, String key, Object value) {
+        call(() -> {
+            redis.opsForValue().set(key(cache, key), value, properties.ttl());
+            return null;
+        });
+    }
+
+    @Override
+    public void evict(String cache, String key) {
+        call(() -> redis.delete(key(cache, key)));
+    }
+
+    @Override
+    public void clear(String cache) {
+        call(() -> {
+            // Cache names hold a handful of keys (e.g. one per branch), so KEYS is acceptable here
+            Set<String> keys = redis.keys(properties.keyPrefix() + cache + ":*");
+            if (keys != null && !keys.isEmpty()) {
+                redis.delete(keys);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void onReconnect(Runnable listener) {
+        reconnectListeners.add(listener);
+    }
+
+    private String key(String cache, String key) {
+        return properties.keyPrefix() + cache + ":" + key;
+    }
+
+    /**
+     * Runs a Redis operation unless Redis is known to be down.
+     *
+     * @return the result, or null if the call was skipped or failed
+     */
+    <T> T call(Supplier<T> operation) {
+        if (down && clock.millis() < downUntil) {
+            return null;
+        }
+        try {
+            T result = operation.get();
+            if (down) {
+                down = false;
+                log.info("Redis cache tier is reachable again");
+                reconnectListeners.forEach(Runnable::run);
+            }
+            return result;
+        } catch (RuntimeException e) {
+            if (!down) {
+                log.warn("Redis cache tier unavailable, serving from local caches for {}: {}",
+                        properties.retryAfter(), e.getMessage());
+            }
+            down = true;
+            downUntil = clock.millis() + properties.retryAfter().toMillis();
+            return null;
+        }
+    }
+}
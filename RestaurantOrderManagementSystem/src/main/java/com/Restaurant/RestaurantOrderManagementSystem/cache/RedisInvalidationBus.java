@@ -0,0 +1,95 @@
+package com.Restaurant.RestaurantOrderManagementSystem.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * {@link CacheInvalidationBus} over a Redis pub/sub channel.
+ * <p>
+ * Messages carry the id of the publishing instance so it can ignore its own.
+ * Pub/sub delivery is at most once; a lost message is bounded by the local TTL
+ * and local caches are dropped whenever Redis comes back from an outage.
+ * </p>
+ */
+public class RedisInvalidationBus implements CacheInvalidationBus, MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisInvalidationBus.class);
+
+    private final StringRedisTemplate redis;
+    private final RedisCacheTier tier;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final String origin = UUID.randomUUID().toString();
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructor for RedisInvalidationBus.
+     *
+     * @param redis        template used to publish
+     * @param tier         shared tier whose outage detection also covers publishing
+     * @param objectMapper mapper used to encode messages
+     * @param channel      pub/sub channel shared by all instances
+     */
+    public RedisInvalidationBus(StringRedisTemplate redis, RedisCacheTier tier, ObjectMapper objectMapper, String channel) {
+        this.redis = redis;
+        this.tier = tier;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        String message;
+        try {
+            message = objectMapper.writeValueAsString(new Envelope(origin, invalidation));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not encode invalidation of cache {}: {}", invalidation.cache(), e.getMessage());
+            return;
+        }
+        // Dropped while Redis is down; the other instances clear their local caches when it is back
+        tier.call(() -> redis.convertAndSend(channel, message));
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Envelope envelope;
+        try {
+            envelope = objectMapper.readValue(message.getBody(), Envelope.class);
+        } catch (IOException e) {
+            log.warn("Ignoring malformed cache invalidation: {}", e.getMessage());
+            return;
+        }
+        if (origin.equals(envelope.origin()) || envelope.invalidation() == null) {
+            return;
+        }
+        for (Consumer<CacheInvalidation> listener : listeners) {
+            try {
+                listener.accept(envelope.invalidation());
+            } catch (RuntimeException e) {
+                log.error("Cache invalidation listener failed for cache {}", envelope.invalidation().cache(), e);
+            }
+        }
+    }
+
+    /**
+     * Wire format of one invalidation.
+     */
+    record Envelope(String origin, CacheInvalidation invalidation) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.Restaurant.RestaurantOrderManagementSystem.cache;
+
+/**
+ * Cache tier shared by all application instances, behind their local caches.
+ * <p>
+ * Implementations must not throw when the shared store is unreachable: reads then
+ * miss and writes are dropped, so callers fall back to their local cache and the database.
+ * </p>
+ */
+public interface RemoteCacheTier {
+
+    /**
+     * @return the cached value, or null on a miss or when the tier is unavailable
+     */
+    Object get(String cache, String key);
+
+    void put(String cache, String key, Object value);
+
+    void evict(String cache, String key);
+
+    void clear(String cache);
+
+    /**
+     * Registers a callback run when the tier becomes reachable again after an outage,
+     * since invalidations published in the meantime may have been lost.
+     */
+    void onReconnect(Runnable listener);
+}
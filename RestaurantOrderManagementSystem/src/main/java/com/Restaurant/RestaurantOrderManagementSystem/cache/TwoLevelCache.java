@@ -0,0 +1,134 @@
+package com.Restaurant.RestaurantOrderManagementSystem.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Spring cache backed by a local Caffeine cache in front of an optional shared tier.
+ * <p>
+ * Reads try the local cache, then the shared tier, and only then the database.
+ * Puts fill both tiers, as they come from read-through loads; writes to the underlying data
+ * must evict instead, which also drops the entry from the shared tier and is broadcast so
+ * the other instances drop their local copy. Keys are used in their string form everywhere.
+ * Null values are not cached.
+ * </p>
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final Cache<String, Object> local;
+    private final RemoteCacheTier remote;
+    private final CacheInvalidationBus bus;
+
+    /**
+     * Constructor for TwoLevelCache.
+     *
+     * @param name   cache name
+     * @param local  local near-cache
+     * @param remote shared tier, or null to cache locally only
+     * @param bus    bus broadcasting invalidations to other instances
+     */
+    public TwoLevelCache(String name, Cache<String, Object> local, RemoteCacheTier remote, CacheInvalidationBus bus) {
+        super(false);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.bus = bus;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String cacheKey = String.valueOf(key);
+        Object value = local.getIfPresent(cacheKey);
+        if (value == null && remote != null) {
+            value = remote.get(name, cacheKey);
+            if (value != null) {
+                local.put(cacheKey, value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // Caffeine runs the loader at most once per key, so concurrent misses share one load
+        return (T) local.get(String.valueOf(key), cacheKey -> {
+            Object value = remote != null ? remote.get(name, cacheKey) : null;
+            if (value != null) {
+                return value;
+            }
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            if (value != null && remote != null) {
+                remote.put(name, cacheKey, value);
+            }
+            return value;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        String cacheKey = String.valueOf(key);
+        local.put(cacheKey, value);
+        if (remote != null) {
+            remote.put(name, cacheKey, value);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        String cacheKey = String.valueOf(key);
+        local.invalidate(cacheKey);
+        if (remote != null) {
+            remote.evict(name, cacheKey);
+        }
+        bus.publish(new CacheInvalidation(name, List.of(cacheKey)));
+    }
+
+    @Override
+    public void clear() {
+        local.invalidateAll();
+        if (remote != null) {
+            remote.clear(name);
+        }
+        bus.publish(new CacheInvalidation(name, null));
+    }
+
+    /**
+     * Applies an invalidation received from another instance to the local cache only.
+     *
+     * @param invalidation keys to drop, or null keys to drop everything
+     */
+    void invalidateLocal(CacheInvalidation invalidation) {
+        if (invalidation.keys() == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidateAll(invalidation.keys());
+        }
+    }
+
+    void clearLocal() {
+        local.invalidateAll();
+    }
+}
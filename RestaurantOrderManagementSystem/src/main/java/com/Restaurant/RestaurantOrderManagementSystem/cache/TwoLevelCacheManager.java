@@ -0,0 +1,87 @@
+package com.Restaurant.RestaurantOrderManagementSystem.cache;
+
+import com.Restaurant.RestaurantOrderManagementSystem.config.TieredCacheProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache manager of {@link TwoLevelCache}s.
+ * <p>
+ * Each cache gets a size-bounded Caffeine cache, whose W-TinyLFU policy keeps frequently
+ * read entries over merely recent ones, in front of the shared tier if one is configured.
+ * Invalidations broadcast by other instances are applied to the matching local cache, and
+ * all local caches are dropped when the shared tier comes back from an outage.
+ * Writes and evictions made inside a transaction are applied once it commits.
+ * </p>
+ */
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private static final Logger log = LoggerFactory.getLogger(TwoLevelCacheManager.class);
+
+    private final TieredCacheProperties properties;
+    private final List<String> cacheNames;
+    private final RemoteCacheTier remote;
+    private final CacheInvalidationBus bus;
+
+    // Undecorated caches by name, for applying invalidations outside of any transaction
+    private final Map<String, TwoLevelCache> localCaches = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for TwoLevelCacheManager.
+     *
+     * @param properties local cache bounds
+     * @param cacheNames names of the caches to create up front
+     * @param remote     shared tier, or null to cache locally only
+     * @param bus        bus broadcasting invalidations between instances
+     */
+    public TwoLevelCacheManager(TieredCacheProperties properties, List<String> cacheNames,
+                                RemoteCacheTier remote, CacheInvalidationBus bus) {
+        this.properties = properties;
+        this.cacheNames = List.copyOf(cacheNames);
+        this.remote = remote;
+        this.bus = bus;
+        setTransactionAware(true);
+
+        bus.subscribe(this::onInvalidation);
+        if (remote != null) {
+            remote.onReconnect(this::clearLocal);
+        }
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return cacheNames.stream().map(this::createCache).toList();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return createCache(name);
+    }
+
+    private TwoLevelCache createCache(String name) {
+        return localCaches.computeIfAbsent(name, key -> new TwoLevelCache(key, Caffeine.newBuilder()
+                .maximumSize(properties.localMaximumSize())
+                .expireAfterWrite(properties.localTtl())
+                .build(), remote, bus));
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        TwoLevelCache cache = localCaches.get(invalidation.cache());
+        if (cache != null) {
+            cache.invalidateLocal(invalidation);
+        }
+    }
+
+    private void clearLocal() {
+        log.info("Shared cache tier reachable again, dropping local caches");
+        localCaches.values().forEach(TwoLevelCache::clearLocal);
+    }
+}
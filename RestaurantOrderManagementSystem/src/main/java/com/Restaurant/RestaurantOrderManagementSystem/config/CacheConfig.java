@@ -0,0 +1,34 @@
+package com.Restaurant.RestaurantOrderManagementSystem.config;
+
+import com.Restaurant.RestaurantOrderManagementSystem.cache.CacheInvalidationBus;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.MenuCacheSync;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.RemoteCacheTier;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.TwoLevelCacheManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Spring caching over {@link TwoLevelCacheManager}.
+ * <p>
+ * Without {@code cache.tiered.redis.enabled} there is no shared tier and no invalidation bus,
+ * and every instance caches locally only.
+ * </p>
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String BRANCHES = "branches";
+
+    @Bean
+    public TwoLevelCacheManager cacheManager(TieredCacheProperties properties,
+                                             ObjectProvider<RemoteCacheTier> remote,
+                                             ObjectProvider<CacheInvalidationBus> bus) {
+        return new TwoLevelCacheManager(properties, List.of(BRANCHES, MenuCacheSync.CACHE),
+                remote.getIfAvailable(), bus.getIfAvailable(() -> CacheInvalidationBus.NONE));
+    }
+}
@@ -0,0 +1,25 @@
+package com.Restaurant.RestaurantOrderManagementSystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings for {@code Idempotency-Key} handling ({@code idempotency.*}).
+ *
+ * @param paths        POST paths (Ant patterns) that honour the header
+ * @param ttl          how long a completed response is kept for replays
+ * @param maxEntries   upper bound on remembered keys; the oldest are dropped first
+ * @param waitTimeout  how long a duplicate waits for the original request to finish
+ * @param maxBodySize  largest request body accepted on an idempotent request
+ */
+@ConfigurationProperties(prefix = "idempotency")
+public record IdempotencyProperties(@DefaultValue({"/api/orders/create", "/payments/**"}) List<String> paths,
+                                    @DefaultValue("24h") Duration ttl,
+                                    @DefaultValue("10000") int maxEntries,
+                                    @DefaultValue("30s") Duration waitTimeout,
+                                    @DefaultValue("256KB") DataSize maxBodySize) {
+}
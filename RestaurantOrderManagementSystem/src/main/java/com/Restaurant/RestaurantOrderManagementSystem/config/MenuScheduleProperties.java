@@ -0,0 +1,84 @@
+package com.Restaurant.RestaurantOrderManagementSystem.config;
+
+import com.Restaurant.RestaurantOrderManagementSystem.enums.MenuType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Service windows of each menu type ({@code menu.schedule.*}).
+ * <p>
+ * Windows are written as {@code HH:mm-HH:mm}; the start is inclusive and the end exclusive,
+ * and a window whose end is before its start runs past midnight. Menu types without a
+ * configured window use the defaults declared on {@link MenuType}.
+ * </p>
+ *
+ * @param zone     time zone the default windows are read in, the system zone if unset
+ * @param windows  default window per menu type
+ * @param branches per-branch overrides of the zone and windows
+ */
+@ConfigurationProperties(prefix = "menu.schedule")
+public record MenuScheduleProperties(ZoneId zone,
+                                     Map<MenuType, String> windows,
+                                     Map<Long, Branch> branches) {
+
+    public MenuScheduleProperties {
+        zone = zone == null ? ZoneId.systemDefault() : zone;
+        windows = windows == null ? Map.of() : Map.copyOf(windows);
+        branches = branches == null ? Map.of() : Map.copyOf(branches);
+    }
+
+    /**
+     * Per-branch overrides; a null zone or a missing window inherits the defaults.
+     */
+    public record Branch(ZoneId zone, Map<MenuType, String> windows) {
+
+        public Branch {
+            windows = windows == null ? Map.of() : Map.copyOf(windows);
+        }
+    }
+
+    /**
+     * Service window of one menu type.
+     */
+    public record Window(LocalTime start, LocalTime end) {
+
+        static Window parse(String window) {
+            String[] bounds = window.split("-");
+            if (bounds.length != 2) {
+                throw new IllegalArgumentException("Menu window must look like HH:mm-HH:mm: " + window);
+            }
+            return new Window(LocalTime.parse(bounds[0].trim()), LocalTime.parse(bounds[1].trim()));
+        }
+    }
+
+    /**
+     * Default windows, with {@link MenuType} supplying any type not configured.
+     */
+    public Map<MenuType, Window> defaultWindows() {
+        Map<MenuType, Window> resolved = new EnumMap<>(MenuType.class);
+        for (MenuType type : MenuType.values()) {
+            String configured = windows.get(type);
+            resolved.put(type, configured != null
+                    ? Window.parse(configured)
+                    : new Window(type.getStart(), type.getEnd()));
+        }
+        return resolved;
+    }
+
+    /**
+     * Windows of a branch with an override, falling back to the defaults per menu type.
+     */
+    public Map<MenuType, Window> windowsFor(Branch branch) {
+        Map<MenuType, Window> resolved = defaultWindows();
+        branch.windows().forEach((type, window) -> resolved.put(type, Window.parse(window)));
+        return resolved;
+    }
+
+    public ZoneId zoneFor(Branch branch) {
+        return branch.zone() != null ? branch.zone() : zone;
+    }
+}
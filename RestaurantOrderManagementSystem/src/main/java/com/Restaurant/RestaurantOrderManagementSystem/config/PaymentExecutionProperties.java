@@ -0,0 +1,53 @@
+package com.Restaurant.RestaurantOrderManagementSystem.config;
+
+import com.Restaurant.RestaurantOrderManagementSystem.enums.PaymentMethod;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Sizing and timeouts for asynchronous payment strategy execution ({@code payments.async.*}).
+ * <p>
+ * Every payment method gets its own bounded pool so a slow provider for one method
+ * cannot starve the others. {@code methods} overrides the defaults per method;
+ * any field left unset falls back to the top-level value.
+ * </p>
+ *
+ * @param threads       worker threads per payment method
+ * @param queueCapacity calls allowed to wait per payment method before new ones are rejected
+ * @param timeout       time a call may take before it is cancelled
+ * @param methods       per-method overrides
+ */
+@ConfigurationProperties(prefix = "payments.async")
+public record PaymentExecutionProperties(@DefaultValue("16") int threads,
+                                         @DefaultValue("200") int queueCapacity,
+                                         @DefaultValue("5s") Duration timeout,
+                                         Map<PaymentMethod, Method> methods) {
+
+    public PaymentExecutionProperties {
+        methods = methods == null ? Map.of() : Map.copyOf(methods);
+    }
+
+    /**
+     * Per-method overrides; null fields inherit the defaults.
+     */
+    public record Method(Integer threads, Integer queueCapacity, Duration timeout) {
+    }
+
+    public int threadsFor(PaymentMethod method) {
+        Method override = methods.get(method);
+        return override != null && override.threads() != null ? override.threads() : threads;
+    }
+
+    public int queueCapacityFor(PaymentMethod method) {
+        Method override = methods.get(method);
+        return override != null && override.queueCapacity() != null ? override.queueCapacity() : queueCapacity;
+    }
+
+    public Duration timeoutFor(PaymentMethod method) {
+        Method override = methods.get(method);
+        return override != null && override.timeout() != null ? override.timeout() : timeout;
+    }
+}
@@ -0,0 +1,44 @@
+package com.Restaurant.RestaurantOrderManagementSystem.config;
+
+import com.Restaurant.RestaurantOrderManagementSystem.enums.PaymentMethod;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Bulkhead and circuit breaker settings per payment method ({@code payments.isolation.*}).
+ *
+ * @param maxConcurrent         payments of one method allowed in flight at once
+ * @param windowSize            gateway calls the breaker looks back over
+ * @param minimumCalls          calls needed in the window before the breaker can open
+ * @param failureRateThreshold  failure percentage that opens the breaker
+ * @param openDuration          time the breaker rejects calls before trying again
+ * @param halfOpenCalls         trial calls that must succeed to close the breaker
+ * @param methods               per-method concurrency overrides
+ */
+@ConfigurationProperties(prefix = "payments.isolation")
+public record PaymentIsolationProperties(@DefaultValue("32") int maxConcurrent,
+                                         @DefaultValue("20") int windowSize,
+                                         @DefaultValue("10") int minimumCalls,
+                                         @DefaultValue("50") float failureRateThreshold,
+                                         @DefaultValue("30s") Duration openDuration,
+                                         @DefaultValue("3") int halfOpenCalls,
+                                         Map<PaymentMethod, Method> methods) {
+
+    public PaymentIsolationProperties {
+        methods = methods == null ? Map.of() : Map.copyOf(methods);
+    }
+
+    /**
+     * Per-method overrides; null fields inherit the defaults.
+     */
+    public record Method(Integer maxConcurrent) {
+    }
+
+    public int maxConcurrentFor(PaymentMethod method) {
+        Method override = methods.get(method);
+        return override != null && override.maxConcurrent() != null ? override.maxConcurrent() : maxConcurrent;
+    }
+}
@@ -0,0 +1,35 @@
+package com.Restaurant.RestaurantOrderManagementSystem.config;
+
+import com.Restaurant.RestaurantOrderManagementSystem.resilience.RetryPolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Retry settings for payment gateway calls ({@code payments.retry.*}).
+ *
+ * @param maxAttempts        total gateway attempts per payment
+ * @param initialDelay       backoff before the first retry
+ * @param multiplier         backoff growth per retry
+ * @param maxDelay           backoff upper bound
+ * @param jitter             randomized fraction of the backoff
+ * @param budgetRatio        retries allowed per payment, per payment method
+ * @param budgetMinPerSecond retries always allowed per second, per payment method
+ * @param retryTimeouts      whether timed-out calls are retried; off by default because
+ *                           the gateway may have charged the customer anyway
+ */
+@ConfigurationProperties(prefix = "payments.retry")
+public record PaymentRetryProperties(@DefaultValue("3") int maxAttempts,
+                                     @DefaultValue("100ms") Duration initialDelay,
+                                     @DefaultValue("2.0") double multiplier,
+                                     @DefaultValue("2s") Duration maxDelay,
+                                     @DefaultValue("0.5") double jitter,
+                                     @DefaultValue("0.2") double budgetRatio,
+                                     @DefaultValue("5") double budgetMinPerSecond,
+                                     @DefaultValue("false") boolean retryTimeouts) {
+
+    public RetryPolicy policy() {
+        return new RetryPolicy(maxAttempts, initialDelay, multiplier, maxDelay, jitter, budgetRatio, budgetMinPerSecond);
+    }
+}
@@ -0,0 +1,96 @@
+package com.Restaurant.RestaurantOrderManagementSystem.config;
+
+import com.Restaurant.RestaurantOrderManagementSystem.cache.RedisCacheTier;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.RedisInvalidationBus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Redis shared tier and invalidation channel, enabled by {@code cache.tiered.redis.enabled}.
+ * Connection settings come from the standard {@code spring.data.redis.*} properties.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "cache.tiered.redis", name = "enabled", havingValue = "true")
+public class RedisCacheConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisCacheConfig.class);
+
+    @Bean
+    public RedisCacheTier redisCacheTier(RedisConnectionFactory connectionFactory, TieredCacheProperties properties) {
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(StringRedisSerializer.UTF_8);
+        template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
+        template.afterPropertiesSet();
+        return new RedisCacheTier(template, properties.redis(), Clock.systemUTC());
+    }
+
+    @Bean
+    public RedisInvalidationBus redisInvalidationBus(StringRedisTemplate redis, RedisCacheTier tier, ObjectMapper objectMapper,
+                                                     TieredCacheProperties properties) {
+        return new RedisInvalidationBus(redis, tier, objectMapper, properties.redis().channel());
+    }
+
+    /**
+     * Listener container subscribing the bus to the invalidation channel. It is started by
+     * {@link #cacheInvalidationSubscription} rather than with the context, which would fail
+     * if Redis is down at boot.
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            RedisInvalidationBus bus,
+                                                                            TieredCacheProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer() {
+            @Override
+            public boolean isAutoStartup() {
+                return false;
+            }
+        };
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(bus, new ChannelTopic(properties.redis().channel()));
+        return container;
+    }
+
+    /**
+     * Tries to subscribe every {@code retryAfter} until it succeeds; from then on the
+     * container recovers from connection losses on its own.
+     */
+    @Bean
+    public SmartInitializingSingleton cacheInvalidationSubscription(RedisMessageListenerContainer cacheInvalidationListenerContainer,
+                                                                    TieredCacheProperties properties,
+                                                                    TaskScheduler scheduler) {
+        RedisMessageListenerContainer container = cacheInvalidationListenerContainer;
+        AtomicBoolean warned = new AtomicBoolean();
+        return () -> scheduler.scheduleWithFixedDelay(() -> {
+            if (container.isRunning()) {
+                return;
+            }
+            try {
+                container.start();
+                log.info("Subscribed to cache invalidation channel {}", properties.redis().channel());
+            } catch (RuntimeException e) {
+                container.stop();
+                if (warned.compareAndSet(false, true)) {
+                    log.warn("Could not subscribe to cache invalidation channel, retrying every {}: {}",
+                            properties.redis().retryAfter(), e.getMessage());
+                }
+            }
+        }, properties.redis().retryAfter());
+    }
+}
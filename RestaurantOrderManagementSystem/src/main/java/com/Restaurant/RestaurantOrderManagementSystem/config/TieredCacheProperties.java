@@ -0,0 +1,35 @@
+package com.Restaurant.RestaurantOrderManagementSystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Two-level cache settings ({@code cache.tiered.*}).
+ *
+ * @param localMaximumSize entries each local cache keeps; admission and eviction follow W-TinyLFU
+ * @param localTtl         age after which a local entry is dropped, bounding staleness if an invalidation is lost
+ * @param redis            shared Redis tier and invalidation channel
+ */
+@ConfigurationProperties(prefix = "cache.tiered")
+public record TieredCacheProperties(@DefaultValue("10000") long localMaximumSize,
+                                    @DefaultValue("10m") Duration localTtl,
+                                    @DefaultValue Redis redis) {
+
+    /**
+     * Shared tier settings.
+     *
+     * @param enabled    whether to use Redis at all; without it every instance caches locally only
+     * @param ttl        age after which a shared entry expires
+     * @param keyPrefix  prefix of every cache key written to Redis
+     * @param channel    pub/sub channel carrying invalidations between instances
+     * @param retryAfter time Redis is left alone after a failed call before it is tried again
+     */
+    public record Redis(@DefaultValue("false") boolean enabled,
+                        @DefaultValue("1h") Duration ttl,
+                        @DefaultValue("roms:cache:") String keyPrefix,
+                        @DefaultValue("roms:cache:invalidations") String channel,
+                        @DefaultValue("5s") Duration retryAfter) {
+    }
+}
@@ -1,15 +1,20 @@
 package com.Restaurant.RestaurantOrderManagementSystem.contoller;
 
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderDetails;
 import com.Restaurant.RestaurantOrderManagementSystem.entities.Branch;
 import com.Restaurant.RestaurantOrderManagementSystem.exception.BranchException;
+import com.Restaurant.RestaurantOrderManagementSystem.service.OrderService;
 import com.Restaurant.RestaurantOrderManagementSystem.service.impl.BranchServiceImpl;
+import com.Restaurant.RestaurantOrderManagementSystem.stream.OrderEventHub;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -19,6 +24,8 @@ import java.util.List;
  * Responsibilities:
  * - Create branch
  * - Retrieve branch details
+ * - List a branch's orders
+ * - Stream a branch's order changes (Server-Sent Events)
  * - Activate/Deactivate branch
  * - Delete branch
  *
@@ -39,9 +46,13 @@ public class BranchController {
 
     private static final Logger log = LoggerFactory.getLogger(BranchController.class);
     private final BranchServiceImpl branchService;
+    private final OrderService orderService;
+    private final OrderEventHub orderEventHub;
 
-    public BranchController(BranchServiceImpl branchService) {
+    public BranchController(BranchServiceImpl branchService, OrderService orderService, OrderEventHub orderEventHub) {
         this.branchService = branchService;
+        this.orderService = orderService;
+        this.orderEventHub = orderEventHub;
     }
 
     /**
@@ -95,6 +106,54 @@ public class BranchController {
         return branchService.getBranchById(id);
     }
 
+    /**
+     * Fetch a page of a branch's orders with their lines, newest first.
+     *
+     * @param id   branch ID
+     * @param page zero-based page number
+     * @param size page size, at most 100
+     * @return orders of the page
+     */
+    @Operation(summary = "Get orders of a branch")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Orders fetched successfully"),
+            @ApiResponse(responseCode = "400", description = "Branch not found or invalid page")
+    })
+    @GetMapping("/{id}/orders")
+    public List<OrderDetails> getOrders(@PathVariable Long id,
+                                        @RequestParam(defaultValue = "0") int page,
+                                        @RequestParam(defaultValue = "20") int size) {
+        log.info("Fetching orders of branch {}, page {}", id, page);
+        return orderService.getBranchOrders(id, page, size);
+    }
+
+    /**
+     * Stream a branch's order changes as Server-Sent Events, for kitchen displays.
+     * <p>
+     * Sends {@code order-created} and {@code order-status} events once the change is committed.
+     * A client reconnecting with {@code Last-Event-ID} first gets the events it missed, or a
+     * {@code reset} event if they are no longer available and it should reload the orders.
+     * </p>
+     *
+     * @param id          branch ID
+     * @param lastEventId ID of the last event received, sent by the browser on reconnect
+     * @return event stream
+     * @throws BranchException if branch not found
+     */
+    @Operation(summary = "Stream order changes of a branch")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "404", description = "Branch not found")
+    })
+    @GetMapping(value = "/{id}/orders/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrders(@PathVariable Long id,
+                                   @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId)
+            throws BranchException {
+        branchService.getBranchById(id);
+        log.info("Opening order stream of branch {}", id);
+        return orderEventHub.subscribe(id, lastEventId);
+    }
+
     /**
      * Activate or deactivate a branch.
      *
@@ -0,0 +1,71 @@
+package com.Restaurant.RestaurantOrderManagementSystem.contoller;
+
+import com.Restaurant.RestaurantOrderManagementSystem.cache.ComboIndex.Combo;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.ComboIndex.ComboMatch;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.ComboMeal;
+import com.Restaurant.RestaurantOrderManagementSystem.service.ComboService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for combo meals.
+ * Supports creating combos, listing a branch's combos and finding the best combos for a basket.
+ */
+@RestController
+@RequestMapping("/api/combos")
+@Tag(name = "Combo Controller", description = "Endpoints for combo meals")
+public class ComboController {
+
+    private final ComboService comboService;
+
+    public ComboController(ComboService comboService) {
+        this.comboService = comboService;
+    }
+
+    /**
+     * Create a combo meal. Items are given by ID; repeat an item to include it more than once.
+     *
+     * @param combo Combo with its name, discount percentage, branch ID and item IDs
+     * @return Created combo with its list price and discounted price in minor units
+     */
+    @PostMapping
+    @Operation(summary = "Create Combo", description = "Creates a combo meal from menu items of one branch")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Combo created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid combo data")
+    })
+    public Combo createCombo(@RequestBody ComboMeal combo) {
+        return comboService.createCombo(combo);
+    }
+
+    /**
+     * List the combos of a branch.
+     *
+     * @param branchId Branch ID
+     * @return Combos with their current prices and availability
+     */
+    @GetMapping("/branch/{branchId}")
+    @Operation(summary = "Get Combos by Branch", description = "Returns all combo meals of a branch")
+    public List<Combo> getByBranch(@PathVariable Long branchId) {
+        return comboService.getCombos(branchId);
+    }
+
+    /**
+     * Find the combos that save the most on a basket.
+     *
+     * @param branchId Branch ID
+     * @param basket   Map of MenuItem ID and quantity
+     * @return Combos to apply, how many times, and the amount saved
+     */
+    @PostMapping("/branch/{branchId}/best")
+    @Operation(summary = "Best Combos", description = "Finds the combination of combos that saves the most on a basket")
+    public List<ComboMatch> bestCombos(@PathVariable Long branchId, @RequestBody Map<Long, Integer> basket) {
+        return comboService.bestCombos(branchId, basket);
+    }
+}
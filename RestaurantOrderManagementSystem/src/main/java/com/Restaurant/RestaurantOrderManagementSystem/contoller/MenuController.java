@@ -1,16 +1,26 @@
 package com.Restaurant.RestaurantOrderManagementSystem.contoller;
 
+import com.Restaurant.RestaurantOrderManagementSystem.cache.MenuResponseCache;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.MenuResponseCache.CachedMenu;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.MenuChanges;
 import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
 import com.Restaurant.RestaurantOrderManagementSystem.enums.Category;
 import com.Restaurant.RestaurantOrderManagementSystem.enums.DietType;
 import com.Restaurant.RestaurantOrderManagementSystem.enums.MenuType;
+import com.Restaurant.RestaurantOrderManagementSystem.service.MenuImportService;
 import com.Restaurant.RestaurantOrderManagementSystem.service.impl.MenuServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -22,10 +32,19 @@ import java.util.List;
 @Tag(name = "Menu Controller", description = "Endpoints for managing restaurant menu items")
 public class MenuController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     private final MenuServiceImpl menuService;
+    private final MenuImportService menuImportService;
+    private final MenuResponseCache menuResponses;
 
-    public MenuController(MenuServiceImpl menuService) {
+    public MenuController(MenuServiceImpl menuService, MenuImportService menuImportService,
+                          MenuResponseCache menuResponses) {
         this.menuService = menuService;
+        this.menuImportService = menuImportService;
+        this.menuResponses = menuResponses;
     }
 
     /**
@@ -47,42 +66,69 @@ public class MenuController {
     /**
      * Get all menu items for a given branch.
      *
-     * @param branchId Branch ID
-     * @return List of available menu items
+     * @param branchId       Branch ID
+     * @param acceptEncoding Accept-Encoding header, gzip is served when allowed
+     * @return List of available menu items, or 304 if the If-None-Match ETag is current
      */
     @GetMapping("/branch/{branchId}")
     @Operation(summary = "Get Menu by Branch", description = "Returns all available menu items for a branch")
-    public List<MenuItem> getByBranch(@PathVariable Long branchId) {
-        return menuService.getMenuByBranch(branchId);
+    public ResponseEntity<byte[]> getByBranch(
+            @PathVariable Long branchId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        return cachedResponse(menuResponses.get(branchId, null, null, null), acceptEncoding);
+    }
+
+    /**
+     * Get the changes to a branch menu since the version a terminal last synced.
+     *
+     * @param branchId Branch ID
+     * @param since    Version returned by the previous call; 0 returns the whole menu
+     * @return Upserts and deletions since that version, with the version to poll from next
+     */
+    @GetMapping("/branch/{branchId}/changes")
+    @Operation(summary = "Get Menu Changes", description = "Returns the menu items added, changed or removed since a sync version")
+    public MenuChanges getChanges(@PathVariable Long branchId,
+                                  @RequestParam(defaultValue = "0") long since) {
+        return menuService.getMenuChanges(branchId, since);
     }
 
     /**
      * Filter menu items by type, diet type, and category.
      *
      * @param branchId Branch ID
-     * @param type Menu type (BREAKFAST, LUNCH, DINNER, etc.)
+     * @param type Optional menu type (BREAKFAST, LUNCH, DINNER, etc.)
      * @param dietType Optional diet type (VEG, NON_VEG, VEGAN, etc.)
      * @param category Optional category (STARTER, MAIN, DESSERT, etc.)
-     * @return List of menu items matching the filters
+     * @param acceptEncoding Accept-Encoding header, gzip is served when allowed
+     * @return List of menu items matching the filters, or 304 if the If-None-Match ETag is current
      */
     @GetMapping("/filter")
     @Operation(summary = "Filter Menu Items", description = "Filters menu items by type, diet type, and category")
-    public List<MenuItem> filter(
+    public ResponseEntity<byte[]> filter(
             @RequestParam Long branchId,
-            @RequestParam MenuType type,
+            @RequestParam(required = false) MenuType type,
             @RequestParam(required = false) DietType dietType,
-            @RequestParam(required = false) Category category
+            @RequestParam(required = false) Category category,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
     ) {
-        if (dietType != null && category != null) {
-            return menuService.getMenuByTypeAndDietTypeAndCategory(branchId, type, dietType, category);
-        }
-        if (dietType != null) {
-            return menuService.getMenuByTypeAndDietType(branchId, type, dietType);
-        }
-        if (category != null) {
-            return menuService.getMenuByTypeAndCategory(branchId, type, category);
-        }
-        return menuService.getMenuByType(branchId, type);
+        return cachedResponse(menuResponses.get(branchId, type, dietType, category), acceptEncoding);
+    }
+
+    /**
+     * Search menu items of a branch as the user types.
+     *
+     * @param branchId Branch ID
+     * @param q        Search text matched against item names and descriptions
+     * @param limit    Maximum number of items returned (default 20, at most 100)
+     * @return List of matching menu items, best match first
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Search Menu Items", description = "Full-text, prefix and typo-tolerant search over item names and descriptions")
+    public List<MenuItem> search(@RequestParam Long branchId,
+                                 @RequestParam String q,
+                                 @RequestParam(defaultValue = "20") int limit) {
+        return menuService.searchMenu(branchId, q, Math.min(limit, MAX_SEARCH_RESULTS));
     }
 
     /**
@@ -96,4 +142,56 @@ public class MenuController {
     public List<MenuItem> bulkUpdate(@RequestBody List<MenuItem> items) {
         return menuService.bulkUpdate(items);
     }
+
+    /**
+     * Import menu items from a newline-delimited JSON stream.
+     * <p>
+     * Each line is one menu item; lines with an ID update that item, the rest are created.
+     * Items are saved in chunks as they are read and one result line is streamed back per
+     * input line, so a bad line is reported without aborting the import.
+     * </p>
+     *
+     * @param items NDJSON request body
+     * @return NDJSON stream of per-line results
+     */
+    @PostMapping(value = "/import", consumes = NDJSON, produces = NDJSON)
+    @Operation(summary = "Import Menu Items", description = "Creates or updates menu items from an NDJSON stream and streams back a result per line")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream processed; see per-line results")
+    })
+    public ResponseEntity<StreamingResponseBody> importMenu(InputStream items) {
+        return ResponseEntity.ok()
+                .header("Content-Type", NDJSON)
+                .body(results -> menuImportService.importMenu(items, results));
+    }
+
+    /**
+     * Builds a response from pre-encoded menu bytes.
+     * Spring answers 304 itself when the request's If-None-Match matches the ETag set here.
+     */
+    private static ResponseEntity<byte[]> cachedResponse(CachedMenu menu, String acceptEncoding) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(menu.etag())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+
+        if (menu.gzip() != null && acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(menu.gzip());
+        }
+        return response.body(menu.json());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
 }
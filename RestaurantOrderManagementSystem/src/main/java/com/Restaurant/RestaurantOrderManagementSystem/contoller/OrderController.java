@@ -1,28 +1,47 @@
 package com.Restaurant.RestaurantOrderManagementSystem.contoller;
 
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderDetails;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderPage;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderRequest;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderSearch;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderStatusBatch;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderStatusChange;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderStatusOutcome;
 import com.Restaurant.RestaurantOrderManagementSystem.entities.Order;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.OrderStatus;
+import com.Restaurant.RestaurantOrderManagementSystem.service.BulkOrderService;
 import com.Restaurant.RestaurantOrderManagementSystem.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 /**
  * REST Controller for managing Orders.
- * Supports creating new orders and updating order status.
+ * Supports creating new orders, reading them back and updating order status.
  */
 @RestController
 @RequestMapping("/api/orders")
 @Tag(name = "Order Controller", description = "Endpoints for managing customer orders")
 public class OrderController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final OrderService orderService;
+    private final BulkOrderService bulkOrderService;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, BulkOrderService bulkOrderService) {
         this.orderService = orderService;
+        this.bulkOrderService = bulkOrderService;
     }
 
     /**
@@ -32,7 +51,9 @@ public class OrderController {
      * @param customerName   Customer name
      * @param items          Map of MenuItem ID and quantity
      * @param instructions   Optional map of MenuItem ID and special instructions
-     * @param deliveryCharge Delivery charge for the order (default 0)
+     * @param deliveryDistanceMeters Delivery distance in meters as reported by the caller, from which the
+     *                               branch's delivery rules derive the charge (default 0, not delivered);
+     *                               negative or out-of-range distances are rejected
      * @return Created Order object with generated ID and calculated total
      */
     @PostMapping("/create")
@@ -45,24 +66,143 @@ public class OrderController {
                              @RequestParam String customerName,
                              @RequestBody Map<Long, Integer> items,
                              @RequestBody(required = false) Map<Long, String> instructions,
-                             @RequestParam(defaultValue = "0") double deliveryCharge) {
-        return orderService.createOrder(branchId, customerName, items, instructions, deliveryCharge);
+                             @RequestParam(defaultValue = "0") int deliveryDistanceMeters) {
+        return orderService.createOrder(branchId, customerName, items, instructions, deliveryDistanceMeters);
+    }
+
+    /**
+     * Create a new order from a JSON body, with menu items and combos.
+     * <p>
+     * Combos ordered by ID get their discount, and the combination of combos that
+     * saves the most on the loose items is applied automatically.
+     * </p>
+     *
+     * @param request Order with {@code branchId}, {@code customerName}, {@code items}, {@code combos},
+     *                {@code instructions} and {@code deliveryDistanceMeters}
+     * @return Created Order object with generated ID and calculated total
+     */
+    @PostMapping
+    @Operation(summary = "Place Order", description = "Creates an order with menu items and combos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Order created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid order data")
+    })
+    public Order placeOrder(@RequestBody OrderRequest request) {
+        return orderService.createOrder(request);
+    }
+
+    /**
+     * Create many orders from a newline-delimited JSON stream, e.g. an aggregator replay.
+     * <p>
+     * Each line is one order, in the same shape as the body of {@link #placeOrder}.
+     * The body is read incrementally and one result line per input line is streamed
+     * back as chunks are persisted.
+     * </p>
+     *
+     * @param orders NDJSON request body
+     * @return NDJSON stream of per-line results
+     */
+    @PostMapping(value = "/bulk", consumes = NDJSON, produces = NDJSON)
+    @Operation(summary = "Bulk Create Orders", description = "Creates orders from an NDJSON stream and streams back a result per line")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream processed; see per-line results")
+    })
+    public ResponseEntity<StreamingResponseBody> bulkCreate(InputStream orders) {
+        return ResponseEntity.ok()
+                .header("Content-Type", NDJSON)
+                .body(results -> bulkOrderService.ingest(orders, results));
+    }
+
+    /**
+     * Search orders, newest first, one page at a time.
+     * <p>
+     * Pass the {@code nextCursor} of a page as {@code cursor} to read the next one;
+     * any page costs the same as the first.
+     * </p>
+     *
+     * @param branchId Branch ID (this or {@code customer} is required)
+     * @param status   Optional order status
+     * @param customer Optional case-sensitive prefix of the customer name
+     * @param from     Optional earliest creation time, inclusive (ISO date-time)
+     * @param to       Optional latest creation time, exclusive (ISO date-time)
+     * @param cursor   Cursor of the page to read, from the previous page
+     * @param size     Page size, at most 100
+     * @return Orders of the page and the cursor of the next one
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Search Orders", description = "Searches orders by branch, status, customer and time range")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of orders"),
+            @ApiResponse(responseCode = "400", description = "Invalid filters or cursor")
+    })
+    public OrderPage searchOrders(@RequestParam(required = false) Long branchId,
+                                  @RequestParam(required = false) OrderStatus status,
+                                  @RequestParam(required = false) String customer,
+                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                  @RequestParam(required = false) String cursor,
+                                  @RequestParam(defaultValue = "20") int size) {
+        return orderService.searchOrders(new OrderSearch(branchId, status, customer, from, to), cursor, size);
+    }
+
+    /**
+     * Fetch an order with its lines.
+     *
+     * @param orderId Order ID
+     * @return Order header and lines, with amounts captured when the order was placed
+     */
+    @GetMapping("/{orderId}")
+    @Operation(summary = "Get Order", description = "Returns an order and its lines")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Order found"),
+            @ApiResponse(responseCode = "400", description = "Order not found")
+    })
+    public OrderDetails getOrder(@PathVariable Long orderId) {
+        return orderService.getOrder(orderId);
     }
 
     /**
      * Update the status of an existing order.
+     * <p>
+     * Only the transitions defined by {@link OrderStatus} are allowed, e.g. CREATED to ACCEPTED
+     * or READY to DELIVERED. Pass the {@code version} read with the order to reject the change
+     * if anyone else changed the order in the meantime.
+     * </p>
      *
      * @param orderId Order ID
-     * @param status  New status (CREATED, CONFIRMED, COMPLETED, CANCELLED, etc.)
-     * @return Updated Order object
+     * @param status  New status (ACCEPTED, PREPARING, READY, DELIVERED, CANCELLED)
+     * @param version Optional version the change is based on
+     * @return New status and version of the order
      */
     @PutMapping("/{orderId}/status")
-    @Operation(summary = "Update Order Status", description = "Updates the status of an existing order")
+    @Operation(summary = "Update Order Status", description = "Moves an order to its next status")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Order status updated successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid order status or order not found")
+            @ApiResponse(responseCode = "400", description = "Invalid order status or order not found"),
+            @ApiResponse(responseCode = "409", description = "Transition not allowed or order changed meanwhile")
+    })
+    public OrderStatusChange updateStatus(@PathVariable Long orderId, @RequestParam String status,
+                                          @RequestParam(required = false) Long version) {
+        return orderService.updateStatus(orderId, status, version);
+    }
+
+    /**
+     * Update the status of several orders at once, e.g. tickets marked READY together.
+     * <p>
+     * Each order is checked against the same transitions as a single update; orders that
+     * cannot move are reported in the result rather than failing the whole batch.
+     * </p>
+     *
+     * @param batch Order IDs (at most 100) and the target status
+     * @return One outcome per order: UPDATED, NOT_FOUND, INVALID_TRANSITION or CONFLICT
+     */
+    @PutMapping("/status")
+    @Operation(summary = "Update Order Statuses", description = "Moves several orders to the same status")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see per-order outcomes"),
+            @ApiResponse(responseCode = "400", description = "Invalid status or batch size")
     })
-    public Order updateStatus(@PathVariable Long orderId, @RequestParam String status) {
-        return orderService.updateStatus(orderId, status);
+    public List<OrderStatusOutcome> updateStatuses(@RequestBody OrderStatusBatch batch) {
+        return orderService.updateStatuses(batch.orderIds(), batch.status());
     }
 }
@@ -1,5 +1,6 @@
 package com.Restaurant.RestaurantOrderManagementSystem.controller;
 
+import com.Restaurant.RestaurantOrderManagementSystem.dto.Bill;
 import com.Restaurant.RestaurantOrderManagementSystem.entities.Payment;
 import com.Restaurant.RestaurantOrderManagementSystem.enums.PaymentMethod;
 import com.Restaurant.RestaurantOrderManagementSystem.service.impl.PaymentServiceImpl;
@@ -9,7 +10,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST Controller for handling payments.
@@ -44,6 +45,30 @@ public class PaymentController {
         return paymentService.processPayment(orderId, method);
     }
 
+    /**
+     * Process a payment without holding a request thread while the gateway answers.
+     * The payment method's timeout applies. A declined or rejected call returns a FAILED payment;
+     * a timed-out one returns a PENDING payment, which is settled later with the outcome the
+     * gateway reports. If the outcome cannot be recorded right away, the call answers 503 and the
+     * payment is settled the same way.
+     *
+     * @param orderId Order ID to pay
+     * @param method  Payment method (CREDIT_CARD, DEBIT_CARD, UPI, CASH)
+     * @return future Payment object containing status and transaction details
+     */
+    @PostMapping("/async/{orderId}/{method}")
+    @Operation(summary = "Process Payment Asynchronously",
+            description = "Processes payment on a bounded per-method executor with a timeout, releasing the request thread while the gateway is called")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Payment completed; check the status for the outcome"),
+            @ApiResponse(responseCode = "406", description = "Order cannot be paid or method unsupported"),
+            @ApiResponse(responseCode = "503", description = "Payment method or outcome recording temporarily overloaded")
+    })
+    public CompletableFuture<Payment> payAsync(@PathVariable Long orderId,
+                                               @PathVariable PaymentMethod method) {
+        return paymentService.processPaymentAsync(orderId, method);
+    }
+
     /**
      * Retry a failed payment for an order using a specified payment method.
      *
@@ -66,7 +91,7 @@ public class PaymentController {
      * Process a partial refund for an order.
      *
      * @param orderId Order ID to refund
-     * @param amount  Amount to refund
+     * @param amount  Amount to refund, in minor units (paise)
      * @return Payment object representing the refund transaction
      */
     @PostMapping("/refund/{orderId}")
@@ -76,7 +101,7 @@ public class PaymentController {
             @ApiResponse(responseCode = "400", description = "Refund failed or invalid amount")
     })
     public Payment refund(@PathVariable Long orderId,
-                          @RequestParam double amount) {
+                          @RequestParam long amount) {
         return paymentService.partialRefund(orderId, amount);
     }
 
@@ -84,7 +109,7 @@ public class PaymentController {
      * Retrieve the detailed bill for an order.
      *
      * @param orderId Order ID to fetch the bill
-     * @return Map containing items total, tax, delivery charge, grand total, paid amount, and remaining amount
+     * @return Bill with items total, tax, delivery charge, grand total, paid amount and remaining amount, in paise
      */
     @GetMapping("/bill/{orderId}")
     @Operation(summary = "Get Bill", description = "Retrieves the detailed bill for the given order")
@@ -92,7 +117,7 @@ public class PaymentController {
             @ApiResponse(responseCode = "200", description = "Bill retrieved successfully"),
             @ApiResponse(responseCode = "400", description = "Order not found")
     })
-    public Map<String, Double> bill(@PathVariable Long orderId) {
+    public Bill bill(@PathVariable Long orderId) {
         return paymentService.getBill(orderId);
     }
 }
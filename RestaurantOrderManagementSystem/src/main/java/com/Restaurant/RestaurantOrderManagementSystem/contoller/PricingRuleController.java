@@ -0,0 +1,73 @@
+package com.Restaurant.RestaurantOrderManagementSystem.contoller;
+
+import com.Restaurant.RestaurantOrderManagementSystem.entities.PricingRule;
+import com.Restaurant.RestaurantOrderManagementSystem.service.PricingRuleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for managing pricing rules: taxes, packaging fees and delivery charges.
+ * Changes take effect for new orders as soon as they are committed.
+ */
+@Tag(name = "Pricing Rule API", description = "Tax, packaging and delivery rule management")
+@RestController
+@RequestMapping("/api/pricing-rules")
+public class PricingRuleController {
+
+    private final PricingRuleService ruleService;
+
+    public PricingRuleController(PricingRuleService ruleService) {
+        this.ruleService = ruleService;
+    }
+
+    /**
+     * List the rules of a branch.
+     *
+     * @param branchId branch ID; omit for the rules shared by all branches
+     * @return list of rules
+     */
+    @Operation(summary = "Get pricing rules")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Rules fetched successfully")
+    })
+    @GetMapping
+    public List<PricingRule> getRules(@RequestParam(required = false) Long branchId) {
+        return ruleService.getRules(branchId);
+    }
+
+    /**
+     * Create a pricing rule. Rates are in basis points and amounts in minor units (paise).
+     *
+     * @param rule rule details
+     * @return created rule
+     */
+    @Operation(summary = "Create pricing rule")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Rule created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid rule")
+    })
+    @PostMapping
+    public PricingRule createRule(@RequestBody PricingRule rule) {
+        return ruleService.createRule(rule);
+    }
+
+    /**
+     * Delete a pricing rule.
+     *
+     * @param id rule ID
+     */
+    @Operation(summary = "Delete pricing rule")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Rule deleted"),
+            @ApiResponse(responseCode = "400", description = "Rule not found")
+    })
+    @DeleteMapping("/{id}")
+    public void deleteRule(@PathVariable Long id) {
+        ruleService.deleteRule(id);
+    }
+}
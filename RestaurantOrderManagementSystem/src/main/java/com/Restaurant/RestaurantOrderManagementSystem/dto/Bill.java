@@ -0,0 +1,16 @@
+package com.Restaurant.RestaurantOrderManagementSystem.dto;
+
+/**
+ * Bill of an order as returned to clients. Amounts are in minor units (paise).
+ *
+ * @param itemsTotal      sum of all order lines
+ * @param tax             tax on the order lines
+ * @param packagingCharge packaging fees of the order lines
+ * @param deliveryCharge  delivery charge of the order
+ * @param grandTotal      total order amount
+ * @param paidAmount      amount already paid
+ * @param remainingAmount amount still to pay
+ */
+public record Bill(long itemsTotal, long tax, long packagingCharge, long deliveryCharge, long grandTotal, long paidAmount,
+                   long remainingAmount) {
+}
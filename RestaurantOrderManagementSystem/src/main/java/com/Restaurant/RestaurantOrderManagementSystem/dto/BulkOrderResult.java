@@ -0,0 +1,23 @@
+package com.Restaurant.RestaurantOrderManagementSystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one line of a bulk order upload, streamed back as one NDJSON line.
+ *
+ * @param line    1-based line number in the uploaded stream
+ * @param status  CREATED or REJECTED
+ * @param orderId ID of the created order, if any
+ * @param error   reason the line was rejected, if any
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkOrderResult(long line, String status, Long orderId, String error) {
+
+    public static BulkOrderResult created(long line, Long orderId) {
+        return new BulkOrderResult(line, "CREATED", orderId, null);
+    }
+
+    public static BulkOrderResult rejected(long line, String error) {
+        return new BulkOrderResult(line, "REJECTED", null, error);
+    }
+}
@@ -0,0 +1,17 @@
+package com.Restaurant.RestaurantOrderManagementSystem.dto;
+
+import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
+
+import java.util.List;
+
+/**
+ * Changes to a branch menu since a version, returned by the menu delta sync feed.
+ * Each item appears at most once, in its latest state.
+ *
+ * @param version   version to send as {@code since} on the next poll
+ * @param reset     true if {@code upserts} is the whole menu and the client should drop what it has
+ * @param upserts   available items added or changed since the requested version
+ * @param deletions IDs of items removed from the menu or no longer available
+ */
+public record MenuChanges(long version, boolean reset, List<MenuItem> upserts, List<Long> deletions) {
+}
@@ -0,0 +1,27 @@
+package com.Restaurant.RestaurantOrderManagementSystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one line of a menu import, streamed back as one NDJSON line.
+ *
+ * @param line       1-based line number in the uploaded stream
+ * @param status     CREATED, UPDATED or REJECTED
+ * @param menuItemId ID of the saved menu item, if any
+ * @param error      reason the line was rejected, if any
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MenuImportResult(long line, String status, Long menuItemId, String error) {
+
+    public static MenuImportResult created(long line, Long menuItemId) {
+        return new MenuImportResult(line, "CREATED", menuItemId, null);
+    }
+
+    public static MenuImportResult updated(long line, Long menuItemId) {
+        return new MenuImportResult(line, "UPDATED", menuItemId, null);
+    }
+
+    public static MenuImportResult rejected(long line, String error) {
+        return new MenuImportResult(line, "REJECTED", null, error);
+    }
+}
@@ -0,0 +1,14 @@
+package com.Restaurant.RestaurantOrderManagementSystem.dto;
+
+/**
+ * Billing amounts of an order, read as one row without its items. Amounts are in minor units.
+ *
+ * @param subtotal        sum of the line totals, at the prices captured when the order was placed
+ * @param tax             tax on the subtotal
+ * @param packagingCharge packaging fees of all lines
+ * @param deliveryCharge  delivery charge
+ * @param totalAmount     grand total
+ * @param paidAmount      amount already paid
+ */
+public record OrderBill(long subtotal, long tax, long packagingCharge, long deliveryCharge, long totalAmount, long paidAmount) {
+}
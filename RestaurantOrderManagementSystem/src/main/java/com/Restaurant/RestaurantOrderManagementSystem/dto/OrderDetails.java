@@ -0,0 +1,12 @@
+package com.Restaurant.RestaurantOrderManagementSystem.dto;
+
+import java.util.List;
+
+/**
+ * An order as returned by the read endpoints: its header and its lines.
+ *
+ * @param order header of the order
+ * @param items lines of the order, in the order they were added
+ */
+public record OrderDetails(OrderSummary order, List<OrderLine> items) {
+}
@@ -0,0 +1,34 @@
+package com.Restaurant.RestaurantOrderManagementSystem.dto;
+
+/**
+ * One line of an order with the menu item name it was ordered as. Amounts are in minor units,
+ * at the prices captured when the order was placed.
+ *
+ * @param orderId             ID of the order the line belongs to
+ * @param id                  line ID
+ * @param menuItemId          ID of the ordered menu item
+ * @param name                name of the menu item
+ * @param comboId             ID of the combo the line was ordered as part of, or null
+ * @param quantity            quantity ordered
+ * @param unitPrice           unit price
+ * @param discountAmount      combo discount on the line
+ * @param taxAmount           tax on the line
+ * @param packagingFee        packaging fee of the line
+ * @param lineTotal           line total before tax, after the discount
+ * @param cancelled           whether the line was cancelled
+ * @param specialInstructions special instructions, if any
+ */
+public record OrderLine(Long orderId,
+                        Long id,
+                        Long menuItemId,
+                        String name,
+                        Long comboId,
+                        int quantity,
+                        long unitPrice,
+                        long discountAmount,
+                        long taxAmount,
+                        long packagingFee,
+                        long lineTotal,
+                        boolean cancelled,
+                        String specialInstructions) {
+}
@@ -0,0 +1,12 @@
+package com.Restaurant.RestaurantOrderManagementSystem.dto;
+
+import java.util.List;
+
+/**
+ * One page of an order search, newest first.
+ *
+ * @param orders     the orders of the page
+ * @param nextCursor opaque cursor to pass back for the next page, or null on the last page
+ */
+public record OrderPage(List<OrderSummary> orders, String nextCursor) {
+}
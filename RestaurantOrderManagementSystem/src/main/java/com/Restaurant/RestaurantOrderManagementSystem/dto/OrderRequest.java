@@ -0,0 +1,23 @@
+package com.Restaurant.RestaurantOrderManagementSystem.dto;
+
+import java.util.Map;
+
+/**
+ * A single order as submitted by an external feed, e.g. one line of a bulk NDJSON upload.
+ *
+ * @param branchId               ID of the branch where the order is placed
+ * @param customerName           Name of the customer
+ * @param items                  Map of menu item IDs to quantities
+ * @param combos                 Optional map of combo IDs to quantities
+ * @param instructions           Optional map of menu item IDs to special instructions
+ * @param deliveryDistanceMeters Delivery distance as geocoded by the feed, from which the delivery charge is
+ *                               derived; 0 if not delivered. It is trusted as reported, within the
+ *                               accepted range of the order service
+ */
+public record OrderRequest(Long branchId,
+                           String customerName,
+                           Map<Long, Integer> items,
+                           Map<Long, Integer> combos,
+                           Map<Long, String> instructions,
+                           int deliveryDistanceMeters) {
+}
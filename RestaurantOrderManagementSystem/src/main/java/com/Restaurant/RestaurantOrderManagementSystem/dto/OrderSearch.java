@@ -0,0 +1,22 @@
+package com.Restaurant.RestaurantOrderManagementSystem.dto;
+
+import com.Restaurant.RestaurantOrderManagementSystem.enums.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters of an order search. Null filters are not applied, but at least a branch
+ * or a customer name prefix is required so every search can use an index.
+ *
+ * @param branchId       ID of the branch, or null
+ * @param status         order status, or null
+ * @param customerPrefix case-sensitive prefix of the customer name, or null
+ * @param from           earliest creation time, inclusive, or null
+ * @param to             latest creation time, exclusive, or null
+ */
+public record OrderSearch(Long branchId,
+                          OrderStatus status,
+                          String customerPrefix,
+                          LocalDateTime from,
+                          LocalDateTime to) {
+}
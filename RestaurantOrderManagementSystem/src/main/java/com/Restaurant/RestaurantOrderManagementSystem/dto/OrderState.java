@@ -0,0 +1,14 @@
+package com.Restaurant.RestaurantOrderManagementSystem.dto;
+
+import com.Restaurant.RestaurantOrderManagementSystem.enums.OrderStatus;
+
+/**
+ * Branch, status and version of an order, the only columns a status change needs to read.
+ *
+ * @param id       order ID
+ * @param branchId ID of the order's branch
+ * @param status   current status
+ * @param version  current version
+ */
+public record OrderState(Long id, Long branchId, OrderStatus status, long version) {
+}
@@ -0,0 +1,12 @@
+package com.Restaurant.RestaurantOrderManagementSystem.dto;
+
+import java.util.List;
+
+/**
+ * Moves several orders to the same status at once, e.g. an expo station marking tickets READY.
+ *
+ * @param orderIds IDs of the orders; duplicates are ignored
+ * @param status   target status
+ */
+public record OrderStatusBatch(List<Long> orderIds, String status) {
+}
@@ -0,0 +1,13 @@
+package com.Restaurant.RestaurantOrderManagementSystem.dto;
+
+import com.Restaurant.RestaurantOrderManagementSystem.enums.OrderStatus;
+
+/**
+ * Result of a status change applied without reading the order back.
+ *
+ * @param orderId ID of the order
+ * @param status  the status the order is now in
+ * @param version the new version, if the change was made against a known version; otherwise null
+ */
+public record OrderStatusChange(Long orderId, OrderStatus status, Long version) {
+}
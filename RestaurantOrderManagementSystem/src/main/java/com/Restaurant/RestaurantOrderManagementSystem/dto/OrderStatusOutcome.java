@@ -0,0 +1,24 @@
+package com.Restaurant.RestaurantOrderManagementSystem.dto;
+
+import com.Restaurant.RestaurantOrderManagementSystem.enums.OrderStatus;
+
+/**
+ * Outcome of one order in a batch status change.
+ *
+ * @param orderId ID of the order
+ * @param result  what happened to the order
+ * @param status  status of the order after the batch, or null if it does not exist
+ */
+public record OrderStatusOutcome(Long orderId, Result result, OrderStatus status) {
+
+    public enum Result {
+        /** Moved to the target status. */
+        UPDATED,
+        /** No order with this ID. */
+        NOT_FOUND,
+        /** The target status cannot be reached from the order's status. */
+        INVALID_TRANSITION,
+        /** The order changed between the read and the update. */
+        CONFLICT
+    }
+}
@@ -0,0 +1,37 @@
+package com.Restaurant.RestaurantOrderManagementSystem.dto;
+
+import com.Restaurant.RestaurantOrderManagementSystem.enums.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Header of an order, read as one row without its items or branch. Amounts are in minor units.
+ *
+ * @param id              order ID
+ * @param branchId        ID of the branch the order was placed at
+ * @param customerName    name of the customer
+ * @param status          current status
+ * @param subtotal        sum of the line totals, after combo discounts
+ * @param discountAmount  combo discounts already taken off the subtotal
+ * @param taxAmount       tax on the subtotal
+ * @param packagingCharge packaging fees of all lines
+ * @param deliveryCharge  delivery charge
+ * @param totalAmount     grand total
+ * @param paidAmount      amount already paid
+ * @param createdAt       when the order was placed
+ * @param version         version to send back with a status change
+ */
+public record OrderSummary(Long id,
+                           Long branchId,
+                           String customerName,
+                           OrderStatus status,
+                           long subtotal,
+                           long discountAmount,
+                           long taxAmount,
+                           long packagingCharge,
+                           long deliveryCharge,
+                           long totalAmount,
+                           long paidAmount,
+                           LocalDateTime createdAt,
+                           long version) {
+}
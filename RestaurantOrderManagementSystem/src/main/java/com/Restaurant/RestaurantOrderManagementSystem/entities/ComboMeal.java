@@ -14,6 +14,7 @@ public class ComboMeal {
     private Long id;
 
     private String name;
+    // Discount on the combined price of the items, as a percentage (e.g. 15.0)
     private double discountPercentage;
 
     @ManyToMany
@@ -27,6 +28,10 @@ public class ComboMeal {
     @ManyToOne
     private Branch branch;
 
+    public ComboMeal() {
+
+    }
+
     public ComboMeal(Long id, String name, double discountPercentage, List<MenuItem> items, Branch branch) {
         this.id = id;
         this.name = name;
@@ -8,15 +8,18 @@ import lombok.*;
 
 @Entity
 @Builder
+@Table(indexes = @Index(name = "idx_menu_item_branch_change", columnList = "branch_id, changeSeq"))
 public class MenuItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "menu_item_seq")
+    @SequenceGenerator(name = "menu_item_seq", sequenceName = "menu_item_seq", allocationSize = 50)
     private Long id;
 
     private String name;
     private String description;
-    private double price;
+    // In minor units (paise), see Money
+    private long price;
     private int preparationTimeMinutes;
 
     @Enumerated(EnumType.STRING)
@@ -34,7 +37,10 @@ public class MenuItem {
     @JoinColumn(name = "branch_id")
     private Branch branch;
 
-    public MenuItem(Long id, String name, String description, double price, int preparationTimeMinutes, Category category, DietType dietType, MenuType menuType, boolean available, Branch branch) {
+    // Sequence of the last change to this item, used by the menu delta sync feed
+    private Long changeSeq;
+
+    public MenuItem(Long id, String name, String description, long price, int preparationTimeMinutes, Category category, DietType dietType, MenuType menuType, boolean available, Branch branch, Long changeSeq) {
         this.id = id;
         this.name = name;
         this.description = description;
@@ -45,6 +51,7 @@ public class MenuItem {
         this.menuType = menuType;
         this.available = available;
         this.branch = branch;
+        this.changeSeq = changeSeq;
     }
 
     public MenuItem() {
@@ -75,11 +82,11 @@ public class MenuItem {
         this.description = description;
     }
 
-    public double getPrice() {
+    public long getPrice() {
         return price;
     }
 
-    public void setPrice(double price) {
+    public void setPrice(long price) {
         this.price = price;
     }
 
@@ -130,4 +137,12 @@ public class MenuItem {
     public void setBranch(Branch branch) {
         this.branch = branch;
     }
-}
\ No newline at end of file
+
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+}
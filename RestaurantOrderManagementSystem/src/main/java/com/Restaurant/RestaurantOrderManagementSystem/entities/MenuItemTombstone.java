@@ -0,0 +1,54 @@
+package com.Restaurant.RestaurantOrderManagementSystem.entities;
+
+import jakarta.persistence.*;
+
+/**
+ * Records that a menu item left a branch menu, so the branch's delta sync feed can report
+ * the removal. One row per item and branch, carrying the sequence of the latest removal.
+ */
+@Entity
+@Table(
+        uniqueConstraints = @UniqueConstraint(columnNames = {"menuItemId", "branchId"}),
+        indexes = @Index(name = "idx_menu_tombstone_branch_change", columnList = "branchId, changeSeq")
+)
+public class MenuItemTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "menu_item_tombstone_seq")
+    @SequenceGenerator(name = "menu_item_tombstone_seq", sequenceName = "menu_item_tombstone_seq", allocationSize = 50)
+    private Long id;
+
+    private Long menuItemId;
+    private Long branchId;
+    private long changeSeq;
+
+    public MenuItemTombstone(Long menuItemId, Long branchId, long changeSeq) {
+        this.menuItemId = menuItemId;
+        this.branchId = branchId;
+        this.changeSeq = changeSeq;
+    }
+
+    public MenuItemTombstone() {
+
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getMenuItemId() {
+        return menuItemId;
+    }
+
+    public Long getBranchId() {
+        return branchId;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+}
@@ -10,12 +10,18 @@ import java.util.List;
 
 
 @Entity
-@Table(name = "orders")
+// Each search shape seeks on (createdAt, id) within its equality prefix, see OrderSearchRepository
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_branch_created", columnList = "branch_id, createdAt, id"),
+        @Index(name = "idx_orders_branch_status_created", columnList = "branch_id, status, createdAt, id"),
+        @Index(name = "idx_orders_customer_created", columnList = "customerName, createdAt, id")
+})
 @Data
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     private String customerName;
@@ -23,17 +29,34 @@ public class Order {
     @Enumerated(EnumType.STRING)
     private OrderStatus status;
 
-    private double totalAmount;
+    // Bumped by every change, including the conditional status updates in OrderRepository
+    @Version
+    private long version;
 
-    public void setPaidAmount(double paidAmount) {
+    // Amounts captured when the order is placed, so bills never depend on current menu prices.
+    // All amounts are in minor units (paise), see Money
+    private long subtotal;
+
+    // Combo discounts, already taken off the subtotal
+    private long discountAmount;
+
+    private long taxAmount;
+
+    private long packagingCharge;
+
+    private long deliveryCharge;
+
+    private long totalAmount;
+
+    public void setPaidAmount(long paidAmount) {
         this.paidAmount = paidAmount;
     }
 
-    public double getPaidAmount() {
+    public long getPaidAmount() {
         return paidAmount;
     }
 
-    private double paidAmount;
+    private long paidAmount;
 
     private LocalDateTime createdAt;
 
@@ -43,7 +66,7 @@ public class Order {
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> items = new ArrayList<>();
 
-    public Order(Long id, String customerName, OrderStatus status, double totalAmount, LocalDateTime createdAt, Branch branch, List<OrderItem> items) {
+    public Order(Long id, String customerName, OrderStatus status, long totalAmount, LocalDateTime createdAt, Branch branch, List<OrderItem> items) {
         this.id = id;
         this.customerName = customerName;
         this.status = status;
@@ -81,11 +104,11 @@ public class Order {
         this.status = status;
     }
 
-    public double getTotalAmount() {
+    public long getTotalAmount() {
         return totalAmount;
     }
 
-    public void setTotalAmount(double totalAmount) {
+    public void setTotalAmount(long totalAmount) {
         this.totalAmount = totalAmount;
     }
 
@@ -1,5 +1,6 @@
 package com.Restaurant.RestaurantOrderManagementSystem.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -8,17 +9,39 @@ import lombok.*;
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq")
+    @SequenceGenerator(name = "order_item_seq", sequenceName = "order_item_seq", allocationSize = 50)
     private Long id;
 
+    // Back reference only; the order serializes its items, not the other way round
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne
     private Order order;
 
     @ManyToOne
     private MenuItem menuItem;
 
+    // Combo the line was ordered as part of, if any; exposed by ID only
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    private ComboMeal comboMeal;
+
     private int quantity;
 
+    // Price snapshot taken when the order is placed; later menu repricing does not change it.
+    // Amounts are in minor units (paise), see Money
+    private long unitPrice;
+
+    private long discountAmount;
+
+    private long taxAmount;
+
+    private long packagingFee;
+
+    private long lineTotal;
+
     private boolean cancelled;
 
     @Column(length = 500)
@@ -28,8 +51,18 @@ public class OrderItem {
 
     }
 
-    public double getTotalPrice() {
-        return menuItem.getPrice() * quantity;
+    /**
+     * @return the line total before tax and after any combo discount, at the price captured when the order was placed
+     */
+    public long getTotalPrice() {
+        return lineTotal;
+    }
+
+    /**
+     * @return ID of the combo the line was ordered as part of, or null
+     */
+    public Long getComboId() {
+        return comboMeal != null ? comboMeal.getId() : null;
     }
 
     public OrderItem(Long id, Order order, MenuItem menuItem, int quantity, boolean cancelled, String specialInstructions) {
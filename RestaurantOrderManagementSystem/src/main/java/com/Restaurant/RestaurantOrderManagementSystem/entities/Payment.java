@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class Payment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_seq")
+    @SequenceGenerator(name = "payment_seq", sequenceName = "payment_seq", allocationSize = 50)
     private Long id;
 
     private Long orderId;
@@ -30,7 +31,8 @@ public class Payment {
     @Enumerated(EnumType.STRING)
     private PaymentStatus status;
 
-    private double amount;
+    // In minor units (paise), see Money
+    private long amount;
 
     public LocalDateTime getCreatedAt() {
         return createdAt;
@@ -43,9 +45,9 @@ public class Payment {
     private LocalDateTime createdAt;
 
     private int retryCount;
-    private double refundedAmount;
+    private long refundedAmount;
 
-    public Payment(Long id, Long orderId, PaymentMethod method, PaymentStatus status, double amount, LocalDateTime createdAt, int retryCount, double refundedAmount) {
+    public Payment(Long id, Long orderId, PaymentMethod method, PaymentStatus status, long amount, LocalDateTime createdAt, int retryCount, long refundedAmount) {
         this.id = id;
         this.orderId = orderId;
         this.method = method;
@@ -92,11 +94,11 @@ public class Payment {
         this.status = status;
     }
 
-    public double getAmount() {
+    public long getAmount() {
         return amount;
     }
 
-    public void setAmount(double amount) {
+    public void setAmount(long amount) {
         this.amount = amount;
     }
 
@@ -108,7 +110,7 @@ public class Payment {
         this.retryCount = retryCount;
     }
 
-    public void setRefundedAmount(double amount) {
+    public void setRefundedAmount(long amount) {
 
     }
 }
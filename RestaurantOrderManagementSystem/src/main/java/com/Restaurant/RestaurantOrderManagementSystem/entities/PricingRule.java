@@ -0,0 +1,65 @@
+package com.Restaurant.RestaurantOrderManagementSystem.entities;
+
+import com.Restaurant.RestaurantOrderManagementSystem.enums.Category;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.DietType;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.PricingRuleType;
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * A tax, packaging or delivery rule used to price orders.
+ * <p>
+ * A rule without a branch applies to every branch, and a rule without a category or
+ * diet type applies to every category or diet type. When several rules match a line,
+ * the most specific one wins; see
+ * {@link com.Restaurant.RestaurantOrderManagementSystem.pricing.PricingPlan}.
+ * </p>
+ */
+@Entity
+@Data
+@Table(indexes = @Index(name = "idx_pricing_rule_branch", columnList = "branchId"))
+public class PricingRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Null for rules shared by all branches
+    private Long branchId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PricingRuleType type;
+
+    // Null matches any category or diet type; ignored by delivery rules
+    @Enumerated(EnumType.STRING)
+    private Category category;
+
+    @Enumerated(EnumType.STRING)
+    private DietType dietType;
+
+    // Rate of TAX rules
+    private int basisPoints;
+
+    // Fee of PACKAGING_FEE and DELIVERY_FEE rules, in minor units (paise)
+    private long amount;
+
+    // Distance from which a DELIVERY_FEE rule applies
+    private int minDistanceMeters;
+
+    public PricingRule() {
+
+    }
+
+    public PricingRule(Long id, Long branchId, PricingRuleType type, Category category, DietType dietType,
+                       int basisPoints, long amount, int minDistanceMeters) {
+        this.id = id;
+        this.branchId = branchId;
+        this.type = type;
+        this.category = category;
+        this.dietType = dietType;
+        this.basisPoints = basisPoints;
+        this.amount = amount;
+        this.minDistanceMeters = minDistanceMeters;
+    }
+}
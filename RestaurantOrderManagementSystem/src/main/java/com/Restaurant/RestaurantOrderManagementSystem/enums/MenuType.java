@@ -2,6 +2,10 @@ package com.Restaurant.RestaurantOrderManagementSystem.enums;
 
 import java.time.LocalTime;
 
+/**
+ * Menu types with their default service windows.
+ * Branch specific windows are configured under {@code menu.schedule}.
+ */
 public enum MenuType {
     BREAKFAST(LocalTime.of(6,0), LocalTime.of(11,0)),
     LUNCH(LocalTime.of(11,0), LocalTime.of(16,0)),
@@ -15,9 +19,17 @@ public enum MenuType {
         this.end = end;
     }
 
+    /**
+     * Default start of the service window, inclusive.
+     */
+    public LocalTime getStart() {
+        return start;
+    }
 
-    public boolean isActive() {
-        LocalTime now = LocalTime.now();
-        return !now.isBefore(start) && !now.isAfter(end);
+    /**
+     * Default end of the service window, exclusive.
+     */
+    public LocalTime getEnd() {
+        return end;
     }
 }
@@ -1,5 +1,50 @@
 package com.Restaurant.RestaurantOrderManagementSystem.enums;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum OrderStatus {
-    CREATED, ACCEPTED, PREPARING, READY, DELIVERED, CANCELLED
+    CREATED, ACCEPTED, PREPARING, READY, DELIVERED, CANCELLED;
+
+    // Transition table, built once: the statuses each status may move to, and the reverse
+    private static final Map<OrderStatus, Set<OrderStatus>> NEXT = new EnumMap<>(OrderStatus.class);
+    private static final Map<OrderStatus, Set<OrderStatus>> PREVIOUS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        NEXT.put(CREATED, EnumSet.of(ACCEPTED, CANCELLED));
+        NEXT.put(ACCEPTED, EnumSet.of(PREPARING, CANCELLED));
+        NEXT.put(PREPARING, EnumSet.of(READY, CANCELLED));
+        NEXT.put(READY, EnumSet.of(DELIVERED));
+        NEXT.put(DELIVERED, EnumSet.noneOf(OrderStatus.class));
+        NEXT.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
+
+        for (OrderStatus status : values()) {
+            PREVIOUS.put(status, EnumSet.noneOf(OrderStatus.class));
+        }
+        NEXT.forEach((from, targets) -> targets.forEach(to -> PREVIOUS.get(to).add(from)));
+
+        NEXT.replaceAll((status, targets) -> Collections.unmodifiableSet(targets));
+        PREVIOUS.replaceAll((status, sources) -> Collections.unmodifiableSet(sources));
+    }
+
+    /**
+     * @return the statuses an order in this status may move to; empty for final statuses
+     */
+    public Set<OrderStatus> next() {
+        return NEXT.get(this);
+    }
+
+    /**
+     * @return the statuses an order may move to this status from
+     */
+    public Set<OrderStatus> previous() {
+        return PREVIOUS.get(this);
+    }
+
+    public boolean canMoveTo(OrderStatus target) {
+        return NEXT.get(this).contains(target);
+    }
 }
@@ -0,0 +1,13 @@
+package com.Restaurant.RestaurantOrderManagementSystem.enums;
+
+/**
+ * Kinds of pricing rules applied when an order is priced.
+ */
+public enum PricingRuleType {
+    /** Tax on the line total, in basis points. */
+    TAX,
+    /** Packaging fee per unit ordered, in minor units. */
+    PACKAGING_FEE,
+    /** Delivery charge for orders delivered at least a given distance away, in minor units. */
+    DELIVERY_FEE
+}
@@ -0,0 +1,13 @@
+package com.Restaurant.RestaurantOrderManagementSystem.event;
+
+/**
+ * Application event published whenever a combo meal is created.
+ * <p>
+ * Consumed with {@code @TransactionalEventListener}, so the combo index
+ * only reloads a branch once the change is committed.
+ * </p>
+ *
+ * @param branchId ID of the branch whose combos changed
+ */
+public record ComboChangedEvent(Long branchId) {
+}
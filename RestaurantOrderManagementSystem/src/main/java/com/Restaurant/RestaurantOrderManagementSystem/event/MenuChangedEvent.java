@@ -0,0 +1,23 @@
+package com.Restaurant.RestaurantOrderManagementSystem.event;
+
+import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
+
+import java.util.List;
+
+/**
+ * Application event published by the menu service whenever menu items are saved.
+ * <p>
+ * Listeners that keep in-memory copies of the menu should consume it with
+ * {@code @TransactionalEventListener} so they only see committed data.
+ * </p>
+ *
+ * @param items  the menu items as they were saved
+ * @param remote true if the items were saved by another application instance
+ *               and the event is replayed here to refresh local copies
+ */
+public record MenuChangedEvent(List<MenuItem> items, boolean remote) {
+
+    public MenuChangedEvent(List<MenuItem> items) {
+        this(items, false);
+    }
+}
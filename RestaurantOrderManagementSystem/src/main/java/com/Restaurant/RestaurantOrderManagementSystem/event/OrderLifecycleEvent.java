@@ -0,0 +1,31 @@
+package com.Restaurant.RestaurantOrderManagementSystem.event;
+
+import com.Restaurant.RestaurantOrderManagementSystem.enums.OrderStatus;
+
+/**
+ * Application event published whenever an order is created or changes status.
+ * <p>
+ * Consumed with {@code @TransactionalEventListener} by the order stream hub, so
+ * kitchen displays only hear about changes once they are committed.
+ * </p>
+ *
+ * @param type     what happened to the order
+ * @param orderId  ID of the order
+ * @param branchId ID of the order's branch, or null if the publisher did not read it
+ * @param status   status of the order after the change
+ * @param version  version of the order after the change, or null if not known
+ */
+public record OrderLifecycleEvent(Type type, Long orderId, Long branchId, OrderStatus status, Long version) {
+
+    public enum Type {
+        CREATED, STATUS_CHANGED
+    }
+
+    public static OrderLifecycleEvent created(Long orderId, Long branchId, OrderStatus status, long version) {
+        return new OrderLifecycleEvent(Type.CREATED, orderId, branchId, status, version);
+    }
+
+    public static OrderLifecycleEvent statusChanged(Long orderId, Long branchId, OrderStatus status, Long version) {
+        return new OrderLifecycleEvent(Type.STATUS_CHANGED, orderId, branchId, status, version);
+    }
+}
@@ -0,0 +1,13 @@
+package com.Restaurant.RestaurantOrderManagementSystem.event;
+
+/**
+ * Application event published whenever pricing rules are created or deleted.
+ * <p>
+ * Consumed with {@code @TransactionalEventListener}, so compiled pricing plans
+ * are only rebuilt from committed rules.
+ * </p>
+ *
+ * @param branchId ID of the branch whose rules changed, or null if a rule shared by all branches changed
+ */
+public record PricingRulesChangedEvent(Long branchId) {
+}
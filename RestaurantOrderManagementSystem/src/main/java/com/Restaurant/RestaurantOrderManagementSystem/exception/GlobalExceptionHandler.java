@@ -2,8 +2,10 @@ package com.Restaurant.RestaurantOrderManagementSystem.exception;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 /**
  * Global exception handler for the application.
@@ -53,6 +55,36 @@ public class GlobalExceptionHandler {
                 .body("Business Error: " + ex.getMessage());
     }
 
+    /**
+     * Handles exceptions of type {@link OrderConflictException}.
+     *
+     * @param ex the OrderConflictException thrown
+     * @return ResponseEntity with status 409 (Conflict) and error message
+     */
+    @ExceptionHandler(OrderConflictException.class)
+    public ResponseEntity<String> handleOrderConflict(OrderConflictException ex) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body("Order Conflict: " + ex.getMessage());
+    }
+
+    /**
+     * Handles request bodies and parameters that cannot be read, e.g. a fractional
+     * amount where a whole number of paise is expected.
+     *
+     * @param ex the exception thrown while binding the request
+     * @return ResponseEntity with status 400 (Bad Request) and error message
+     */
+    @ExceptionHandler({HttpMessageNotReadableException.class, MethodArgumentTypeMismatchException.class})
+    public ResponseEntity<String> handleUnreadable(Exception ex) {
+        String detail = ex instanceof HttpMessageNotReadableException unreadable
+                ? unreadable.getMostSpecificCause().getMessage()
+                : ex.getMessage();
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body("Bad Request: " + detail);
+    }
+
     /**
      * Handles all generic exceptions not explicitly handled by other handlers.
      *
@@ -78,5 +110,17 @@ public class GlobalExceptionHandler {
                 .status(HttpStatus.NOT_ACCEPTABLE)
                 .body("Payment Error: " + ex.getMessage());
     }
-}
 
+    /**
+     * Handles exceptions of type {@link PaymentUnavailableException}.
+     *
+     * @param ex the PaymentUnavailableException thrown
+     * @return ResponseEntity with status 503 (Service Unavailable) and error message
+     */
+    @ExceptionHandler(PaymentUnavailableException.class)
+    public ResponseEntity<String> handlePaymentUnavailable(PaymentUnavailableException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body("Payment Unavailable: " + ex.getMessage());
+    }
+}
@@ -0,0 +1,28 @@
+package com.Restaurant.RestaurantOrderManagementSystem.exception;
+
+import com.Restaurant.RestaurantOrderManagementSystem.enums.OrderStatus;
+
+/**
+ * A status change lost to the order's current state: either the transition is not
+ * allowed from the status the order is in, or the order changed since the version
+ * the caller read. Carries the current status and version so the caller can retry.
+ */
+public class OrderConflictException extends BusinessException {
+
+    private final OrderStatus currentStatus;
+    private final long currentVersion;
+
+    public OrderConflictException(String message, OrderStatus currentStatus, long currentVersion) {
+        super(message);
+        this.currentStatus = currentStatus;
+        this.currentVersion = currentVersion;
+    }
+
+    public OrderStatus getCurrentStatus() {
+        return currentStatus;
+    }
+
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
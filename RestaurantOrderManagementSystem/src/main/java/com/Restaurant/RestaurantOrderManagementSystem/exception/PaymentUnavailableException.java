@@ -0,0 +1,9 @@
+package com.Restaurant.RestaurantOrderManagementSystem.exception;
+
+/**
+ * A payment method is temporarily refusing new payments, either because its
+ * circuit breaker is open or because too many payments are already in flight.
+ */
+public class PaymentUnavailableException extends PaymentException {
+    public PaymentUnavailableException(String message) { super(message); }
+}
@@ -0,0 +1,10 @@
+package com.Restaurant.RestaurantOrderManagementSystem.exception;
+
+/**
+ * A payment failure that is expected to go away on its own, such as the gateway
+ * being briefly unavailable. Only these failures are retried.
+ */
+public class TransientPaymentException extends PaymentException {
+    public TransientPaymentException(String message) { super(message); }
+    public TransientPaymentException(String message, Throwable cause) { super(message, cause); }
+}
@@ -0,0 +1,334 @@
+package com.Restaurant.RestaurantOrderManagementSystem.idempotency;
+
+import com.Restaurant.RestaurantOrderManagementSystem.config.IdempotencyProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes POST requests carrying an {@code Idempotency-Key} header safe to retry.
+ * <p>
+ * The first request with a key is executed and its response stored. Later requests
+ * with the same key get the stored response replayed (marked with
+ * {@code Idempotent-Replayed: true}) instead of creating another order or payment;
+ * a duplicate arriving while the first is still running waits for its response.
+ * Reusing a key for a different request is rejected with 422. 5xx responses are
+ * handed to current waiters but not kept, so a later retry runs again. A new key that
+ * the store has no room for is rejected with 503 rather than run unprotected.
+ * </p>
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    private static final String CLAIM_ATTRIBUTE = IdempotencyFilter.class.getName() + ".claim";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    private final Counter misses;
+    private final Counter replays;
+    private final Counter waits;
+    private final Counter mismatches;
+    private final Counter conflicts;
+    private final Counter full;
+
+    /**
+     * Constructor for IdempotencyFilter.
+     *
+     * @param store      Store of claimed keys and their responses
+     * @param properties Covered paths, wait timeout and body limit
+     * @param registry   Registry for hit/miss metrics
+     */
+    public IdempotencyFilter(IdempotencyStore store, IdempotencyProperties properties, MeterRegistry registry) {
+        this.store = store;
+        this.properties = properties;
+        this.misses = counter(registry, "miss");
+        this.replays = counter(registry, "hit");
+        this.waits = counter(registry, "waited");
+        this.mismatches = counter(registry, "mismatch");
+        this.conflicts = counter(registry, "conflict");
+        this.full = counter(registry, "full");
+        Gauge.builder("idempotency.store.size", store, IdempotencyStore::size)
+                .description("Idempotency keys currently remembered")
+                .register(registry);
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("idempotency.requests")
+                .description("Requests carrying an Idempotency-Key, by outcome")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return properties.paths().stream().noneMatch(pattern -> matcher.match(pattern, path));
+    }
+
+    // Async endpoints finish on a later dispatch, which is where their response is captured
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        if (isAsyncDispatch(request)) {
+            IdempotencyStore.Claim claim = (IdempotencyStore.Claim) request.getAttribute(CLAIM_ATTRIBUTE);
+            ContentCachingResponseWrapper wrapper =
+                    WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+            if (claim == null || wrapper == null) {
+                chain.doFilter(request, response);
+                return;
+            }
+            execute(claim, request, wrapper, chain);
+            return;
+        }
+
+        String key = request.getHeader(HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST, HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        byte[] body = readBody(request);
+        if (body == null) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body too large for an idempotent request");
+            return;
+        }
+
+        String fingerprint = fingerprint(request, body);
+        IdempotencyStore.Claim claim;
+        try {
+            claim = store.claim(key, fingerprint);
+        } catch (IdempotencyStoreFullException e) {
+            full.increment();
+            log.warn("Refusing {} {}: {}", HEADER, key, e.getMessage());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, "Too many requests in progress; retry shortly");
+            return;
+        }
+
+        if (!claim.owner()) {
+            replay(claim, fingerprint, response);
+            return;
+        }
+
+        misses.increment();
+        HttpServletRequest cachedRequest = new CachedBodyRequest(request, body);
+        cachedRequest.setAttribute(CLAIM_ATTRIBUTE, claim);
+        execute(claim, cachedRequest, new ContentCachingResponseWrapper(response), chain);
+    }
+
+    /**
+     * Runs the request as the key's owner and records its response once it is complete.
+     */
+    private void execute(IdempotencyStore.Claim claim, HttpServletRequest request,
+                         ContentCachingResponseWrapper response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            store.release(claim, null);
+            throw e;
+        }
+
+        if (isAsyncStarted(request)) {
+            return; // finished on the async dispatch
+        }
+
+        StoredResponse stored = new StoredResponse(response.getStatus(), response.getContentType(),
+                response.getContentAsByteArray());
+        if (stored.status() >= 500) {
+            store.release(claim, stored);
+        } else {
+            store.complete(claim, stored);
+        }
+        response.copyBodyToResponse();
+    }
+
+    /**
+     * Answers a duplicate with the first request's response, waiting for it if needed.
+     */
+    private void replay(IdempotencyStore.Claim claim, String fingerprint, HttpServletResponse response)
+            throws IOException {
+        if (!claim.fingerprint().equals(fingerprint)) {
+            mismatches.increment();
+            reject(response, HttpStatus.UNPROCESSABLE_ENTITY, HEADER + " was already used for a different request");
+            return;
+        }
+
+        boolean inFlight = !claim.response().isDone();
+        StoredResponse stored;
+        try {
+            stored = claim.response().get(properties.waitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            conflicts.increment();
+            reject(response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is still in progress");
+            return;
+        } catch (ExecutionException e) {
+            conflicts.increment();
+            reject(response, HttpStatus.CONFLICT, "The original request with this " + HEADER + " failed; retry it");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            conflicts.increment();
+            reject(response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is still in progress");
+            return;
+        }
+
+        (inFlight ? waits : replays).increment();
+        log.debug("Replaying response for {} {}", HEADER, claim.key());
+
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    /**
+     * Reads the whole request body, or returns null if it exceeds the configured limit.
+     */
+    private byte[] readBody(HttpServletRequest request) throws IOException {
+        long limit = properties.maxBodySize().toBytes();
+        if (request.getContentLengthLong() > limit) {
+            return null;
+        }
+        byte[] body = request.getInputStream().readNBytes((int) limit + 1);
+        return body.length > limit ? null : body;
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            if (request.getQueryString() != null) {
+                digest.update((byte) '?');
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("Idempotency Error: " + message);
+    }
+
+    /**
+     * Request whose body has already been read into memory.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return available() == 0;
+                }
+
+                @Override
+                public int available() {
+                    return in.available();
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // The body is already buffered, so all of it is available at once
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException | RuntimeException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null
+                    ? Charset.forName(getCharacterEncoding())
+                    : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
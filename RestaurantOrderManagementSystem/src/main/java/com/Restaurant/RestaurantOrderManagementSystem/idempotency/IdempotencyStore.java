@@ -0,0 +1,52 @@
+package com.Restaurant.RestaurantOrderManagementSystem.idempotency;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Remembers the outcome of requests by idempotency key.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Claims a key. The first caller becomes its owner and must later call
+     * {@link #complete} or {@link #release}; everyone else gets the owner's claim
+     * and can wait on its response.
+     * @param key - Idempotency key sent by the client
+     * @param fingerprint - Hash of the request, to detect a key reused for a different request
+     * @return the claim, with {@code owner()} true for the first caller
+     * @throws IdempotencyStoreFullException if the key is new and the store cannot make room
+     *                                       without forgetting a request that is still running
+     */
+    Claim claim(String key, String fingerprint);
+
+    /**
+     * Publishes the owner's response to waiting duplicates and keeps it for later replays.
+     * @param claim - Claim returned to the owner
+     * @param response - Response to replay
+     */
+    void complete(Claim claim, StoredResponse response);
+
+    /**
+     * Publishes the owner's response to waiting duplicates but forgets the key,
+     * so the next request with it is executed again.
+     * @param claim - Claim returned to the owner
+     * @param response - Response for current waiters, or null if the request failed without one
+     */
+    void release(Claim claim, StoredResponse response);
+
+    /**
+     * @return number of keys currently remembered
+     */
+    int size();
+
+    /**
+     * A claim on an idempotency key.
+     *
+     * @param key         the key
+     * @param fingerprint fingerprint of the request that claimed it first
+     * @param owner       whether this caller is that first request
+     * @param response    completes with the first request's response
+     */
+    record Claim(String key, String fingerprint, boolean owner, CompletableFuture<StoredResponse> response) {
+    }
+}
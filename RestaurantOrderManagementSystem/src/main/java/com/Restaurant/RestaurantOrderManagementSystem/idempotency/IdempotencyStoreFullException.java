@@ -0,0 +1,9 @@
+package com.Restaurant.RestaurantOrderManagementSystem.idempotency;
+
+/**
+ * An {@link IdempotencyStore} has no room for a new key because every key it holds
+ * belongs to a request that is still running.
+ */
+public class IdempotencyStoreFullException extends RuntimeException {
+    public IdempotencyStoreFullException(String message) { super(message); }
+}
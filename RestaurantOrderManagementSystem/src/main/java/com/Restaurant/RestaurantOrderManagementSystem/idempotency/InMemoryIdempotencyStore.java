@@ -0,0 +1,125 @@
+package com.Restaurant.RestaurantOrderManagementSystem.idempotency;
+
+import com.Restaurant.RestaurantOrderManagementSystem.config.IdempotencyProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded in-memory {@link IdempotencyStore}.
+ * <p>
+ * Keys are kept in insertion order, which with a single TTL is also expiry order,
+ * so expired keys are trimmed from the head on every claim. When the store is full
+ * the oldest completed key is dropped even if it has not expired yet. Keys whose
+ * request is still running are never dropped, since a duplicate arriving later would
+ * run it a second time; if every key is in flight, new keys are refused instead.
+ * </p>
+ */
+@Component
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier nanoClock;
+
+    /**
+     * Constructor for InMemoryIdempotencyStore.
+     *
+     * @param properties TTL and size bound
+     */
+    @Autowired
+    public InMemoryIdempotencyStore(IdempotencyProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    public InMemoryIdempotencyStore(IdempotencyProperties properties, LongSupplier nanoClock) {
+        this.ttlNanos = properties.ttl().toNanos();
+        this.maxEntries = Math.max(1, properties.maxEntries());
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public synchronized Claim claim(String key, String fingerprint) {
+        long now = nanoClock.getAsLong();
+        evictExpired(now);
+
+        Entry existing = entries.get(key);
+        if (existing != null) {
+            return new Claim(key, existing.fingerprint(), false, existing.response());
+        }
+
+        if (entries.size() >= maxEntries && !evictCompleted(entries.size() - maxEntries + 1)) {
+            throw new IdempotencyStoreFullException(
+                    "All " + maxEntries + " idempotency keys belong to requests still in progress");
+        }
+
+        Entry entry = new Entry(fingerprint, new CompletableFuture<>(), now + ttlNanos);
+        entries.put(key, entry);
+        return new Claim(key, fingerprint, true, entry.response());
+    }
+
+    @Override
+    public void complete(Claim claim, StoredResponse response) {
+        claim.response().complete(response);
+    }
+
+    @Override
+    public void release(Claim claim, StoredResponse response) {
+        synchronized (this) {
+            // Only forget the key if it still belongs to this claim
+            Entry entry = entries.get(claim.key());
+            if (entry != null && entry.response() == claim.response()) {
+                entries.remove(claim.key());
+            }
+        }
+        if (response != null) {
+            claim.response().complete(response);
+        } else {
+            claim.response().completeExceptionally(new IllegalStateException("Original request failed"));
+        }
+    }
+
+    @Override
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.expiresAt() - now > 0) {
+                break; // everything after it expires later
+            }
+            // An in-flight request is never expired; its waiters still need the answer
+            if (entry.response().isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Drops up to {@code count} of the oldest completed keys.
+     *
+     * @return whether that many were dropped
+     */
+    private boolean evictCompleted(int count) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (count > 0 && iterator.hasNext()) {
+            if (iterator.next().response().isDone()) {
+                iterator.remove();
+                count--;
+            }
+        }
+        return count == 0;
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<StoredResponse> response, long expiresAt) {
+    }
+}
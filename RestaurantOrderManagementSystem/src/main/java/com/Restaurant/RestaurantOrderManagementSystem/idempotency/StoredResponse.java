@@ -0,0 +1,11 @@
+package com.Restaurant.RestaurantOrderManagementSystem.idempotency;
+
+/**
+ * Response of a completed idempotent request, replayed to later requests with the same key.
+ *
+ * @param status      HTTP status code
+ * @param contentType response content type, may be null
+ * @param body        response body
+ */
+public record StoredResponse(int status, String contentType, byte[] body) {
+}
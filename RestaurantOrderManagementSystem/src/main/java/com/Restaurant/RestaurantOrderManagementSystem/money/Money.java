@@ -0,0 +1,87 @@
+package com.Restaurant.RestaurantOrderManagementSystem.money;
+
+/**
+ * Fixed-point money arithmetic on {@code long} amounts in minor units (paise).
+ * <p>
+ * Every monetary value in the system, from entity columns to API responses, is a
+ * primitive {@code long} count of paise, so sums and comparisons are exact and the
+ * pricing path allocates nothing. Overflow throws instead of wrapping.
+ * </p>
+ * <p>
+ * Percentages are given in basis points (1/100 of a percent) and rounded half up,
+ * away from zero, to the nearest paisa. Tax is rounded per order line and the order
+ * tax is the sum of its line taxes, so an invoice always adds up line by line.
+ * </p>
+ */
+public final class Money {
+
+    /** Minor units per major unit (paise per rupee). */
+    public static final long MINOR_PER_MAJOR = 100;
+
+    /** Basis points in 100%. */
+    public static final int FULL_BASIS_POINTS = 10_000;
+
+    /** Tax applied to order lines: 18% GST or service tax. */
+    public static final int TAX_BASIS_POINTS = 1_800;
+
+    private Money() {
+    }
+
+    /**
+     * @return unit price times quantity
+     * @throws ArithmeticException on overflow
+     */
+    public static long times(long unitPrice, int quantity) {
+        return Math.multiplyExact(unitPrice, quantity);
+    }
+
+    /**
+     * @return the sum of two amounts
+     * @throws ArithmeticException on overflow
+     */
+    public static long plus(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    /**
+     * @return the first amount less the second
+     * @throws ArithmeticException on overflow
+     */
+    public static long minus(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    /**
+     * Applies a percentage, rounding half up (away from zero) to the nearest minor unit.
+     *
+     * @param amount      amount in minor units
+     * @param basisPoints percentage in basis points, e.g. 1800 for 18%
+     * @return the rounded share of the amount
+     * @throws ArithmeticException on overflow
+     */
+    public static long percentOf(long amount, int basisPoints) {
+        long scaled = Math.multiplyExact(amount, basisPoints);
+        long half = FULL_BASIS_POINTS / 2;
+        return scaled >= 0
+                ? (scaled + half) / FULL_BASIS_POINTS
+                : -((-scaled + half) / FULL_BASIS_POINTS);
+    }
+
+    /**
+     * @return the tax on an amount at {@link #TAX_BASIS_POINTS}
+     */
+    public static long tax(long amount) {
+        return percentOf(amount, TAX_BASIS_POINTS);
+    }
+
+    /**
+     * Formats an amount in major units with two decimals, e.g. {@code 49200} as {@code "492.00"}.
+     * Meant for logs and messages, not for the pricing path.
+     */
+    public static String format(long amount) {
+        long abs = Math.abs(amount);
+        String major = Long.toString(abs / MINOR_PER_MAJOR);
+        long minor = abs % MINOR_PER_MAJOR;
+        return (amount < 0 ? "-" : "") + major + (minor < 10 ? ".0" : ".") + minor;
+    }
+}
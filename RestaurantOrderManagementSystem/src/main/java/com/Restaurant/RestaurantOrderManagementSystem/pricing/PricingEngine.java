@@ -0,0 +1,118 @@
+package com.Restaurant.RestaurantOrderManagementSystem.pricing;
+
+import com.Restaurant.RestaurantOrderManagementSystem.cache.CacheInvalidation;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.CacheInvalidationBus;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.RemoteCacheTier;
+import com.Restaurant.RestaurantOrderManagementSystem.event.PricingRulesChangedEvent;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.PricingRuleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the compiled {@link PricingPlan} of every branch that has taken orders.
+ * <p>
+ * A branch's plan is compiled from its rules on first use and replaced as a whole
+ * once a change to its rules is committed, so an order is always priced against one
+ * consistent set of rules. Changes are broadcast on the invalidation bus so the other
+ * instances recompile too.
+ * </p>
+ */
+@Component
+public class PricingEngine {
+
+    /** Name under which rule changes are broadcast. */
+    public static final String CACHE = "pricing-rules";
+
+    private static final Logger log = LoggerFactory.getLogger(PricingEngine.class);
+
+    private final PricingRuleRepository ruleRepo;
+    private final CacheInvalidationBus bus;
+
+    // branchId -> compiled plan
+    private final Map<Long, PricingPlan> plans = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for PricingEngine.
+     *
+     * @param ruleRepo Repository for PricingRule entities
+     * @param bus      bus shared with the other instances, absent when running on its own
+     * @param remote   shared cache tier, whose recovery from an outage triggers a full recompile
+     */
+    @Autowired
+    public PricingEngine(PricingRuleRepository ruleRepo, ObjectProvider<CacheInvalidationBus> bus,
+                         ObjectProvider<RemoteCacheTier> remote) {
+        this(ruleRepo, bus.getIfAvailable(() -> CacheInvalidationBus.NONE));
+        remote.ifAvailable(tier -> tier.onReconnect(() -> recompile(null)));
+    }
+
+    /**
+     * Constructor for PricingEngine over a given bus.
+     *
+     * @param ruleRepo Repository for PricingRule entities
+     * @param bus      bus shared with the other instances
+     */
+    public PricingEngine(PricingRuleRepository ruleRepo, CacheInvalidationBus bus) {
+        this.ruleRepo = ruleRepo;
+        this.bus = bus;
+        bus.subscribe(this::onInvalidation);
+    }
+
+    /**
+     * @param branchId ID of the branch the order is placed at
+     * @return the branch's compiled plan
+     */
+    public PricingPlan plan(Long branchId) {
+        PricingPlan plan = plans.get(branchId);
+        return plan != null ? plan : plans.computeIfAbsent(branchId, this::compile);
+    }
+
+    /**
+     * Recompiles the affected plans once a rule change is committed and tells the other instances.
+     *
+     * @param event event naming the branch whose rules changed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRulesChanged(PricingRulesChangedEvent event) {
+        recompile(event.branchId());
+        bus.publish(new CacheInvalidation(CACHE,
+                event.branchId() != null ? List.of(String.valueOf(event.branchId())) : null));
+    }
+
+    /**
+     * Recompiles the plan of one branch, or of every loaded branch when the shared rules changed.
+     */
+    private void recompile(Long branchId) {
+        if (branchId != null) {
+            // Only replace plans already in use; others are compiled on first use
+            plans.computeIfPresent(branchId, (id, old) -> compile(id));
+        } else {
+            plans.replaceAll((id, old) -> compile(id));
+        }
+    }
+
+    private PricingPlan compile(Long branchId) {
+        PricingPlan plan = PricingPlan.compile(branchId, ruleRepo.findByBranchIdOrBranchIdIsNull(branchId));
+        log.info("Compiled pricing plan for branch {}", branchId);
+        return plan;
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (!CACHE.equals(invalidation.cache())) {
+            return;
+        }
+        if (invalidation.keys() == null) {
+            recompile(null);
+            return;
+        }
+        invalidation.keys().forEach(key -> recompile(Long.valueOf(key)));
+        log.debug("Recompiled pricing plans changed on another instance: {}", invalidation.keys());
+    }
+}
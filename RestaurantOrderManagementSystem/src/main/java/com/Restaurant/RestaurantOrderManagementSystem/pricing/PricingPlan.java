@@ -0,0 +1,177 @@
+package com.Restaurant.RestaurantOrderManagementSystem.pricing;
+
+import com.Restaurant.RestaurantOrderManagementSystem.entities.PricingRule;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.Category;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.DietType;
+import com.Restaurant.RestaurantOrderManagementSystem.money.Money;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The pricing rules of one branch, compiled into flat arrays.
+ * <p>
+ * Every (category, diet type) pair is given a slot, with one extra value on each axis
+ * for items that have none. Compiling resolves, for every slot, the single rule that
+ * wins, so pricing a line is two array reads at the slot the price book precomputed
+ * for the item (see {@link #slotOf}). Delivery bands are sorted by distance and
+ * searched with a binary search.
+ * </p>
+ * <p>
+ * A rule matches a slot when its category and diet type are null or equal to the
+ * slot's. Among matching rules the most specific wins: a branch rule beats a shared
+ * one, then a category match beats a diet type match, and the newest rule breaks
+ * ties. Lines no tax rule matches are taxed at {@link Money#TAX_BASIS_POINTS}.
+ * Delivery bands of the branch replace the shared bands as a whole.
+ * </p>
+ * <p>
+ * Instances are immutable and safe to share between threads.
+ * </p>
+ */
+public final class PricingPlan {
+
+    private static final int CATEGORIES = Category.values().length + 1;
+    private static final int DIET_TYPES = DietType.values().length + 1;
+
+    /** Number of slots in a plan. */
+    public static final int SLOTS = CATEGORIES * DIET_TYPES;
+
+    /** Plan of a branch without any rules. */
+    public static final PricingPlan DEFAULT = compile(null, List.of());
+
+    private final int[] taxBasisPoints;
+    private final long[] packagingFees;
+    private final int[] deliveryFrom;
+    private final long[] deliveryFees;
+
+    private PricingPlan(int[] taxBasisPoints, long[] packagingFees, int[] deliveryFrom, long[] deliveryFees) {
+        this.taxBasisPoints = taxBasisPoints;
+        this.packagingFees = packagingFees;
+        this.deliveryFrom = deliveryFrom;
+        this.deliveryFees = deliveryFees;
+    }
+
+    /**
+     * @return the slot of items with the given category and diet type, either of which may be null
+     */
+    public static int slotOf(Category category, DietType dietType) {
+        int c = category != null ? category.ordinal() : CATEGORIES - 1;
+        int d = dietType != null ? dietType.ordinal() : DIET_TYPES - 1;
+        return c * DIET_TYPES + d;
+    }
+
+    /**
+     * Compiles the rules that apply to a branch.
+     *
+     * @param branchId ID of the branch, used to tell its own rules from the shared ones
+     * @param rules    the branch's own rules and the shared rules; rules of other branches are ignored
+     * @return the compiled plan
+     */
+    public static PricingPlan compile(Long branchId, Collection<PricingRule> rules) {
+        int[] taxes = new int[SLOTS];
+        long[] packaging = new long[SLOTS];
+        int[] taxRank = new int[SLOTS];
+        int[] packagingRank = new int[SLOTS];
+        Arrays.fill(taxes, Money.TAX_BASIS_POINTS);
+        Arrays.fill(taxRank, -1);
+        Arrays.fill(packagingRank, -1);
+
+        List<PricingRule> ordered = new ArrayList<>(rules);
+        // Newest last, so that among equally specific rules the newest is applied last and wins
+        ordered.sort(Comparator.comparing(PricingRule::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        List<PricingRule> branchBands = new ArrayList<>();
+        List<PricingRule> sharedBands = new ArrayList<>();
+
+        for (PricingRule rule : ordered) {
+            boolean own = rule.getBranchId() != null;
+            if (own && !rule.getBranchId().equals(branchId)) {
+                // Rule of another branch
+                continue;
+            }
+            switch (rule.getType()) {
+                case TAX -> apply(rule, own, taxRank, slot -> taxes[slot] = rule.getBasisPoints());
+                case PACKAGING_FEE -> apply(rule, own, packagingRank, slot -> packaging[slot] = rule.getAmount());
+                case DELIVERY_FEE -> (own ? branchBands : sharedBands).add(rule);
+            }
+        }
+
+        List<PricingRule> bands = branchBands.isEmpty() ? sharedBands : branchBands;
+        // Stable sort keeps the newest rule last among bands starting at the same distance
+        bands.sort(Comparator.comparingInt(PricingRule::getMinDistanceMeters));
+        int[] from = new int[bands.size()];
+        long[] fees = new long[bands.size()];
+        for (int i = 0; i < bands.size(); i++) {
+            from[i] = bands.get(i).getMinDistanceMeters();
+            fees[i] = bands.get(i).getAmount();
+        }
+
+        return new PricingPlan(taxes, packaging, from, fees);
+    }
+
+    private static void apply(PricingRule rule, boolean own, int[] ranks, SlotAction action) {
+        int rank = (own ? 4 : 0) + (rule.getCategory() != null ? 2 : 0) + (rule.getDietType() != null ? 1 : 0);
+        for (int c = 0; c < CATEGORIES; c++) {
+            if (rule.getCategory() != null && rule.getCategory().ordinal() != c) {
+                continue;
+            }
+            for (int d = 0; d < DIET_TYPES; d++) {
+                if (rule.getDietType() != null && rule.getDietType().ordinal() != d) {
+                    continue;
+                }
+                int slot = c * DIET_TYPES + d;
+                if (rank >= ranks[slot]) {
+                    ranks[slot] = rank;
+                    action.apply(slot);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param slot      slot of the ordered item
+     * @param lineTotal line total before tax, in minor units
+     * @return the tax on the line, rounded half up to the nearest minor unit
+     */
+    public long lineTax(int slot, long lineTotal) {
+        return Money.percentOf(lineTotal, taxBasisPoints[slot]);
+    }
+
+    /**
+     * @param slot     slot of the ordered item
+     * @param quantity number of units ordered
+     * @return the packaging fee of the line, in minor units
+     */
+    public long packagingFee(int slot, int quantity) {
+        return Money.times(packagingFees[slot], quantity);
+    }
+
+    /**
+     * @param distanceMeters delivery distance; zero or less for orders that are not delivered
+     * @return the delivery charge of the band the distance falls into, or zero when below every band
+     */
+    public long deliveryCharge(int distanceMeters) {
+        if (distanceMeters <= 0 || deliveryFrom.length == 0) {
+            return 0;
+        }
+        int i = Arrays.binarySearch(deliveryFrom, distanceMeters);
+        if (i < 0) {
+            // Insertion point minus one is the last band starting below the distance
+            i = -i - 2;
+        } else {
+            // Several bands may start at the same distance; the last one is the newest
+            while (i + 1 < deliveryFrom.length && deliveryFrom[i + 1] == distanceMeters) {
+                i++;
+            }
+        }
+        return i >= 0 ? deliveryFees[i] : 0;
+    }
+
+    @FunctionalInterface
+    private interface SlotAction {
+        void apply(int slot);
+    }
+}
@@ -2,5 +2,22 @@ package com.Restaurant.RestaurantOrderManagementSystem.repository;
 
 import com.Restaurant.RestaurantOrderManagementSystem.entities.ComboMeal;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface ComboMealRepository extends JpaRepository<ComboMeal, Long> {}
+import java.util.List;
+
+/**
+ * Repository interface for managing ComboMeal entities.
+ */
+public interface ComboMealRepository extends JpaRepository<ComboMeal, Long> {
+
+    /**
+     * Finds all combos of a branch together with their menu items, in a single query.
+     *
+     * @param branchId the ID of the branch
+     * @return the branch's combos with their items loaded
+     */
+    @Query("SELECT DISTINCT c FROM ComboMeal c LEFT JOIN FETCH c.items WHERE c.branch.id = :branchId")
+    List<ComboMeal> findByBranchIdWithItems(@Param("branchId") Long branchId);
+}
@@ -3,6 +3,7 @@ package com.Restaurant.RestaurantOrderManagementSystem.repository;
 import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
 import com.Restaurant.RestaurantOrderManagementSystem.enums.MenuType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
@@ -34,5 +35,21 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
      * @return a list of MenuItem objects for the branch with the specified type
      */
     List<MenuItem> findByBranchIdAndMenuType(Long branchId, MenuType type);
+
+    /**
+     * Finds the menu items of a branch changed within a range of change sequences.
+     *
+     * @param branchId the ID of the branch
+     * @param from     lowest change sequence, inclusive
+     * @param to       highest change sequence, inclusive
+     * @return the menu items last changed in the range
+     */
+    List<MenuItem> findByBranchIdAndChangeSeqBetween(Long branchId, long from, long to);
+
+    /**
+     * Latest change sequence per branch, as (branchId, changeSeq) rows.
+     */
+    @Query("select m.branch.id, max(m.changeSeq) from MenuItem m where m.changeSeq is not null group by m.branch.id")
+    List<Object[]> findLatestChangeSeqByBranch();
 }
 
@@ -0,0 +1,38 @@
+package com.Restaurant.RestaurantOrderManagementSystem.repository;
+
+import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItemTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for MenuItemTombstone entities, the removals reported by the menu delta sync feed.
+ */
+public interface MenuItemTombstoneRepository extends JpaRepository<MenuItemTombstone, Long> {
+
+    /**
+     * Finds the removals from a branch menu within a range of change sequences.
+     *
+     * @param branchId the ID of the branch
+     * @param from     lowest change sequence, inclusive
+     * @param to       highest change sequence, inclusive
+     * @return the removals in the range
+     */
+    List<MenuItemTombstone> findByBranchIdAndChangeSeqBetween(Long branchId, long from, long to);
+
+    /**
+     * Finds the removals recorded for the given menu items, in any branch.
+     *
+     * @param menuItemIds IDs of the menu items
+     * @return the removals of those items
+     */
+    List<MenuItemTombstone> findByMenuItemIdIn(Collection<Long> menuItemIds);
+
+    /**
+     * Latest removal sequence per branch, as (branchId, changeSeq) rows.
+     */
+    @Query("select t.branchId, max(t.changeSeq) from MenuItemTombstone t group by t.branchId")
+    List<Object[]> findLatestChangeSeqByBranch();
+}
@@ -1,12 +1,21 @@
 package com.Restaurant.RestaurantOrderManagementSystem.repository;
 
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderBill;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderLine;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderState;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderSummary;
 import com.Restaurant.RestaurantOrderManagementSystem.entities.Order;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.OrderStatus;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -16,7 +25,7 @@ import java.util.Optional;
  * and custom methods for locking orders to prevent concurrent updates.
  * </p>
  */
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderSearchRepository {
 
     /**
      * Fetches an Order by its ID with a pessimistic write lock.
@@ -31,4 +40,99 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT o FROM Order o WHERE o.id = :id")
     Optional<Order> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Reads the billing amounts of an order as a single row, without loading its items or branch.
+     *
+     * @param id the ID of the order
+     * @return an Optional containing the bill if the order exists, otherwise empty
+     */
+    @Query("SELECT new com.Restaurant.RestaurantOrderManagementSystem.dto.OrderBill("
+            + "o.subtotal, o.taxAmount, o.packagingCharge, o.deliveryCharge, o.totalAmount, o.paidAmount) "
+            + "FROM Order o WHERE o.id = :id")
+    Optional<OrderBill> findBillById(@Param("id") Long id);
+
+    /**
+     * Reads the header of an order as a single row, without loading its items or branch.
+     *
+     * @param id the ID of the order
+     * @return an Optional containing the summary if the order exists, otherwise empty
+     */
+    @Query("SELECT new com.Restaurant.RestaurantOrderManagementSystem.dto.OrderSummary("
+            + "o.id, o.branch.id, o.customerName, o.status, o.subtotal, o.discountAmount, o.taxAmount, "
+            + "o.packagingCharge, o.deliveryCharge, o.totalAmount, o.paidAmount, o.createdAt, o.version) "
+            + "FROM Order o WHERE o.id = :id")
+    Optional<OrderSummary> findSummaryById(@Param("id") Long id);
+
+    /**
+     * Reads the headers of a branch's orders, newest first, as one statement.
+     *
+     * @param branchId the ID of the branch
+     * @param pageable the page to read; its sort is ignored
+     * @return the order summaries of the page
+     */
+    @Query("SELECT new com.Restaurant.RestaurantOrderManagementSystem.dto.OrderSummary("
+            + "o.id, o.branch.id, o.customerName, o.status, o.subtotal, o.discountAmount, o.taxAmount, "
+            + "o.packagingCharge, o.deliveryCharge, o.totalAmount, o.paidAmount, o.createdAt, o.version) "
+            + "FROM Order o WHERE o.branch.id = :branchId ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummary> findSummariesByBranchId(@Param("branchId") Long branchId, Pageable pageable);
+
+    /**
+     * Reads the lines of several orders as one statement, joining only the menu item name.
+     *
+     * @param orderIds the IDs of the orders
+     * @return the lines, grouped by order and in the order they were added
+     */
+    @Query("SELECT new com.Restaurant.RestaurantOrderManagementSystem.dto.OrderLine("
+            + "i.order.id, i.id, m.id, m.name, i.comboMeal.id, i.quantity, i.unitPrice, i.discountAmount, "
+            + "i.taxAmount, i.packagingFee, i.lineTotal, i.cancelled, i.specialInstructions) "
+            + "FROM OrderItem i JOIN i.menuItem m WHERE i.order.id IN :orderIds ORDER BY i.order.id, i.id")
+    List<OrderLine> findLinesByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Moves an order to a new status in one statement, without loading it, if it is still
+     * in one of the given statuses and, when a version is given, still at that version.
+     *
+     * @param id      the ID of the order
+     * @param from    the statuses the order may currently be in
+     * @param to      the new status
+     * @param version the version the caller read, or null to only check the status
+     * @return 1 if the order was updated, 0 if it does not exist or no longer matches
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :to, o.version = o.version + 1 "
+            + "WHERE o.id = :id AND o.status IN :from AND (:version IS NULL OR o.version = :version)")
+    int updateStatus(@Param("id") Long id, @Param("from") Collection<OrderStatus> from,
+                     @Param("to") OrderStatus to, @Param("version") Long version);
+
+    /**
+     * Reads the branch of an order without loading the order.
+     *
+     * @param id the ID of the order
+     * @return an Optional containing the branch ID if the order exists, otherwise empty
+     */
+    @Query("SELECT o.branch.id FROM Order o WHERE o.id = :id")
+    Optional<Long> findBranchIdById(@Param("id") Long id);
+
+    /**
+     * Reads the status and version of several orders as one statement.
+     *
+     * @param ids the IDs of the orders
+     * @return the states of the orders that exist
+     */
+    @Query("SELECT new com.Restaurant.RestaurantOrderManagementSystem.dto.OrderState(o.id, o.branch.id, o.status, o.version) "
+            + "FROM Order o WHERE o.id IN :ids")
+    List<OrderState> findStatesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Moves every given order that is still in one status to another, as one statement.
+     *
+     * @param ids  the IDs of the orders, all read in status {@code from}
+     * @param from the status the orders must still be in
+     * @param to   the new status
+     * @return the number of orders updated
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :to, o.version = o.version + 1 WHERE o.id IN :ids AND o.status = :from")
+    int updateStatuses(@Param("ids") Collection<Long> ids, @Param("from") OrderStatus from, @Param("to") OrderStatus to);
 }
@@ -0,0 +1,29 @@
+package com.Restaurant.RestaurantOrderManagementSystem.repository;
+
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderSearch;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderSummary;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Order search with keyset pagination, mixed into {@link OrderRepository}.
+ * <p>
+ * Results are ordered by {@code (createdAt, id)} descending, and a page starts strictly
+ * after the last row of the previous one instead of skipping an OFFSET, so deep pages
+ * read no more rows than the first.
+ * </p>
+ */
+public interface OrderSearchRepository {
+
+    /**
+     * Finds the order summaries matching a search, newest first.
+     *
+     * @param search         the filters to apply
+     * @param afterCreatedAt creation time of the last order of the previous page, or null for the first page
+     * @param afterId        ID of the last order of the previous page, or null for the first page
+     * @param limit          maximum number of rows to return
+     * @return the matching order summaries
+     */
+    List<OrderSummary> search(OrderSearch search, LocalDateTime afterCreatedAt, Long afterId, int limit);
+}
@@ -0,0 +1,69 @@
+package com.Restaurant.RestaurantOrderManagementSystem.repository;
+
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderSearch;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the search query from only the filters that are set, so the database sees a
+ * plain equality prefix followed by a range on {@code (createdAt, id)} and can seek
+ * one of the composite indexes declared on {@code Order}.
+ */
+class OrderSearchRepositoryImpl implements OrderSearchRepository {
+
+    private final EntityManager entityManager;
+
+    OrderSearchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<OrderSummary> search(OrderSearch search, LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT new com.Restaurant.RestaurantOrderManagementSystem.dto.OrderSummary("
+                + "o.id, o.branch.id, o.customerName, o.status, o.subtotal, o.discountAmount, o.taxAmount, "
+                + "o.packagingCharge, o.deliveryCharge, o.totalAmount, o.paidAmount, o.createdAt, o.version) "
+                + "FROM Order o WHERE 1 = 1");
+        Map<String, Object> params = new LinkedHashMap<>();
+
+        if (search.branchId() != null) {
+            jpql.append(" AND o.branch.id = :branchId");
+            params.put("branchId", search.branchId());
+        }
+        if (search.status() != null) {
+            jpql.append(" AND o.status = :status");
+            params.put("status", search.status());
+        }
+        if (search.customerPrefix() != null && !search.customerPrefix().isEmpty()) {
+            jpql.append(" AND o.customerName LIKE :customerPrefix ESCAPE '\\'");
+            params.put("customerPrefix", escapeLike(search.customerPrefix()) + "%");
+        }
+        if (search.from() != null) {
+            jpql.append(" AND o.createdAt >= :from");
+            params.put("from", search.from());
+        }
+        if (search.to() != null) {
+            jpql.append(" AND o.createdAt < :to");
+            params.put("to", search.to());
+        }
+        if (afterCreatedAt != null) {
+            jpql.append(" AND (o.createdAt < :afterCreatedAt OR (o.createdAt = :afterCreatedAt AND o.id < :afterId))");
+            params.put("afterCreatedAt", afterCreatedAt);
+            params.put("afterId", afterId);
+        }
+        jpql.append(" ORDER BY o.createdAt DESC, o.id DESC");
+
+        TypedQuery<OrderSummary> query = entityManager.createQuery(jpql.toString(), OrderSummary.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -4,6 +4,9 @@ import com.Restaurant.RestaurantOrderManagementSystem.entities.Payment;
 import com.Restaurant.RestaurantOrderManagementSystem.enums.PaymentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
  * Repository interface for managing Payment entities.
  * <p>
@@ -24,4 +27,16 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
      * @return true if a payment with the given status exists for the order, false otherwise
      */
     boolean existsByOrderIdAndStatus(Long orderId, PaymentStatus status);
+
+    /**
+     * Finds payments in a given status created before a cut-off time.
+     * <p>
+     * Used to recover PENDING payments abandoned between the reserve and finalize steps.
+     * </p>
+     *
+     * @param status the payment status to look for
+     * @param before only payments created before this time are returned
+     * @return matching payments
+     */
+    List<Payment> findByStatusAndCreatedAtBefore(PaymentStatus status, LocalDateTime before);
 }
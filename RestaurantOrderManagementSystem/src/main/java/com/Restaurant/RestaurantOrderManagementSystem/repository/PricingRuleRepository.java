@@ -0,0 +1,28 @@
+package com.Restaurant.RestaurantOrderManagementSystem.repository;
+
+import com.Restaurant.RestaurantOrderManagementSystem.entities.PricingRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+/**
+ * Repository interface for managing PricingRule entities.
+ */
+public interface PricingRuleRepository extends JpaRepository<PricingRule, Long> {
+
+    /**
+     * Finds the rules that apply to a branch: its own rules and the rules shared by all branches.
+     *
+     * @param branchId the ID of the branch
+     * @return the applicable rules
+     */
+    List<PricingRule> findByBranchIdOrBranchIdIsNull(Long branchId);
+
+    /**
+     * Finds the rules of a single branch, without the shared ones.
+     *
+     * @param branchId the ID of the branch, or null for the shared rules
+     * @return the rules
+     */
+    List<PricingRule> findByBranchId(Long branchId);
+}
@@ -0,0 +1,40 @@
+package com.Restaurant.RestaurantOrderManagementSystem.resilience;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caps the number of concurrent calls to a dependency.
+ * <p>
+ * Callers that find the bulkhead full are turned away immediately instead of
+ * queueing, so a slow dependency can only ever tie up {@code maxConcurrent} threads.
+ * </p>
+ */
+public class Bulkhead {
+
+    private final int maxConcurrent;
+    private final Semaphore permits;
+
+    public Bulkhead(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * @return true if a slot was taken; it must be given back with {@link #release()}
+     */
+    public boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int maxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int inUse() {
+        return maxConcurrent - permits.availablePermits();
+    }
+}
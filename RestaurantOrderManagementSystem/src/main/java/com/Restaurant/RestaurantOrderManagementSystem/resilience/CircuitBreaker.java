@@ -0,0 +1,178 @@
+package com.Restaurant.RestaurantOrderManagementSystem.resilience;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker.
+ * <p>
+ * Tracks the outcome of the last {@code windowSize} calls. Once at least
+ * {@code minimumCalls} have been recorded and the failure rate reaches
+ * {@code failureRateThreshold} percent, the breaker opens and rejects calls for
+ * {@code openDuration}. It then lets {@code halfOpenCalls} trial calls through:
+ * if they all succeed it closes again, and any failure re-opens it.
+ * </p>
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Point-in-time view of a breaker.
+     *
+     * @param state          current state
+     * @param failureRate    failure percentage over the window, or -1 below the minimum number of calls
+     * @param bufferedCalls  calls currently in the window
+     * @param failedCalls    failed calls currently in the window
+     */
+    public record Snapshot(State state, float failureRate, int bufferedCalls, int failedCalls) {
+    }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final float failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+
+    // Ring buffer of the last windowSize outcomes, true meaning failure
+    private final boolean[] window;
+    private int position;
+    private int buffered;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, float failureRateThreshold,
+                          Duration openDuration, int halfOpenCalls) {
+        this(windowSize, minimumCalls, failureRateThreshold, openDuration, halfOpenCalls, System::nanoTime);
+    }
+
+    public CircuitBreaker(int windowSize, int minimumCalls, float failureRateThreshold,
+                          Duration openDuration, int halfOpenCalls, LongSupplier nanoClock) {
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.nanoClock = nanoClock;
+        this.window = new boolean[windowSize];
+    }
+
+    /**
+     * Tells whether calls are currently allowed, without taking a half-open trial slot.
+     */
+    public synchronized boolean isCallPermitted() {
+        return currentState() != State.OPEN;
+    }
+
+    /**
+     * Takes permission for one call. In half-open state only a limited number of
+     * trial calls are granted until their outcomes are known.
+     *
+     * @return true if the call may proceed; its outcome must then be recorded
+     */
+    public synchronized boolean tryAcquirePermission() {
+        return switch (currentState()) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (halfOpenPermits > 0) {
+                    halfOpenPermits--;
+                    yield true;
+                }
+                yield false;
+            }
+        };
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= halfOpenCalls) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+            return;
+        }
+        record(true);
+        if (buffered >= minimumCalls && failureRate() >= failureRateThreshold) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    /**
+     * Gives back a permission whose call never reached the dependency, without
+     * counting it either way.
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && halfOpenPermits < halfOpenCalls) {
+            halfOpenPermits++;
+        }
+    }
+
+    public synchronized State state() {
+        return currentState();
+    }
+
+    public synchronized Snapshot snapshot() {
+        State current = currentState();
+        float rate = buffered >= minimumCalls ? failureRate() : -1;
+        return new Snapshot(current, rate, buffered, failures);
+    }
+
+    private State currentState() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos) {
+            transitionTo(State.HALF_OPEN);
+        }
+        return state;
+    }
+
+    private void record(boolean failed) {
+        if (buffered == windowSize) {
+            if (window[position]) {
+                failures--;
+            }
+        } else {
+            buffered++;
+        }
+        window[position] = failed;
+        if (failed) {
+            failures++;
+        }
+        position = (position + 1) % windowSize;
+    }
+
+    private float failureRate() {
+        return buffered == 0 ? 0 : failures * 100f / buffered;
+    }
+
+    private void transitionTo(State next) {
+        state = next;
+        switch (next) {
+            case OPEN -> openedAt = nanoClock.getAsLong();
+            case HALF_OPEN -> {
+                halfOpenPermits = halfOpenCalls;
+                halfOpenSuccesses = 0;
+            }
+            case CLOSED -> {
+                Arrays.fill(window, false);
+                position = 0;
+                buffered = 0;
+                failures = 0;
+            }
+        }
+    }
+}
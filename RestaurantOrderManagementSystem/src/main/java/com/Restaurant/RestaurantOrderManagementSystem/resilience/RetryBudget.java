@@ -0,0 +1,64 @@
+package com.Restaurant.RestaurantOrderManagementSystem.resilience;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Limits retries to a fraction of the traffic to a dependency.
+ * <p>
+ * Every first attempt deposits {@code ratio} tokens and every retry withdraws one,
+ * so retries can never add more than {@code ratio} extra load. A trickle of
+ * {@code minPerSecond} tokens keeps retries possible at low traffic. The balance is
+ * capped so a quiet period cannot bank an unbounded burst of retries.
+ * </p>
+ */
+public class RetryBudget {
+
+    private final double ratio;
+    private final double minPerSecond;
+    private final double maxTokens;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private long lastRefill;
+
+    public RetryBudget(double ratio, double minPerSecond) {
+        this(ratio, minPerSecond, System::nanoTime);
+    }
+
+    public RetryBudget(double ratio, double minPerSecond, LongSupplier nanoClock) {
+        this.ratio = ratio;
+        this.minPerSecond = minPerSecond;
+        this.maxTokens = Math.max(1, 10 * minPerSecond);
+        this.nanoClock = nanoClock;
+        this.tokens = maxTokens;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    /**
+     * Records a first attempt.
+     */
+    public synchronized void deposit() {
+        refill();
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    /**
+     * Takes the budget for one retry.
+     *
+     * @return true if the retry may go ahead
+     */
+    public synchronized boolean tryWithdraw() {
+        refill();
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(maxTokens, tokens + (now - lastRefill) / 1e9 * minPerSecond);
+        lastRefill = now;
+    }
+}
@@ -0,0 +1,136 @@
+package com.Restaurant.RestaurantOrderManagementSystem.resilience;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+/**
+ * Retries asynchronous operations with exponential backoff, jitter and a retry budget.
+ * <p>
+ * Backoff delays are waited out on a shared timer, so no thread sleeps between attempts.
+ * The timer only hands work over: classifying results, starting attempts and completing
+ * the caller's future all run on a small worker pool, so a slow continuation cannot
+ * delay every other pending retry.
+ * Each named dependency has its own {@link RetryBudget}; once it is spent, failures are
+ * returned as they are instead of being retried, which keeps a struggling dependency
+ * from being hit even harder.
+ * </p>
+ */
+@Component
+public class RetryEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(RetryEngine.class);
+
+    private static final int WORKER_THREADS = 4;
+    private static final int WORKER_QUEUE = 1000;
+
+    private final ScheduledThreadPoolExecutor timer;
+    private final ThreadPoolExecutor worker;
+    private final Map<String, RetryBudget> budgets = new ConcurrentHashMap<>();
+
+    public RetryEngine() {
+        timer = new ScheduledThreadPoolExecutor(1, threadFactory("retry-timer"));
+        timer.setRemoveOnCancelPolicy(true);
+
+        // When saturated, the thread completing an attempt runs the continuation itself, as it would inline
+        worker = new ThreadPoolExecutor(WORKER_THREADS, WORKER_THREADS, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(WORKER_QUEUE), threadFactory("retry-worker"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        worker.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Runs an operation, retrying results the classifier deems retryable.
+     * <p>
+     * Retries are started from the worker pool, so {@code attempt} should only start
+     * the work (e.g. submit it to an executor) and not block. The returned future is
+     * completed from the worker pool as well.
+     * </p>
+     *
+     * @param name      dependency name; attempts against the same name share a retry budget
+     * @param policy    attempts, backoff and budget settings
+     * @param attempt   starts attempt number n (1-based) and returns its future result
+     * @param retryable tells whether a result is a failure worth retrying
+     * @param <T>       result type
+     * @return future completed with the first non-retryable result, or the last result
+     * once attempts or budget run out; exceptional only if an attempt itself fails exceptionally
+     */
+    public <T> CompletableFuture<T> execute(String name, RetryPolicy policy,
+                                            IntFunction<CompletableFuture<T>> attempt,
+                                            Predicate<? super T> retryable) {
+        RetryBudget budget = budgets.computeIfAbsent(name,
+                n -> new RetryBudget(policy.budgetRatio(), policy.budgetMinPerSecond()));
+        budget.deposit();
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        run(name, policy, budget, attempt, retryable, 1, result);
+        return result;
+    }
+
+    private <T> void run(String name, RetryPolicy policy, RetryBudget budget,
+                         IntFunction<CompletableFuture<T>> attempt, Predicate<? super T> retryable,
+                         int number, CompletableFuture<T> result) {
+        if (result.isDone()) {
+            return; // cancelled by the caller while waiting for the backoff
+        }
+
+        CompletableFuture<T> current;
+        try {
+            current = attempt.apply(number);
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+
+        current.whenCompleteAsync((value, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
+            if (number >= policy.maxAttempts() || !retryable.test(value)) {
+                result.complete(value);
+                return;
+            }
+            if (!budget.tryWithdraw()) {
+                log.warn("Retry budget for {} exhausted; giving up after attempt {}", name, number);
+                result.complete(value);
+                return;
+            }
+
+            Duration delay = policy.backoff(number, ThreadLocalRandom.current().nextDouble());
+            log.info("Retrying {} (attempt {} of {}) in {} ms", name, number + 1, policy.maxAttempts(), delay.toMillis());
+            timer.schedule(() -> worker.execute(() -> run(name, policy, budget, attempt, retryable, number + 1, result)),
+                    delay.toNanos(), TimeUnit.NANOSECONDS);
+        }, worker);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timer.shutdownNow();
+        worker.shutdownNow();
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package com.Restaurant.RestaurantOrderManagementSystem.resilience;
+
+import java.time.Duration;
+
+/**
+ * How often and how fast {@link RetryEngine} retries an operation.
+ *
+ * @param maxAttempts        total attempts including the first one
+ * @param initialDelay       backoff before the first retry
+ * @param multiplier         growth factor of the backoff per retry
+ * @param maxDelay           upper bound of the backoff
+ * @param jitter             fraction of the backoff that is randomized, between 0 (none) and 1 (full jitter)
+ * @param budgetRatio        retries allowed per first attempt, e.g. 0.2 allows one retry per five calls
+ * @param budgetMinPerSecond retries always allowed per second regardless of traffic
+ */
+public record RetryPolicy(int maxAttempts, Duration initialDelay, double multiplier, Duration maxDelay,
+                          double jitter, double budgetRatio, double budgetMinPerSecond) {
+
+    public RetryPolicy {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        if (jitter < 0 || jitter > 1) {
+            throw new IllegalArgumentException("jitter must be between 0 and 1");
+        }
+    }
+
+    /**
+     * A policy that never retries.
+     */
+    public static RetryPolicy none() {
+        return new RetryPolicy(1, Duration.ZERO, 1, Duration.ZERO, 0, 0, 0);
+    }
+
+    /**
+     * Backoff before the given retry.
+     *
+     * @param attempt number of the attempt that just failed, starting at 1
+     * @param random  uniform random value in [0, 1)
+     * @return delay before the next attempt
+     */
+    public Duration backoff(int attempt, double random) {
+        double base = initialDelay.toNanos() * Math.pow(multiplier, attempt - 1);
+        double capped = Math.min(base, maxDelay.toNanos());
+        return Duration.ofNanos((long) (capped * (1 - jitter * random)));
+    }
+}
@@ -0,0 +1,17 @@
+package com.Restaurant.RestaurantOrderManagementSystem.service;
+
+import com.Restaurant.RestaurantOrderManagementSystem.cache.ComboIndex.Combo;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.ComboIndex.ComboMatch;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.ComboMeal;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ComboService {
+
+    List<Combo> getCombos(Long branchId);
+
+    Combo createCombo(ComboMeal combo);
+
+    List<ComboMatch> bestCombos(Long branchId, Map<Long, Integer> basket);
+}
@@ -0,0 +1,10 @@
+package com.Restaurant.RestaurantOrderManagementSystem.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface MenuImportService {
+
+    void importMenu(InputStream items, OutputStream results) throws IOException;
+}
@@ -1,5 +1,6 @@
 package com.Restaurant.RestaurantOrderManagementSystem.service;
 
+import com.Restaurant.RestaurantOrderManagementSystem.dto.MenuChanges;
 import com.Restaurant.RestaurantOrderManagementSystem.enums.Category;
 import com.Restaurant.RestaurantOrderManagementSystem.enums.DietType;
 import com.Restaurant.RestaurantOrderManagementSystem.enums.MenuType;
@@ -23,4 +24,10 @@ public interface MenuService {
     List<MenuItem> getMenuByTypeAndCategory(Long branchId, MenuType type, Category category);
 
     List<MenuItem> getMenuByTypeAndDietTypeAndCategory(Long branchId, MenuType type, DietType dietType, Category category);
+
+    List<MenuItem> filterMenu(Long branchId, MenuType type, DietType dietType, Category category);
+
+    List<MenuItem> searchMenu(Long branchId, String query, int limit);
+
+    MenuChanges getMenuChanges(Long branchId, long since);
 }
@@ -1,16 +1,40 @@
 package com.Restaurant.RestaurantOrderManagementSystem.service;
 
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderDetails;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderPage;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderRequest;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderSearch;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderStatusChange;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderStatusOutcome;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Branch;
 import com.Restaurant.RestaurantOrderManagementSystem.entities.Order;
 import com.Restaurant.RestaurantOrderManagementSystem.enums.OrderStatus;
 
+import java.util.List;
 import java.util.Map;
 
 public interface OrderService {
 
-    Order createOrder(Long branchId, String customerName, Map<Long, Integer> items, Map<Long, String> instructions, double deliveryCharge);
-    Order updateStatus(Long orderId, String status);
+    Order createOrder(Long branchId, String customerName, Map<Long, Integer> items, Map<Long, String> instructions, int deliveryDistanceMeters);
+
+    Order createOrder(OrderRequest request);
+
+    Order buildOrder(Branch branch, String customerName, Map<Long, Integer> items, Map<Long, Integer> combos,
+                     Map<Long, String> instructions, int deliveryDistanceMeters);
+
+    List<Order> saveOrders(List<Order> orders);
+
+    OrderStatusChange updateStatus(Long orderId, String status, Long expectedVersion);
+
+    List<OrderStatusOutcome> updateStatuses(List<Long> orderIds, String status);
 
     Order saveOrder(Order order);
 
     void updateOrderStatus(Long id, OrderStatus orderStatus);
+
+    OrderDetails getOrder(Long orderId);
+
+    List<OrderDetails> getBranchOrders(Long branchId, int page, int size);
+
+    OrderPage searchOrders(OrderSearch search, String cursor, int size);
 }
\ No newline at end of file
@@ -1,23 +1,25 @@
 package com.Restaurant.RestaurantOrderManagementSystem.service;
 
 
+import com.Restaurant.RestaurantOrderManagementSystem.dto.Bill;
 import com.Restaurant.RestaurantOrderManagementSystem.entities.Payment;
 import com.Restaurant.RestaurantOrderManagementSystem.enums.PaymentMethod;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface PaymentService {
 
 
-    @Transactional
+    // Not transactional: the gateway call must run outside any transaction
     Payment processPayment(Long orderId, PaymentMethod method);
 
-    @Transactional
+    CompletableFuture<Payment> processPaymentAsync(Long orderId, PaymentMethod method);
+
     Payment retryPayment(Long orderId, PaymentMethod method);
 
     @Transactional
-    Payment partialRefund(Long orderId, double amount);
+    Payment partialRefund(Long orderId, long amount);
 
-    Map<String, Double> getBill(Long orderId);
+    Bill getBill(Long orderId);
 }
\ No newline at end of file
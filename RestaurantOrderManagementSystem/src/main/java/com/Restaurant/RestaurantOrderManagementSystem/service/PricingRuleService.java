@@ -0,0 +1,14 @@
+package com.Restaurant.RestaurantOrderManagementSystem.service;
+
+import com.Restaurant.RestaurantOrderManagementSystem.entities.PricingRule;
+
+import java.util.List;
+
+public interface PricingRuleService {
+
+    List<PricingRule> getRules(Long branchId);
+
+    PricingRule createRule(PricingRule rule);
+
+    void deleteRule(Long id);
+}
@@ -1,11 +1,16 @@
 package com.Restaurant.RestaurantOrderManagementSystem.service.impl;
 
+import com.Restaurant.RestaurantOrderManagementSystem.cache.BranchRegistry;
+import com.Restaurant.RestaurantOrderManagementSystem.config.CacheConfig;
 import com.Restaurant.RestaurantOrderManagementSystem.entities.Branch;
 import com.Restaurant.RestaurantOrderManagementSystem.exception.BranchException;
 import com.Restaurant.RestaurantOrderManagementSystem.repository.BranchRepository;
 import com.Restaurant.RestaurantOrderManagementSystem.service.BranchService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,6 +18,8 @@ import java.util.List;
 /**
  * Service implementation for managing Branch entities.
  * Provides methods to create, fetch, update status, and delete branches.
+ * Reads are served from the {@value CacheConfig#BRANCHES} cache and every write evicts
+ * the entries it affects on all instances.
  * Implements {@link BranchService}.
  */
 @Service
@@ -21,14 +28,17 @@ public class BranchServiceImpl implements BranchService {
     private static final Logger log = LoggerFactory.getLogger(BranchServiceImpl.class);
 
     private final BranchRepository branchRepo;
+    private final BranchRegistry registry;
 
     /**
      * Constructor for BranchServiceImpl.
      *
      * @param branchRepo Repository used for database operations on Branch
+     * @param registry   In-memory branch registry, updated on every write
      */
-    public BranchServiceImpl(BranchRepository branchRepo) {
+    public BranchServiceImpl(BranchRepository branchRepo, BranchRegistry registry) {
         this.branchRepo = branchRepo;
+        this.registry = registry;
     }
 
     /**
@@ -39,13 +49,16 @@ public class BranchServiceImpl implements BranchService {
      * @throws BranchException if branch is null
      */
     @Override
+    @CacheEvict(cacheNames = CacheConfig.BRANCHES, key = "'all'")
     public Branch createBranch(Branch branch) throws BranchException {
         // Validate input
         if (branch == null) {
             throw new BranchException("Branch cannot be null or empty");
         }
         log.info("Creating new branch: {}", branch.getName());
-        return branchRepo.save(branch);
+        Branch saved = branchRepo.save(branch);
+        registry.put(saved);
+        return saved;
     }
 
     /**
@@ -54,6 +67,7 @@ public class BranchServiceImpl implements BranchService {
      * @return list of all Branch objects
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.BRANCHES, key = "'all'")
     public List<Branch> getAllBranches() {
         log.info("Fetching all branches");
         return branchRepo.findAll();
@@ -67,6 +81,7 @@ public class BranchServiceImpl implements BranchService {
      * @throws BranchException if branch not found
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.BRANCHES, key = "#id")
     public Branch getBranchById(Long id) throws BranchException {
         log.info("Fetching branch with ID {}", id);
         return branchRepo.findById(id)
@@ -82,14 +97,18 @@ public class BranchServiceImpl implements BranchService {
      * @throws BranchException if branch not found
      */
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.BRANCHES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.BRANCHES, key = "'all'")
+    })
     public Branch updateStatus(Long id, boolean active) throws BranchException {
         // Fetch existing branch
         Branch branch = getBranchById(id);
 
-        // Update branch status (example: branch.isActive() could be modified to branch.setActive(active))
-        branch.isActive();
+        branch.setActive(active);
 
         Branch updated = branchRepo.save(branch);
+        registry.put(updated);
         log.info("Branch {} status updated to {}", id, active);
 
         return updated;
@@ -102,10 +121,15 @@ public class BranchServiceImpl implements BranchService {
      * @throws BranchException if branch not found
      */
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.BRANCHES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.BRANCHES, key = "'all'")
+    })
     public void deleteBranch(Long id) throws BranchException {
         Branch branch = getBranchById(id);
 
         branchRepo.delete(branch);
+        registry.remove(id);
         log.warn("Branch deleted with ID {}", id);
     }
 
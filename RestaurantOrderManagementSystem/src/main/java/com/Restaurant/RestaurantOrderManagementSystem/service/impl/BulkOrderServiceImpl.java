@@ -0,0 +1,223 @@
+package com.Restaurant.RestaurantOrderManagementSystem.service.impl;
+
+import com.Restaurant.RestaurantOrderManagementSystem.cache.BranchRegistry;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.BulkOrderResult;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderRequest;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Branch;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Order;
+import com.Restaurant.RestaurantOrderManagementSystem.exception.BusinessException;
+import com.Restaurant.RestaurantOrderManagementSystem.service.BulkOrderService;
+import com.Restaurant.RestaurantOrderManagementSystem.service.OrderService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of {@link BulkOrderService} for ingesting aggregator order feeds.
+ * <p>
+ * Reads a newline-delimited JSON stream one line at a time, validates and persists
+ * the orders in chunks of {@code orders.bulk.chunk-size}, and writes one NDJSON
+ * result per input line back to the caller as each chunk completes.
+ * A bad line is rejected on its own and never aborts the rest of the upload.
+ * </p>
+ */
+@Service
+public class BulkOrderServiceImpl implements BulkOrderService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkOrderServiceImpl.class);
+
+    private static final byte NEWLINE = '\n';
+
+    private final OrderService orderService;
+    private final BranchRegistry branchRegistry;
+    private final TransactionOperations tx;
+    private final ObjectReader requestReader;
+    private final ObjectWriter resultWriter;
+    private final int chunkSize;
+
+    /**
+     * Constructor for BulkOrderServiceImpl.
+     *
+     * @param orderService Order service used to build, price and save each order
+     * @param branchRegistry In-memory registry used to resolve branches
+     * @param tx           Transaction template, one transaction per chunk
+     * @param objectMapper Mapper used to read requests and write results
+     * @param chunkSize    Number of lines validated and persisted per transaction
+     */
+    public BulkOrderServiceImpl(OrderService orderService, BranchRegistry branchRegistry,
+                                TransactionOperations tx, ObjectMapper objectMapper,
+                                @Value("${orders.bulk.chunk-size:500}") int chunkSize) {
+        this.orderService = orderService;
+        this.branchRegistry = branchRegistry;
+        this.tx = tx;
+        this.requestReader = objectMapper.readerFor(OrderRequest.class);
+        this.resultWriter = objectMapper.writerFor(BulkOrderResult.class);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Ingests an NDJSON stream of {@link OrderRequest} lines.
+     *
+     * @param orders  NDJSON request body, read incrementally
+     * @param results stream receiving one {@link BulkOrderResult} line per input line
+     * @throws IOException if reading the request or writing the response fails
+     */
+    @Override
+    public void ingest(InputStream orders, OutputStream results) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(orders, StandardCharsets.UTF_8));
+        List<Line> chunk = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+        long created = 0;
+        long total = 0;
+
+        String raw;
+        while ((raw = reader.readLine()) != null) {
+            lineNumber++;
+            if (raw.isBlank()) {
+                continue;
+            }
+            chunk.add(parse(lineNumber, raw));
+
+            if (chunk.size() >= chunkSize) {
+                created += processChunk(chunk, results);
+                total += chunk.size();
+                chunk.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            created += processChunk(chunk, results);
+            total += chunk.size();
+        }
+
+        results.flush();
+        log.info("Bulk order ingest finished: {} lines, {} created, {} rejected", total, created, total - created);
+    }
+
+    private Line parse(long number, String raw) {
+        try {
+            OrderRequest request = requestReader.readValue(raw);
+            return request != null
+                    ? new Line(number, request, null)
+                    : new Line(number, null, "Empty order");
+        } catch (JsonProcessingException e) {
+            return new Line(number, null, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Validates and persists one chunk in a single transaction, then writes its results.
+     *
+     * @return number of orders created
+     */
+    private int processChunk(List<Line> chunk, OutputStream out) throws IOException {
+        BulkOrderResult[] results = new BulkOrderResult[chunk.size()];
+
+        try {
+            tx.executeWithoutResult(status -> persistChunk(chunk, results));
+        } catch (RuntimeException e) {
+            // The whole chunk rolled back; anything not already rejected failed with it
+            log.error("Bulk order chunk starting at line {} failed: {}", chunk.get(0).number(), e.getMessage());
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] == null || results[i].orderId() != null) {
+                    results[i] = BulkOrderResult.rejected(chunk.get(i).number(), "Could not persist order: " + e.getMessage());
+                }
+            }
+        }
+
+        int created = 0;
+        for (BulkOrderResult result : results) {
+            out.write(resultWriter.writeValueAsBytes(result));
+            out.write(NEWLINE);
+            if (result.orderId() != null) {
+                created++;
+            }
+        }
+        out.flush();
+        return created;
+    }
+
+    private void persistChunk(List<Line> chunk, BulkOrderResult[] results) {
+        Map<Long, Branch> branches = loadBranches(chunk);
+
+        List<Order> orders = new ArrayList<>(chunk.size());
+        List<Integer> positions = new ArrayList<>(chunk.size());
+
+        for (int i = 0; i < chunk.size(); i++) {
+            Line line = chunk.get(i);
+            if (line.error() != null) {
+                results[i] = BulkOrderResult.rejected(line.number(), line.error());
+                continue;
+            }
+            try {
+                orders.add(buildOrder(line.request(), branches));
+                positions.add(i);
+            } catch (BusinessException e) {
+                results[i] = BulkOrderResult.rejected(line.number(), e.getMessage());
+            }
+        }
+
+        List<Order> saved = orderService.saveOrders(orders);
+        for (int i = 0; i < saved.size(); i++) {
+            int position = positions.get(i);
+            results[position] = BulkOrderResult.created(chunk.get(position).number(), saved.get(i).getId());
+        }
+    }
+
+    private Order buildOrder(OrderRequest request, Map<Long, Branch> branches) {
+        if (request.branchId() == null) {
+            throw new BusinessException("Branch is required");
+        }
+        Branch branch = branches.get(request.branchId());
+        if (branch == null) {
+            throw new BusinessException("Branch not found");
+        }
+        if (!branch.isActive()) {
+            throw new BusinessException("Branch is closed");
+        }
+        return orderService.buildOrder(branch, request.customerName(), request.items(),
+                request.combos(), request.instructions(), request.deliveryDistanceMeters());
+    }
+
+    /**
+     * Resolves every branch referenced by the chunk from the registry.
+     */
+    private Map<Long, Branch> loadBranches(List<Line> chunk) {
+        Set<Long> ids = new HashSet<>();
+        for (Line line : chunk) {
+            if (line.request() != null) {
+                ids.add(line.request().branchId());
+            }
+        }
+        ids.remove(null);
+
+        Map<Long, Branch> branches = new HashMap<>(ids.size() * 2);
+        branchRegistry.findAll(ids).forEach((id, branch) -> branches.put(id, branch.toBranch()));
+        return branches;
+    }
+
+    /**
+     * One parsed input line; either the request or the parse error is set.
+     */
+    private record Line(long number, OrderRequest request, String error) {
+    }
+}
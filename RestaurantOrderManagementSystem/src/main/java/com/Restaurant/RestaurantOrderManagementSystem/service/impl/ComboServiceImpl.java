@@ -0,0 +1,138 @@
+package com.Restaurant.RestaurantOrderManagementSystem.service.impl;
+
+import com.Restaurant.RestaurantOrderManagementSystem.cache.BranchRegistry;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.BranchRegistry.BranchInfo;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.ComboIndex;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.ComboIndex.Combo;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.ComboIndex.ComboMatch;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Branch;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.ComboMeal;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
+import com.Restaurant.RestaurantOrderManagementSystem.event.ComboChangedEvent;
+import com.Restaurant.RestaurantOrderManagementSystem.exception.BusinessException;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.ComboMealRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.MenuItemRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.service.ComboService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service implementation for combo meals.
+ * <p>
+ * Reads are served from the {@link ComboIndex}; creating a combo publishes a
+ * {@link ComboChangedEvent} so the index reloads the branch once it is committed.
+ * </p>
+ */
+@Service
+public class ComboServiceImpl implements ComboService {
+
+    private static final Logger log = LoggerFactory.getLogger(ComboServiceImpl.class);
+
+    private final ComboMealRepository comboRepo;
+    private final MenuItemRepository menuRepo;
+    private final BranchRegistry branchRegistry;
+    private final ComboIndex comboIndex;
+    private final ApplicationEventPublisher events;
+
+    /**
+     * Constructor for ComboServiceImpl.
+     *
+     * @param comboRepo      Repository for ComboMeal entities
+     * @param menuRepo       Repository used to check the items of a new combo
+     * @param branchRegistry In-memory registry used to check the branch of a new combo
+     * @param comboIndex     In-memory index serving combo reads
+     * @param events         Publisher used to announce combo changes
+     */
+    public ComboServiceImpl(ComboMealRepository comboRepo, MenuItemRepository menuRepo, BranchRegistry branchRegistry,
+                            ComboIndex comboIndex, ApplicationEventPublisher events) {
+        this.comboRepo = comboRepo;
+        this.menuRepo = menuRepo;
+        this.branchRegistry = branchRegistry;
+        this.comboIndex = comboIndex;
+        this.events = events;
+    }
+
+    /**
+     * Lists the combos of a branch.
+     *
+     * @param branchId ID of the branch
+     * @return the branch's combos with their current prices
+     */
+    @Override
+    public List<Combo> getCombos(Long branchId) {
+        return comboIndex.findAll(branchId);
+    }
+
+    /**
+     * Creates a combo meal.
+     *
+     * @param combo combo to create; its branch and items only need their IDs
+     * @return the created combo with its prices
+     * @throws BusinessException if the branch is unknown, the discount is out of range,
+     *                           or an item is missing or belongs to another branch
+     */
+    @Override
+    @Transactional
+    public Combo createCombo(ComboMeal combo) {
+        if (combo == null || combo.getBranch() == null) {
+            throw new BusinessException("Branch is required");
+        }
+        Branch branch = branchRegistry.find(combo.getBranch().getId())
+                .map(BranchInfo::toBranch)
+                .orElseThrow(() -> new BusinessException("Branch not found"));
+        if (combo.getDiscountPercentage() < 0 || combo.getDiscountPercentage() > 100) {
+            throw new BusinessException("Discount must be between 0 and 100 percent");
+        }
+        if (combo.getItems() == null || combo.getItems().isEmpty()) {
+            throw new BusinessException("Combo must contain at least one item");
+        }
+
+        Long branchId = branch.getId();
+        List<Long> ids = new ArrayList<>(combo.getItems().size());
+        combo.getItems().forEach(item -> ids.add(item.getId()));
+
+        Map<Long, MenuItem> found = new HashMap<>();
+        for (MenuItem item : menuRepo.findAllById(ids)) {
+            found.put(item.getId(), item);
+        }
+
+        // Keep repeated items, they make up the quantities of the combo
+        List<MenuItem> items = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            MenuItem item = found.get(id);
+            if (item == null || item.getBranch() == null || !branchId.equals(item.getBranch().getId())) {
+                throw new BusinessException("Menu item not found: " + id);
+            }
+            items.add(item);
+        }
+
+        combo.setId(null);
+        combo.setItems(items);
+        combo.setBranch(branch);
+        ComboMeal saved = comboRepo.save(combo);
+        log.info("Created combo {} '{}' at branch {}", saved.getId(), saved.getName(), branchId);
+
+        events.publishEvent(new ComboChangedEvent(branchId));
+        return Combo.of(saved);
+    }
+
+    /**
+     * Finds the combos that save the most on a basket.
+     *
+     * @param branchId ID of the branch
+     * @param basket   map of menu item IDs to quantities
+     * @return the combos to apply and how many times
+     */
+    @Override
+    public List<ComboMatch> bestCombos(Long branchId, Map<Long, Integer> basket) {
+        return comboIndex.bestCombos(branchId, basket);
+    }
+}
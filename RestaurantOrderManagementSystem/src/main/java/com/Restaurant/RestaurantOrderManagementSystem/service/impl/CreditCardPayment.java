@@ -1,6 +1,8 @@
 package com.Restaurant.RestaurantOrderManagementSystem.service.impl;
 
+import com.Restaurant.RestaurantOrderManagementSystem.enums.PaymentMethod;
 import com.Restaurant.RestaurantOrderManagementSystem.exception.PaymentException;
+import com.Restaurant.RestaurantOrderManagementSystem.service.strategy.PaymentGateway;
 import com.Restaurant.RestaurantOrderManagementSystem.service.strategy.PaymentStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,7 +12,8 @@ import org.springframework.stereotype.Service;
  * Implementation of {@link PaymentStrategy} for handling Credit Card payments.
  * <p>
  * This service handles both payment and refund operations for credit card transactions.
- * Includes retry mechanism for robustness in case of transient gateway failures.
+ * Makes a single gateway call per invocation; retries are scheduled by the caller
+ * through {@link com.Restaurant.RestaurantOrderManagementSystem.resilience.RetryEngine}.
  * </p>
  */
 @Service("CREDIT_CARD")
@@ -18,40 +21,35 @@ public class CreditCardPayment implements PaymentStrategy {
 
     private static final Logger log = LoggerFactory.getLogger(CreditCardPayment.class);
 
-    // Maximum number of retry attempts for payment
-    private static final int MAX_RETRIES = 3;
+    private final PaymentGateway gateway;
+
+    /**
+     * Constructor for CreditCardPayment.
+     *
+     * @param gateway Payment provider that charges the Credit Card payment
+     */
+    public CreditCardPayment(PaymentGateway gateway) {
+        this.gateway = gateway;
+    }
 
     /**
      * Process a credit card payment for a given order.
      *
      * @param orderId ID of the order to pay
      * @param amount  Amount to pay
-     * @return true if payment succeeds
+     * @return true if payment succeeds, false if the gateway declined it
      * @throws PaymentException if amount is invalid or payment fails
      */
     @Override
-    public boolean pay(Long orderId, double amount) {
+    public boolean pay(Long orderId, long amount) {
         // Validate input amount
         validateAmount(orderId, amount);
 
-        int attempt = 0;
-        boolean success = false;
-
-        // Retry loop in case of temporary gateway failures
-        while (attempt < MAX_RETRIES && !success) {
-            attempt++;
-            try {
-                log.info("Credit Card payment attempt {} for order {} amount {}", attempt, orderId, amount);
-                // Simulate success from payment gateway
-                success = true;
-            } catch (Exception e) {
-                log.error("Credit Card payment failed attempt {} for order {}: {}", attempt, orderId, e.getMessage());
-            }
-        }
+        log.info("Credit Card payment for order {} amount {}", orderId, amount);
 
-        // Throw exception if all attempts fail
-        if (!success) {
-            throw new PaymentException("Credit Card payment failed for order " + orderId);
+        if (!gateway.charge(PaymentMethod.CREDIT_CARD, orderId, amount)) {
+            log.warn("Credit Card payment declined for order {}", orderId);
+            return false;
         }
 
         log.info("Credit Card payment successful for order {}", orderId);
@@ -67,7 +65,7 @@ public class CreditCardPayment implements PaymentStrategy {
      * @throws PaymentException if amount is invalid
      */
     @Override
-    public boolean refund(Long orderId, double amount) {
+    public boolean refund(Long orderId, long amount) {
         // Validate refund amount
         validateAmount(orderId, amount);
 
@@ -84,7 +82,7 @@ public class CreditCardPayment implements PaymentStrategy {
      * @param amount  Amount to validate
      * @throws PaymentException if amount is less than or equal to zero
      */
-    private void validateAmount(Long orderId, double amount) {
+    private void validateAmount(Long orderId, long amount) {
         if (amount <= 0) {
             throw new PaymentException("Amount must be greater than zero for order " + orderId);
         }
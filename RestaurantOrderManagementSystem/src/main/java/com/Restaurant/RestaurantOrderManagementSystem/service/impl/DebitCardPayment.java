@@ -1,6 +1,8 @@
 package com.Restaurant.RestaurantOrderManagementSystem.service.impl;
 
+import com.Restaurant.RestaurantOrderManagementSystem.enums.PaymentMethod;
 import com.Restaurant.RestaurantOrderManagementSystem.exception.PaymentException;
+import com.Restaurant.RestaurantOrderManagementSystem.service.strategy.PaymentGateway;
 import com.Restaurant.RestaurantOrderManagementSystem.service.strategy.PaymentStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,7 +12,8 @@ import org.springframework.stereotype.Service;
  * Implementation of {@link PaymentStrategy} for handling Debit Card payments.
  * <p>
  * This service processes both payment and refund operations for debit card transactions.
- * Includes retry mechanism to handle temporary failures in the payment process.
+ * Makes a single gateway call per invocation; retries are scheduled by the caller
+ * through {@link com.Restaurant.RestaurantOrderManagementSystem.resilience.RetryEngine}.
  * </p>
  */
 @Service("DEBIT_CARD")
@@ -18,40 +21,35 @@ public class DebitCardPayment implements PaymentStrategy {
 
     private static final Logger log = LoggerFactory.getLogger(DebitCardPayment.class);
 
-    // Maximum retry attempts for payment or refund
-    private static final int MAX_RETRIES = 3;
+    private final PaymentGateway gateway;
+
+    /**
+     * Constructor for DebitCardPayment.
+     *
+     * @param gateway Payment provider that charges the Debit Card payment
+     */
+    public DebitCardPayment(PaymentGateway gateway) {
+        this.gateway = gateway;
+    }
 
     /**
      * Process a debit card payment for a given order.
      *
      * @param orderId ID of the order to pay
      * @param amount  Amount to pay
-     * @return true if payment succeeds
-     * @throws PaymentException if the amount is invalid or all attempts fail
+     * @return true if payment succeeds, false if the gateway declined it
+     * @throws PaymentException if the amount is invalid or this single gateway call fails
      */
     @Override
-    public boolean pay(Long orderId, double amount) {
+    public boolean pay(Long orderId, long amount) {
         // Validate input amount
         validateAmount(orderId, amount);
 
-        int attempt = 0;
-        boolean success = false;
-
-        // Retry loop for handling temporary failures
-        while (attempt < MAX_RETRIES && !success) {
-            attempt++;
-            try {
-                log.info("Debit Card payment attempt {} for order {} amount {}", attempt, orderId, amount);
-                // Simulate debit card gateway success
-                success = true;
-            } catch (Exception e) {
-                log.error("Debit Card payment failed attempt {} for order {}: {}", attempt, orderId, e.getMessage());
-            }
-        }
+        log.info("Debit Card payment for order {} amount {}", orderId, amount);
 
-        // Throw exception if all attempts fail
-        if (!success) {
-            throw new PaymentException("Debit Card payment failed for order " + orderId);
+        if (!gateway.charge(PaymentMethod.DEBIT_CARD, orderId, amount)) {
+            log.warn("Debit Card payment declined for order {}", orderId);
+            return false;
         }
 
         log.info("Debit Card payment successful for order {}", orderId);
@@ -67,7 +65,7 @@ public class DebitCardPayment implements PaymentStrategy {
      * @throws PaymentException if the amount is invalid
      */
     @Override
-    public boolean refund(Long orderId, double amount) {
+    public boolean refund(Long orderId, long amount) {
         // Validate refund amount
         validateAmount(orderId, amount);
 
@@ -83,7 +81,7 @@ public class DebitCardPayment implements PaymentStrategy {
      * @param amount  Amount to validate
      * @throws PaymentException if amount is less than or equal to zero
      */
-    private void validateAmount(Long orderId, double amount) {
+    private void validateAmount(Long orderId, long amount) {
         if (amount <= 0) {
             throw new PaymentException("Amount must be greater than zero for order " + orderId);
         }
@@ -0,0 +1,189 @@
+package com.Restaurant.RestaurantOrderManagementSystem.service.impl;
+
+import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItemTombstone;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.MenuItemRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.MenuItemTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns change sequences to menu item writes for the menu delta sync feed.
+ * <p>
+ * Every write transaction takes the next sequence and stamps it on the items it saves,
+ * recording a tombstone when an item moves to another branch. Because transactions commit
+ * out of order, the feed only publishes changes up to the {@link #watermark()}: the highest
+ * sequence below which every transaction has finished. The latest committed sequence of each
+ * branch is kept in memory, so a terminal polling an unchanged menu costs no database read.
+ * </p>
+ * <p>
+ * Sequences are allocated in memory, continuing from the highest one stored, which assumes
+ * a single application instance writes menus, as the in-memory menu caches already do.
+ * </p>
+ */
+@Component
+public class MenuChangeTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuChangeTracker.class);
+
+    private final MenuItemRepository menuRepo;
+    private final MenuItemTombstoneRepository tombstoneRepo;
+
+    // Guarded by this: last sequence handed out, and the ones whose transaction is still open
+    private long sequence;
+    private final NavigableSet<Long> inFlight = new TreeSet<>();
+
+    // branchId -> latest committed change sequence
+    private final Map<Long, Long> latestByBranch = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for MenuChangeTracker; resumes from the sequences already stored.
+     *
+     * @param menuRepo      Repository for MenuItem entities
+     * @param tombstoneRepo Repository for menu item removals
+     */
+    public MenuChangeTracker(MenuItemRepository menuRepo, MenuItemTombstoneRepository tombstoneRepo) {
+        this.menuRepo = menuRepo;
+        this.tombstoneRepo = tombstoneRepo;
+
+        List<Object[]> latest = new ArrayList<>(menuRepo.findLatestChangeSeqByBranch());
+        latest.addAll(tombstoneRepo.findLatestChangeSeqByBranch());
+        for (Object[] row : latest) {
+            long changeSeq = ((Number) row[1]).longValue();
+            latestByBranch.merge((Long) row[0], changeSeq, Math::max);
+            sequence = Math.max(sequence, changeSeq);
+        }
+        log.info("Menu change sequence resumes at {}", sequence);
+    }
+
+    /**
+     * Stamps menu items about to be saved with a new change sequence. Must be called in the
+     * transaction that saves them; the sequence is published once that transaction ends.
+     * <p>
+     * Existing items are loaded with one query to detect branch moves, which also means
+     * saving them afterwards needs no further select per item.
+     * </p>
+     *
+     * @param items menu items about to be saved
+     */
+    public void stamp(Collection<MenuItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        long changeSeq = next();
+
+        Set<Long> ids = new HashSet<>();
+        items.forEach(item -> {
+            if (item.getId() != null) {
+                ids.add(item.getId());
+            }
+        });
+        Map<Long, Long> previousBranch = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (MenuItem existing : menuRepo.findAllById(ids)) {
+                if (existing.getBranch() != null) {
+                    previousBranch.put(existing.getId(), existing.getBranch().getId());
+                }
+            }
+        }
+
+        Set<Long> branches = new HashSet<>();
+        Map<Long, Long> moves = new HashMap<>();
+        for (MenuItem item : items) {
+            item.setChangeSeq(changeSeq);
+            Long branchId = item.getBranch() != null ? item.getBranch().getId() : null;
+            branches.add(branchId);
+
+            Long previous = previousBranch.get(item.getId());
+            if (previous != null && !previous.equals(branchId)) {
+                moves.put(item.getId(), previous);
+                branches.add(previous);
+            }
+        }
+        branches.remove(null);
+
+        if (!moves.isEmpty()) {
+            recordRemovals(moves, changeSeq);
+        }
+        afterCompletion(changeSeq, branches);
+    }
+
+    /**
+     * Highest sequence such that every change up to it is committed or rolled back.
+     *
+     * @return the sequence the delta feed may safely publish up to
+     */
+    public synchronized long watermark() {
+        return inFlight.isEmpty() ? sequence : inFlight.first() - 1;
+    }
+
+    /**
+     * Latest committed change sequence of a branch menu.
+     *
+     * @param branchId ID of the branch
+     * @return the sequence, or 0 if the branch menu never changed
+     */
+    public long latest(Long branchId) {
+        return latestByBranch.getOrDefault(branchId, 0L);
+    }
+
+    private synchronized long next() {
+        long changeSeq = ++sequence;
+        inFlight.add(changeSeq);
+        return changeSeq;
+    }
+
+    private synchronized void finish(long changeSeq) {
+        inFlight.remove(changeSeq);
+    }
+
+    /**
+     * Upserts the tombstones of items that left a branch; one per item and branch.
+     */
+    private void recordRemovals(Map<Long, Long> moves, long changeSeq) {
+        List<MenuItemTombstone> tombstones = new ArrayList<>(moves.size());
+        for (MenuItemTombstone tombstone : tombstoneRepo.findByMenuItemIdIn(moves.keySet())) {
+            if (tombstone.getBranchId().equals(moves.get(tombstone.getMenuItemId()))) {
+                tombstone.setChangeSeq(changeSeq);
+                tombstones.add(tombstone);
+                moves.remove(tombstone.getMenuItemId());
+            }
+        }
+        moves.forEach((itemId, branchId) -> tombstones.add(new MenuItemTombstone(itemId, branchId, changeSeq)));
+        tombstoneRepo.saveAll(tombstones);
+    }
+
+    private void afterCompletion(long changeSeq, Set<Long> branches) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(changeSeq, branches, true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                publish(changeSeq, branches, status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private void publish(long changeSeq, Set<Long> branches, boolean committed) {
+        if (committed) {
+            branches.forEach(branchId -> latestByBranch.merge(branchId, changeSeq, Math::max));
+        }
+        finish(changeSeq);
+    }
+}
@@ -0,0 +1,273 @@
+package com.Restaurant.RestaurantOrderManagementSystem.service.impl;
+
+import com.Restaurant.RestaurantOrderManagementSystem.dto.MenuImportResult;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Branch;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
+import com.Restaurant.RestaurantOrderManagementSystem.event.MenuChangedEvent;
+import com.Restaurant.RestaurantOrderManagementSystem.exception.MenuException;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.BranchRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.MenuItemRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.service.MenuImportService;
+import com.Restaurant.RestaurantOrderManagementSystem.validation.MenuValidator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of {@link MenuImportService} for importing large chain menus.
+ * <p>
+ * Reads a newline-delimited JSON stream of menu items one line at a time and saves
+ * them in chunks of {@code menu.import.chunk-size}, one transaction per chunk.
+ * Each chunk resolves its branches and existing items with one query each, so the
+ * cost of validation does not grow with the number of lines. Items with an ID update
+ * the existing item, items without one are created. One NDJSON result per input line
+ * is written back as each chunk completes, and a bad line never aborts the import.
+ * </p>
+ */
+@Service
+public class MenuImportServiceImpl implements MenuImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuImportServiceImpl.class);
+
+    private static final byte NEWLINE = '\n';
+
+    private final MenuItemRepository menuRepo;
+    private final BranchRepository branchRepo;
+    private final MenuValidator menuValidator;
+    private final MenuChangeTracker changeTracker;
+    private final ApplicationEventPublisher events;
+    private final TransactionOperations tx;
+    private final ObjectReader itemReader;
+    private final ObjectWriter resultWriter;
+    private final int chunkSize;
+
+    /**
+     * Constructor for MenuImportServiceImpl.
+     *
+     * @param menuRepo      Repository for MenuItem entities
+     * @param branchRepo    Repository for Branch entities
+     * @param menuValidator Validator for menu item fields
+     * @param changeTracker Change sequence source for the menu delta sync feed
+     * @param events        Publisher used to announce menu changes to in-memory caches
+     * @param tx            Transaction template, one transaction per chunk
+     * @param objectMapper  Mapper used to read items and write results
+     * @param chunkSize     Number of lines validated and saved per transaction
+     */
+    public MenuImportServiceImpl(MenuItemRepository menuRepo, BranchRepository branchRepo, MenuValidator menuValidator,
+                                 MenuChangeTracker changeTracker, ApplicationEventPublisher events,
+                                 TransactionOperations tx, ObjectMapper objectMapper,
+                                 @Value("${menu.import.chunk-size:500}") int chunkSize) {
+        this.menuRepo = menuRepo;
+        this.branchRepo = branchRepo;
+        this.menuValidator = menuValidator;
+        this.changeTracker = changeTracker;
+        this.events = events;
+        this.tx = tx;
+        this.itemReader = objectMapper.readerFor(MenuItem.class);
+        this.resultWriter = objectMapper.writerFor(MenuImportResult.class);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports an NDJSON stream of {@link MenuItem} lines.
+     *
+     * @param items   NDJSON request body, read incrementally
+     * @param results stream receiving one {@link MenuImportResult} line per input line
+     * @throws IOException if reading the request or writing the response fails
+     */
+    @Override
+    public void importMenu(InputStream items, OutputStream results) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(items, StandardCharsets.UTF_8));
+        List<Line> chunk = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+        long saved = 0;
+        long total = 0;
+
+        String raw;
+        while ((raw = reader.readLine()) != null) {
+            lineNumber++;
+            if (raw.isBlank()) {
+                continue;
+            }
+            chunk.add(parse(lineNumber, raw));
+
+            if (chunk.size() >= chunkSize) {
+                saved += processChunk(chunk, results);
+                total += chunk.size();
+                chunk.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            saved += processChunk(chunk, results);
+            total += chunk.size();
+        }
+
+        results.flush();
+        log.info("Menu import finished: {} lines, {} saved, {} rejected", total, saved, total - saved);
+    }
+
+    private Line parse(long number, String raw) {
+        try {
+            MenuItem item = itemReader.readValue(raw);
+            return item != null
+                    ? new Line(number, item, null)
+                    : new Line(number, null, "Empty menu item");
+        } catch (JsonProcessingException e) {
+            return new Line(number, null, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Validates and saves one chunk in a single transaction, then writes its results.
+     *
+     * @return number of menu items saved
+     */
+    private int processChunk(List<Line> chunk, OutputStream out) throws IOException {
+        MenuImportResult[] results = new MenuImportResult[chunk.size()];
+
+        try {
+            tx.executeWithoutResult(status -> saveChunk(chunk, results));
+        } catch (RuntimeException e) {
+            // The whole chunk rolled back; anything not already rejected failed with it
+            log.error("Menu import chunk starting at line {} failed: {}", chunk.get(0).number(), e.getMessage());
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] == null || results[i].menuItemId() != null) {
+                    results[i] = MenuImportResult.rejected(chunk.get(i).number(), "Could not save menu item: " + e.getMessage());
+                }
+            }
+        }
+
+        int saved = 0;
+        for (MenuImportResult result : results) {
+            out.write(resultWriter.writeValueAsBytes(result));
+            out.write(NEWLINE);
+            if (result.menuItemId() != null) {
+                saved++;
+            }
+        }
+        out.flush();
+        return saved;
+    }
+
+    private void saveChunk(List<Line> chunk, MenuImportResult[] results) {
+        Map<Long, Branch> branches = loadBranches(chunk);
+        Set<Long> existing = loadExisting(chunk);
+
+        List<MenuItem> items = new ArrayList<>(chunk.size());
+        List<Integer> positions = new ArrayList<>(chunk.size());
+        // Saving assigns IDs to new items, so note which lines are updates beforehand
+        BitSet updates = new BitSet(chunk.size());
+
+        for (int i = 0; i < chunk.size(); i++) {
+            Line line = chunk.get(i);
+            if (line.error() != null) {
+                results[i] = MenuImportResult.rejected(line.number(), line.error());
+                continue;
+            }
+            try {
+                items.add(prepare(line.item(), branches, existing));
+                positions.add(i);
+                updates.set(i, line.item().getId() != null);
+            } catch (MenuException e) {
+                results[i] = MenuImportResult.rejected(line.number(), e.getMessage());
+            }
+        }
+
+        changeTracker.stamp(items);
+        List<MenuItem> saved = menuRepo.saveAll(items);
+        for (int i = 0; i < saved.size(); i++) {
+            int position = positions.get(i);
+            long number = chunk.get(position).number();
+            results[position] = updates.get(position)
+                    ? MenuImportResult.updated(number, saved.get(i).getId())
+                    : MenuImportResult.created(number, saved.get(i).getId());
+        }
+
+        // Caches pick this up once the chunk commits
+        events.publishEvent(new MenuChangedEvent(saved));
+    }
+
+    private MenuItem prepare(MenuItem item, Map<Long, Branch> branches, Set<Long> existing) {
+        menuValidator.validateFields(item);
+
+        Branch branch = branches.get(item.getBranch().getId());
+        if (branch == null) {
+            throw new MenuException("Branch not found");
+        }
+        if (item.getId() != null && !existing.contains(item.getId())) {
+            throw new MenuException("Menu item not found: " + item.getId());
+        }
+        item.setBranch(branch);
+        return item;
+    }
+
+    /**
+     * Loads every branch referenced by the chunk with one query.
+     */
+    private Map<Long, Branch> loadBranches(List<Line> chunk) {
+        Set<Long> ids = new HashSet<>();
+        for (Line line : chunk) {
+            if (line.item() != null && line.item().getBranch() != null) {
+                ids.add(line.item().getBranch().getId());
+            }
+        }
+        ids.remove(null);
+
+        Map<Long, Branch> branches = new HashMap<>(ids.size() * 2);
+        for (Branch branch : branchRepo.findAllById(ids)) {
+            branches.put(branch.getId(), branch);
+        }
+        return branches;
+    }
+
+    /**
+     * Loads every existing item the chunk updates with one query. Besides checking that
+     * they exist, this puts them in the persistence context so saving them needs no
+     * further select per item.
+     */
+    private Set<Long> loadExisting(List<Line> chunk) {
+        Set<Long> ids = new HashSet<>();
+        for (Line line : chunk) {
+            if (line.item() != null && line.item().getId() != null) {
+                ids.add(line.item().getId());
+            }
+        }
+        if (ids.isEmpty()) {
+            return ids;
+        }
+
+        Set<Long> existing = new HashSet<>(ids.size() * 2);
+        for (MenuItem item : menuRepo.findAllById(ids)) {
+            existing.add(item.getId());
+        }
+        return existing;
+    }
+
+    /**
+     * One parsed input line; either the item or the parse error is set.
+     */
+    private record Line(long number, MenuItem item, String error) {
+    }
+}
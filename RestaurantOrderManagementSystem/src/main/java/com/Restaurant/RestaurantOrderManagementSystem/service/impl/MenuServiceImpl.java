@@ -1,29 +1,39 @@
 package com.Restaurant.RestaurantOrderManagementSystem.service.impl;
 
+import com.Restaurant.RestaurantOrderManagementSystem.cache.MenuFacetIndex;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.MenuSearchIndex;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.MenuChanges;
 import com.Restaurant.RestaurantOrderManagementSystem.enums.Category;
 import com.Restaurant.RestaurantOrderManagementSystem.enums.DietType;
 import com.Restaurant.RestaurantOrderManagementSystem.enums.MenuType;
 import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItemTombstone;
+import com.Restaurant.RestaurantOrderManagementSystem.event.MenuChangedEvent;
 import com.Restaurant.RestaurantOrderManagementSystem.exception.BusinessException;
 import com.Restaurant.RestaurantOrderManagementSystem.exception.MenuException;
 import com.Restaurant.RestaurantOrderManagementSystem.repository.ComboMealRepository;
 import com.Restaurant.RestaurantOrderManagementSystem.validation.MenuTimeValidator;
 import com.Restaurant.RestaurantOrderManagementSystem.validation.MenuValidator;
 import com.Restaurant.RestaurantOrderManagementSystem.repository.MenuItemRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.MenuItemTombstoneRepository;
 import com.Restaurant.RestaurantOrderManagementSystem.service.MenuService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 /**
  * Implementation of {@link MenuService} for managing restaurant menu items.
  * <p>
  * Provides CRUD operations and filtering based on branch, menu type, diet type, and category.
  * Ensures that items are validated before saving and only available items are returned.
+ * Browsing and filtering are answered from {@link MenuFacetIndex} without touching the database.
  * </p>
  */
 @Service
@@ -34,18 +44,39 @@ public class MenuServiceImpl implements MenuService {
     private final MenuItemRepository menuRepo;
     private final ComboMealRepository comboRepo;
     private final MenuValidator menuValidator;
+    private final MenuTimeValidator menuTimeValidator;
+    private final ApplicationEventPublisher events;
+    private final MenuFacetIndex facetIndex;
+    private final MenuSearchIndex searchIndex;
+    private final MenuChangeTracker changeTracker;
+    private final MenuItemTombstoneRepository tombstoneRepo;
 
     /**
      * Constructor to initialize repositories and validators.
      *
-     * @param menuRepo      Repository for MenuItem entities
-     * @param comboRepo     Repository for combo meals (not currently used in logic)
-     * @param menuValidator Validator for menu items
+     * @param menuRepo          Repository for MenuItem entities
+     * @param comboRepo         Repository for combo meals (not currently used in logic)
+     * @param menuValidator     Validator for menu items
+     * @param menuTimeValidator Validator for menu service windows
+     * @param events            Publisher used to announce menu changes to in-memory caches
+     * @param facetIndex        In-memory index serving menu browsing and filtering
+     * @param searchIndex       In-memory full-text index serving menu search
+     * @param changeTracker     Change sequence source for the menu delta sync feed
+     * @param tombstoneRepo     Repository for removals reported by the delta sync feed
      */
-    public MenuServiceImpl(MenuItemRepository menuRepo, ComboMealRepository comboRepo, MenuValidator menuValidator) {
+    public MenuServiceImpl(MenuItemRepository menuRepo, ComboMealRepository comboRepo, MenuValidator menuValidator,
+                           MenuTimeValidator menuTimeValidator, ApplicationEventPublisher events,
+                           MenuFacetIndex facetIndex, MenuSearchIndex searchIndex,
+                           MenuChangeTracker changeTracker, MenuItemTombstoneRepository tombstoneRepo) {
         this.menuRepo = menuRepo;
         this.comboRepo = comboRepo;
         this.menuValidator = menuValidator;
+        this.menuTimeValidator = menuTimeValidator;
+        this.events = events;
+        this.facetIndex = facetIndex;
+        this.searchIndex = searchIndex;
+        this.changeTracker = changeTracker;
+        this.tombstoneRepo = tombstoneRepo;
     }
 
     /**
@@ -62,12 +93,17 @@ public class MenuServiceImpl implements MenuService {
         menuValidator.validateMenuItem(item);
 
         // Check menu availability based on menu type (e.g., breakfast, lunch)
-        if (!MenuTimeValidator.isMenuAvailable(item.getMenuType())) {
+        if (!menuTimeValidator.isMenuAvailable(item.getBranch().getId(), item.getMenuType())) {
             throw new BusinessException("Menu not available at this time");
         }
 
         log.info("Adding menu item {} in branch {}", item.getName(), item.getBranch().getId());
-        return menuRepo.save(item);
+        changeTracker.stamp(List.of(item));
+        MenuItem saved = menuRepo.save(item);
+
+        // Caches pick this up once the transaction commits
+        events.publishEvent(new MenuChangedEvent(List.of(saved)));
+        return saved;
     }
 
     /**
@@ -78,10 +114,7 @@ public class MenuServiceImpl implements MenuService {
      */
     @Override
     public List<MenuItem> getMenuByBranch(Long branchId) {
-        return menuRepo.findByBranchId(branchId)
-                .stream()
-                .filter(MenuItem::isAvailable) // Only return available items
-                .collect(Collectors.toList());
+        return facetIndex.find(branchId, null, null, null);
     }
 
     /**
@@ -93,9 +126,13 @@ public class MenuServiceImpl implements MenuService {
     @Override
     @Transactional
     public List<MenuItem> bulkUpdate(List<MenuItem> items) {
-        items.forEach(menuValidator::validateMenuItem); // Validate each item
+        menuValidator.validateMenuItems(items); // Validate each item, all branches in one lookup
         log.info("Bulk updating {} menu items", items.size());
-        return menuRepo.saveAll(items);
+        changeTracker.stamp(items);
+        List<MenuItem> saved = menuRepo.saveAll(items);
+
+        events.publishEvent(new MenuChangedEvent(saved));
+        return saved;
     }
 
     /**
@@ -107,10 +144,7 @@ public class MenuServiceImpl implements MenuService {
      */
     @Override
     public List<MenuItem> getMenuByType(Long branchId, MenuType type) {
-        return menuRepo.findByBranchIdAndMenuType(branchId, type)
-                .stream()
-                .filter(MenuItem::isAvailable)
-                .collect(Collectors.toList());
+        return facetIndex.find(branchId, type, null, null);
     }
 
     /**
@@ -124,16 +158,10 @@ public class MenuServiceImpl implements MenuService {
      */
     @Override
     public List<MenuItem> getMenuByTypeAndDietType(Long branchId, MenuType type, DietType dietType) {
-        DietType dt;
-        try {
-            dt = DietType.valueOf(dietType.toString().toUpperCase());
-        } catch (Exception e) {
+        if (dietType == null) {
             throw new MenuException("Invalid diet type: " + dietType);
         }
-
-        return getMenuByType(branchId, type).stream()
-                .filter(m -> m.getDietType() == dt)
-                .collect(Collectors.toList());
+        return facetIndex.find(branchId, type, dietType, null);
     }
 
     /**
@@ -147,16 +175,10 @@ public class MenuServiceImpl implements MenuService {
      */
     @Override
     public List<MenuItem> getMenuByTypeAndCategory(Long branchId, MenuType type, Category category) {
-        Category cat;
-        try {
-            cat = Category.valueOf(category.toString().toUpperCase());
-        } catch (Exception e) {
+        if (category == null) {
             throw new MenuException("Invalid category: " + category);
         }
-
-        return getMenuByType(branchId, type).stream()
-                .filter(m -> m.getCategory() == cat)
-                .collect(Collectors.toList());
+        return facetIndex.find(branchId, type, null, category);
     }
 
     /**
@@ -171,17 +193,80 @@ public class MenuServiceImpl implements MenuService {
      */
     @Override
     public List<MenuItem> getMenuByTypeAndDietTypeAndCategory(Long branchId, MenuType type, DietType dietType, Category category) {
-        DietType dt;
-        Category cat;
-        try {
-            dt = DietType.valueOf(dietType.toString().toUpperCase());
-            cat = Category.valueOf(category.toString().toUpperCase());
-        } catch (Exception e) {
+        if (dietType == null || category == null) {
             throw new MenuException("Invalid diet type or category");
         }
+        return facetIndex.find(branchId, type, dietType, category);
+    }
+
+    /**
+     * Get available menu items matching any combination of filters.
+     *
+     * @param branchId Branch ID
+     * @param type     MenuType, or null for any
+     * @param dietType DietType, or null for any
+     * @param category Category, or null for any
+     * @return List of filtered MenuItem objects
+     */
+    @Override
+    public List<MenuItem> filterMenu(Long branchId, MenuType type, DietType dietType, Category category) {
+        return facetIndex.find(branchId, type, dietType, category);
+    }
+
+    /**
+     * Search available menu items of a branch by name and description.
+     *
+     * @param branchId Branch ID
+     * @param query    Free text; the last word may be incomplete and small typos are tolerated
+     * @param limit    Maximum number of items returned
+     * @return List of matching MenuItem objects, best match first
+     * @throws MenuException if the limit is not positive
+     */
+    @Override
+    public List<MenuItem> searchMenu(Long branchId, String query, int limit) {
+        if (limit <= 0) {
+            throw new MenuException("Limit must be positive");
+        }
+        return searchIndex.search(branchId, query, limit);
+    }
+
+    /**
+     * Get the changes to a branch menu since a version of the delta sync feed.
+     * <p>
+     * A client without a version, or with one this server never issued, gets the whole menu.
+     * A client that is up to date is answered without reading the database.
+     * </p>
+     *
+     * @param branchId Branch ID
+     * @param since    Version returned by the previous call, or 0 for the whole menu
+     * @return Upserts and deletions since that version, and the version to ask from next
+     */
+    @Override
+    public MenuChanges getMenuChanges(Long branchId, long since) {
+        long version = changeTracker.watermark();
+
+        if (since <= 0 || since > version) {
+            return new MenuChanges(version, true, getMenuByBranch(branchId), List.of());
+        }
+        if (since >= changeTracker.latest(branchId)) {
+            return new MenuChanges(version, false, List.of(), List.of());
+        }
+
+        List<MenuItem> upserts = new ArrayList<>();
+        Set<Long> deletions = new LinkedHashSet<>();
+        for (MenuItem item : menuRepo.findByBranchIdAndChangeSeqBetween(branchId, since + 1, version)) {
+            if (item.isAvailable()) {
+                upserts.add(item);
+            } else {
+                deletions.add(item.getId());
+            }
+        }
+        for (MenuItemTombstone removal : tombstoneRepo.findByBranchIdAndChangeSeqBetween(branchId, since + 1, version)) {
+            deletions.add(removal.getMenuItemId());
+        }
+        // An item that left and came back is only reported in its current state
+        upserts.forEach(item -> deletions.remove(item.getId()));
 
-        return getMenuByType(branchId, type).stream()
-                .filter(m -> m.getDietType() == dt && m.getCategory() == cat)
-                .collect(Collectors.toList());
+        return new MenuChanges(version, false, upserts, new ArrayList<>(deletions));
     }
 }
@@ -1,29 +1,64 @@
 package com.Restaurant.RestaurantOrderManagementSystem.service.impl;
 
+import com.Restaurant.RestaurantOrderManagementSystem.cache.BranchRegistry;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.BranchRegistry.BranchInfo;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.ComboIndex;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.ComboIndex.Combo;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.ComboIndex.ComboItem;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.ComboIndex.ComboMatch;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.MenuPriceBook;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.MenuPriceBook.PriceEntry;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderDetails;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderLine;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderPage;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderRequest;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderSearch;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderState;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderStatusChange;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderStatusOutcome;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderStatusOutcome.Result;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderSummary;
 import com.Restaurant.RestaurantOrderManagementSystem.entities.Branch;
-import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.ComboMeal;
 import com.Restaurant.RestaurantOrderManagementSystem.entities.OrderItem;
 import com.Restaurant.RestaurantOrderManagementSystem.entities.Order;
 import com.Restaurant.RestaurantOrderManagementSystem.enums.OrderStatus;
+import com.Restaurant.RestaurantOrderManagementSystem.event.OrderLifecycleEvent;
 import com.Restaurant.RestaurantOrderManagementSystem.exception.BusinessException;
-import com.Restaurant.RestaurantOrderManagementSystem.repository.BranchRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.exception.OrderConflictException;
+import com.Restaurant.RestaurantOrderManagementSystem.money.Money;
+import com.Restaurant.RestaurantOrderManagementSystem.pricing.PricingEngine;
+import com.Restaurant.RestaurantOrderManagementSystem.pricing.PricingPlan;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.ComboMealRepository;
 import com.Restaurant.RestaurantOrderManagementSystem.repository.MenuItemRepository;
 import com.Restaurant.RestaurantOrderManagementSystem.repository.OrderRepository;
 import com.Restaurant.RestaurantOrderManagementSystem.service.OrderService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Implementation of {@link OrderService} for managing restaurant orders.
  * <p>
  * Provides order creation, status updates, and saving functionality.
+ * Status updates follow the transitions of {@link OrderStatus} and never load the order.
  * Applies business validations such as branch activity status and menu availability.
  * </p>
  */
@@ -32,47 +67,163 @@ public class OrderServiceImpl implements OrderService {
 
     private static final Logger log = LoggerFactory.getLogger(OrderServiceImpl.class);
 
+    /** Upper bound on the page size of a branch's order list. */
+    static final int MAX_PAGE_SIZE = 100;
+
+    /** Upper bound on the number of orders in a batch status change. */
+    static final int MAX_BATCH_SIZE = 100;
+
+    /**
+     * Upper bound on the delivery distance of an order. The distance is reported by the caller,
+     * which geocodes the address, so anything beyond any branch's delivery area is refused.
+     */
+    static final int MAX_DELIVERY_DISTANCE_METERS = 50_000;
+
     private final OrderRepository orderRepo;
     private final MenuItemRepository menuRepo;
-    private final BranchRepository branchRepo;
+    private final BranchRegistry branchRegistry;
+    private final MenuPriceBook priceBook;
+    private final PricingEngine pricingEngine;
+    private final ComboIndex comboIndex;
+    private final ComboMealRepository comboRepo;
+    private final ApplicationEventPublisher events;
 
     /**
      * Constructor to initialize repositories.
      *
-     * @param orderRepo Repository for Order entities
-     * @param menuRepo  Repository for MenuItem entities
-     * @param branchRepo Repository for Branch entities
+     * @param orderRepo      Repository for Order entities
+     * @param menuRepo       Repository for MenuItem entities
+     * @param branchRegistry In-memory registry used to check branch status
+     * @param priceBook      In-memory price book used to resolve ordered menu items
+     * @param pricingEngine  Compiled tax, packaging and delivery rules per branch
+     * @param comboIndex     In-memory index used to resolve and detect combos
+     * @param comboRepo      Repository for ComboMeal entities, only used for references
+     * @param events         Publisher of order lifecycle events
      */
-    public OrderServiceImpl(OrderRepository orderRepo, MenuItemRepository menuRepo, BranchRepository branchRepo) {
+    public OrderServiceImpl(OrderRepository orderRepo, MenuItemRepository menuRepo, BranchRegistry branchRegistry,
+                            MenuPriceBook priceBook, PricingEngine pricingEngine, ComboIndex comboIndex,
+                            ComboMealRepository comboRepo, ApplicationEventPublisher events) {
         this.orderRepo = orderRepo;
         this.menuRepo = menuRepo;
-        this.branchRepo = branchRepo;
+        this.branchRegistry = branchRegistry;
+        this.priceBook = priceBook;
+        this.pricingEngine = pricingEngine;
+        this.comboIndex = comboIndex;
+        this.comboRepo = comboRepo;
+        this.events = events;
     }
 
     /**
-     * Creates a new order with items, instructions, and delivery charge.
+     * Creates a new order with items, instructions, and delivery distance.
      *
-     * @param branchId       ID of the branch where order is placed
-     * @param customerName   Name of the customer
-     * @param items          Map of menu item IDs to quantities
-     * @param instructions   Map of menu item IDs to special instructions (optional)
-     * @param deliveryCharge Delivery charge for the order
+     * @param branchId               ID of the branch where order is placed
+     * @param customerName           Name of the customer
+     * @param items                  Map of menu item IDs to quantities
+     * @param instructions           Map of menu item IDs to special instructions (optional)
+     * @param deliveryDistanceMeters Delivery distance, 0 if the order is not delivered
      * @return Created {@link Order} object
      * @throws BusinessException if branch is inactive or any menu item is unavailable
      */
     @Override
     @Transactional
     public Order createOrder(Long branchId, String customerName, Map<Long, Integer> items,
-                             Map<Long, String> instructions, double deliveryCharge) {
+                             Map<Long, String> instructions, int deliveryDistanceMeters) {
+        return createOrder(new OrderRequest(branchId, customerName, items, null, instructions, deliveryDistanceMeters));
+    }
 
-        // Fetch branch and validate its status
-        Branch branch = branchRepo.findById(branchId)
+    /**
+     * Creates a new order with items, combos, instructions, and delivery distance.
+     *
+     * @param request the order to place
+     * @return Created {@link Order} object
+     * @throws BusinessException if branch is inactive or any menu item or combo is unavailable
+     */
+    @Override
+    @Transactional
+    public Order createOrder(OrderRequest request) {
+
+        // Validate branch status from the registry, without a database round trip
+        BranchInfo branch = branchRegistry.find(request.branchId())
                 .orElseThrow(() -> new BusinessException("Branch not found"));
 
-        if (!branch.isActive()) {
+        if (!branch.active()) {
             throw new BusinessException("Branch is closed");
         }
 
+        Order order = buildOrder(branch.toBranch(), request.customerName(), request.items(), request.combos(),
+                request.instructions(), request.deliveryDistanceMeters());
+
+        log.info("Created order for customer {} at branch {}. Total: {}", request.customerName(), request.branchId(),
+                Money.format(order.getTotalAmount()));
+
+        Order saved = orderRepo.save(order);
+        publishCreated(saved);
+        return saved;
+    }
+
+    /**
+     * Saves orders built by {@link #buildOrder} in one batch and announces each of them.
+     * Used by bulk ingestion, inside the caller's transaction.
+     *
+     * @param orders unsaved orders
+     * @return the saved orders, in the same order
+     */
+    @Override
+    @Transactional
+    public List<Order> saveOrders(List<Order> orders) {
+        List<Order> saved = orderRepo.saveAll(orders);
+        saved.forEach(this::publishCreated);
+        return saved;
+    }
+
+    /**
+     * Announces a newly saved order, delivered to the branch's order streams once committed.
+     *
+     * @param order the saved order
+     */
+    private void publishCreated(Order order) {
+        events.publishEvent(OrderLifecycleEvent.created(order.getId(), order.getBranch().getId(),
+                order.getStatus(), order.getVersion()));
+    }
+
+    /**
+     * Builds a priced, unsaved order for an already validated branch.
+     * <p>
+     * Shared by single order creation and bulk ingestion. Menu items are resolved
+     * through the {@link MenuPriceBook} and only referenced from the order lines.
+     * Taxes, packaging fees and the delivery charge come from the branch's compiled
+     * {@link PricingPlan}, indexed by the slot the price book keeps for each item.
+     * </p>
+     * <p>
+     * Combos are taken from the {@link ComboIndex}: those ordered by ID, plus the
+     * combination of combos that saves the most on the loose items. Each item of a
+     * combo becomes its own line, discounted by the combo's percentage.
+     * </p>
+     *
+     * @param branch                 Active branch where the order is placed
+     * @param customerName           Name of the customer
+     * @param items                  Map of menu item IDs to quantities
+     * @param combos                 Map of combo IDs to quantities (optional)
+     * @param instructions           Map of menu item IDs to special instructions (optional)
+     * @param deliveryDistanceMeters Delivery distance reported by the caller, 0 if the order is not delivered
+     * @return Unsaved {@link Order} with its items and total amount
+     * @throws BusinessException if the order is empty, a quantity is missing or not positive, the distance
+     *                           is negative or out of range, or any menu item or combo is missing or unavailable
+     */
+    @Override
+    public Order buildOrder(Branch branch, String customerName, Map<Long, Integer> items, Map<Long, Integer> combos,
+                            Map<Long, String> instructions, int deliveryDistanceMeters) {
+
+        if ((items == null || items.isEmpty()) && (combos == null || combos.isEmpty())) {
+            throw new BusinessException("Order must contain at least one item");
+        }
+        if (deliveryDistanceMeters < 0 || deliveryDistanceMeters > MAX_DELIVERY_DISTANCE_METERS) {
+            throw new BusinessException("Delivery distance must be between 0 and "
+                    + MAX_DELIVERY_DISTANCE_METERS + " meters");
+        }
+        requirePositiveQuantities(items, "menu item");
+        requirePositiveQuantities(combos, "combo");
+
         // Initialize order entity
         Order order = new Order();
         order.setCustomerName(customerName);
@@ -80,66 +231,243 @@ public class OrderServiceImpl implements OrderService {
         order.setStatus(OrderStatus.CREATED);
         order.setCreatedAt(LocalDateTime.now());
 
-        List<OrderItem> orderItems = new ArrayList<>();
-        double subtotal = 0;
+        // Split the basket into combos and the loose items left over
+        Map<Long, Integer> loose = items != null ? new LinkedHashMap<>(items) : new LinkedHashMap<>();
+        List<ComboLine> comboLines = new ArrayList<>();
+        if (combos != null) {
+            for (Map.Entry<Long, Integer> entry : combos.entrySet()) {
+                Combo combo = comboIndex.find(branch.getId(), entry.getKey())
+                        .orElseThrow(() -> new BusinessException("Combo not found: " + entry.getKey()));
+                if (!combo.available()) {
+                    throw new BusinessException("Combo unavailable: " + combo.name());
+                }
+                comboLines.add(new ComboLine(combo, entry.getValue()));
+            }
+        }
+        for (ComboMatch match : comboIndex.bestCombos(branch.getId(), loose)) {
+            Combo combo = comboIndex.find(branch.getId(), match.comboId()).orElseThrow();
+            for (ComboItem item : combo.items()) {
+                loose.merge(item.menuItemId(), -item.quantity() * match.times(), Integer::sum);
+            }
+            loose.values().removeIf(quantity -> quantity == 0);
+            comboLines.add(new ComboLine(combo, match.times()));
+        }
 
-        // Iterate through requested items and validate availability
-        for (Map.Entry<Long, Integer> entry : items.entrySet()) {
-            MenuItem menuItem = menuRepo.findById(entry.getKey())
-                    .orElseThrow(() -> new BusinessException("Menu item not found: " + entry.getKey()));
+        // Resolve every requested menu item in one lookup, and the branch's rules once per order
+        Set<Long> ids = new HashSet<>(loose.keySet());
+        comboLines.forEach(line -> line.combo().items().forEach(item -> ids.add(item.menuItemId())));
+        Map<Long, PriceEntry> prices = priceBook.resolve(branch.getId(), ids);
+        PricingPlan plan = pricingEngine.plan(branch.getId());
 
-            if (!menuItem.isAvailable()) {
-                throw new BusinessException("Item unavailable: " + menuItem.getName());
+        Pricing pricing = new Pricing(order, prices, plan, instructions);
+        for (Map.Entry<Long, Integer> entry : loose.entrySet()) {
+            pricing.addLine(entry.getKey(), entry.getValue(), null, 0);
+        }
+        for (ComboLine line : comboLines) {
+            ComboMeal meal = comboRepo.getReferenceById(line.combo().id());
+            for (ComboItem item : line.combo().items()) {
+                pricing.addLine(item.menuItemId(), Math.multiplyExact(item.quantity(), line.quantity()), meal,
+                        line.combo().discountBasisPoints());
             }
+        }
+
+        order.setItems(pricing.lines);
+
+        // Apply tax, packaging and the delivery charge of the distance band
+        long deliveryCharge = plan.deliveryCharge(deliveryDistanceMeters);
+        order.setSubtotal(pricing.subtotal);
+        order.setDiscountAmount(pricing.discount);
+        order.setTaxAmount(pricing.tax);
+        order.setPackagingCharge(pricing.packaging);
+        order.setDeliveryCharge(deliveryCharge);
+        order.setTotalAmount(Money.plus(Money.plus(Money.plus(pricing.subtotal, pricing.tax), pricing.packaging),
+                deliveryCharge));
+
+        return order;
+    }
+
+    /**
+     * Builds the lines of one order and adds up their amounts.
+     */
+    private final class Pricing {
+
+        private final Order order;
+        private final Map<Long, PriceEntry> prices;
+        private final PricingPlan plan;
+        private final Map<Long, String> instructions;
+        private final List<OrderItem> lines = new ArrayList<>();
+        private long subtotal;
+        private long discount;
+        private long tax;
+        private long packaging;
+
+        Pricing(Order order, Map<Long, PriceEntry> prices, PricingPlan plan, Map<Long, String> instructions) {
+            this.order = order;
+            this.prices = prices;
+            this.plan = plan;
+            this.instructions = instructions;
+        }
+
+        void addLine(Long menuItemId, int quantity, ComboMeal combo, int discountBasisPoints) {
+            PriceEntry menuItem = prices.get(menuItemId);
+            if (menuItem == null) {
+                throw new BusinessException("Menu item not found: " + menuItemId);
+            }
+
+            if (!menuItem.available()) {
+                throw new BusinessException("Item unavailable: " + menuItem.name());
+            }
+
+            // Create individual order item; the menu item is only referenced, not loaded,
+            // and its current price is captured on the line
+            long gross = Money.times(menuItem.price(), quantity);
+            long lineDiscount = Money.percentOf(gross, discountBasisPoints);
+            long lineTotal = gross - lineDiscount;
+            long lineTax = plan.lineTax(menuItem.slot(), lineTotal);
+            long lineFee = plan.packagingFee(menuItem.slot(), quantity);
 
-            // Create individual order item
             OrderItem orderItem = new OrderItem();
             orderItem.setOrder(order);
-            orderItem.setMenuItem(menuItem);
-            orderItem.setQuantity(entry.getValue());
+            orderItem.setMenuItem(menuRepo.getReferenceById(menuItem.id()));
+            orderItem.setComboMeal(combo);
+            orderItem.setQuantity(quantity);
+            orderItem.setUnitPrice(menuItem.price());
+            orderItem.setDiscountAmount(lineDiscount);
+            orderItem.setLineTotal(lineTotal);
+            orderItem.setTaxAmount(lineTax);
+            orderItem.setPackagingFee(lineFee);
             orderItem.setCancelled(false);
-            orderItem.setSpecialInstructions(instructions.getOrDefault(entry.getKey(), ""));
-            orderItems.add(orderItem);
+            orderItem.setSpecialInstructions(instructions != null ? instructions.getOrDefault(menuItemId, "") : "");
+            lines.add(orderItem);
 
-            // Accumulate subtotal
-            subtotal += menuItem.getPrice() * entry.getValue();
+            // Accumulate subtotal and tax; tax is rounded per line, so the order adds up line by line
+            subtotal = Money.plus(subtotal, lineTotal);
+            discount = Money.plus(discount, lineDiscount);
+            tax = Money.plus(tax, lineTax);
+            packaging = Money.plus(packaging, lineFee);
         }
+    }
 
-        order.setItems(orderItems);
-
-        // Apply tax and delivery charge
-        double tax = subtotal * 0.18; // 18% GST or service tax
-        order.setTotalAmount(subtotal + tax + deliveryCharge);
+    /**
+     * Rejects a basket line without a positive quantity before anything is priced.
+     *
+     * @param quantities map of IDs to quantities, may be null
+     * @param kind       what the IDs refer to, for the error message
+     */
+    private static void requirePositiveQuantities(Map<Long, Integer> quantities, String kind) {
+        if (quantities == null) {
+            return;
+        }
+        quantities.forEach((id, quantity) -> {
+            if (quantity == null || quantity <= 0) {
+                throw new BusinessException("Quantity of " + kind + " " + id + " must be positive");
+            }
+        });
+    }
 
-        log.info("Created order for customer {} at branch {}. Total: {}", customerName, branchId, order.getTotalAmount());
+    /**
+     * A combo applied to an order, and how many times.
+     */
+    private record ComboLine(Combo combo, int quantity) {
+    }
 
-        return orderRepo.save(order);
+    /**
+     * Updates the status of an order, following the transitions allowed by {@link OrderStatus}.
+     * <p>
+     * The change is one conditional UPDATE that only matches while the order is in a status
+     * the target can be reached from and, if given, still at the expected version; the order
+     * is only read when the update did not match, to report why.
+     * </p>
+     *
+     * @param orderId         ID of the order to update
+     * @param status          New status (e.g., ACCEPTED, READY)
+     * @param expectedVersion Version the caller read, or null to only check the transition
+     * @return the new status, and the new version if an expected version was given
+     * @throws BusinessException       if order not found or status is invalid
+     * @throws OrderConflictException  if the transition is not allowed or the order changed meanwhile
+     */
+    @Override
+    @Transactional
+    public OrderStatusChange updateStatus(Long orderId, String status, Long expectedVersion) {
+        return moveTo(orderId, parseStatus(status), expectedVersion);
     }
 
     /**
-     * Updates the status of an order.
+     * Moves several orders to the same status, e.g. a batch of tickets marked READY.
+     * <p>
+     * The states of all orders are read in one statement and each transition is checked
+     * against {@link OrderStatus}. The allowed ones are then applied with one set-based
+     * UPDATE per source status, so a batch usually costs two statements. An order that
+     * changed between the read and its update is reported as a conflict.
+     * </p>
      *
-     * @param orderId ID of the order to update
-     * @param status  New status (e.g., CREATED, COMPLETED)
-     * @return Updated {@link Order} object
-     * @throws BusinessException if order not found or status is invalid
+     * @param orderIds IDs of the orders, at most {@value #MAX_BATCH_SIZE}
+     * @param status   New status
+     * @return one outcome per distinct order ID, in request order
+     * @throws BusinessException if the status is invalid or the batch is empty or too large
      */
     @Override
     @Transactional
-    public Order updateStatus(Long orderId, String status) {
-        Order order = orderRepo.findById(orderId)
-                .orElseThrow(() -> new BusinessException("Order not found"));
+    public List<OrderStatusOutcome> updateStatuses(List<Long> orderIds, String status) {
+        OrderStatus target = parseStatus(status);
+        Set<Long> ids = orderIds == null ? new LinkedHashSet<>() : new LinkedHashSet<>(orderIds);
+        ids.remove(null);
+        if (ids.isEmpty() || ids.size() > MAX_BATCH_SIZE) {
+            throw new BusinessException("Batch must contain between 1 and " + MAX_BATCH_SIZE + " orders");
+        }
+
+        Map<Long, OrderState> states = new HashMap<>();
+        for (OrderState state : orderRepo.findStatesByIds(ids)) {
+            states.put(state.id(), state);
+        }
+
+        Map<OrderStatus, List<Long>> bySource = new EnumMap<>(OrderStatus.class);
+        for (OrderState state : states.values()) {
+            if (state.status().canMoveTo(target)) {
+                bySource.computeIfAbsent(state.status(), from -> new ArrayList<>()).add(state.id());
+            }
+        }
+
+        Set<Long> conflicted = new HashSet<>();
+        bySource.forEach((from, group) -> {
+            int updated = orderRepo.updateStatuses(group, from, target);
+            if (updated < group.size()) {
+                // Some orders moved on since the read; find out which, only on this rare path
+                for (OrderState now : orderRepo.findStatesByIds(group)) {
+                    OrderState before = states.get(now.id());
+                    if (now.status() != target || now.version() != before.version() + 1) {
+                        conflicted.add(now.id());
+                        states.put(now.id(), now);
+                    }
+                }
+            }
+        });
 
-        OrderStatus os;
+        List<OrderStatusOutcome> outcomes = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            OrderState state = states.get(id);
+            if (state == null) {
+                outcomes.add(new OrderStatusOutcome(id, Result.NOT_FOUND, null));
+            } else if (conflicted.contains(id)) {
+                outcomes.add(new OrderStatusOutcome(id, Result.CONFLICT, state.status()));
+            } else if (state.status().canMoveTo(target)) {
+                outcomes.add(new OrderStatusOutcome(id, Result.UPDATED, target));
+                events.publishEvent(OrderLifecycleEvent.statusChanged(id, state.branchId(), target, state.version() + 1));
+            } else {
+                outcomes.add(new OrderStatusOutcome(id, Result.INVALID_TRANSITION, state.status()));
+            }
+        }
+        log.info("Moved {} of {} orders to {}",
+                outcomes.stream().filter(outcome -> outcome.result() == Result.UPDATED).count(), ids.size(), target);
+        return outcomes;
+    }
+
+    private static OrderStatus parseStatus(String status) {
         try {
-            os = OrderStatus.valueOf(status.toUpperCase());
+            return OrderStatus.valueOf(status.toUpperCase());
         } catch (Exception e) {
             throw new BusinessException("Invalid order status: " + status);
         }
-
-        order.setStatus(os);
-        log.info("Order {} status updated to {}", orderId, os);
-        return orderRepo.save(order);
     }
 
     /**
@@ -154,17 +482,141 @@ public class OrderServiceImpl implements OrderService {
     }
 
     /**
-     * Updates order status by {@link OrderStatus} enum.
+     * Updates order status by {@link OrderStatus} enum, following the allowed transitions.
      *
      * @param id          ID of the order
      * @param orderStatus New {@link OrderStatus}
-     * @throws BusinessException if order not found
+     * @throws BusinessException      if order not found
+     * @throws OrderConflictException if the transition is not allowed from the current status
      */
     @Override
+    @Transactional
     public void updateOrderStatus(Long id, OrderStatus orderStatus) {
-        Order order = orderRepo.findById(id)
-                .orElseThrow(() -> new BusinessException("Order not found with id: " + id));
-        order.setStatus(orderStatus);
-        orderRepo.save(order);
+        moveTo(id, orderStatus, null);
+    }
+
+    private OrderStatusChange moveTo(Long orderId, OrderStatus target, Long expectedVersion) {
+        if (orderRepo.updateStatus(orderId, target.previous(), target, expectedVersion) == 1) {
+            log.info("Order {} status updated to {}", orderId, target);
+            Long version = expectedVersion != null ? expectedVersion + 1 : null;
+            // The branch is not read here; the order stream hub knows it for orders it has seen
+            events.publishEvent(OrderLifecycleEvent.statusChanged(orderId, null, target, version));
+            return new OrderStatusChange(orderId, target, version);
+        }
+
+        OrderSummary current = orderRepo.findSummaryById(orderId)
+                .orElseThrow(() -> new BusinessException("Order not found"));
+        if (!current.status().canMoveTo(target)) {
+            throw new OrderConflictException("Cannot move order from " + current.status() + " to " + target,
+                    current.status(), current.version());
+        }
+        // Either the version is stale, or the order moved on between the update and this read
+        throw new OrderConflictException(expectedVersion != null
+                ? "Order was changed since version " + expectedVersion : "Order was changed meanwhile",
+                current.status(), current.version());
+    }
+
+    /**
+     * Reads an order and its lines as projections, in two statements whatever the number of lines.
+     *
+     * @param orderId ID of the order
+     * @return the order header and lines
+     * @throws BusinessException if order not found
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public OrderDetails getOrder(Long orderId) {
+        OrderSummary summary = orderRepo.findSummaryById(orderId)
+                .orElseThrow(() -> new BusinessException("Order not found"));
+        return new OrderDetails(summary, orderRepo.findLinesByOrderIds(List.of(orderId)));
+    }
+
+    /**
+     * Reads a page of a branch's orders, newest first, with their lines.
+     * <p>
+     * The headers are read in one statement and the lines of the whole page in a
+     * second one, so the number of statements does not grow with the page.
+     * </p>
+     *
+     * @param branchId ID of the branch
+     * @param page     zero-based page number
+     * @param size     page size, at most {@value #MAX_PAGE_SIZE}
+     * @return the orders of the page
+     * @throws BusinessException if the branch is not found or the page is invalid
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderDetails> getBranchOrders(Long branchId, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BusinessException("Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        branchRegistry.find(branchId).orElseThrow(() -> new BusinessException("Branch not found"));
+
+        List<OrderSummary> summaries = orderRepo.findSummariesByBranchId(branchId, PageRequest.of(page, size));
+        if (summaries.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<OrderLine>> lines = new HashMap<>();
+        for (OrderLine line : orderRepo.findLinesByOrderIds(summaries.stream().map(OrderSummary::id).toList())) {
+            lines.computeIfAbsent(line.orderId(), id -> new ArrayList<>()).add(line);
+        }
+
+        List<OrderDetails> orders = new ArrayList<>(summaries.size());
+        for (OrderSummary summary : summaries) {
+            orders.add(new OrderDetails(summary, lines.getOrDefault(summary.id(), List.of())));
+        }
+        return orders;
+    }
+
+    /**
+     * Searches orders by branch, status, customer name prefix and creation time, newest first.
+     * <p>
+     * Pages are read by keyset: the cursor holds the {@code (createdAt, id)} of the last
+     * order returned, and the next page starts strictly after it. One extra row is read to
+     * tell whether another page follows.
+     * </p>
+     *
+     * @param search filters; a branch or a customer name prefix is required
+     * @param cursor cursor returned with the previous page, or null for the first page
+     * @param size   page size, at most {@value #MAX_PAGE_SIZE}
+     * @return the page and the cursor of the next one
+     * @throws BusinessException if the filters, cursor or size are invalid
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public OrderPage searchOrders(OrderSearch search, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BusinessException("Size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (search.branchId() == null && (search.customerPrefix() == null || search.customerPrefix().isBlank())) {
+            throw new BusinessException("Search needs a branch or a customer name");
+        }
+        if (search.from() != null && search.to() != null && !search.from().isBefore(search.to())) {
+            throw new BusinessException("Search range is empty");
+        }
+
+        LocalDateTime afterCreatedAt = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("/", 2);
+                afterCreatedAt = LocalDateTime.parse(parts[0]);
+                afterId = Long.valueOf(parts[1]);
+            } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+                throw new BusinessException("Invalid cursor");
+            }
+        }
+
+        List<OrderSummary> rows = orderRepo.search(search, afterCreatedAt, afterId, size + 1);
+        if (rows.size() <= size) {
+            return new OrderPage(rows, null);
+        }
+
+        List<OrderSummary> orders = rows.subList(0, size);
+        OrderSummary last = orders.get(size - 1);
+        String next = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((last.createdAt() + "/" + last.id()).getBytes(StandardCharsets.UTF_8));
+        return new OrderPage(List.copyOf(orders), next);
     }
 }
@@ -0,0 +1,28 @@
+package com.Restaurant.RestaurantOrderManagementSystem.service.impl;
+
+import com.Restaurant.RestaurantOrderManagementSystem.enums.PaymentMethod;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint ({@code /actuator/paymentcircuits}) exposing the circuit breaker
+ * and bulkhead state of every payment method, as tracked by {@link PaymentMethodGuard}.
+ */
+@Component
+@Endpoint(id = "paymentcircuits")
+public class PaymentCircuitsEndpoint {
+
+    private final PaymentMethodGuard guard;
+
+    public PaymentCircuitsEndpoint(PaymentMethodGuard guard) {
+        this.guard = guard;
+    }
+
+    @ReadOperation
+    public Map<PaymentMethod, PaymentMethodGuard.MethodState> circuits() {
+        return guard.snapshot();
+    }
+}
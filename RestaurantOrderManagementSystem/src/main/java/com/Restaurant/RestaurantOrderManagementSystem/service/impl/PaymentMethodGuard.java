@@ -0,0 +1,150 @@
+package com.Restaurant.RestaurantOrderManagementSystem.service.impl;
+
+import com.Restaurant.RestaurantOrderManagementSystem.config.PaymentIsolationProperties;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.PaymentMethod;
+import com.Restaurant.RestaurantOrderManagementSystem.exception.PaymentException;
+import com.Restaurant.RestaurantOrderManagementSystem.exception.PaymentUnavailableException;
+import com.Restaurant.RestaurantOrderManagementSystem.exception.TransientPaymentException;
+import com.Restaurant.RestaurantOrderManagementSystem.resilience.Bulkhead;
+import com.Restaurant.RestaurantOrderManagementSystem.resilience.CircuitBreaker;
+import com.Restaurant.RestaurantOrderManagementSystem.service.strategy.PaymentResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Isolates payment methods from each other.
+ * <p>
+ * Each {@link PaymentMethod} has a {@link Bulkhead} limiting how many of its payments
+ * can be in flight and a {@link CircuitBreaker} over its gateway calls. A method whose
+ * gateway keeps failing is rejected up front instead of tying up threads, and a method
+ * that is merely slow can only occupy its own share of them.
+ * </p>
+ */
+@Component
+public class PaymentMethodGuard {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentMethodGuard.class);
+
+    private final Map<PaymentMethod, Bulkhead> bulkheads = new EnumMap<>(PaymentMethod.class);
+    private final Map<PaymentMethod, CircuitBreaker> breakers = new EnumMap<>(PaymentMethod.class);
+
+    /**
+     * Constructor for PaymentMethodGuard.
+     *
+     * @param properties Bulkhead sizes and breaker thresholds
+     */
+    public PaymentMethodGuard(PaymentIsolationProperties properties) {
+        for (PaymentMethod method : PaymentMethod.values()) {
+            bulkheads.put(method, new Bulkhead(properties.maxConcurrentFor(method)));
+            breakers.put(method, new CircuitBreaker(properties.windowSize(), properties.minimumCalls(),
+                    properties.failureRateThreshold(), properties.openDuration(), properties.halfOpenCalls()));
+        }
+    }
+
+    /**
+     * Admits one payment for a method. The returned permit must be closed once the
+     * payment is finished, successfully or not.
+     *
+     * @param method payment method
+     * @return permit holding a bulkhead slot
+     * @throws PaymentUnavailableException if the method's breaker is open or its bulkhead is full
+     */
+    public Permit enter(PaymentMethod method) {
+        if (!breakers.get(method).isCallPermitted()) {
+            throw new PaymentUnavailableException(method + " payments are temporarily unavailable");
+        }
+        Bulkhead bulkhead = bulkheads.get(method);
+        if (!bulkhead.tryAcquire()) {
+            log.warn("{} bulkhead full ({} in flight), rejecting payment", method, bulkhead.maxConcurrent());
+            throw new PaymentUnavailableException("Too many " + method + " payments in progress");
+        }
+        return new Permit(bulkhead);
+    }
+
+    /**
+     * Takes breaker permission for one gateway attempt.
+     *
+     * @return false if the breaker rejects the attempt
+     */
+    public boolean allowAttempt(PaymentMethod method) {
+        return breakers.get(method).tryAcquirePermission();
+    }
+
+    /**
+     * Feeds the outcome of a permitted gateway attempt into the method's breaker.
+     * Timeouts and unexpected errors count as failures and any gateway answer,
+     * including a decline, as a success. Attempts that never reached the gateway
+     * (validation errors, saturated executor) are not counted.
+     */
+    public void record(PaymentMethod method, PaymentResult result) {
+        CircuitBreaker breaker = breakers.get(method);
+        CircuitBreaker.State before = breaker.state();
+
+        switch (result.outcome()) {
+            case SUCCESS, DECLINED -> breaker.onSuccess();
+            case TIMED_OUT -> breaker.onFailure();
+            case ERROR -> {
+                // A plain PaymentException is a business rule (e.g. invalid amount), not an outage
+                if (result.cause() instanceof PaymentException && !(result.cause() instanceof TransientPaymentException)) {
+                    breaker.onIgnored();
+                } else {
+                    breaker.onFailure();
+                }
+            }
+            case REJECTED, CIRCUIT_OPEN -> breaker.onIgnored();
+        }
+
+        CircuitBreaker.State after = breaker.state();
+        if (before != after) {
+            log.warn("{} circuit breaker {} -> {}", method, before, after);
+        }
+    }
+
+    /**
+     * Current breaker and bulkhead state of every method, for monitoring.
+     */
+    public Map<PaymentMethod, MethodState> snapshot() {
+        Map<PaymentMethod, MethodState> states = new EnumMap<>(PaymentMethod.class);
+        for (PaymentMethod method : PaymentMethod.values()) {
+            Bulkhead bulkhead = bulkheads.get(method);
+            states.put(method, new MethodState(breakers.get(method).snapshot(),
+                    bulkhead.inUse(), bulkhead.maxConcurrent()));
+        }
+        return states;
+    }
+
+    /**
+     * State of one payment method.
+     *
+     * @param breaker       circuit breaker snapshot
+     * @param inFlight      payments currently holding a bulkhead slot
+     * @param maxConcurrent bulkhead size
+     */
+    public record MethodState(CircuitBreaker.Snapshot breaker, int inFlight, int maxConcurrent) {
+    }
+
+    /**
+     * A bulkhead slot held for the duration of one payment.
+     */
+    public static final class Permit implements AutoCloseable {
+
+        private final Bulkhead bulkhead;
+        private boolean released;
+
+        private Permit(Bulkhead bulkhead) {
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!released) {
+                released = true;
+                bulkhead.release();
+            }
+        }
+    }
+}
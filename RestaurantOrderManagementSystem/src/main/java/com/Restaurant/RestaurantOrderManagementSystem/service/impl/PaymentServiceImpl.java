@@ -1,22 +1,34 @@
 package com.Restaurant.RestaurantOrderManagementSystem.service.impl;
 
+import com.Restaurant.RestaurantOrderManagementSystem.config.PaymentRetryProperties;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.Bill;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderBill;
 import com.Restaurant.RestaurantOrderManagementSystem.entities.Order;
 import com.Restaurant.RestaurantOrderManagementSystem.entities.Payment;
 import com.Restaurant.RestaurantOrderManagementSystem.enums.PaymentMethod;
 import com.Restaurant.RestaurantOrderManagementSystem.enums.PaymentStatus;
 import com.Restaurant.RestaurantOrderManagementSystem.exception.PaymentException;
+import com.Restaurant.RestaurantOrderManagementSystem.exception.PaymentUnavailableException;
+import com.Restaurant.RestaurantOrderManagementSystem.exception.TransientPaymentException;
+import com.Restaurant.RestaurantOrderManagementSystem.money.Money;
 import com.Restaurant.RestaurantOrderManagementSystem.repository.OrderRepository;
 import com.Restaurant.RestaurantOrderManagementSystem.repository.PaymentRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.resilience.RetryEngine;
 import com.Restaurant.RestaurantOrderManagementSystem.service.PaymentService;
+import com.Restaurant.RestaurantOrderManagementSystem.service.strategy.PaymentResult;
 import com.Restaurant.RestaurantOrderManagementSystem.service.strategy.PaymentStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Implementation of {@link PaymentService} to handle payments for orders.
@@ -34,6 +46,11 @@ public class PaymentServiceImpl implements PaymentService {
     private final OrderRepository orderRepo;
     private final PaymentRepository paymentRepo;
     private final Map<String, PaymentStrategy> strategies;
+    private final TransactionOperations tx;
+    private final PaymentStrategyExecutor executor;
+    private final RetryEngine retryEngine;
+    private final PaymentRetryProperties retry;
+    private final PaymentMethodGuard guard;
 
     /**
      * Constructor to inject required repositories and payment strategies.
@@ -41,26 +58,171 @@ public class PaymentServiceImpl implements PaymentService {
      * @param orderRepo   Repository for Order entities
      * @param paymentRepo Repository for Payment entities
      * @param strategies  Map of payment method name to {@link PaymentStrategy}
+     * @param tx          Transaction template for the short reserve and finalize steps
+     * @param executor    Bounded per-method executor running each gateway attempt
+     * @param retryEngine Engine scheduling retries of failed gateway attempts
+     * @param retry       Retry policy for gateway attempts
+     * @param guard       Per-method bulkheads and circuit breakers
      */
-    public PaymentServiceImpl(OrderRepository orderRepo, PaymentRepository paymentRepo, Map<String, PaymentStrategy> strategies) {
+    public PaymentServiceImpl(OrderRepository orderRepo, PaymentRepository paymentRepo,
+                              Map<String, PaymentStrategy> strategies, TransactionOperations tx,
+                              PaymentStrategyExecutor executor, RetryEngine retryEngine,
+                              PaymentRetryProperties retry, PaymentMethodGuard guard) {
         this.orderRepo = orderRepo;
         this.paymentRepo = paymentRepo;
         this.strategies = strategies;
+        this.tx = tx;
+        this.executor = executor;
+        this.retryEngine = retryEngine;
+        this.retry = retry;
+        this.guard = guard;
     }
 
     /**
      * Processes a payment for a given order using the specified payment method.
+     * <p>
+     * Runs in three steps so the order row is never locked while the gateway is called:
+     * <ol>
+     *     <li>reserve: lock the order, validate it and record a PENDING payment, then commit;</li>
+     *     <li>call the payment strategy outside any transaction, retrying transient failures;</li>
+     *     <li>finalize: lock the order again and mark the payment SUCCESS or FAILED.</li>
+     * </ol>
+     * A call that timed out may still have been charged by the provider, so its payment
+     * stays PENDING and is settled by {@link PendingPaymentRecovery} once the gateway knows.
+     * A PENDING payment left behind by a crash between the steps is settled by
+     * {@link PendingPaymentRecovery}. The whole payment holds a slot of its method's
+     * bulkhead, see {@link PaymentMethodGuard}.
+     * </p>
      *
      * @param orderId ID of the order
      * @param method  Payment method to use
      * @return Saved {@link Payment} object
      * @throws PaymentException if order is not found, already paid, fully paid,
-     *                          or the payment method is unsupported
+     *                          already being paid, or the payment method is unsupported
+     * @throws com.Restaurant.RestaurantOrderManagementSystem.exception.PaymentUnavailableException
+     *                          if the method's circuit breaker is open or its bulkhead is full
      */
-    @Transactional
     @Override
     public Payment processPayment(Long orderId, PaymentMethod method) {
 
+        // Get strategy based on payment method
+        PaymentStrategy strategy = strategies.get(method.name());
+        if (strategy == null) {
+            throw new PaymentException("Unsupported payment method: " + method);
+        }
+
+        try (PaymentMethodGuard.Permit permit = guard.enter(method)) {
+            Payment pending = tx.execute(status -> reserve(orderId, method));
+
+            // Execute payment via strategy with no lock or transaction held
+            PaymentResult result = charge(method, strategy, pending).join();
+            Payment payment = tx.execute(status -> complete(pending, result));
+
+            // Surface strategy errors to the caller as before, now that the failure is recorded
+            if (result.cause() != null) {
+                throw result.cause();
+            }
+            return payment;
+        }
+    }
+
+    /**
+     * Processes a payment without blocking the calling thread on the gateway.
+     * <p>
+     * The reserve step runs on the caller's thread; the strategy then runs on the
+     * bounded executor of its payment method under that method's timeout, with
+     * retries scheduled on a timer, and the outcome is recorded on the executor's
+     * finalizer pool when it completes, never on the timer or a gateway worker.
+     * A declined, failed or rejected call yields a FAILED payment rather than an
+     * exceptional future, and a timed-out call a PENDING one for recovery to settle.
+     * The method's bulkhead slot is held until then. If the finalizer pool is full, the
+     * future fails with a {@link PaymentUnavailableException} and the payment stays
+     * PENDING, to be settled by {@link PendingPaymentRecovery} like a timed-out one.
+     * </p>
+     *
+     * @param orderId ID of the order
+     * @param method  Payment method to use
+     * @return future completed with the saved {@link Payment}
+     * @throws PaymentException if the order cannot be paid, the method is unsupported
+     *                          or the method is currently unavailable
+     */
+    @Override
+    public CompletableFuture<Payment> processPaymentAsync(Long orderId, PaymentMethod method) {
+
+        PaymentStrategy strategy = strategies.get(method.name());
+        if (strategy == null) {
+            throw new PaymentException("Unsupported payment method: " + method);
+        }
+
+        PaymentMethodGuard.Permit permit = guard.enter(method);
+        Payment pending;
+        try {
+            pending = tx.execute(status -> reserve(orderId, method));
+        } catch (RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+
+        return charge(method, strategy, pending)
+                .thenApplyAsync(result -> tx.execute(status -> complete(pending, result)), executor.finalizer())
+                .exceptionally(error -> {
+                    if (error.getCause() instanceof RejectedExecutionException) {
+                        log.warn("Finalizer pool full; payment {} for order {} left PENDING for recovery",
+                                pending.getId(), orderId);
+                        throw new PaymentUnavailableException("Payment outcome could not be recorded yet; "
+                                + "it will be settled shortly");
+                    }
+                    throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+                })
+                .whenComplete((payment, error) -> permit.close());
+    }
+
+    /**
+     * Charges a reserved payment, retrying attempts that failed for a transient reason.
+     * Every attempt goes through the method's circuit breaker.
+     */
+    private CompletableFuture<PaymentResult> charge(PaymentMethod method, PaymentStrategy strategy, Payment pending) {
+        Long orderId = pending.getOrderId();
+        long amount = pending.getAmount();
+
+        return retryEngine.execute("payment-" + method, retry.policy(),
+                attempt -> {
+                    if (!guard.allowAttempt(method)) {
+                        return CompletableFuture.completedFuture(new PaymentResult(orderId, method,
+                                PaymentResult.Outcome.CIRCUIT_OPEN, method + " circuit breaker is open",
+                                null, Duration.ZERO, attempt));
+                    }
+                    return executor.pay(method, strategy, orderId, amount)
+                            .thenApply(result -> {
+                                guard.record(method, result);
+                                return result.withAttempts(attempt);
+                            });
+                },
+                this::isRetryable);
+    }
+
+    /**
+     * Decides whether a failed attempt is worth repeating.
+     * A declined payment or a validation error will fail the same way again, and a
+     * timed-out call may already have charged the customer, so only attempts that
+     * failed transiently are retried. A saturated method pool is local overload, like an
+     * open breaker, and retrying into it would only add load; {@link PaymentMethodGuard}
+     * does not count it against the gateway either.
+     */
+    private boolean isRetryable(PaymentResult result) {
+        return switch (result.outcome()) {
+            case ERROR -> result.cause() instanceof TransientPaymentException;
+            case TIMED_OUT -> retry.retryTimeouts();
+            case SUCCESS, DECLINED, REJECTED, CIRCUIT_OPEN -> false;
+        };
+    }
+
+    /**
+     * Locks the order, validates that it can be paid and records a PENDING payment
+     * for the remaining amount. The lock is released when the caller's transaction commits.
+     */
+    private Payment reserve(Long orderId, PaymentMethod method) {
+
         // Fetch order and lock for update
         Order order = orderRepo.findByIdForUpdate(orderId)
                 .orElseThrow(() -> new PaymentException("Order not found"));
@@ -70,36 +232,61 @@ public class PaymentServiceImpl implements PaymentService {
             throw new PaymentException("Order already paid");
         }
 
-        if (order.getPaidAmount() >= order.getTotalAmount()) {
-            throw new PaymentException("Order already fully paid");
+        if (paymentRepo.existsByOrderIdAndStatus(orderId, PaymentStatus.PENDING)) {
+            throw new PaymentException("Payment already in progress for order " + orderId);
         }
 
-        double remaining = order.getTotalAmount() - order.getPaidAmount();
-
-        // Get strategy based on payment method
-        PaymentStrategy strategy = strategies.get(method.name());
-        if (strategy == null) {
-            throw new PaymentException("Unsupported payment method: " + method);
+        if (order.getPaidAmount() >= order.getTotalAmount()) {
+            throw new PaymentException("Order already fully paid");
         }
 
-        // Execute payment via strategy
-        boolean success = strategy.pay(orderId, remaining);
+        long remaining = Money.minus(order.getTotalAmount(), order.getPaidAmount());
 
         // Create payment entity
         Payment payment = new Payment();
         payment.setOrderId(orderId);
         payment.setAmount(remaining);
         payment.setMethod(method);
+        payment.setStatus(PaymentStatus.PENDING);
         payment.setCreatedAt(LocalDateTime.now());
 
-        if (success) {
+        log.info("Payment reserved for order {} amount {}", orderId, Money.format(remaining));
+        return paymentRepo.save(payment);
+    }
+
+    /**
+     * Records the gateway outcome on a reserved payment under a short order lock.
+     * A payment that is no longer PENDING, because {@link PendingPaymentRecovery} settled it
+     * first, is left as it is so the order's paid amount is never counted twice.
+     */
+    private Payment complete(Payment pending, PaymentResult result) {
+        Long orderId = pending.getOrderId();
+
+        Order order = orderRepo.findByIdForUpdate(orderId)
+                .orElseThrow(() -> new PaymentException("Order not found"));
+
+        Payment payment = paymentRepo.findById(pending.getId())
+                .orElseThrow(() -> new PaymentException("Payment not found"));
+        if (payment.getStatus() != PaymentStatus.PENDING) {
+            log.warn("Payment {} for order {} already settled as {}; ignoring gateway outcome {}",
+                    payment.getId(), orderId, payment.getStatus(), result.outcome());
+            return payment;
+        }
+
+        payment.setRetryCount(result.attempts() - 1);
+        if (result.outcome() == PaymentResult.Outcome.TIMED_OUT) {
+            // The interrupted call may still have reached the provider; leave it for recovery to settle
+            log.warn("Payment {} for order {} timed out after {} attempts; left pending for reconciliation",
+                    payment.getId(), orderId, result.attempts());
+        } else if (result.success()) {
             payment.setStatus(PaymentStatus.SUCCESS);
-            order.setPaidAmount(order.getPaidAmount() + remaining);
+            order.setPaidAmount(Money.plus(order.getPaidAmount(), payment.getAmount()));
             orderRepo.save(order); // Persist updated paid amount
             log.info("Payment success for order {}", orderId);
         } else {
             payment.setStatus(PaymentStatus.FAILED);
-            log.warn("Payment failed for order {}", orderId);
+            log.warn("Payment failed for order {} after {} attempts: {} {}",
+                    orderId, result.attempts(), result.outcome(), result.message());
         }
 
         return paymentRepo.save(payment);
@@ -113,7 +300,6 @@ public class PaymentServiceImpl implements PaymentService {
      * @param method  Payment method to retry
      * @return {@link Payment} object after retry
      */
-    @Transactional
     @Override
     public Payment retryPayment(Long orderId, PaymentMethod method) {
         log.info("Retrying payment for order {}", orderId);
@@ -124,13 +310,13 @@ public class PaymentServiceImpl implements PaymentService {
      * Processes a partial refund for a given order.
      *
      * @param orderId ID of the order
-     * @param amount  Amount to refund
+     * @param amount  Amount to refund, in minor units
      * @return {@link Payment} object representing the refund
      * @throws PaymentException if order not found, amount invalid, or exceeds paid amount
      */
     @Transactional
     @Override
-    public Payment partialRefund(Long orderId, double amount) {
+    public Payment partialRefund(Long orderId, long amount) {
 
         // Fetch order and lock for update
         Order order = orderRepo.findByIdForUpdate(orderId)
@@ -154,52 +340,32 @@ public class PaymentServiceImpl implements PaymentService {
         refund.setCreatedAt(LocalDateTime.now());
 
         // Deduct refunded amount from order
-        order.setPaidAmount(order.getPaidAmount() - amount);
+        order.setPaidAmount(Money.minus(order.getPaidAmount(), amount));
         orderRepo.save(order);
 
-        log.info("Refund processed for order {} amount {}", orderId, amount);
+        log.info("Refund processed for order {} amount {}", orderId, Money.format(amount));
 
         return paymentRepo.save(refund);
     }
 
     /**
      * Generates a detailed bill for a given order.
+     * <p>
+     * Reads the amounts captured when the order was placed with a single-row query,
+     * so the bill neither loads the order items nor changes when the menu is repriced.
+     * </p>
      *
      * @param orderId ID of the order
-     * @return Map of bill components:
-     * <ul>
-     *     <li>itemsTotal - Sum of all menu items</li>
-     *     <li>tax - 18% of itemsTotal</li>
-     *     <li>deliveryCharge - Calculated delivery charge</li>
-     *     <li>grandTotal - Total order amount</li>
-     *     <li>paidAmount - Amount already paid</li>
-     *     <li>remainingAmount - Remaining amount to pay</li>
-     * </ul>
+     * @return {@link Bill} with every amount in minor units
      * @throws PaymentException if order not found
      */
     @Override
-    public Map<String, Double> getBill(Long orderId) {
+    public Bill getBill(Long orderId) {
 
-        Order order = orderRepo.findById(orderId)
+        OrderBill order = orderRepo.findBillById(orderId)
                 .orElseThrow(() -> new PaymentException("Order not found"));
 
-        // Calculate total for items
-        double itemsTotal = order.getItems()
-                .stream()
-                .mapToDouble(i -> i.getMenuItem().getPrice() * i.getQuantity())
-                .sum();
-
-        double tax = itemsTotal * 0.18;
-        double delivery = order.getTotalAmount() - (itemsTotal + tax);
-
-        Map<String, Double> bill = new LinkedHashMap<>();
-        bill.put("itemsTotal", itemsTotal);
-        bill.put("tax", tax);
-        bill.put("deliveryCharge", Math.max(delivery, 0));
-        bill.put("grandTotal", order.getTotalAmount());
-        bill.put("paidAmount", order.getPaidAmount());
-        bill.put("remainingAmount", order.getTotalAmount() - order.getPaidAmount());
-
-        return bill;
+        return new Bill(order.subtotal(), order.tax(), order.packagingCharge(), order.deliveryCharge(), order.totalAmount(),
+                order.paidAmount(), Money.minus(order.totalAmount(), order.paidAmount()));
     }
 }
@@ -0,0 +1,170 @@
+package com.Restaurant.RestaurantOrderManagementSystem.service.impl;
+
+import com.Restaurant.RestaurantOrderManagementSystem.config.PaymentExecutionProperties;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.PaymentMethod;
+import com.Restaurant.RestaurantOrderManagementSystem.service.strategy.PaymentResult;
+import com.Restaurant.RestaurantOrderManagementSystem.service.strategy.PaymentResult.Outcome;
+import com.Restaurant.RestaurantOrderManagementSystem.service.strategy.PaymentStrategy;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs single {@link PaymentStrategy} attempts off the request thread.
+ * <p>
+ * Each payment method has its own bounded thread pool and timeout, configured by
+ * {@link PaymentExecutionProperties}. A call that overruns its timeout is cancelled
+ * (its worker is interrupted) and completes as {@link Outcome#TIMED_OUT}; a call that
+ * finds its pool and queue full completes immediately as {@link Outcome#REJECTED}.
+ * The returned futures never complete exceptionally, so callers only need to look at
+ * the {@link PaymentResult}.
+ * </p>
+ * <p>
+ * Outcomes complete on the timeout timer or a method's worker thread, so anything that
+ * takes locks or runs a transaction afterwards belongs on {@link #finalizer()} instead.
+ * </p>
+ */
+@Component
+public class PaymentStrategyExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentStrategyExecutor.class);
+
+    /** Threads recording payment outcomes; each holds an order lock only briefly. */
+    static final int FINALIZE_THREADS = 4;
+
+    /** Outcomes waiting to be recorded before new ones are rejected and left to recovery. */
+    static final int FINALIZE_QUEUE = 500;
+
+    private final PaymentExecutionProperties properties;
+    private final Map<PaymentMethod, ThreadPoolExecutor> pools = new EnumMap<>(PaymentMethod.class);
+    private final ScheduledThreadPoolExecutor timer;
+    private final ThreadPoolExecutor finalizer;
+
+    /**
+     * Constructor for PaymentStrategyExecutor.
+     *
+     * @param properties Pool sizes and timeouts per payment method
+     */
+    public PaymentStrategyExecutor(PaymentExecutionProperties properties) {
+        this.properties = properties;
+
+        for (PaymentMethod method : PaymentMethod.values()) {
+            int threads = properties.threadsFor(method);
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, properties.queueCapacityFor(method))),
+                    threadFactory("payment-" + method.name().toLowerCase(Locale.ROOT).replace('_', '-')),
+                    new ThreadPoolExecutor.AbortPolicy());
+            pool.allowCoreThreadTimeOut(true);
+            pools.put(method, pool);
+        }
+
+        timer = new ScheduledThreadPoolExecutor(1, threadFactory("payment-timeout"));
+        timer.setRemoveOnCancelPolicy(true);
+
+        finalizer = new ThreadPoolExecutor(FINALIZE_THREADS, FINALIZE_THREADS, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(FINALIZE_QUEUE), threadFactory("payment-finalize"),
+                new ThreadPoolExecutor.AbortPolicy());
+        finalizer.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Bounded pool for the work that follows a payment attempt, such as the finalize
+     * transaction. When it is full, submissions are rejected; the payment then stays
+     * PENDING and is settled by {@link PendingPaymentRecovery}.
+     *
+     * @return executor for recording payment outcomes
+     */
+    public Executor finalizer() {
+        return finalizer;
+    }
+
+    /**
+     * Submits a payment to the pool of its method.
+     *
+     * @param method   payment method, selects the pool and timeout
+     * @param strategy strategy to run
+     * @param orderId  ID of the order being paid
+     * @param amount   amount to pay, in minor units
+     * @return future completed with the outcome; cancelling it interrupts the running call
+     */
+    public CompletableFuture<PaymentResult> pay(PaymentMethod method, PaymentStrategy strategy,
+                                                Long orderId, long amount) {
+        long start = System.nanoTime();
+        CompletableFuture<PaymentResult> result = new CompletableFuture<>();
+
+        Future<?> task;
+        try {
+            task = pools.get(method).submit(() -> {
+                if (result.isDone()) {
+                    return; // timed out or cancelled while still queued
+                }
+                try {
+                    boolean accepted = strategy.pay(orderId, amount);
+                    result.complete(result(orderId, method, accepted ? Outcome.SUCCESS : Outcome.DECLINED, null, null, start));
+                } catch (RuntimeException e) {
+                    result.complete(result(orderId, method, Outcome.ERROR, e.getMessage(), e, start));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("{} payment pool saturated, rejecting payment for order {}", method, orderId);
+            return CompletableFuture.completedFuture(
+                    result(orderId, method, Outcome.REJECTED, method + " payments are saturated", null, start));
+        }
+
+        Duration timeout = properties.timeoutFor(method);
+        ScheduledFuture<?> deadline = timer.schedule(() -> {
+            if (result.complete(result(orderId, method, Outcome.TIMED_OUT,
+                    method + " payment timed out after " + timeout.toMillis() + " ms", null, start))) {
+                log.warn("{} payment for order {} timed out after {} ms", method, orderId, timeout.toMillis());
+                task.cancel(true);
+            }
+        }, timeout.toNanos(), TimeUnit.NANOSECONDS);
+
+        result.whenComplete((r, error) -> {
+            deadline.cancel(false);
+            if (error instanceof CancellationException) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timer.shutdownNow();
+        pools.values().forEach(ThreadPoolExecutor::shutdownNow);
+        finalizer.shutdownNow();
+    }
+
+    private static PaymentResult result(Long orderId, PaymentMethod method, Outcome outcome, String message,
+                                        RuntimeException cause, long start) {
+        return new PaymentResult(orderId, method, outcome, message, cause, Duration.ofNanos(System.nanoTime() - start), 1);
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
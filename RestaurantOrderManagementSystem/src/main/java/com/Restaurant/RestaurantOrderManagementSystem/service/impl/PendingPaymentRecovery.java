@@ -0,0 +1,122 @@
+package com.Restaurant.RestaurantOrderManagementSystem.service.impl;
+
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Order;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Payment;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.PaymentStatus;
+import com.Restaurant.RestaurantOrderManagementSystem.money.Money;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.OrderRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.PaymentRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.service.strategy.PaymentGateway;
+import com.Restaurant.RestaurantOrderManagementSystem.service.strategy.PaymentGateway.ChargeStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Recovers payments left in PENDING state.
+ * <p>
+ * {@link PaymentServiceImpl#processPayment} commits a PENDING payment before calling the
+ * gateway. If the application dies before the outcome is recorded, or the gateway call
+ * times out, the row stays PENDING and blocks further payments for the order. Once such a
+ * payment is older than {@code payments.pending.stale-after}, this job asks the gateway what
+ * became of the charge: a charged payment is marked SUCCESS and counted towards the order,
+ * an uncharged one is marked FAILED so the order can be paid again, and one the gateway
+ * cannot answer for stays PENDING until a later run.
+ * </p>
+ */
+@Component
+public class PendingPaymentRecovery {
+
+    private static final Logger log = LoggerFactory.getLogger(PendingPaymentRecovery.class);
+
+    private final PaymentRepository paymentRepo;
+    private final OrderRepository orderRepo;
+    private final PaymentGateway gateway;
+    private final TransactionOperations tx;
+    private final Duration staleAfter;
+
+    /**
+     * Constructor for PendingPaymentRecovery.
+     *
+     * @param paymentRepo Repository for Payment entities
+     * @param orderRepo   Repository for Order entities, used to lock the order while recovering
+     * @param gateway     Payment provider asked for the outcome of each abandoned charge
+     * @param tx          Transaction template, one transaction per recovered payment
+     * @param staleAfter  Age after which a PENDING payment is considered abandoned
+     */
+    public PendingPaymentRecovery(PaymentRepository paymentRepo, OrderRepository orderRepo, PaymentGateway gateway,
+                                  TransactionOperations tx,
+                                  @Value("${payments.pending.stale-after:PT5M}") Duration staleAfter) {
+        this.paymentRepo = paymentRepo;
+        this.orderRepo = orderRepo;
+        this.gateway = gateway;
+        this.tx = tx;
+        this.staleAfter = staleAfter;
+    }
+
+    /**
+     * Settles every stale PENDING payment the gateway has an answer for.
+     *
+     * @return number of payments settled
+     */
+    @Scheduled(fixedDelayString = "${payments.pending.recovery-interval:PT1M}")
+    public int recoverStalePayments() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(staleAfter);
+        List<Payment> stale = paymentRepo.findByStatusAndCreatedAtBefore(PaymentStatus.PENDING, cutoff);
+
+        int recovered = 0;
+        for (Payment payment : stale) {
+            try {
+                // Ask outside any transaction, so no order lock is held while the gateway answers
+                ChargeStatus charge = gateway.status(payment.getMethod(), payment.getOrderId());
+                if (charge == ChargeStatus.UNKNOWN) {
+                    log.warn("Gateway has no outcome yet for pending payment {} of order {}; will ask again",
+                            payment.getId(), payment.getOrderId());
+                    continue;
+                }
+                if (Boolean.TRUE.equals(tx.execute(status -> settle(payment, charge == ChargeStatus.CHARGED)))) {
+                    recovered++;
+                }
+            } catch (RuntimeException e) {
+                log.error("Could not recover pending payment {} for order {}: {}",
+                        payment.getId(), payment.getOrderId(), e.getMessage());
+            }
+        }
+
+        if (recovered > 0) {
+            log.warn("Settled {} stale pending payments", recovered);
+        }
+        return recovered;
+    }
+
+    private boolean settle(Payment payment, boolean charged) {
+        // Take the same order lock as the finalize step so the two never interleave
+        Order order = orderRepo.findByIdForUpdate(payment.getOrderId()).orElse(null);
+
+        Payment current = paymentRepo.findById(payment.getId()).orElse(null);
+        if (order == null || current == null || current.getStatus() != PaymentStatus.PENDING) {
+            return false; // finalized while we were looking
+        }
+
+        if (charged) {
+            current.setStatus(PaymentStatus.SUCCESS);
+            order.setPaidAmount(Money.plus(order.getPaidAmount(), current.getAmount()));
+            orderRepo.save(order);
+            log.warn("Pending payment {} for order {} was charged by the gateway; marked as successful",
+                    current.getId(), current.getOrderId());
+        } else {
+            current.setStatus(PaymentStatus.FAILED);
+            log.warn("Pending payment {} for order {} was never charged; marked as failed",
+                    current.getId(), current.getOrderId());
+        }
+        paymentRepo.save(current);
+        return true;
+    }
+}
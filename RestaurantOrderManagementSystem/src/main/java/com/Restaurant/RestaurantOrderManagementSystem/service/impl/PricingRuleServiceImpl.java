@@ -0,0 +1,105 @@
+package com.Restaurant.RestaurantOrderManagementSystem.service.impl;
+
+import com.Restaurant.RestaurantOrderManagementSystem.cache.BranchRegistry;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.PricingRule;
+import com.Restaurant.RestaurantOrderManagementSystem.event.PricingRulesChangedEvent;
+import com.Restaurant.RestaurantOrderManagementSystem.exception.BusinessException;
+import com.Restaurant.RestaurantOrderManagementSystem.money.Money;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.PricingRuleRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.service.PricingRuleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Service implementation for managing pricing rules.
+ * <p>
+ * Every change publishes a {@link PricingRulesChangedEvent}, upon which the
+ * {@link com.Restaurant.RestaurantOrderManagementSystem.pricing.PricingEngine}
+ * recompiles the affected branch plans once the change is committed.
+ * </p>
+ */
+@Service
+public class PricingRuleServiceImpl implements PricingRuleService {
+
+    private static final Logger log = LoggerFactory.getLogger(PricingRuleServiceImpl.class);
+
+    private final PricingRuleRepository ruleRepo;
+    private final BranchRegistry branchRegistry;
+    private final ApplicationEventPublisher events;
+
+    /**
+     * Constructor for PricingRuleServiceImpl.
+     *
+     * @param ruleRepo       Repository for PricingRule entities
+     * @param branchRegistry Registry used to check the branch of a rule
+     * @param events         Publisher used to announce rule changes
+     */
+    public PricingRuleServiceImpl(PricingRuleRepository ruleRepo, BranchRegistry branchRegistry,
+                                  ApplicationEventPublisher events) {
+        this.ruleRepo = ruleRepo;
+        this.branchRegistry = branchRegistry;
+        this.events = events;
+    }
+
+    /**
+     * Lists the rules of a branch.
+     *
+     * @param branchId ID of the branch, or null for the rules shared by all branches
+     * @return the rules
+     */
+    @Override
+    public List<PricingRule> getRules(Long branchId) {
+        return ruleRepo.findByBranchId(branchId);
+    }
+
+    /**
+     * Creates a pricing rule.
+     *
+     * @param rule rule to create
+     * @return the saved rule
+     * @throws BusinessException if the rule has no type, a negative rate, fee or distance, or an unknown branch
+     */
+    @Override
+    @Transactional
+    public PricingRule createRule(PricingRule rule) {
+        if (rule == null || rule.getType() == null) {
+            throw new BusinessException("Pricing rule type is required");
+        }
+        if (rule.getBasisPoints() < 0 || rule.getBasisPoints() > Money.FULL_BASIS_POINTS) {
+            throw new BusinessException("Tax rate must be between 0 and " + Money.FULL_BASIS_POINTS + " basis points");
+        }
+        if (rule.getAmount() < 0 || rule.getMinDistanceMeters() < 0) {
+            throw new BusinessException("Fees and distances cannot be negative");
+        }
+        if (rule.getBranchId() != null && branchRegistry.find(rule.getBranchId()).isEmpty()) {
+            throw new BusinessException("Branch not found");
+        }
+
+        rule.setId(null);
+        PricingRule saved = ruleRepo.save(rule);
+        log.info("Created {} pricing rule {} for branch {}", saved.getType(), saved.getId(), saved.getBranchId());
+        events.publishEvent(new PricingRulesChangedEvent(saved.getBranchId()));
+        return saved;
+    }
+
+    /**
+     * Deletes a pricing rule.
+     *
+     * @param id ID of the rule
+     * @throws BusinessException if the rule does not exist
+     */
+    @Override
+    @Transactional
+    public void deleteRule(Long id) {
+        PricingRule rule = ruleRepo.findById(id)
+                .orElseThrow(() -> new BusinessException("Pricing rule not found"));
+        ruleRepo.delete(rule);
+        log.info("Deleted pricing rule {} of branch {}", id, rule.getBranchId());
+        events.publishEvent(new PricingRulesChangedEvent(rule.getBranchId()));
+    }
+}
@@ -0,0 +1,79 @@
+package com.Restaurant.RestaurantOrderManagementSystem.service.impl;
+
+import com.Restaurant.RestaurantOrderManagementSystem.enums.PaymentMethod;
+import com.Restaurant.RestaurantOrderManagementSystem.exception.PaymentException;
+import com.Restaurant.RestaurantOrderManagementSystem.exception.TransientPaymentException;
+import com.Restaurant.RestaurantOrderManagementSystem.service.strategy.PaymentGateway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for the external payment provider.
+ * <p>
+ * Accepts charges after waiting {@code payments.gateway.stub-latency}, and fails a
+ * {@code payments.gateway.stub-failure-rate} fraction of them with a transient error.
+ * This makes it possible to observe how the payment path behaves when the provider
+ * slows down or browns out without depending on a real gateway.
+ * </p>
+ */
+@Component
+public class StubPaymentGateway implements PaymentGateway {
+
+    private static final Logger log = LoggerFactory.getLogger(StubPaymentGateway.class);
+
+    private final Duration latency;
+    private final double failureRate;
+    // Charges accepted by this stub, so status lookups answer like a provider would
+    private final Set<String> charged = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor for StubPaymentGateway.
+     *
+     * @param latency     Simulated provider response time
+     * @param failureRate Fraction of charges failing with a {@link TransientPaymentException}
+     */
+    public StubPaymentGateway(@Value("${payments.gateway.stub-latency:0ms}") Duration latency,
+                              @Value("${payments.gateway.stub-failure-rate:0}") double failureRate) {
+        this.latency = latency;
+        this.failureRate = failureRate;
+    }
+
+    /**
+     * Simulates a provider charge by sleeping for the configured latency.
+     *
+     * @throws TransientPaymentException for the configured share of simulated provider errors
+     * @throws PaymentException          if the calling thread is interrupted, e.g. because the call timed out
+     */
+    @Override
+    public boolean charge(PaymentMethod method, Long orderId, long amount) {
+        if (!latency.isZero()) {
+            try {
+                Thread.sleep(latency.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PaymentException("Gateway call interrupted for order " + orderId, e);
+            }
+        }
+        if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new TransientPaymentException("Gateway temporarily unavailable for order " + orderId);
+        }
+        charged.add(method + ":" + orderId);
+        log.debug("Stub gateway accepted {} charge for order {} amount {}", method, orderId, amount);
+        return true;
+    }
+
+    /**
+     * Reports whether this stub accepted a charge for the order.
+     */
+    @Override
+    public ChargeStatus status(PaymentMethod method, Long orderId) {
+        return charged.contains(method + ":" + orderId) ? ChargeStatus.CHARGED : ChargeStatus.NOT_CHARGED;
+    }
+}
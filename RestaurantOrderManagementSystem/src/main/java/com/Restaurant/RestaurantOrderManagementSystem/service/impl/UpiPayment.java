@@ -1,6 +1,8 @@
 package com.Restaurant.RestaurantOrderManagementSystem.service.impl;
 
+import com.Restaurant.RestaurantOrderManagementSystem.enums.PaymentMethod;
 import com.Restaurant.RestaurantOrderManagementSystem.exception.PaymentException;
+import com.Restaurant.RestaurantOrderManagementSystem.service.strategy.PaymentGateway;
 import com.Restaurant.RestaurantOrderManagementSystem.service.strategy.PaymentStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,7 +12,8 @@ import org.springframework.stereotype.Service;
  * Implementation of {@link PaymentStrategy} for UPI payments.
  * <p>
  * Supports payment processing and refund operations via UPI.
- * Includes retry mechanism for failed attempts (up to 3 attempts).
+ * Makes a single gateway call per invocation; retries are scheduled by the caller
+ * through {@link com.Restaurant.RestaurantOrderManagementSystem.resilience.RetryEngine}.
  * </p>
  */
 @Service("UPI")
@@ -18,40 +21,37 @@ public class UpiPayment implements PaymentStrategy {
 
     private static final Logger log = LoggerFactory.getLogger(UpiPayment.class);
 
-    /** Maximum number of retries for a failed payment or refund attempt */
-    private static final int MAX_RETRIES = 3;
+    private final PaymentGateway gateway;
+
+    /**
+     * Constructor for UpiPayment.
+     *
+     * @param gateway Payment provider that charges the UPI payment
+     */
+    public UpiPayment(PaymentGateway gateway) {
+        this.gateway = gateway;
+    }
 
     /**
      * Processes a UPI payment for a given order and amount.
      *
      * @param orderId ID of the order
      * @param amount  Amount to pay
-     * @return true if payment is successful
-     * @throws PaymentException if amount is invalid or payment fails after retries
+     * @return true if payment is successful, false if the gateway declined it
+     * @throws PaymentException if amount is invalid or the gateway call fails
      */
     @Override
-    public boolean pay(Long orderId, double amount) {
+    public boolean pay(Long orderId, long amount) {
         // Validate the payment amount before processing
         validateAmount(orderId, amount);
 
-        int attempt = 0;
-        boolean success = false;
+        log.info("UPI payment for order {} amount {}", orderId, amount);
 
-        // Retry loop for up to MAX_RETRIES attempts
-        while (attempt < MAX_RETRIES && !success) {
-            attempt++;
-            try {
-                log.info("UPI payment attempt {} for order {} amount {}", attempt, orderId, amount);
-                // Simulate payment success (replace with actual gateway call)
-                success = true;
-            } catch (Exception e) {
-                log.error("UPI payment failed attempt {} for order {}: {}", attempt, orderId, e.getMessage());
-            }
+        if (!gateway.charge(PaymentMethod.UPI, orderId, amount)) {
+            log.warn("UPI payment declined for order {}", orderId);
+            return false;
         }
 
-        // Throw exception if all attempts failed
-        if (!success) throw new PaymentException("UPI payment failed for order " + orderId);
-
         log.info("UPI payment successful for order {}", orderId);
         return true;
     }
@@ -65,7 +65,7 @@ public class UpiPayment implements PaymentStrategy {
      * @throws PaymentException if amount is invalid
      */
     @Override
-    public boolean refund(Long orderId, double amount) {
+    public boolean refund(Long orderId, long amount) {
         // Validate the refund amount
         validateAmount(orderId, amount);
 
@@ -82,7 +82,7 @@ public class UpiPayment implements PaymentStrategy {
      * @param amount  Amount to validate
      * @throws PaymentException if amount is less than or equal to zero
      */
-    private void validateAmount(Long orderId, double amount) {
+    private void validateAmount(Long orderId, long amount) {
         if (amount <= 0)
             throw new PaymentException("Amount must be greater than zero for order " + orderId);
     }
@@ -0,0 +1,35 @@
+package com.Restaurant.RestaurantOrderManagementSystem.service.strategy;
+
+import com.Restaurant.RestaurantOrderManagementSystem.enums.PaymentMethod;
+
+public interface PaymentGateway {
+    /**
+     * Charge an amount through the external payment provider.
+     * Blocks until the provider answers; callers that must stay responsive
+     * should go through {@link PaymentResult}-returning async execution instead.
+     * @param method - Payment method being charged
+     * @param orderId - Order being paid for
+     * @param amount - Amount to charge, in minor units (paise)
+     * @return true if the provider accepted the charge
+     */
+    boolean charge(PaymentMethod method, Long orderId, long amount);
+
+    /**
+     * Ask the external payment provider what became of an order's charge.
+     * Used to settle payments whose outcome was never recorded, e.g. after a crash
+     * or a timed-out call, without guessing whether the customer was charged.
+     * @param method - Payment method the charge was made with
+     * @param orderId - Order the charge was for
+     * @return what the provider knows about the charge
+     */
+    ChargeStatus status(PaymentMethod method, Long orderId);
+
+    enum ChargeStatus {
+        /** The provider accepted a charge for the order */
+        CHARGED,
+        /** The provider has no accepted charge for the order */
+        NOT_CHARGED,
+        /** The provider cannot tell yet; ask again later */
+        UNKNOWN
+    }
+}
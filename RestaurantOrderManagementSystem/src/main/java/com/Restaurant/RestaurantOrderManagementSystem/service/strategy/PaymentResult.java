@@ -0,0 +1,43 @@
+package com.Restaurant.RestaurantOrderManagementSystem.service.strategy;
+
+import com.Restaurant.RestaurantOrderManagementSystem.enums.PaymentMethod;
+
+import java.time.Duration;
+
+/**
+ * Outcome of an asynchronous {@link PaymentStrategy} call.
+ *
+ * @param orderId ID of the order the payment was for
+ * @param method  payment method used
+ * @param outcome how the call ended
+ * @param message failure detail, or null on success
+ * @param cause   exception thrown by the strategy for {@link Outcome#ERROR}, otherwise null
+ * @param elapsed time from submission to completion of the last attempt
+ * @param attempts number of gateway attempts made
+ */
+public record PaymentResult(Long orderId, PaymentMethod method, Outcome outcome, String message,
+                            RuntimeException cause, Duration elapsed, int attempts) {
+
+    public enum Outcome {
+        /** The gateway accepted the payment */
+        SUCCESS,
+        /** The gateway answered but did not accept the payment */
+        DECLINED,
+        /** The strategy threw an exception */
+        ERROR,
+        /** No answer within the method's timeout; the call was cancelled */
+        TIMED_OUT,
+        /** The method's executor was saturated and the call never started */
+        REJECTED,
+        /** The method's circuit breaker is open and the call never started */
+        CIRCUIT_OPEN
+    }
+
+    public boolean success() {
+        return outcome == Outcome.SUCCESS;
+    }
+
+    public PaymentResult withAttempts(int attempts) {
+        return new PaymentResult(orderId, method, outcome, message, cause, elapsed, attempts);
+    }
+}
@@ -4,16 +4,16 @@ public interface PaymentStrategy {
     /**
      * Process payment
      * @param orderId - Order to pay for
-     * @param amount - Amount to pay
+     * @param amount - Amount to pay, in minor units (paise)
      * @return true if payment succeeds
      */
-    boolean pay(Long orderId, double amount);
+    boolean pay(Long orderId, long amount);
 
     /**
      * Refund payment
      * @param orderId - Order to refund
-     * @param amount - Amount to refund
+     * @param amount - Amount to refund, in minor units (paise)
      * @return true if refund succeeds
      */
-    boolean refund(Long orderId, double amount);
+    boolean refund(Long orderId, long amount);
 }
@@ -0,0 +1,461 @@
+package com.Restaurant.RestaurantOrderManagementSystem.stream;
+
+import com.Restaurant.RestaurantOrderManagementSystem.event.OrderLifecycleEvent;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.OrderRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process fan-out of committed order changes to the Server-Sent Event streams of each branch.
+ * <p>
+ * Every branch keeps the last {@value #REPLAY_SIZE} events in a ring, so a display that
+ * reconnects with {@code Last-Event-ID} gets what it missed. If the missed events are no longer
+ * in the ring, or the ID is from before a restart, it gets a {@code reset} event and should
+ * reload the branch's orders instead.
+ * </p>
+ * <p>
+ * Each subscriber has a bounded buffer drained by a small shared pool, a few events per turn.
+ * A subscriber whose buffer fills up, or whose write of a single event takes longer than the
+ * send timeout, is disconnected rather than allowed to hold events or sender threads back, and
+ * resumes from the ring when it reconnects. Only subscribers of this instance are served; a
+ * change made on another instance reaches the displays connected there.
+ * </p>
+ * <p>
+ * Heartbeats and the stalled-send check run on the hub's own timer thread, not the shared
+ * scheduler, so neither waits behind other scheduled jobs.
+ * </p>
+ */
+@Component
+public class OrderEventHub {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventHub.class);
+
+    /** Events kept per branch for {@code Last-Event-ID} resume. */
+    static final int REPLAY_SIZE = 128;
+
+    /** Events buffered per subscriber before it is dropped as too slow; holds a full replay. */
+    static final int SUBSCRIBER_BUFFER = 256;
+
+    /** Orders whose branch is remembered, so status changes rarely need a lookup. */
+    static final int KNOWN_ORDERS = 10_000;
+
+    /** Events a sender thread writes to one subscriber before giving the others a turn. */
+    static final int DRAIN_BATCH = 32;
+
+    static final int SENDER_THREADS = 4;
+
+    static final Duration TIMEOUT = Duration.ofMinutes(30);
+
+    /** Default for how long the write of a single event may take before the subscriber is dropped. */
+    static final Duration SEND_TIMEOUT = Duration.ofSeconds(5);
+
+    /** How often in-progress sends are checked against the send timeout. */
+    private static final Duration STALL_CHECK_INTERVAL = Duration.ofSeconds(1);
+
+    private static final StreamEvent HEARTBEAT = new StreamEvent(0, null, null, null);
+
+    // Event IDs are "<epoch>-<sequence>", so IDs from before a restart are recognised as unknown
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Map<Long, BranchChannel> channels = new ConcurrentHashMap<>();
+    private final Map<Long, Long> orderBranches = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+            return size() > KNOWN_ORDERS;
+        }
+    });
+
+    private final OrderRepository orderRepo;
+    private final Executor sender;
+    private final long sendTimeoutNanos;
+    // Absent when the hub is driven by hand, e.g. in tests
+    private final ScheduledExecutorService timer;
+
+    /**
+     * @param orderRepo         repository used to find the branch of orders not seen by this hub
+     * @param heartbeatInterval interval between heartbeats on every stream
+     * @param sendTimeout       how long the write of a single event may take
+     */
+    @Autowired
+    public OrderEventHub(OrderRepository orderRepo,
+                         @Value("${orders.stream.heartbeat-interval:PT15S}") Duration heartbeatInterval,
+                         @Value("${orders.stream.send-timeout:PT5S}") Duration sendTimeout) {
+        this(orderRepo, Executors.newFixedThreadPool(SENDER_THREADS, threadFactory("order-stream")), sendTimeout,
+                Executors.newSingleThreadScheduledExecutor(threadFactory("order-stream-timer")));
+        timer.scheduleWithFixedDelay(this::heartbeat, heartbeatInterval.toMillis(), heartbeatInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        timer.scheduleWithFixedDelay(this::dropStalledSubscribers, STALL_CHECK_INTERVAL.toMillis(),
+                STALL_CHECK_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param orderRepo repository used to find the branch of orders not seen by this hub
+     * @param sender    executor draining subscriber buffers
+     */
+    public OrderEventHub(OrderRepository orderRepo, Executor sender) {
+        this(orderRepo, sender, SEND_TIMEOUT);
+    }
+
+    /**
+     * Creates a hub without a timer; {@link #heartbeat()} and {@link #dropStalledSubscribers()}
+     * are left to the caller.
+     *
+     * @param orderRepo   repository used to find the branch of orders not seen by this hub
+     * @param sender      executor draining subscriber buffers
+     * @param sendTimeout how long the write of a single event may take
+     */
+    public OrderEventHub(OrderRepository orderRepo, Executor sender, Duration sendTimeout) {
+        this(orderRepo, sender, sendTimeout, null);
+    }
+
+    private OrderEventHub(OrderRepository orderRepo, Executor sender, Duration sendTimeout,
+                          ScheduledExecutorService timer) {
+        this.orderRepo = orderRepo;
+        this.sender = sender;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.timer = timer;
+    }
+
+    /**
+     * Opens a stream of a branch's order events.
+     *
+     * @param branchId    ID of the branch
+     * @param lastEventId ID of the last event the client received, or null for a fresh stream
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe(Long branchId, String lastEventId) {
+        return subscribe(branchId, lastEventId, new SseEmitter(TIMEOUT.toMillis()));
+    }
+
+    /**
+     * Registers an emitter for a branch's order events, replaying what it missed first.
+     *
+     * @param branchId    ID of the branch
+     * @param lastEventId ID of the last event the client received, or null for a fresh stream
+     * @param emitter     emitter to send the events to
+     * @return the emitter
+     */
+    public SseEmitter subscribe(Long branchId, String lastEventId, SseEmitter emitter) {
+        BranchChannel channel = channels.computeIfAbsent(branchId, id -> new BranchChannel());
+        Subscriber subscriber = new Subscriber(channel, emitter);
+        emitter.onCompletion(subscriber::detach);
+        emitter.onTimeout(subscriber::detach);
+        emitter.onError(error -> subscriber.detach());
+
+        channel.add(subscriber, lastEventId == null || lastEventId.isBlank() ? null : parseSequence(lastEventId));
+        log.debug("Order stream opened for branch {} ({} subscribers)", branchId, channel.subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * Fans a committed order change out to the subscribers of its branch.
+     *
+     * @param event the order change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderLifecycleEvent event) {
+        Long branchId = event.branchId();
+        if (branchId != null) {
+            orderBranches.put(event.orderId(), branchId);
+        } else {
+            branchId = orderBranches.get(event.orderId());
+            if (branchId == null) {
+                branchId = orderRepo.findBranchIdById(event.orderId()).orElse(null);
+                if (branchId == null) {
+                    return;
+                }
+                orderBranches.put(event.orderId(), branchId);
+            }
+        }
+
+        String name = event.type() == OrderLifecycleEvent.Type.CREATED ? "order-created" : "order-status";
+        channels.computeIfAbsent(branchId, id -> new BranchChannel()).publish(name, event);
+    }
+
+    /**
+     * Sends a comment to every subscriber, so dead connections are noticed and proxies keep idle ones open.
+     */
+    public void heartbeat() {
+        channels.values().forEach(channel -> channel.subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT)));
+    }
+
+    /**
+     * Disconnects every subscriber whose current write has taken longer than the send timeout,
+     * interrupting the sender thread stuck in it.
+     *
+     * @return number of subscribers dropped
+     */
+    public int dropStalledSubscribers() {
+        long now = System.nanoTime();
+        int dropped = 0;
+        for (BranchChannel channel : channels.values()) {
+            for (Subscriber subscriber : channel.subscribers) {
+                if (subscriber.closeIfStalled(now)) {
+                    dropped++;
+                }
+            }
+        }
+        if (dropped > 0) {
+            log.warn("Dropped {} order stream subscribers stalled for over {} ms", dropped,
+                    TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+        }
+        return dropped;
+    }
+
+    /**
+     * @param branchId ID of the branch
+     * @return number of open streams of the branch
+     */
+    public int subscriberCount(Long branchId) {
+        BranchChannel channel = channels.get(branchId);
+        return channel != null ? channel.subscribers.size() : 0;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+        channels.values().forEach(channel -> channel.subscribers.forEach(Subscriber::close));
+        if (sender instanceof ExecutorService pool) {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * @return the sequence of an event ID from this run, or -1 if it is unknown
+     */
+    private long parseSequence(String eventId) {
+        int dash = eventId.indexOf('-');
+        try {
+            if (dash > 0 && Long.parseLong(eventId.substring(0, dash)) == epoch) {
+                return Long.parseLong(eventId.substring(dash + 1));
+            }
+        } catch (NumberFormatException e) {
+            // unknown ID, the client gets a reset
+        }
+        return -1;
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record StreamEvent(long seq, String id, String name, Object data) {
+    }
+
+    /**
+     * Replay ring and subscribers of one branch. Publishing and subscribing hold the
+     * channel lock, so a new subscriber gets each event exactly once, by replay or live,
+     * and the events of a branch are numbered in the order they enter its ring.
+     */
+    private final class BranchChannel {
+
+        private final ArrayDeque<StreamEvent> replay = new ArrayDeque<>(REPLAY_SIZE);
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        // Sequence of the newest event that fell out of the ring
+        private long evicted;
+
+        synchronized void publish(String name, Object data) {
+            long seq = sequence.incrementAndGet();
+            StreamEvent event = new StreamEvent(seq, epoch + "-" + seq, name, data);
+            if (replay.size() == REPLAY_SIZE) {
+                evicted = replay.removeFirst().seq();
+            }
+            replay.addLast(event);
+            subscribers.forEach(subscriber -> subscriber.offer(event));
+        }
+
+        synchronized void add(Subscriber subscriber, Long lastSeq) {
+            if (lastSeq != null) {
+                if (lastSeq < 0 || lastSeq < evicted || lastSeq > sequence.get()) {
+                    subscriber.offer(new StreamEvent(0, null, "reset", "Reload the orders of the branch"));
+                } else {
+                    List<StreamEvent> missed = new ArrayList<>();
+                    for (StreamEvent event : replay) {
+                        if (event.seq() > lastSeq) {
+                            missed.add(event);
+                        }
+                    }
+                    missed.forEach(subscriber::offer);
+                }
+            }
+            subscribers.add(subscriber);
+        }
+    }
+
+    /**
+     * One open stream: a bounded buffer drained by at most one sender task at a time.
+     * The emitter is completed by the caller of {@link #close()} when it is idle, or by the
+     * sender once its write returns, so a stalled connection never blocks the caller.
+     */
+    private final class Subscriber {
+
+        private final BranchChannel channel;
+        private final SseEmitter emitter;
+        private final BlockingQueue<StreamEvent> buffer = new ArrayBlockingQueue<>(SUBSCRIBER_BUFFER);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // Thread writing to the emitter and when it started; guarded by this
+        private Thread sending;
+        private long sendStarted;
+        private boolean completeAfterSend;
+
+        Subscriber(BranchChannel channel, SseEmitter emitter) {
+            this.channel = channel;
+            this.emitter = emitter;
+        }
+
+        void offer(StreamEvent event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                log.warn("Dropping slow order stream subscriber after {} buffered events", SUBSCRIBER_BUFFER);
+                close();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            for (int sent = 0; ; sent++) {
+                if (sent == DRAIN_BATCH) {
+                    // Still draining; let the other subscribers of the pool have a turn first
+                    sender.execute(this::drain);
+                    return;
+                }
+                StreamEvent event = buffer.poll();
+                if (event == null) {
+                    draining.set(false);
+                    // An event may have arrived after the poll but before the flag was cleared
+                    if (buffer.isEmpty() || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                if (closed.get()) {
+                    return;
+                }
+                startSend();
+                try {
+                    emitter.send(event == HEARTBEAT
+                            ? SseEmitter.event().comment("heartbeat")
+                            : event.id() == null
+                            ? SseEmitter.event().name(event.name()).data(event.data())
+                            : SseEmitter.event().id(event.id()).name(event.name()).data(event.data()));
+                } catch (IOException | IllegalStateException e) {
+                    // The connection is gone; the emitter reports the error itself
+                    detach();
+                } finally {
+                    if (endSend()) {
+                        emitter.complete();
+                    }
+                }
+                if (closed.get()) {
+                    return;
+                }
+            }
+        }
+
+        private synchronized void startSend() {
+            sending = Thread.currentThread();
+            sendStarted = System.nanoTime();
+        }
+
+        /**
+         * @return whether the stream was closed during the send and is left for this thread to complete
+         */
+        private synchronized boolean endSend() {
+            sending = null;
+            // Clear an interrupt aimed at the send that just ended, so it does not hit the next task
+            Thread.interrupted();
+            boolean complete = completeAfterSend;
+            completeAfterSend = false;
+            return complete;
+        }
+
+        /**
+         * Ends the stream from the server side, e.g. for a slow consumer or on shutdown.
+         */
+        void close() {
+            if (!detach()) {
+                return;
+            }
+            synchronized (this) {
+                if (sending != null) {
+                    completeAfterSend = true;
+                    return;
+                }
+            }
+            emitter.complete();
+        }
+
+        /**
+         * Closes the stream if its current write has taken longer than the send timeout.
+         *
+         * @param now current {@link System#nanoTime()}
+         * @return whether the stream was closed
+         */
+        boolean closeIfStalled(long now) {
+            synchronized (this) {
+                if (sending == null || now - sendStarted < sendTimeoutNanos) {
+                    return false;
+                }
+                sending.interrupt();
+            }
+            close();
+            return true;
+        }
+
+        /**
+         * Stops delivering to the stream, which the client or the container already ended.
+         *
+         * @return whether this call detached it
+         */
+        boolean detach() {
+            if (!closed.compareAndSet(false, true)) {
+                return false;
+            }
+            channel.subscribers.remove(this);
+            buffer.clear();
+            return true;
+        }
+    }
+}
@@ -1,37 +1,136 @@
 package com.Restaurant.RestaurantOrderManagementSystem.validation;
 
+import com.Restaurant.RestaurantOrderManagementSystem.config.MenuScheduleProperties;
+import com.Restaurant.RestaurantOrderManagementSystem.config.MenuScheduleProperties.Window;
 import com.Restaurant.RestaurantOrderManagementSystem.enums.MenuType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
- * Utility class to validate whether a particular menu type
- * is available based on the current time of the day.
+ * Validates whether a particular menu type is being served at a branch right now.
  *
- * <p>Menus are available during specific time windows:
+ * <p>Menus are available during specific time windows, by default:
  * <ul>
  *     <li>BREAKFAST: 6:00 AM - 11:00 AM</li>
  *     <li>LUNCH: 11:00 AM - 4:00 PM</li>
  *     <li>DINNER: 4:00 PM - 10:00 PM</li>
  * </ul>
+ * Each window includes its start minute and excludes its end minute. Branches can
+ * have their own windows and time zone under {@code menu.schedule.branches}.
  * </p>
+ *
+ * <p>Every schedule is precomputed into a minute-of-day table holding the set of menu
+ * types served in that minute. A scheduler swaps each schedule's active set at every
+ * minute boundary, so checking availability is a single field read.</p>
  */
+@Component
 public class MenuTimeValidator {
 
+    private static final Logger log = LoggerFactory.getLogger(MenuTimeValidator.class);
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final Clock clock;
+    private final Schedule defaults;
+    private final Map<Long, Schedule> branches = new HashMap<>();
+
+    /**
+     * Constructs a MenuTimeValidator reading the system clock.
+     *
+     * @param properties configured service windows
+     */
+    @Autowired
+    public MenuTimeValidator(MenuScheduleProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    /**
+     * Constructs a MenuTimeValidator reading the given clock.
+     *
+     * @param properties configured service windows
+     * @param clock      clock the active menus are derived from
+     */
+    public MenuTimeValidator(MenuScheduleProperties properties, Clock clock) {
+        this.clock = clock;
+        this.defaults = new Schedule(properties.zone(), properties.defaultWindows());
+        properties.branches().forEach((branchId, branch) ->
+                branches.put(branchId, new Schedule(properties.zoneFor(branch), properties.windowsFor(branch))));
+        refresh();
+    }
+
     /**
-     * Checks if the given menu type is available at the current local time.
+     * Checks if the given menu type is currently served at a branch.
      *
-     * @param type the MenuType to validate (BREAKFAST, LUNCH, DINNER)
+     * @param branchId ID of the branch
+     * @param type     the MenuType to validate (BREAKFAST, LUNCH, DINNER)
      * @return true if the menu is currently available, false otherwise
      */
-    public static boolean isMenuAvailable(MenuType type) {
-        // Get the current local time
-        LocalTime now = LocalTime.now();
-
-        // Check availability based on menu type and predefined time windows
-        return switch (type) {
-            case BREAKFAST -> now.isAfter(LocalTime.of(6, 0)) && now.isBefore(LocalTime.of(11, 0));
-            case LUNCH -> now.isAfter(LocalTime.of(11, 0)) && now.isBefore(LocalTime.of(16, 0));
-            case DINNER -> now.isAfter(LocalTime.of(16, 0)) && now.isBefore(LocalTime.of(22, 0));
-        };
+    public boolean isMenuAvailable(Long branchId, MenuType type) {
+        if (type == null) {
+            return false;
+        }
+        return (branches.getOrDefault(branchId, defaults).active & bit(type)) != 0;
+    }
+
+    /**
+     * Moves every schedule to the menus served in the current minute.
+     * Runs at the start of each minute, which is where every window boundary falls.
+     */
+    @Scheduled(cron = "0 * * * * *")
+    public void refresh() {
+        Instant now = clock.instant();
+        defaults.moveTo(now);
+        branches.values().forEach(schedule -> schedule.moveTo(now));
+    }
+
+    private static int bit(MenuType type) {
+        return 1 << type.ordinal();
+    }
+
+    /**
+     * Precomputed schedule of one time zone and set of windows.
+     */
+    private static final class Schedule {
+
+        private final ZoneId zone;
+
+        // minute of day -> bit set of MenuType ordinals served in that minute
+        private final int[] menusByMinute = new int[MINUTES_PER_DAY];
+
+        private volatile int active;
+
+        Schedule(ZoneId zone, Map<MenuType, Window> windows) {
+            this.zone = zone;
+            windows.forEach((type, window) -> {
+                int start = minuteOfDay(window.start());
+                int end = minuteOfDay(window.end());
+                // A window ending before it starts runs past midnight
+                for (int minute = start; minute != end; minute = (minute + 1) % MINUTES_PER_DAY) {
+                    menusByMinute[minute] |= bit(type);
+                }
+            });
+        }
+
+        void moveTo(Instant now) {
+            int menus = menusByMinute[minuteOfDay(LocalTime.ofInstant(now, zone))];
+            if (menus != active) {
+                active = menus;
+                log.debug("Active menus in {} changed to {}", zone, Integer.toBinaryString(menus));
+            }
+        }
+
+        private static int minuteOfDay(LocalTime time) {
+            return time.getHour() * 60 + time.getMinute();
+        }
     }
 }
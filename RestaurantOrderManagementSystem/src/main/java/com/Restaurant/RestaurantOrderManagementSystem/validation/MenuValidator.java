@@ -1,10 +1,14 @@
 package com.Restaurant.RestaurantOrderManagementSystem.validation;
 
+import com.Restaurant.RestaurantOrderManagementSystem.cache.BranchRegistry;
 import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
 import com.Restaurant.RestaurantOrderManagementSystem.exception.MenuException;
-import com.Restaurant.RestaurantOrderManagementSystem.repository.BranchRepository;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * Validator class for MenuItem entities.
  * <p>
@@ -15,15 +19,15 @@ import org.springframework.stereotype.Component;
 @Component
 public class MenuValidator {
 
-    private final BranchRepository branchRepo;
+    private final BranchRegistry branchRegistry;
 
     /**
-     * Constructs a MenuValidator with the required BranchRepository.
+     * Constructs a MenuValidator with the required BranchRegistry.
      *
-     * @param branchRepo the BranchRepository to validate branch existence
+     * @param branchRegistry the in-memory BranchRegistry to validate branch existence
      */
-    public MenuValidator(BranchRepository branchRepo) {
-        this.branchRepo = branchRepo;
+    public MenuValidator(BranchRegistry branchRegistry) {
+        this.branchRegistry = branchRegistry;
     }
 
     /**
@@ -34,7 +38,7 @@ public class MenuValidator {
      *     <li>Name is not null or blank</li>
      *     <li>Price is greater than zero</li>
      *     <li>Preparation time is positive</li>
-     *     <li>Branch is specified and exists in the repository</li>
+     *     <li>Branch is specified and exists in the registry</li>
      * </ul>
      * </p>
      *
@@ -42,6 +46,38 @@ public class MenuValidator {
      * @throws MenuException if any validation fails
      */
     public void validateMenuItem(MenuItem item) {
+        validateFields(item);
+
+        // Check if the branch actually exists
+        branchRegistry.find(item.getBranch().getId())
+                .orElseThrow(() -> new MenuException("Branch not found"));
+    }
+
+    /**
+     * Validates a batch of MenuItem objects, checking all their branches at once.
+     *
+     * @param items the MenuItems to validate
+     * @throws MenuException if any item fails validation
+     */
+    public void validateMenuItems(Collection<MenuItem> items) {
+        items.forEach(this::validateFields);
+
+        Set<Long> branchIds = new HashSet<>();
+        items.forEach(item -> branchIds.add(item.getBranch().getId()));
+
+        if (!branchRegistry.findAll(branchIds).keySet().containsAll(branchIds)) {
+            throw new MenuException("Branch not found");
+        }
+    }
+
+    /**
+     * Validates the fields of a MenuItem without checking that its branch exists.
+     * Used by callers that resolve branches themselves, in bulk.
+     *
+     * @param item the MenuItem to validate
+     * @throws MenuException if any field is invalid
+     */
+    public void validateFields(MenuItem item) {
 
         // Validate menu item name
         if (item.getName() == null || item.getName().isBlank()) {
@@ -62,9 +98,5 @@ public class MenuValidator {
         if (item.getBranch() == null || item.getBranch().getId() == null) {
             throw new MenuException("Branch is required");
         }
-
-        // Check if the branch actually exists in the repository
-        branchRepo.findById(item.getBranch().getId())
-                .orElseThrow(() -> new MenuException("Branch not found"));
     }
 }
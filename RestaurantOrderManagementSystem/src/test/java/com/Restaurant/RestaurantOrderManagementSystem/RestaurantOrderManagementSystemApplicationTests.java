@@ -1,13 +1,29 @@
 package com.Restaurant.RestaurantOrderManagementSystem;
 
+import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import static org.junit.jupiter.api.Assertions.*;
+
 @SpringBootTest
 class RestaurantOrderManagementSystemApplicationTests {
 
+	@Autowired
+	private ObjectMapper objectMapper;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void fractionalAmountsAreRejectedRatherThanTruncated() throws Exception {
+		assertEquals(24999, objectMapper.readValue("{\"price\":24999}", MenuItem.class).getPrice());
+		assertThrows(JsonProcessingException.class,
+				() -> objectMapper.readValue("{\"price\":249.99}", MenuItem.class));
+	}
+
 }
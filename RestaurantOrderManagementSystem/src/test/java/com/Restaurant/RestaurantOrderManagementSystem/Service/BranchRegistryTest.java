@@ -0,0 +1,78 @@
+package com.Restaurant.RestaurantOrderManagementSystem.Service;
+
+import com.Restaurant.RestaurantOrderManagementSystem.cache.BranchRegistry;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.CacheInvalidation;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.CacheInvalidationBus;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Branch;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.BranchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BranchRegistryTest {
+
+    @Mock
+    private BranchRepository branchRepo;
+
+    private final List<CacheInvalidation> published = new ArrayList<>();
+    private Consumer<CacheInvalidation> listener;
+
+    private BranchRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(branchRepo.findAll()).thenReturn(List.of(new Branch(1L, "Main", "Delhi", true)));
+
+        registry = new BranchRegistry(branchRepo, new CacheInvalidationBus() {
+            @Override
+            public void publish(CacheInvalidation invalidation) {
+                published.add(invalidation);
+            }
+
+            @Override
+            public void subscribe(Consumer<CacheInvalidation> subscriber) {
+                listener = subscriber;
+            }
+        });
+    }
+
+    @Test
+    void find_servesLoadedBranchesWithoutQuerying() {
+        assertTrue(registry.find(1L).orElseThrow().active());
+        assertEquals(1, registry.findAll(List.of(1L)).size());
+
+        verify(branchRepo, never()).findById(any());
+        verify(branchRepo, never()).findAllById(any());
+    }
+
+    @Test
+    void put_isBroadcastToOtherInstances() {
+        registry.put(new Branch(1L, "Main", "Delhi", false));
+
+        assertFalse(registry.find(1L).orElseThrow().active());
+        assertEquals(List.of(new CacheInvalidation(BranchRegistry.CACHE, List.of("1"))), published);
+    }
+
+    @Test
+    void invalidationFromOtherInstance_reloadsAffectedBranches() {
+        when(branchRepo.findAllById(any())).thenReturn(List.of(new Branch(2L, "Airport", "Delhi", true)));
+
+        listener.accept(new CacheInvalidation(BranchRegistry.CACHE, List.of("1", "2")));
+
+        // Branch 1 was deleted elsewhere, branch 2 was created
+        when(branchRepo.findById(1L)).thenReturn(Optional.empty());
+        assertTrue(registry.find(1L).isEmpty());
+        assertEquals("Airport", registry.find(2L).orElseThrow().name());
+        verify(branchRepo, never()).findById(2L);
+    }
+}
@@ -1,5 +1,6 @@
 package com.Restaurant.RestaurantOrderManagementSystem.Service;
 
+import com.Restaurant.RestaurantOrderManagementSystem.cache.BranchRegistry;
 import com.Restaurant.RestaurantOrderManagementSystem.entities.Branch;
 import com.Restaurant.RestaurantOrderManagementSystem.exception.BranchException;
 import com.Restaurant.RestaurantOrderManagementSystem.repository.BranchRepository;
@@ -21,6 +22,9 @@ class BranchServiceImplTest {
     @Mock
     private BranchRepository branchRepo;
 
+    @Mock
+    private BranchRegistry branchRegistry;
+
     @InjectMocks
     private BranchServiceImpl branchService;
 
@@ -48,6 +52,7 @@ class BranchServiceImplTest {
         assertNotNull(result);
         assertEquals("Main Branch", result.getName());
         verify(branchRepo).save(branch);
+        verify(branchRegistry).put(branch);
     }
 
     // -------- getAllBranches --------
@@ -85,6 +90,17 @@ class BranchServiceImplTest {
         verify(branchRepo).save(branch);
     }
 
+    @Test
+    void updateStatus_closesBranch() throws Exception, BranchException {
+        when(branchRepo.findById(1L)).thenReturn(Optional.of(branch));
+        when(branchRepo.save(branch)).thenReturn(branch);
+
+        Branch result = branchService.updateStatus(1L, false);
+
+        assertFalse(result.isActive());
+        verify(branchRegistry).put(branch);
+    }
+
     @Test
     void updateStatus_branchNotFound() {
         when(branchRepo.findById(1L)).thenReturn(Optional.empty());
@@ -103,6 +119,7 @@ class BranchServiceImplTest {
         branchService.deleteBranch(1L);
 
         verify(branchRepo).delete(branch);
+        verify(branchRegistry).remove(1L);
     }
 
     @Test
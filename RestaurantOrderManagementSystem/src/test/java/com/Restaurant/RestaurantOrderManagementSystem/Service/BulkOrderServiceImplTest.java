@@ -0,0 +1,155 @@
+package com.Restaurant.RestaurantOrderManagementSystem.Service;
+
+import com.Restaurant.RestaurantOrderManagementSystem.cache.BranchRegistry;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.CacheInvalidationBus;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.ComboIndex;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.MenuPriceBook;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.BulkOrderResult;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Branch;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Order;
+import com.Restaurant.RestaurantOrderManagementSystem.pricing.PricingEngine;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.BranchRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.ComboMealRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.MenuItemRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.OrderRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.PricingRuleRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.service.impl.BulkOrderServiceImpl;
+import com.Restaurant.RestaurantOrderManagementSystem.service.impl.OrderServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BulkOrderServiceImplTest {
+
+    @Mock
+    private OrderRepository orderRepo;
+
+    @Mock
+    private MenuItemRepository menuRepo;
+
+    @Mock
+    private BranchRepository branchRepo;
+
+    @Mock
+    private PricingRuleRepository ruleRepo;
+
+    @Mock
+    private ComboMealRepository comboRepo;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private BulkOrderServiceImpl bulkService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        BranchRegistry branchRegistry = new BranchRegistry(branchRepo, CacheInvalidationBus.NONE);
+        ComboIndex comboIndex = new ComboIndex(comboRepo, CacheInvalidationBus.NONE);
+        OrderServiceImpl orderService =
+                new OrderServiceImpl(orderRepo, menuRepo, branchRegistry, new MenuPriceBook(menuRepo),
+                        new PricingEngine(ruleRepo, CacheInvalidationBus.NONE), comboIndex, comboRepo, events);
+        bulkService = new BulkOrderServiceImpl(orderService, branchRegistry,
+                TransactionOperations.withoutTransaction(), objectMapper, 2);
+
+        Branch branch = new Branch(1L, "Main", "Delhi", true);
+        branchRegistry.put(branch);
+
+        MenuItem pizza = new MenuItem();
+        pizza.setId(10L);
+        pizza.setName("Pizza");
+        pizza.setPrice(200);
+        pizza.setAvailable(true);
+        pizza.setBranch(branch);
+
+        when(branchRepo.findAllById(any())).thenReturn(List.of());
+        when(menuRepo.findByBranchId(1L)).thenReturn(List.of(pizza));
+        when(menuRepo.getReferenceById(10L)).thenReturn(pizza);
+    }
+
+    @Test
+    void ingest_reportsOneResultPerLine() throws Exception {
+        when(orderRepo.saveAll(anyList())).thenAnswer(i -> assignIds(i.getArgument(0)));
+
+        String body = """
+                {"branchId":1,"customerName":"Ravi","items":{"10":2}}
+
+                {not json
+                {"branchId":9,"customerName":"Asha","items":{"10":1}}
+                {"branchId":1,"customerName":"Meera","items":{"77":1}}
+                """;
+
+        List<BulkOrderResult> results = ingest(body);
+
+        assertEquals(4, results.size());
+        assertEquals("CREATED", results.get(0).status());
+        assertEquals(1, results.get(0).line());
+        assertNotNull(results.get(0).orderId());
+
+        assertEquals("REJECTED", results.get(1).status());
+        assertEquals(3, results.get(1).line());
+
+        assertEquals("Branch not found", results.get(2).error());
+        assertEquals("Menu item not found: 77", results.get(3).error());
+
+        // Branches come from the registry; only the unknown branch 9 is looked up
+        verify(branchRepo, times(1)).findAllById(any());
+        verify(orderRepo, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    void ingest_failedChunkRejectsItsOrdersOnly() throws Exception {
+        when(orderRepo.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("boom"))
+                .thenAnswer(i -> assignIds(i.getArgument(0)));
+
+        String body = """
+                {"branchId":1,"customerName":"A","items":{"10":1}}
+                {"branchId":1,"customerName":"B","items":{"10":1}}
+                {"branchId":1,"customerName":"C","items":{"10":1}}
+                """;
+
+        List<BulkOrderResult> results = ingest(body);
+
+        assertEquals("REJECTED", results.get(0).status());
+        assertEquals("REJECTED", results.get(1).status());
+        assertEquals("CREATED", results.get(2).status());
+    }
+
+    private List<BulkOrderResult> ingest(String body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bulkService.ingest(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+
+        List<BulkOrderResult> results = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readValue(line, BulkOrderResult.class));
+        }
+        return results;
+    }
+
+    private static List<Order> assignIds(List<Order> orders) {
+        long id = 100;
+        for (Order order : orders) {
+            order.setId(id++);
+        }
+        return orders;
+    }
+}
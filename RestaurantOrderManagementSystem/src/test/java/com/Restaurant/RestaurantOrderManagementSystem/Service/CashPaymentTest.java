@@ -18,7 +18,7 @@ class CashPaymentTest {
 
     @Test
     void pay_ShouldSucceed_WhenValidAmount() {
-        boolean result = cashPayment.pay(1L, 500.0);
+        boolean result = cashPayment.pay(1L, 50_000);
 
         assertTrue(result);
     }
@@ -0,0 +1,137 @@
+package com.Restaurant.RestaurantOrderManagementSystem.Service;
+
+import com.Restaurant.RestaurantOrderManagementSystem.cache.CacheInvalidationBus;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.ComboIndex;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.ComboIndex.Combo;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.ComboIndex.ComboMatch;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Branch;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.ComboMeal;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
+import com.Restaurant.RestaurantOrderManagementSystem.event.ComboChangedEvent;
+import com.Restaurant.RestaurantOrderManagementSystem.event.MenuChangedEvent;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.ComboMealRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ComboIndexTest {
+
+    @Mock
+    private ComboMealRepository comboRepo;
+
+    private ComboIndex index;
+
+    private final Branch branch = new Branch(1L, "Main", "Delhi", true);
+    private MenuItem pizza;
+    private MenuItem coke;
+    private MenuItem fries;
+    private MenuItem burger;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        index = new ComboIndex(comboRepo, CacheInvalidationBus.NONE);
+
+        pizza = item(10L, "Pizza", 200);
+        coke = item(11L, "Coke", 100);
+        fries = item(12L, "Fries", 100);
+        burger = item(13L, "Burger", 200);
+    }
+
+    @Test
+    void combo_pricesRepeatedItemsAsQuantities() {
+        when(comboRepo.findByBranchIdWithItems(1L)).thenReturn(List.of(
+                combo(1L, 12.5, pizza, coke, coke)));
+
+        Combo combo = index.find(1L, 1L).orElseThrow();
+
+        assertEquals(1_250, combo.discountBasisPoints());
+        assertEquals(2, combo.items().size());
+        assertEquals(2, combo.items().get(1).quantity());
+        assertEquals(400, combo.listPrice());
+        // 12.5% of 200 is 25, of 2 * 100 is 25
+        assertEquals(350, combo.price());
+        assertTrue(combo.available());
+    }
+
+    @Test
+    void bestCombos_beatsGreedyChoice() {
+        when(comboRepo.findByBranchIdWithItems(1L)).thenReturn(List.of(
+                combo(1L, 15, pizza, coke, fries),
+                combo(2L, 10, pizza, burger),
+                combo(3L, 20, coke, fries)));
+
+        List<ComboMatch> matches = index.bestCombos(1L, Map.of(10L, 1, 11L, 1, 12L, 1, 13L, 1));
+
+        // Greedy would take combo 1 alone and save 60; combos 2 and 3 together save 80
+        assertEquals(List.of(new ComboMatch(2L, 1, 40), new ComboMatch(3L, 1, 40)), matches);
+    }
+
+    @Test
+    void bestCombos_appliesACombosSeveralTimesAndSkipsUnavailableOnes() {
+        fries.setAvailable(false);
+        when(comboRepo.findByBranchIdWithItems(1L)).thenReturn(List.of(
+                combo(1L, 10, pizza, coke),
+                combo(2L, 50, coke, fries)));
+
+        List<ComboMatch> matches = index.bestCombos(1L, Map.of(10L, 3, 11L, 2, 12L, 2));
+
+        assertEquals(List.of(new ComboMatch(1L, 2, 60)), matches);
+    }
+
+    @Test
+    void bestCombos_isEmptyWhenNothingFits() {
+        when(comboRepo.findByBranchIdWithItems(1L)).thenReturn(List.of(combo(1L, 10, pizza, coke)));
+
+        assertTrue(index.bestCombos(1L, Map.of(10L, 1)).isEmpty());
+        assertTrue(index.bestCombos(1L, Map.of()).isEmpty());
+    }
+
+    @Test
+    void onMenuChanged_reloadsOnlyBranchesUsingTheItem() {
+        when(comboRepo.findByBranchIdWithItems(1L)).thenReturn(List.of(combo(1L, 10, pizza, coke)));
+        when(comboRepo.findByBranchIdWithItems(2L)).thenReturn(List.of());
+        index.findAll(1L);
+        index.findAll(2L);
+
+        index.onMenuChanged(new MenuChangedEvent(List.of(coke)));
+        index.findAll(1L);
+        index.findAll(2L);
+
+        verify(comboRepo, times(2)).findByBranchIdWithItems(1L);
+        verify(comboRepo, times(1)).findByBranchIdWithItems(2L);
+    }
+
+    @Test
+    void onComboChanged_reloadsTheBranch() {
+        when(comboRepo.findByBranchIdWithItems(1L))
+                .thenReturn(List.of())
+                .thenReturn(List.of(combo(1L, 10, pizza, coke)));
+
+        assertTrue(index.findAll(1L).isEmpty());
+        index.onComboChanged(new ComboChangedEvent(1L));
+
+        assertEquals(1, index.findAll(1L).size());
+    }
+
+    private MenuItem item(Long id, String name, long price) {
+        MenuItem item = new MenuItem();
+        item.setId(id);
+        item.setName(name);
+        item.setPrice(price);
+        item.setAvailable(true);
+        item.setBranch(branch);
+        return item;
+    }
+
+    private ComboMeal combo(Long id, double discountPercentage, MenuItem... items) {
+        return new ComboMeal(id, "Combo " + id, discountPercentage, List.of(items), branch);
+    }
+}
@@ -2,9 +2,12 @@ package com.Restaurant.RestaurantOrderManagementSystem.Service;
 
 import com.Restaurant.RestaurantOrderManagementSystem.exception.PaymentException;
 import com.Restaurant.RestaurantOrderManagementSystem.service.impl.CreditCardPayment;
+import com.Restaurant.RestaurantOrderManagementSystem.service.impl.StubPaymentGateway;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class CreditCardPaymentTest {
@@ -13,12 +16,12 @@ class CreditCardPaymentTest {
 
     @BeforeEach
     void setUp() {
-        creditCardPayment = new CreditCardPayment();
+        creditCardPayment = new CreditCardPayment(new StubPaymentGateway(Duration.ZERO, 0));
     }
 
     @Test
     void pay_ShouldReturnTrue_WhenValidAmount() {
-        boolean result = creditCardPayment.pay(10L, 1000.0);
+        boolean result = creditCardPayment.pay(10L, 100_000);
 
         assertTrue(result);
     }
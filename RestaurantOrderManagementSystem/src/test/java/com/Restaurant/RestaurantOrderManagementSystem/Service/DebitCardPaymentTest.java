@@ -2,9 +2,12 @@ package com.Restaurant.RestaurantOrderManagementSystem.Service;
 
 import com.Restaurant.RestaurantOrderManagementSystem.exception.PaymentException;
 import com.Restaurant.RestaurantOrderManagementSystem.service.impl.DebitCardPayment;
+import com.Restaurant.RestaurantOrderManagementSystem.service.impl.StubPaymentGateway;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class DebitCardPaymentTest {
@@ -13,12 +16,12 @@ class DebitCardPaymentTest {
 
     @BeforeEach
     void setUp() {
-        debitCardPayment = new DebitCardPayment();
+        debitCardPayment = new DebitCardPayment(new StubPaymentGateway(Duration.ZERO, 0));
     }
 
     @Test
     void pay_ShouldReturnTrue_WhenValidAmount() {
-        boolean result = debitCardPayment.pay(101L, 750.0);
+        boolean result = debitCardPayment.pay(101L, 75_000);
 
         assertTrue(result);
     }
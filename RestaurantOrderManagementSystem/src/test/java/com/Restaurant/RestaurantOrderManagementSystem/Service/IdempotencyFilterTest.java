@@ -0,0 +1,237 @@
+package com.Restaurant.RestaurantOrderManagementSystem.Service;
+
+import com.Restaurant.RestaurantOrderManagementSystem.config.IdempotencyProperties;
+import com.Restaurant.RestaurantOrderManagementSystem.idempotency.IdempotencyFilter;
+import com.Restaurant.RestaurantOrderManagementSystem.idempotency.IdempotencyStore;
+import com.Restaurant.RestaurantOrderManagementSystem.idempotency.InMemoryIdempotencyStore;
+import com.Restaurant.RestaurantOrderManagementSystem.idempotency.StoredResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyFilterTest {
+
+    private final IdempotencyProperties properties = new IdempotencyProperties(
+            List.of("/api/orders/create", "/payments/**"), Duration.ofMinutes(10), 100,
+            Duration.ofSeconds(5), DataSize.ofKilobytes(16));
+
+    private final AtomicLong clock = new AtomicLong();
+    private final IdempotencyStore store = new InMemoryIdempotencyStore(properties, clock::get);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final IdempotencyFilter filter = new IdempotencyFilter(store, properties, registry);
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    void duplicateIsReplayedWithoutReExecuting() throws Exception {
+        MockHttpServletResponse first = send("key-1", "{\"customerName\":\"Ravi\"}", 201);
+        MockHttpServletResponse second = send("key-1", "{\"customerName\":\"Ravi\"}", 201);
+
+        assertEquals(1, executions.get());
+        assertEquals(201, second.getStatus());
+        assertEquals(first.getContentAsString(), second.getContentAsString());
+        assertEquals("true", second.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(1, count("miss"));
+        assertEquals(1, count("hit"));
+    }
+
+    @Test
+    void keyReusedForDifferentBodyIsRejected() throws Exception {
+        send("key-2", "{\"customerName\":\"Ravi\"}", 200);
+        MockHttpServletResponse reused = send("key-2", "{\"customerName\":\"Asha\"}", 200);
+
+        assertEquals(422, reused.getStatus());
+        assertEquals(1, executions.get());
+        assertEquals(1, count("mismatch"));
+    }
+
+    @Test
+    void concurrentDuplicateWaitsForTheFirstRequest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() ->
+                send("key-3", "{}", (request, response) -> {
+                    started.countDown();
+                    await(release);
+                    write(response, 200);
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<MockHttpServletResponse> duplicate = CompletableFuture.supplyAsync(() ->
+                send("key-3", "{}", (request, response) -> write(response, 200)));
+        Thread.sleep(100);
+        assertFalse(duplicate.isDone(), "duplicate must wait for the original");
+
+        release.countDown();
+
+        assertEquals(first.get(5, TimeUnit.SECONDS).getContentAsString(),
+                duplicate.get(5, TimeUnit.SECONDS).getContentAsString());
+        assertEquals(1, executions.get());
+        assertEquals(1, count("waited"));
+    }
+
+    @Test
+    void serverErrorIsNotKept() throws Exception {
+        assertEquals(500, send("key-4", "{}", 500).getStatus());
+        assertEquals(200, send("key-4", "{}", 200).getStatus());
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void expiredKeyIsExecutedAgain() throws Exception {
+        send("key-5", "{}", 200);
+        clock.addAndGet(Duration.ofMinutes(11).toNanos());
+        send("key-5", "{}", 200);
+
+        assertEquals(2, executions.get());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void fullStoreDropsOnlyCompletedKeysAndThenRefusesNewOnes() throws Exception {
+        IdempotencyProperties small = new IdempotencyProperties(properties.paths(), properties.ttl(), 2,
+                properties.waitTimeout(), properties.maxBodySize());
+        IdempotencyStore bounded = new InMemoryIdempotencyStore(small, clock::get);
+        IdempotencyFilter boundedFilter = new IdempotencyFilter(bounded, small, new SimpleMeterRegistry());
+
+        IdempotencyStore.Claim running = bounded.claim("running", "a");
+        bounded.complete(bounded.claim("done", "b"), new StoredResponse(200, null, new byte[0]));
+
+        // Room is made by dropping the completed key, never the running one
+        IdempotencyStore.Claim second = bounded.claim("second", "c");
+        assertFalse(bounded.claim("running", "a").owner());
+        assertEquals(2, bounded.size());
+
+        MockHttpServletResponse refused = new MockHttpServletResponse();
+        boundedFilter.doFilter(request("/api/orders/create", "new", "{}"), refused, chain((req, res) -> write(res, 200)));
+
+        assertEquals(503, refused.getStatus());
+        assertEquals(0, executions.get());
+        assertFalse(running.response().isDone());
+        assertFalse(second.response().isDone());
+    }
+
+    @Test
+    void bufferedBodyCanBeReadWithAReadListener() throws Exception {
+        StringBuilder read = new StringBuilder();
+        AtomicInteger allRead = new AtomicInteger();
+
+        send("key-7", "{\"customerName\":\"Ravi\"}", (request, response) -> {
+            ServletInputStream in = request.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (in.isReady() && !in.isFinished()) {
+                        read.append((char) in.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allRead.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    fail(error);
+                }
+            });
+            write(response, 200);
+        });
+
+        assertEquals("{\"customerName\":\"Ravi\"}", read.toString());
+        assertEquals(1, allRead.get());
+    }
+
+    @Test
+    void requestsWithoutKeyOrOnOtherPathsPassThrough() throws Exception {
+        MockHttpServletRequest noKey = request("/api/orders/create", null, "{}");
+        MockHttpServletRequest otherPath = request("/api/branches", "key-6", "{}");
+
+        for (MockHttpServletRequest request : List.of(noKey, noKey, otherPath, otherPath)) {
+            filter.doFilter(request, new MockHttpServletResponse(), chain((req, res) -> write(res, 200)));
+        }
+
+        assertEquals(4, executions.get());
+        assertEquals(0, store.size());
+    }
+
+    private MockHttpServletResponse send(String key, String body, int status) {
+        return send(key, body, (request, response) -> write(response, status));
+    }
+
+    private MockHttpServletResponse send(String key, String body, Handler handler) {
+        try {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request("/api/orders/create", key, body), response, chain(handler));
+            return response;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private MockFilterChain chain(Handler handler) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                handler.handle(request, response);
+            }
+        });
+    }
+
+    private void write(HttpServletResponse response, int status) throws IOException {
+        int execution = executions.incrementAndGet();
+        response.setStatus(status);
+        response.setContentType("application/json");
+        response.getOutputStream().write(("{\"execution\":" + execution + "}").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MockHttpServletRequest request(String path, String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double count(String result) {
+        return registry.get("idempotency.requests").tag("result", result).counter().count();
+    }
+
+    private interface Handler {
+        void handle(HttpServletRequest request, HttpServletResponse response) throws IOException;
+    }
+}
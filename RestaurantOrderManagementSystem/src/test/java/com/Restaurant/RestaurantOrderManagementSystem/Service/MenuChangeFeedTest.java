@@ -0,0 +1,105 @@
+package com.Restaurant.RestaurantOrderManagementSystem.Service;
+
+import com.Restaurant.RestaurantOrderManagementSystem.dto.MenuChanges;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Branch;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.BranchRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.service.MenuService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exercises the menu delta sync feed against the database, including the
+ * in-memory short cut for terminals that are already up to date.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class MenuChangeFeedTest {
+
+    @Autowired
+    private MenuService menuService;
+
+    @Autowired
+    private BranchRepository branchRepo;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private Branch main;
+    private Branch airport;
+    private List<MenuItem> menu;
+
+    @BeforeEach
+    void setUp() {
+        main = branchRepo.save(new Branch(null, "Sync Main", "Delhi", true));
+        airport = branchRepo.save(new Branch(null, "Sync Airport", "Delhi", true));
+        menu = menuService.bulkUpdate(List.of(item("Dal", 120), item("Roti", 20), item("Lassi", 60)));
+    }
+
+    @Test
+    void changes_areCompactedPerItem() {
+        MenuChanges initial = menuService.getMenuChanges(main.getId(), 0);
+        assertTrue(initial.reset());
+        assertEquals(3, initial.upserts().size());
+
+        MenuItem dal = menu.get(0);
+        dal.setPrice(130);
+        menuService.bulkUpdate(List.of(dal));
+        dal.setPrice(140);
+        MenuItem roti = menu.get(1);
+        roti.setAvailable(false);
+        MenuItem lassi = menu.get(2);
+        lassi.setBranch(airport);
+        menuService.bulkUpdate(List.of(dal, roti, lassi));
+
+        MenuChanges changes = menuService.getMenuChanges(main.getId(), initial.version());
+
+        assertFalse(changes.reset());
+        assertEquals(1, changes.upserts().size());
+        assertEquals(140, changes.upserts().get(0).getPrice());
+        assertEquals(List.of(roti.getId(), lassi.getId()), changes.deletions().stream().sorted().toList());
+
+        MenuChanges airportChanges = menuService.getMenuChanges(airport.getId(), initial.version());
+        assertEquals(List.of(lassi.getId()), airportChanges.upserts().stream().map(MenuItem::getId).toList());
+        assertTrue(airportChanges.deletions().isEmpty());
+    }
+
+    @Test
+    void upToDateTerminalCostsNoQuery() {
+        long version = menuService.getMenuChanges(main.getId(), 0).version();
+
+        // A change elsewhere moves the version on without touching this branch
+        menuService.bulkUpdate(List.of(item("Chai", 30, airport)));
+
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        MenuChanges changes = menuService.getMenuChanges(main.getId(), version);
+
+        assertTrue(changes.upserts().isEmpty());
+        assertTrue(changes.deletions().isEmpty());
+        assertTrue(changes.version() > version);
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    private MenuItem item(String name, long price) {
+        return item(name, price, main);
+    }
+
+    private static MenuItem item(String name, long price, Branch branch) {
+        MenuItem item = new MenuItem();
+        item.setName(name);
+        item.setPrice(price);
+        item.setPreparationTimeMinutes(5);
+        item.setAvailable(true);
+        item.setBranch(branch);
+        return item;
+    }
+}
@@ -0,0 +1,162 @@
+package com.Restaurant.RestaurantOrderManagementSystem.Service;
+
+import com.Restaurant.RestaurantOrderManagementSystem.cache.BranchRegistry;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.BranchRegistry.BranchInfo;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.MenuFacetIndex;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Branch;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.Category;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.DietType;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.MenuType;
+import com.Restaurant.RestaurantOrderManagementSystem.event.MenuChangedEvent;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.MenuItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MenuFacetIndexTest {
+
+    @Mock
+    private MenuItemRepository menuRepo;
+
+    @Mock
+    private BranchRegistry branchRegistry;
+
+    private MenuFacetIndex index;
+
+    private Branch main;
+    private MenuItem paneer;
+    private MenuItem chicken;
+    private MenuItem kulfi;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        index = new MenuFacetIndex(menuRepo, branchRegistry);
+        when(branchRegistry.find(anyLong())).thenAnswer(i -> Optional.of(new BranchInfo(i.getArgument(0), "Branch", "Delhi", true)));
+
+        main = new Branch();
+        main.setId(1L);
+
+        paneer = item(10L, main, MenuType.DINNER, DietType.VEG, Category.MAIN_COURSE, true);
+        chicken = item(11L, main, MenuType.DINNER, DietType.NON_VEG, Category.MAIN_COURSE, true);
+        kulfi = item(12L, main, MenuType.LUNCH, DietType.VEG, Category.DESSERT, true);
+
+        when(menuRepo.findByBranchId(1L)).thenReturn(List.of(paneer, chicken, kulfi));
+    }
+
+    @Test
+    void find_combinesAnyFacets() {
+        assertEquals(ids(paneer, chicken, kulfi), ids(index.find(1L, null, null, null)));
+        assertEquals(ids(paneer, chicken), ids(index.find(1L, MenuType.DINNER, null, null)));
+        assertEquals(ids(paneer, kulfi), ids(index.find(1L, null, DietType.VEG, null)));
+        assertEquals(ids(paneer), ids(index.find(1L, MenuType.DINNER, DietType.VEG, Category.MAIN_COURSE)));
+        assertTrue(index.find(1L, MenuType.BREAKFAST, null, null).isEmpty());
+
+        verify(menuRepo, times(1)).findByBranchId(1L);
+    }
+
+    @Test
+    void onMenuChanged_updatesFacetsInPlace() {
+        index.find(1L, null, null, null);
+
+        MenuItem soldOut = item(10L, main, MenuType.DINNER, DietType.VEG, Category.MAIN_COURSE, false);
+        MenuItem vegan = item(11L, main, MenuType.DINNER, DietType.VEGAN, Category.MAIN_COURSE, true);
+        MenuItem added = item(13L, main, MenuType.BREAKFAST, DietType.VEG, Category.APPETIZER, true);
+        index.onMenuChanged(new MenuChangedEvent(List.of(soldOut, vegan, added)));
+
+        assertTrue(index.find(1L, null, DietType.NON_VEG, null).isEmpty());
+        assertEquals(ids(vegan), ids(index.find(1L, MenuType.DINNER, null, null)));
+        assertEquals(ids(added), ids(index.find(1L, MenuType.BREAKFAST, DietType.VEG, null)));
+        verify(menuRepo, times(1)).findByBranchId(1L);
+    }
+
+    @Test
+    void onMenuChanged_movesItemBetweenBranches() {
+        Branch other = new Branch();
+        other.setId(2L);
+        when(menuRepo.findByBranchId(2L)).thenReturn(List.of());
+        index.find(1L, null, null, null);
+        index.find(2L, null, null, null);
+
+        MenuItem moved = item(12L, other, MenuType.LUNCH, DietType.VEG, Category.DESSERT, true);
+        index.onMenuChanged(new MenuChangedEvent(List.of(moved)));
+
+        assertTrue(index.find(1L, MenuType.LUNCH, null, null).isEmpty());
+        assertEquals(ids(moved), ids(index.find(2L, MenuType.LUNCH, null, null)));
+    }
+
+    @Test
+    void find_unknownBranchIsEmptyWithoutLoading() {
+        when(branchRegistry.find(99L)).thenReturn(Optional.empty());
+
+        assertTrue(index.find(99L, null, null, null).isEmpty());
+        assertEquals(MenuFacetIndex.UNKNOWN_BRANCH_VERSION, index.version(99L));
+        verify(menuRepo, never()).findByBranchId(99L);
+    }
+
+    @Test
+    void find_returnsCopiesThatDoNotAliasTheIndex() {
+        index.find(1L, null, null, null);
+
+        // Neither the caller's entity nor a returned item can change the index
+        MenuItem changed = item(13L, main, MenuType.LUNCH, DietType.VEG, Category.DESSERT, true);
+        index.onMenuChanged(new MenuChangedEvent(List.of(changed)));
+        changed.setMenuType(MenuType.BREAKFAST);
+        changed.setName("Renamed");
+        index.find(1L, MenuType.LUNCH, null, null).forEach(item -> item.setPrice(1));
+
+        List<MenuItem> lunch = index.find(1L, MenuType.LUNCH, null, null);
+        assertEquals(List.of(12L, 13L), ids(lunch));
+        assertNotSame(changed, lunch.get(1));
+        assertEquals("Item 13", lunch.get(1).getName());
+        assertEquals(0, lunch.get(0).getPrice());
+        assertTrue(index.find(1L, MenuType.BREAKFAST, null, null).isEmpty());
+    }
+
+    @Test
+    void load_overlappingAChangeIsServedButNotKept() {
+        MenuItem soldOut = item(10L, main, MenuType.DINNER, DietType.VEG, Category.MAIN_COURSE, false);
+        when(menuRepo.findByBranchId(1L))
+                .thenAnswer(i -> {
+                    // Committed after the query read the menu, before the index is stored
+                    index.onMenuChanged(new MenuChangedEvent(List.of(soldOut)));
+                    return List.of(paneer, chicken, kulfi);
+                })
+                .thenReturn(List.of(soldOut, chicken, kulfi));
+
+        assertEquals(ids(paneer, chicken, kulfi), ids(index.find(1L, null, null, null)));
+        assertEquals(ids(chicken, kulfi), ids(index.find(1L, null, null, null)));
+        assertEquals(ids(chicken, kulfi), ids(index.find(1L, null, null, null)));
+        verify(menuRepo, times(2)).findByBranchId(1L);
+    }
+
+    private static List<Long> ids(MenuItem... items) {
+        return Arrays.stream(items).map(MenuItem::getId).toList();
+    }
+
+    private static List<Long> ids(List<MenuItem> items) {
+        return items.stream().map(MenuItem::getId).toList();
+    }
+
+    private static MenuItem item(Long id, Branch branch, MenuType type, DietType diet, Category category,
+                                 boolean available) {
+        MenuItem item = new MenuItem();
+        item.setId(id);
+        item.setName("Item " + id);
+        item.setBranch(branch);
+        item.setMenuType(type);
+        item.setDietType(diet);
+        item.setCategory(category);
+        item.setAvailable(available);
+        return item;
+    }
+}
@@ -0,0 +1,138 @@
+package com.Restaurant.RestaurantOrderManagementSystem.Service;
+
+import com.Restaurant.RestaurantOrderManagementSystem.cache.BranchRegistry;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.CacheInvalidationBus;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.MenuImportResult;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Branch;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
+import com.Restaurant.RestaurantOrderManagementSystem.event.MenuChangedEvent;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.BranchRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.MenuItemRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.MenuItemTombstoneRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.service.impl.MenuChangeTracker;
+import com.Restaurant.RestaurantOrderManagementSystem.service.impl.MenuImportServiceImpl;
+import com.Restaurant.RestaurantOrderManagementSystem.validation.MenuValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MenuImportServiceImplTest {
+
+    @Mock
+    private MenuItemRepository menuRepo;
+
+    @Mock
+    private BranchRepository branchRepo;
+
+    @Mock
+    private MenuItemTombstoneRepository tombstoneRepo;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MenuImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        importService = new MenuImportServiceImpl(menuRepo, branchRepo, new MenuValidator(new BranchRegistry(branchRepo, CacheInvalidationBus.NONE)),
+                new MenuChangeTracker(menuRepo, tombstoneRepo), events,
+                TransactionOperations.withoutTransaction(), objectMapper, 2);
+
+        Branch branch = new Branch(1L, "Main", "Delhi", true);
+        MenuItem pizza = new MenuItem();
+        pizza.setId(10L);
+
+        when(branchRepo.findAllById(any())).thenReturn(List.of(branch));
+        when(menuRepo.findAllById(any())).thenReturn(List.of(pizza));
+    }
+
+    @Test
+    void importMenu_reportsOneResultPerLine() throws Exception {
+        when(menuRepo.saveAll(anyList())).thenAnswer(i -> assignIds(i.getArgument(0)));
+
+        String body = """
+                {"id":10,"name":"Pizza","price":250,"preparationTimeMinutes":15,"branch":{"id":1}}
+                {"name":"Pasta","price":180,"preparationTimeMinutes":12,"branch":{"id":1}}
+
+                {not json
+                {"name":"Soup","price":90,"preparationTimeMinutes":5,"branch":{"id":9}}
+                {"id":77,"name":"Ghost","price":90,"preparationTimeMinutes":5,"branch":{"id":1}}
+                {"name":"Free","price":0,"preparationTimeMinutes":5,"branch":{"id":1}}
+                """;
+
+        List<MenuImportResult> results = importMenu(body);
+
+        assertEquals(6, results.size());
+        assertEquals("UPDATED", results.get(0).status());
+        assertEquals(10L, results.get(0).menuItemId());
+        assertEquals("CREATED", results.get(1).status());
+        assertEquals(4, results.get(2).line());
+        assertEquals("REJECTED", results.get(2).status());
+        assertEquals("Branch not found", results.get(3).error());
+        assertEquals("Menu item not found: 77", results.get(4).error());
+        assertEquals("Price must be greater than zero", results.get(5).error());
+
+        // Six non-blank lines with a chunk size of two: one branch lookup per chunk
+        verify(branchRepo, times(3)).findAllById(any());
+        verify(branchRepo, never()).findById(any());
+        verify(events, times(3)).publishEvent(any(MenuChangedEvent.class));
+    }
+
+    @Test
+    void importMenu_failedChunkRejectsItsItemsOnly() throws Exception {
+        when(menuRepo.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("boom"))
+                .thenAnswer(i -> assignIds(i.getArgument(0)));
+
+        String body = """
+                {"name":"A","price":10,"preparationTimeMinutes":1,"branch":{"id":1}}
+                {"name":"B","price":10,"preparationTimeMinutes":1,"branch":{"id":1}}
+                {"name":"C","price":10,"preparationTimeMinutes":1,"branch":{"id":1}}
+                """;
+
+        List<MenuImportResult> results = importMenu(body);
+
+        assertEquals("REJECTED", results.get(0).status());
+        assertEquals("REJECTED", results.get(1).status());
+        assertEquals("CREATED", results.get(2).status());
+    }
+
+    private List<MenuImportResult> importMenu(String body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        importService.importMenu(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+
+        List<MenuImportResult> results = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readValue(line, MenuImportResult.class));
+        }
+        return results;
+    }
+
+    private static List<MenuItem> assignIds(List<MenuItem> items) {
+        long id = 100;
+        for (MenuItem item : items) {
+            if (item.getId() == null) {
+                item.setId(id++);
+            }
+        }
+        return items;
+    }
+}
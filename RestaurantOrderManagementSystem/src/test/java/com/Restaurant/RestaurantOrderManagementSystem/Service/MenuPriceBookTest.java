@@ -0,0 +1,106 @@
+package com.Restaurant.RestaurantOrderManagementSystem.Service;
+
+import com.Restaurant.RestaurantOrderManagementSystem.cache.MenuPriceBook;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.MenuPriceBook.PriceEntry;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Branch;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
+import com.Restaurant.RestaurantOrderManagementSystem.event.MenuChangedEvent;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.MenuItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MenuPriceBookTest {
+
+    @Mock
+    private MenuItemRepository menuRepo;
+
+    private MenuPriceBook priceBook;
+
+    private MenuItem pizza;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        priceBook = new MenuPriceBook(menuRepo);
+
+        Branch branch = new Branch();
+        branch.setId(1L);
+
+        pizza = new MenuItem();
+        pizza.setId(10L);
+        pizza.setName("Pizza");
+        pizza.setPrice(200);
+        pizza.setAvailable(true);
+        pizza.setBranch(branch);
+    }
+
+    @Test
+    void resolve_loadsBranchSnapshotOnce() {
+        when(menuRepo.findByBranchId(1L)).thenReturn(List.of(pizza));
+
+        priceBook.resolve(1L, List.of(10L));
+        Map<Long, PriceEntry> second = priceBook.resolve(1L, List.of(10L));
+
+        assertEquals(200, second.get(10L).price());
+        verify(menuRepo, times(1)).findByBranchId(1L);
+        verify(menuRepo, never()).findAllById(any());
+    }
+
+    @Test
+    void resolve_missingItemsAreNotReturned() {
+        when(menuRepo.findByBranchId(1L)).thenReturn(List.of(pizza));
+        when(menuRepo.findAllById(List.of(99L))).thenReturn(List.of());
+
+        Map<Long, PriceEntry> resolved = priceBook.resolve(1L, List.of(10L, 99L));
+
+        assertEquals(1, resolved.size());
+        assertFalse(resolved.containsKey(99L));
+    }
+
+    @Test
+    void resolve_itemOfAnotherBranchIsNotReturned() {
+        Branch other = new Branch();
+        other.setId(2L);
+        MenuItem burger = new MenuItem();
+        burger.setId(20L);
+        burger.setName("Burger");
+        burger.setPrice(150);
+        burger.setAvailable(true);
+        burger.setBranch(other);
+        when(menuRepo.findByBranchId(1L)).thenReturn(List.of(pizza));
+        when(menuRepo.findAllById(List.of(20L))).thenReturn(List.of(burger));
+
+        Map<Long, PriceEntry> resolved = priceBook.resolve(1L, List.of(10L, 20L));
+
+        assertEquals(Map.of(10L, resolved.get(10L)), resolved);
+        assertFalse(priceBook.resolve(1L, List.of(20L)).containsKey(20L));
+    }
+
+    @Test
+    void onMenuChanged_refreshesSnapshot() {
+        when(menuRepo.findByBranchId(1L)).thenReturn(List.of(pizza));
+        priceBook.resolve(1L, List.of(10L));
+
+        MenuItem repriced = new MenuItem();
+        repriced.setId(10L);
+        repriced.setName("Pizza");
+        repriced.setPrice(250);
+        repriced.setAvailable(false);
+        repriced.setBranch(pizza.getBranch());
+
+        priceBook.onMenuChanged(new MenuChangedEvent(List.of(repriced)));
+
+        PriceEntry entry = priceBook.resolve(1L, List.of(10L)).get(10L);
+        assertEquals(250, entry.price());
+        assertFalse(entry.available());
+        verify(menuRepo, times(1)).findByBranchId(1L);
+    }
+}
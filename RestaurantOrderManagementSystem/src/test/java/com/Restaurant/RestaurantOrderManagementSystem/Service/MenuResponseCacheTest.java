@@ -0,0 +1,134 @@
+package com.Restaurant.RestaurantOrderManagementSystem.Service;
+
+import com.Restaurant.RestaurantOrderManagementSystem.cache.BranchRegistry;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.MenuFacetIndex;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.MenuResponseCache;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.MenuResponseCache.CachedMenu;
+import com.Restaurant.RestaurantOrderManagementSystem.contoller.MenuController;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Branch;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.MenuType;
+import com.Restaurant.RestaurantOrderManagementSystem.event.MenuChangedEvent;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.MenuItemRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.service.MenuImportService;
+import com.Restaurant.RestaurantOrderManagementSystem.service.impl.MenuServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+class MenuResponseCacheTest {
+
+    @Mock
+    private MenuItemRepository menuRepo;
+
+    private MenuFacetIndex index;
+    private MenuResponseCache cache;
+    private MockMvc mvc;
+
+    private Branch branch;
+    private List<MenuItem> menu;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        BranchRegistry branchRegistry = mock(BranchRegistry.class);
+        when(branchRegistry.find(1L)).thenReturn(Optional.of(new BranchRegistry.BranchInfo(1L, "Main", "Delhi", true)));
+        index = new MenuFacetIndex(menuRepo, branchRegistry);
+        cache = new MenuResponseCache(index, new ObjectMapper());
+        mvc = MockMvcBuilders.standaloneSetup(new MenuController(mock(MenuServiceImpl.class), mock(MenuImportService.class), cache)).build();
+
+        branch = new Branch(1L, "Main", "Delhi", true);
+        menu = new ArrayList<>(IntStream.range(0, 30).mapToObj(i -> item(10L + i, 100 + i)).toList());
+        when(menuRepo.findByBranchId(1L)).thenReturn(menu);
+    }
+
+    @Test
+    void get_reusesEncodedBytesUntilMenuChanges() {
+        CachedMenu first = cache.get(1L, MenuType.DINNER, null, null);
+        CachedMenu second = cache.get(1L, MenuType.DINNER, null, null);
+
+        assertSame(first.json(), second.json());
+        assertNotNull(first.gzip());
+
+        index.onMenuChanged(new MenuChangedEvent(List.of(item(10L, 999))));
+        CachedMenu changed = cache.get(1L, MenuType.DINNER, null, null);
+
+        assertNotEquals(first.etag(), changed.etag());
+        assertTrue(new String(changed.json()).contains("999"));
+        verify(menuRepo, times(1)).findByBranchId(1L);
+    }
+
+    @Test
+    void get_unknownBranchIsEmptyAndNotCached() {
+        CachedMenu first = cache.get(99L, null, null, null);
+        CachedMenu second = cache.get(99L, null, null, null);
+
+        assertEquals("[]", new String(first.json()));
+        assertNotSame(first, second);
+        verify(menuRepo, never()).findByBranchId(99L);
+    }
+
+    @Test
+    void branchMenu_answers304ForCurrentETag() throws Exception {
+        MockHttpServletResponse first = mvc.perform(get("/api/menus/branch/1")).andReturn().getResponse();
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        assertEquals(200, first.getStatus());
+        assertNotNull(etag);
+
+        MockHttpServletResponse revalidated = mvc.perform(get("/api/menus/branch/1")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn().getResponse();
+        assertEquals(304, revalidated.getStatus());
+        assertEquals(0, revalidated.getContentAsByteArray().length);
+
+        index.onMenuChanged(new MenuChangedEvent(List.of(item(11L, 500))));
+        MockHttpServletResponse stale = mvc.perform(get("/api/menus/branch/1")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn().getResponse();
+        assertEquals(200, stale.getStatus());
+    }
+
+    @Test
+    void filter_servesGzipWhenAccepted() throws Exception {
+        MockHttpServletResponse plain = mvc.perform(get("/api/menus/filter").param("branchId", "1"))
+                .andReturn().getResponse();
+        MockHttpServletResponse gzipped = mvc.perform(get("/api/menus/filter").param("branchId", "1")
+                .header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8")).andReturn().getResponse();
+
+        assertNull(plain.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("gzip", gzipped.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(plain.getHeader(HttpHeaders.ETAG), gzipped.getHeader(HttpHeaders.ETAG));
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getContentAsByteArray()))) {
+            assertArrayEquals(plain.getContentAsByteArray(), in.readAllBytes());
+        }
+    }
+
+    private MenuItem item(Long id, long price) {
+        MenuItem item = new MenuItem();
+        item.setId(id);
+        item.setName("Item " + id);
+        item.setDescription("Slow cooked house special number " + id);
+        item.setPrice(price);
+        item.setMenuType(MenuType.DINNER);
+        item.setAvailable(true);
+        item.setBranch(branch);
+        return item;
+    }
+}
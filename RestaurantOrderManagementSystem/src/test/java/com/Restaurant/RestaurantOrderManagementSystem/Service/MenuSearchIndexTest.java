@@ -0,0 +1,138 @@
+package com.Restaurant.RestaurantOrderManagementSystem.Service;
+
+import com.Restaurant.RestaurantOrderManagementSystem.cache.BranchRegistry;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.BranchRegistry.BranchInfo;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.MenuSearchIndex;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Branch;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
+import com.Restaurant.RestaurantOrderManagementSystem.event.MenuChangedEvent;
+import com.Restaurant.RestaurantOrderManagementSystem.exception.MenuException;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.MenuItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MenuSearchIndexTest {
+
+    @Mock
+    private MenuItemRepository menuRepo;
+
+    @Mock
+    private BranchRegistry branchRegistry;
+
+    private MenuSearchIndex index;
+
+    private Branch branch;
+    private MenuItem paneerTikka;
+    private MenuItem butterPaneer;
+    private MenuItem chickenTikka;
+    private MenuItem creme;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        index = new MenuSearchIndex(menuRepo, branchRegistry);
+        when(branchRegistry.find(1L)).thenReturn(Optional.of(new BranchInfo(1L, "Main", "Delhi", true)));
+
+        branch = new Branch();
+        branch.setId(1L);
+
+        paneerTikka = item(10L, "Paneer Tikka", "Char-grilled cottage cheese");
+        butterPaneer = item(11L, "Butter Masala", "Paneer in a rich tomato gravy");
+        chickenTikka = item(12L, "Chicken Tikka", "Smoky tandoori chicken");
+        creme = item(13L, "Crème Brûlée", "Vanilla custard");
+
+        when(menuRepo.findByBranchId(1L)).thenReturn(List.of(paneerTikka, butterPaneer, chickenTikka, creme));
+    }
+
+    @Test
+    void search_ranksNameMatchesAboveDescriptionMatches() {
+        assertEquals(ids(List.of(paneerTikka, butterPaneer)), ids(index.search(1L, "paneer", 10)));
+        assertEquals(ids(List.of(paneerTikka)), ids(index.search(1L, "paneer tikka", 10)));
+        verify(menuRepo, times(1)).findByBranchId(1L);
+    }
+
+    @Test
+    void search_completesLastWordAndToleratesTypos() {
+        assertEquals(ids(List.of(chickenTikka)), ids(index.search(1L, "chick", 10)));
+        // Equally good matches are ordered by name
+        assertEquals(ids(List.of(chickenTikka, paneerTikka)), ids(index.search(1L, "tika", 10)));
+        assertEquals(ids(List.of(chickenTikka)), ids(index.search(1L, "chiken tandori", 10)));
+        assertEquals(ids(List.of(creme)), ids(index.search(1L, "CREME brulee", 10)));
+        assertTrue(index.search(1L, "pizza", 10).isEmpty());
+        assertTrue(index.search(1L, "  ", 10).isEmpty());
+    }
+
+    @Test
+    void onMenuChanged_reindexesItems() {
+        index.search(1L, "paneer", 10);
+
+        MenuItem renamed = item(10L, "Malai Tikka", "Creamy chicken");
+        MenuItem soldOut = item(12L, "Chicken Tikka", "Smoky tandoori chicken");
+        soldOut.setAvailable(false);
+        index.onMenuChanged(new MenuChangedEvent(List.of(renamed, soldOut)));
+
+        assertEquals(ids(List.of(butterPaneer)), ids(index.search(1L, "paneer", 10)));
+        assertEquals(ids(List.of(renamed)), ids(index.search(1L, "chicken", 10)));
+        assertEquals(ids(List.of(renamed)), ids(index.search(1L, "mal", 10)));
+        verify(menuRepo, times(1)).findByBranchId(1L);
+    }
+
+    @Test
+    void search_returnsCopiesThatDoNotLeakIntoTheIndex() {
+        MenuItem found = index.search(1L, "paneer tikka", 10).get(0);
+        assertNotSame(paneerTikka, found);
+        assertEquals("Paneer Tikka", found.getName());
+
+        found.setName("Changed");
+        paneerTikka.setAvailable(false);
+
+        assertEquals("Paneer Tikka", index.search(1L, "paneer tikka", 10).get(0).getName());
+    }
+
+    @Test
+    void search_unknownBranchIsRejectedWithoutLoading() {
+        when(branchRegistry.find(99L)).thenReturn(Optional.empty());
+
+        assertThrows(MenuException.class, () -> index.search(99L, "paneer", 10));
+        verify(menuRepo, never()).findByBranchId(99L);
+    }
+
+    @Test
+    void load_overlappingAChangeIsServedButNotKept() {
+        MenuItem renamed = item(10L, "Malai Tikka", "Creamy chicken");
+        when(menuRepo.findByBranchId(1L))
+                .thenAnswer(i -> {
+                    // Committed after the query read the menu, before the index is stored
+                    index.onMenuChanged(new MenuChangedEvent(List.of(renamed)));
+                    return List.of(paneerTikka, butterPaneer, chickenTikka, creme);
+                })
+                .thenReturn(List.of(renamed, butterPaneer, chickenTikka, creme));
+
+        assertEquals(ids(List.of(paneerTikka)), ids(index.search(1L, "paneer tikka", 10)));
+        assertTrue(index.search(1L, "paneer tikka", 10).isEmpty());
+        assertEquals(ids(List.of(renamed)), ids(index.search(1L, "malai", 10)));
+        verify(menuRepo, times(2)).findByBranchId(1L);
+    }
+
+    private static List<Long> ids(List<MenuItem> items) {
+        return items.stream().map(MenuItem::getId).toList();
+    }
+
+    private MenuItem item(Long id, String name, String description) {
+        MenuItem item = new MenuItem();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(true);
+        item.setBranch(branch);
+        return item;
+    }
+}
@@ -1,14 +1,20 @@
 package com.Restaurant.RestaurantOrderManagementSystem.Service;
 
+import com.Restaurant.RestaurantOrderManagementSystem.cache.BranchRegistry;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.MenuFacetIndex;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.MenuSearchIndex;
 import com.Restaurant.RestaurantOrderManagementSystem.entities.Branch;
 import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
 import com.Restaurant.RestaurantOrderManagementSystem.enums.Category;
 import com.Restaurant.RestaurantOrderManagementSystem.enums.DietType;
 import com.Restaurant.RestaurantOrderManagementSystem.enums.MenuType;
+import com.Restaurant.RestaurantOrderManagementSystem.event.MenuChangedEvent;
 import com.Restaurant.RestaurantOrderManagementSystem.exception.BusinessException;
 import com.Restaurant.RestaurantOrderManagementSystem.exception.MenuException;
 import com.Restaurant.RestaurantOrderManagementSystem.repository.ComboMealRepository;
 import com.Restaurant.RestaurantOrderManagementSystem.repository.MenuItemRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.MenuItemTombstoneRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.service.impl.MenuChangeTracker;
 import com.Restaurant.RestaurantOrderManagementSystem.service.impl.MenuServiceImpl;
 import com.Restaurant.RestaurantOrderManagementSystem.validation.MenuTimeValidator;
 import com.Restaurant.RestaurantOrderManagementSystem.validation.MenuValidator;
@@ -16,8 +22,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -34,13 +42,27 @@ class MenuServiceImplTest {
     @Mock
     private MenuValidator menuValidator;
 
-    @InjectMocks
+    @Mock
+    private MenuItemTombstoneRepository tombstoneRepo;
+
+    @Mock
+    private MenuTimeValidator menuTimeValidator;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
     private MenuServiceImpl menuService;
 
     private MenuItem item;
 
     @BeforeEach
     void setup() {
+        BranchRegistry branchRegistry = mock(BranchRegistry.class);
+        lenient().when(branchRegistry.find(1L)).thenReturn(Optional.of(new BranchRegistry.BranchInfo(1L, "Main", "Delhi", true)));
+        menuService = new MenuServiceImpl(menuRepo, comboRepo, menuValidator, menuTimeValidator, events,
+                new MenuFacetIndex(menuRepo, branchRegistry), new MenuSearchIndex(menuRepo, branchRegistry),
+                new MenuChangeTracker(menuRepo, tombstoneRepo), tombstoneRepo);
+
         Branch branch = new Branch();
         branch.setId(1L);
 
@@ -58,28 +80,25 @@ class MenuServiceImplTest {
 
     @Test
     void addItem_success() {
-        try (MockedStatic<MenuTimeValidator> mocked = mockStatic(MenuTimeValidator.class)) {
-            mocked.when(() -> MenuTimeValidator.isMenuAvailable(any())).thenReturn(true);
-            when(menuRepo.save(item)).thenReturn(item);
+        when(menuTimeValidator.isMenuAvailable(1L, MenuType.DINNER)).thenReturn(true);
+        when(menuRepo.save(item)).thenReturn(item);
 
-            MenuItem saved = menuService.addItem(item);
+        MenuItem saved = menuService.addItem(item);
 
-            verify(menuValidator).validateMenuItem(item);
-            verify(menuRepo).save(item);
-            assertEquals(item, saved);
-        }
+        verify(menuValidator).validateMenuItem(item);
+        verify(menuRepo).save(item);
+        verify(events).publishEvent(any(MenuChangedEvent.class));
+        assertEquals(item, saved);
     }
 
     @Test
     void addItem_menuNotAvailable() {
-        try (MockedStatic<MenuTimeValidator> mocked = mockStatic(MenuTimeValidator.class)) {
-            mocked.when(() -> MenuTimeValidator.isMenuAvailable(any())).thenReturn(false);
+        when(menuTimeValidator.isMenuAvailable(1L, MenuType.DINNER)).thenReturn(false);
 
-            assertThrows(BusinessException.class, () -> menuService.addItem(item));
+        assertThrows(BusinessException.class, () -> menuService.addItem(item));
 
-            verify(menuValidator).validateMenuItem(item);
-            verify(menuRepo, never()).save(any());
-        }
+        verify(menuValidator).validateMenuItem(item);
+        verify(menuRepo, never()).save(any());
     }
 
     // ---------- getMenuByBranch ----------
@@ -87,6 +106,8 @@ class MenuServiceImplTest {
     @Test
     void getMenuByBranch_filtersAvailableOnly() {
         MenuItem unavailable = new MenuItem();
+        unavailable.setId(11L);
+        unavailable.setMenuType(MenuType.DINNER);
         unavailable.setAvailable(false);
 
         when(menuRepo.findByBranchId(1L)).thenReturn(List.of(item, unavailable));
@@ -106,8 +127,9 @@ class MenuServiceImplTest {
 
         List<MenuItem> result = menuService.bulkUpdate(items);
 
-        verify(menuValidator).validateMenuItem(item);
+        verify(menuValidator).validateMenuItems(items);
         verify(menuRepo).saveAll(items);
+        verify(events).publishEvent(any(MenuChangedEvent.class));
         assertEquals(1, result.size());
     }
 
@@ -116,9 +138,11 @@ class MenuServiceImplTest {
     @Test
     void getMenuByType_filtersAvailable() {
         MenuItem unavailable = new MenuItem();
+        unavailable.setId(11L);
+        unavailable.setMenuType(MenuType.DINNER);
         unavailable.setAvailable(false);
 
-        when(menuRepo.findByBranchIdAndMenuType(1L, MenuType.DINNER))
+        when(menuRepo.findByBranchId(1L))
                 .thenReturn(List.of(item, unavailable));
 
         List<MenuItem> result = menuService.getMenuByType(1L, MenuType.DINNER);
@@ -131,7 +155,7 @@ class MenuServiceImplTest {
 
     @Test
     void getMenuByTypeAndDietType_success() {
-        when(menuRepo.findByBranchIdAndMenuType(1L, MenuType.DINNER))
+        when(menuRepo.findByBranchId(1L))
                 .thenReturn(List.of(item));
 
         List<MenuItem> result =
@@ -150,7 +174,7 @@ class MenuServiceImplTest {
 
     @Test
     void getMenuByTypeAndCategory_success() {
-        when(menuRepo.findByBranchIdAndMenuType(1L, MenuType.DINNER))
+        when(menuRepo.findByBranchId(1L))
                 .thenReturn(List.of(item));
 
         List<MenuItem> result =
@@ -169,7 +193,7 @@ class MenuServiceImplTest {
 
     @Test
     void getMenuByTypeAndDietTypeAndCategory_success() {
-        when(menuRepo.findByBranchIdAndMenuType(1L, MenuType.DINNER))
+        when(menuRepo.findByBranchId(1L))
                 .thenReturn(List.of(item));
 
         List<MenuItem> result =
@@ -185,5 +209,19 @@ class MenuServiceImplTest {
                 () -> menuService.getMenuByTypeAndDietTypeAndCategory(
                         1L, MenuType.DINNER, null, null));
     }
-}
 
+    // ---------- filterMenu ----------
+
+    @Test
+    void filterMenu_servedFromIndexAfterFirstLoad() {
+        when(menuRepo.findByBranchId(1L)).thenReturn(List.of(item));
+
+        menuService.filterMenu(1L, MenuType.DINNER, null, null);
+        List<MenuItem> result = menuService.filterMenu(1L, null, DietType.VEG, Category.MAIN_COURSE);
+
+        assertEquals(1, result.size());
+        assertEquals(item.getId(), result.get(0).getId());
+        verify(menuRepo, times(1)).findByBranchId(1L);
+        verify(menuRepo, never()).findByBranchIdAndMenuType(any(), any());
+    }
+}
@@ -0,0 +1,84 @@
+package com.Restaurant.RestaurantOrderManagementSystem.Service;
+
+import com.Restaurant.RestaurantOrderManagementSystem.config.MenuScheduleProperties;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.MenuType;
+import com.Restaurant.RestaurantOrderManagementSystem.validation.MenuTimeValidator;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MenuTimeValidatorTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    private final MenuScheduleProperties properties = new MenuScheduleProperties(ZoneOffset.UTC, Map.of(),
+            Map.of(7L, new MenuScheduleProperties.Branch(ZoneId.of("Asia/Kolkata"),
+                    Map.of(MenuType.DINNER, "18:00-01:00"))));
+
+    @Test
+    void windowsIncludeStartAndExcludeEnd() {
+        MenuTimeValidator validator = validatorAt("2026-03-02T11:00:00Z");
+
+        assertFalse(validator.isMenuAvailable(1L, MenuType.BREAKFAST));
+        assertTrue(validator.isMenuAvailable(1L, MenuType.LUNCH));
+
+        clock.now = Instant.parse("2026-03-02T10:59:59Z");
+        validator.refresh();
+        assertTrue(validator.isMenuAvailable(1L, MenuType.BREAKFAST));
+        assertFalse(validator.isMenuAvailable(1L, MenuType.LUNCH));
+    }
+
+    @Test
+    void activeMenusOnlyChangeOnRefresh() {
+        MenuTimeValidator validator = validatorAt("2026-03-02T21:59:00Z");
+        assertTrue(validator.isMenuAvailable(1L, MenuType.DINNER));
+
+        clock.now = Instant.parse("2026-03-02T22:00:00Z");
+        assertTrue(validator.isMenuAvailable(1L, MenuType.DINNER));
+
+        validator.refresh();
+        assertFalse(validator.isMenuAvailable(1L, MenuType.DINNER));
+    }
+
+    @Test
+    void branchUsesItsOwnZoneAndWindows() {
+        // 19:00 UTC is 00:30 the next day in Kolkata, inside the branch's late dinner window
+        MenuTimeValidator validator = validatorAt("2026-03-02T19:00:00Z");
+
+        assertTrue(validator.isMenuAvailable(7L, MenuType.DINNER));
+        assertTrue(validator.isMenuAvailable(1L, MenuType.DINNER));
+        assertFalse(validator.isMenuAvailable(7L, MenuType.BREAKFAST));
+        assertFalse(validator.isMenuAvailable(7L, null));
+    }
+
+    private MenuTimeValidator validatorAt(String instant) {
+        clock.now = Instant.parse(instant);
+        return new MenuTimeValidator(properties, clock);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.EPOCH;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.Restaurant.RestaurantOrderManagementSystem.Service;
+
+import com.Restaurant.RestaurantOrderManagementSystem.money.Money;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void tax_roundsHalfUpToTheNearestPaisa() {
+        // 18% of 5 paise is 0.9, of 25 paise is 4.5, of 24 paise is 4.32
+        assertEquals(1, Money.tax(5));
+        assertEquals(5, Money.tax(25));
+        assertEquals(4, Money.tax(24));
+        assertEquals(3_600, Money.tax(20_000));
+    }
+
+    @Test
+    void percentOf_roundsNegativeAmountsAwayFromZero() {
+        assertEquals(-5, Money.percentOf(-25, Money.TAX_BASIS_POINTS));
+        assertEquals(-Money.tax(12_345), Money.percentOf(-12_345, Money.TAX_BASIS_POINTS));
+    }
+
+    @Test
+    void arithmetic_throwsOnOverflow() {
+        assertThrows(ArithmeticException.class, () -> Money.times(Long.MAX_VALUE / 2, 3));
+        assertThrows(ArithmeticException.class, () -> Money.plus(Long.MAX_VALUE, 1));
+        assertThrows(ArithmeticException.class, () -> Money.minus(Long.MIN_VALUE, 1));
+        assertThrows(ArithmeticException.class, () -> Money.tax(Long.MAX_VALUE / 100));
+    }
+
+    @Test
+    void format_printsMajorUnitsWithTwoDecimals() {
+        assertEquals("492.00", Money.format(49_200));
+        assertEquals("0.05", Money.format(5));
+        assertEquals("-12.30", Money.format(-1_230));
+    }
+}
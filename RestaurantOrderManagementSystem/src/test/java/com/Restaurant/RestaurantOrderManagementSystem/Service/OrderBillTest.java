@@ -0,0 +1,88 @@
+package com.Restaurant.RestaurantOrderManagementSystem.Service;
+
+import com.Restaurant.RestaurantOrderManagementSystem.dto.Bill;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Branch;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Order;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.PricingRule;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.PricingRuleType;
+import com.Restaurant.RestaurantOrderManagementSystem.exception.BusinessException;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.BranchRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.MenuItemRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.service.OrderService;
+import com.Restaurant.RestaurantOrderManagementSystem.service.PaymentService;
+import com.Restaurant.RestaurantOrderManagementSystem.service.PricingRuleService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that a bill is read with one statement from the amounts captured
+ * when the order was placed, whatever happens to the menu afterwards.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderBillTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PricingRuleService pricingRuleService;
+
+    @Autowired
+    private BranchRepository branchRepo;
+
+    @Autowired
+    private MenuItemRepository menuRepo;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Test
+    void getBill_isOneStatementAndIgnoresLaterRepricing() {
+        Long branchId = branchRepo.save(new Branch(null, "Bill Branch", "Delhi", true)).getId();
+
+        MenuItem pizza = new MenuItem();
+        pizza.setName("Pizza");
+        pizza.setPrice(100);
+        pizza.setPreparationTimeMinutes(10);
+        pizza.setAvailable(true);
+        pizza.setBranch(branchRepo.findById(branchId).orElseThrow());
+        pizza = menuRepo.save(pizza);
+
+        pricingRuleService.createRule(
+                new PricingRule(null, branchId, PricingRuleType.DELIVERY_FEE, null, null, 0, 20, 0));
+
+        Order order = orderService.createOrder(branchId, "Ravi", Map.of(pizza.getId(), 2), Map.of(), 1_000);
+
+        pizza.setPrice(150);
+        menuRepo.save(pizza);
+
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Bill bill = paymentService.getBill(order.getId());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(200, bill.itemsTotal());
+        assertEquals(36, bill.tax());
+        assertEquals(20, bill.deliveryCharge());
+        assertEquals(256, bill.grandTotal());
+    }
+
+    @Test
+    void createRule_rejectsUnknownBranch() {
+        assertThrows(BusinessException.class, () -> pricingRuleService.createRule(
+                new PricingRule(null, 987_654L, PricingRuleType.DELIVERY_FEE, null, null, 0, 20, 0)));
+    }
+}
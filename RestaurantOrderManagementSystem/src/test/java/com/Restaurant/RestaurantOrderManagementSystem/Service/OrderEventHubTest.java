@@ -0,0 +1,258 @@
+package com.Restaurant.RestaurantOrderManagementSystem.Service;
+
+import com.Restaurant.RestaurantOrderManagementSystem.enums.OrderStatus;
+import com.Restaurant.RestaurantOrderManagementSystem.event.OrderLifecycleEvent;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.OrderRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.stream.OrderEventHub;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OrderEventHubTest {
+
+    @Mock
+    private OrderRepository orderRepo;
+
+    private final List<Runnable> pending = new ArrayList<>();
+    private boolean sendImmediately = true;
+
+    private OrderEventHub hub;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        hub = new OrderEventHub(orderRepo, task -> {
+            if (sendImmediately) {
+                task.run();
+            } else {
+                pending.add(task);
+            }
+        });
+    }
+
+    @Test
+    void publish_reachesOnlyTheBranchSubscribers() {
+        RecordingEmitter branch1 = subscribe(1L, null);
+        RecordingEmitter branch2 = subscribe(2L, null);
+
+        hub.onOrderEvent(OrderLifecycleEvent.created(10L, 1L, OrderStatus.CREATED, 0));
+
+        assertEquals(List.of("order-created"), branch1.names());
+        assertTrue(branch2.events.isEmpty());
+    }
+
+    @Test
+    void statusChange_usesTheBranchOfAKnownOrderWithoutALookup() {
+        RecordingEmitter display = subscribe(1L, null);
+        hub.onOrderEvent(OrderLifecycleEvent.created(10L, 1L, OrderStatus.CREATED, 0));
+
+        hub.onOrderEvent(OrderLifecycleEvent.statusChanged(10L, null, OrderStatus.ACCEPTED, null));
+
+        assertEquals(List.of("order-created", "order-status"), display.names());
+        verifyNoInteractions(orderRepo);
+    }
+
+    @Test
+    void statusChange_looksUpTheBranchOfAnUnknownOrderOnce() {
+        when(orderRepo.findBranchIdById(20L)).thenReturn(Optional.of(1L));
+        RecordingEmitter display = subscribe(1L, null);
+
+        hub.onOrderEvent(OrderLifecycleEvent.statusChanged(20L, null, OrderStatus.ACCEPTED, null));
+        hub.onOrderEvent(OrderLifecycleEvent.statusChanged(20L, null, OrderStatus.PREPARING, null));
+
+        assertEquals(2, display.events.size());
+        verify(orderRepo, times(1)).findBranchIdById(20L);
+    }
+
+    @Test
+    void resume_replaysOnlyWhatWasMissed() {
+        RecordingEmitter first = subscribe(1L, null);
+        hub.onOrderEvent(OrderLifecycleEvent.created(10L, 1L, OrderStatus.CREATED, 0));
+        hub.onOrderEvent(OrderLifecycleEvent.created(11L, 1L, OrderStatus.CREATED, 0));
+        hub.onOrderEvent(OrderLifecycleEvent.created(12L, 2L, OrderStatus.CREATED, 0));
+        hub.onOrderEvent(OrderLifecycleEvent.created(13L, 1L, OrderStatus.CREATED, 0));
+
+        String lastSeen = first.ids().get(0);
+        RecordingEmitter resumed = subscribe(1L, lastSeen);
+
+        assertEquals(first.ids().subList(1, 3), resumed.ids());
+    }
+
+    @Test
+    void resume_fromUnknownOrEvictedIdGetsAReset() {
+        RecordingEmitter first = subscribe(1L, null);
+        hub.onOrderEvent(OrderLifecycleEvent.created(1L, 1L, OrderStatus.CREATED, 0));
+        String oldest = first.ids().get(0);
+        for (long id = 2; id <= 200; id++) {
+            hub.onOrderEvent(OrderLifecycleEvent.created(id, 1L, OrderStatus.CREATED, 0));
+        }
+
+        assertEquals(List.of("reset"), subscribe(1L, oldest).names());
+        assertEquals(List.of("reset"), subscribe(1L, "12345-1").names());
+        assertEquals(List.of("reset"), subscribe(1L, "garbage").names());
+    }
+
+    @Test
+    void slowSubscriber_isDroppedAndCanReconnect() {
+        sendImmediately = false;
+        RecordingEmitter slow = subscribe(1L, null);
+
+        for (long id = 1; id <= 300; id++) {
+            hub.onOrderEvent(OrderLifecycleEvent.created(id, 1L, OrderStatus.CREATED, 0));
+        }
+
+        assertTrue(slow.completed);
+        assertEquals(0, hub.subscriberCount(1L));
+
+        sendImmediately = true;
+        RecordingEmitter fresh = subscribe(1L, null);
+        hub.onOrderEvent(OrderLifecycleEvent.created(301L, 1L, OrderStatus.CREATED, 0));
+        assertEquals(1, fresh.events.size());
+    }
+
+    @Test
+    void stalledSend_isInterruptedAndTheSubscriberDropped() throws Exception {
+        OrderEventHub threaded = new OrderEventHub(orderRepo, task -> {
+            Thread thread = new Thread(task);
+            thread.setDaemon(true);
+            thread.start();
+        }, Duration.ZERO);
+        StalledEmitter stalled = new StalledEmitter();
+        threaded.subscribe(1L, null, stalled);
+
+        threaded.onOrderEvent(OrderLifecycleEvent.created(10L, 1L, OrderStatus.CREATED, 0));
+        assertTrue(stalled.sending.await(5, TimeUnit.SECONDS));
+
+        assertEquals(1, threaded.dropStalledSubscribers());
+
+        assertTrue(stalled.completed.await(5, TimeUnit.SECONDS));
+        assertTrue(stalled.interrupted);
+        assertEquals(0, threaded.subscriberCount(1L));
+        assertEquals(0, threaded.dropStalledSubscribers());
+    }
+
+    @Test
+    void idleSubscriber_isNotTakenForStalled() {
+        RecordingEmitter display = subscribe(1L, null);
+        hub.onOrderEvent(OrderLifecycleEvent.created(10L, 1L, OrderStatus.CREATED, 0));
+
+        assertEquals(0, new OrderEventHub(orderRepo, Runnable::run, Duration.ZERO).dropStalledSubscribers());
+        assertEquals(0, hub.dropStalledSubscribers());
+        assertFalse(display.completed);
+    }
+
+    @Test
+    void longBacklog_isSentInTurnsAndInOrder() {
+        sendImmediately = false;
+        RecordingEmitter display = subscribe(1L, null);
+        for (long id = 1; id <= 100; id++) {
+            hub.onOrderEvent(OrderLifecycleEvent.created(id, 1L, OrderStatus.CREATED, 0));
+        }
+
+        // Each turn writes a batch and queues the next turn behind the other subscribers
+        int turns = 0;
+        while (!pending.isEmpty()) {
+            pending.remove(0).run();
+            turns++;
+        }
+
+        assertTrue(turns > 1);
+        List<String> ids = display.ids();
+        assertEquals(100, ids.size());
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(sequence(ids.get(i - 1)) < sequence(ids.get(i)));
+        }
+    }
+
+    private static long sequence(String eventId) {
+        return Long.parseLong(eventId.substring(eventId.indexOf('-') + 1));
+    }
+
+    private RecordingEmitter subscribe(Long branchId, String lastEventId) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        hub.subscribe(branchId, lastEventId, emitter);
+        return emitter;
+    }
+
+    /**
+     * Blocks in its first send, like a client that stopped reading, until the sender is interrupted.
+     */
+    private static final class StalledEmitter extends SseEmitter {
+
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile boolean interrupted;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                new CountDownLatch(1).await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted = true;
+                throw new IOException("Write interrupted", e);
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+
+    /**
+     * Captures the raw text of each event instead of writing it to a response.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new ArrayList<>();
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            events.add(builder.build().stream()
+                    .map(DataWithMediaType::getData)
+                    .map(String::valueOf)
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+
+        List<String> names() {
+            return field("event:");
+        }
+
+        List<String> ids() {
+            return field("id:");
+        }
+
+        private List<String> field(String prefix) {
+            List<String> values = new ArrayList<>();
+            for (String event : events) {
+                for (String line : event.split("\n")) {
+                    if (line.startsWith(prefix)) {
+                        values.add(line.substring(prefix.length()));
+                    }
+                }
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.Restaurant.RestaurantOrderManagementSystem.Service;
+
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Branch;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.BranchRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.MenuItemRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.service.OrderService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the JDBC statements issued by createOrder to make sure that
+ * persisting an order costs the same number of statements regardless
+ * of how many lines it has.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderInsertBatchingTest {
+
+    private static final int LINES = 20;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private BranchRepository branchRepo;
+
+    @Autowired
+    private MenuItemRepository menuRepo;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private Statistics statistics;
+    private Long branchId;
+    private List<MenuItem> menu;
+
+    @BeforeEach
+    void setUp() {
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+        branchId = branchRepo.save(new Branch(null, "Batching Branch", "Delhi", true)).getId();
+
+        Branch branch = new Branch();
+        branch.setId(branchId);
+        menu = menuRepo.saveAll(IntStream.range(0, LINES)
+                .mapToObj(i -> {
+                    MenuItem item = new MenuItem();
+                    item.setName("Item " + i);
+                    item.setPrice(100 + i);
+                    item.setPreparationTimeMinutes(10);
+                    item.setAvailable(true);
+                    item.setBranch(branch);
+                    return item;
+                })
+                .toList());
+    }
+
+    @Test
+    void createOrder_statementCountDoesNotGrowWithLines() {
+        // Warm up the price book and the id pools so neither is counted below.
+        // The pooled optimizer hits each sequence twice on first use, hence two orders.
+        orderService.createOrder(branchId, "Warmup", basket(1), Map.of(), 0);
+        orderService.createOrder(branchId, "Warmup", basket(1), Map.of(), 0);
+
+        long single = statementsFor(basket(1));
+
+        long many = statementsFor(basket(LINES));
+
+        assertEquals(1 + LINES, statistics.getEntityInsertCount());
+        assertEquals(single, many, "statements per createOrder must not depend on the number of lines");
+    }
+
+    private long statementsFor(Map<Long, Integer> basket) {
+        statistics.clear();
+        orderService.createOrder(branchId, "Ravi", basket, Map.of(), 0);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Map<Long, Integer> basket(int lines) {
+        Map<Long, Integer> basket = new HashMap<>();
+        for (int i = 0; i < lines; i++) {
+            basket.put(menu.get(i).getId(), 1);
+        }
+        return basket;
+    }
+}
@@ -0,0 +1,125 @@
+package com.Restaurant.RestaurantOrderManagementSystem.Service;
+
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderDetails;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderLine;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Branch;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Order;
+import com.Restaurant.RestaurantOrderManagementSystem.exception.BusinessException;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.BranchRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.MenuItemRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.service.OrderService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the order read paths against N+1 regressions: each reads its
+ * projections in a fixed number of statements, however many orders and lines.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderReadTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private BranchRepository branchRepo;
+
+    @Autowired
+    private MenuItemRepository menuRepo;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Test
+    void getOrder_isTwoStatements() {
+        Branch branch = branchRepo.save(new Branch(null, "Read Branch", "Delhi", true));
+        MenuItem pizza = menuRepo.save(item(branch, "Pizza", 200));
+        MenuItem pasta = menuRepo.save(item(branch, "Pasta", 150));
+
+        Order order = orderService.createOrder(branch.getId(), "Ravi",
+                Map.of(pizza.getId(), 2, pasta.getId(), 1), Map.of(pasta.getId(), "No garlic"), 0);
+
+        Statistics statistics = statistics();
+        OrderDetails details = orderService.getOrder(order.getId());
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(order.getId(), details.order().id());
+        assertEquals(branch.getId(), details.order().branchId());
+        assertEquals(order.getTotalAmount(), details.order().totalAmount());
+        assertEquals(2, details.items().size());
+
+        OrderLine pastaLine = details.items().stream()
+                .filter(line -> line.menuItemId().equals(pasta.getId())).findFirst().orElseThrow();
+        assertEquals("Pasta", pastaLine.name());
+        assertEquals("No garlic", pastaLine.specialInstructions());
+        assertNull(pastaLine.comboId());
+    }
+
+    @Test
+    void getBranchOrders_statementCountDoesNotGrowWithOrders() {
+        Branch branch = branchRepo.save(new Branch(null, "Busy Branch", "Pune", true));
+        MenuItem pizza = menuRepo.save(item(branch, "Pizza", 200));
+        MenuItem pasta = menuRepo.save(item(branch, "Pasta", 150));
+        for (int i = 0; i < 5; i++) {
+            orderService.createOrder(branch.getId(), "Customer " + i,
+                    Map.of(pizza.getId(), 1, pasta.getId(), i + 1), Map.of(), 0);
+        }
+
+        Statistics statistics = statistics();
+        List<OrderDetails> orders = orderService.getBranchOrders(branch.getId(), 0, 20);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(5, orders.size());
+        assertTrue(orders.stream().allMatch(order -> order.items().size() == 2));
+        // newest first
+        assertEquals("Customer 4", orders.get(0).order().customerName());
+
+        statistics.clear();
+        List<OrderDetails> secondPage = orderService.getBranchOrders(branch.getId(), 1, 3);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(2, secondPage.size());
+        assertEquals("Customer 1", secondPage.get(0).order().customerName());
+    }
+
+    @Test
+    void getBranchOrders_rejectsOversizedPages() {
+        Branch branch = branchRepo.save(new Branch(null, "Paged Branch", "Agra", true));
+
+        assertThrows(BusinessException.class, () -> orderService.getBranchOrders(branch.getId(), 0, 1_000));
+        assertTrue(orderService.getBranchOrders(branch.getId(), 0, 20).isEmpty());
+    }
+
+    @Test
+    void getOrder_notFound() {
+        assertThrows(BusinessException.class, () -> orderService.getOrder(-1L));
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private MenuItem item(Branch branch, String name, long price) {
+        MenuItem item = new MenuItem();
+        item.setName(name);
+        item.setPrice(price);
+        item.setPreparationTimeMinutes(10);
+        item.setAvailable(true);
+        item.setBranch(branch);
+        return item;
+    }
+}
@@ -0,0 +1,128 @@
+package com.Restaurant.RestaurantOrderManagementSystem.Service;
+
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderPage;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderSearch;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderSummary;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Branch;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Order;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.OrderStatus;
+import com.Restaurant.RestaurantOrderManagementSystem.exception.BusinessException;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.BranchRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.OrderRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.service.OrderService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks keyset pagination of the order search: pages never overlap or skip
+ * rows, even when orders share a creation time, and every page is one statement.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderSearchTest {
+
+    private static final LocalDateTime SIX_PM = LocalDateTime.of(2026, 3, 14, 18, 0);
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Autowired
+    private BranchRepository branchRepo;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private Branch branch;
+
+    @BeforeEach
+    void setUp() {
+        branch = branchRepo.save(new Branch(null, "Search Branch", "Delhi", true));
+        // Two orders per timestamp, so the id has to break ties
+        for (int i = 0; i < 10; i++) {
+            OrderStatus status = i % 2 == 0 ? OrderStatus.PREPARING : OrderStatus.CREATED;
+            save(i < 5 ? "Ravi Kumar" : "Asha " + i, status, SIX_PM.minusHours(1).plusMinutes(30L * (i / 2)));
+        }
+    }
+
+    @Test
+    void search_pagesWithoutGapsOrOverlap() {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        List<OrderSummary> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            statistics.clear();
+            OrderPage page = orderService.searchOrders(new OrderSearch(branch.getId(), null, null, null, null), cursor, 3);
+            assertEquals(1, statistics.getPrepareStatementCount());
+            seen.addAll(page.orders());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(4, pages);
+        assertEquals(10, seen.size());
+        assertEquals(10, seen.stream().map(OrderSummary::id).distinct().count());
+        for (int i = 1; i < seen.size(); i++) {
+            OrderSummary newer = seen.get(i - 1);
+            OrderSummary older = seen.get(i);
+            assertTrue(newer.createdAt().isAfter(older.createdAt())
+                    || newer.createdAt().equals(older.createdAt()) && newer.id() > older.id());
+        }
+    }
+
+    @Test
+    void search_combinesStatusAndTimeRange() {
+        OrderPage page = orderService.searchOrders(
+                new OrderSearch(branch.getId(), OrderStatus.PREPARING, null, SIX_PM, null), null, 20);
+
+        // Orders 4, 6 and 8 were placed at or after 18:00 and are PREPARING
+        assertEquals(3, page.orders().size());
+        assertNull(page.nextCursor());
+        assertTrue(page.orders().stream().allMatch(order ->
+                order.status() == OrderStatus.PREPARING && !order.createdAt().isBefore(SIX_PM)));
+    }
+
+    @Test
+    void search_byCustomerPrefixAcrossBranches() {
+        Branch other = branchRepo.save(new Branch(null, "Other Branch", "Pune", true));
+        Order elsewhere = new Order(null, "Ravi Kumar", OrderStatus.CREATED, 0, SIX_PM, other, new ArrayList<>());
+        orderRepo.save(elsewhere);
+        save("Ravi_Kumar", OrderStatus.CREATED, SIX_PM);
+
+        OrderPage page = orderService.searchOrders(
+                new OrderSearch(null, null, "Ravi Kumar", SIX_PM.minusHours(1), SIX_PM.plusHours(1)), null, 20);
+
+        // The underscore is matched literally, not as a wildcard
+        assertTrue(page.orders().stream().allMatch(order -> order.customerName().equals("Ravi Kumar")));
+        assertTrue(page.orders().stream().anyMatch(order -> order.branchId().equals(other.getId())));
+    }
+
+    @Test
+    void search_rejectsUnboundedOrInvalidRequests() {
+        assertThrows(BusinessException.class,
+                () -> orderService.searchOrders(new OrderSearch(null, OrderStatus.CREATED, null, null, null), null, 20));
+        assertThrows(BusinessException.class,
+                () -> orderService.searchOrders(new OrderSearch(branch.getId(), null, null, null, null), "not-a-cursor", 20));
+        assertThrows(BusinessException.class,
+                () -> orderService.searchOrders(new OrderSearch(branch.getId(), null, null, SIX_PM, SIX_PM), null, 20));
+        assertThrows(BusinessException.class,
+                () -> orderService.searchOrders(new OrderSearch(branch.getId(), null, null, null, null), null, 0));
+    }
+
+    private void save(String customerName, OrderStatus status, LocalDateTime createdAt) {
+        orderRepo.save(new Order(null, customerName, status, 0, createdAt, branch, new ArrayList<>()));
+    }
+}
@@ -1,16 +1,34 @@
 package com.Restaurant.RestaurantOrderManagementSystem.Service;
 
+import com.Restaurant.RestaurantOrderManagementSystem.cache.BranchRegistry;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.CacheInvalidationBus;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.ComboIndex;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.MenuPriceBook;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderRequest;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderState;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderStatusChange;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderStatusOutcome;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderStatusOutcome.Result;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderSummary;
 import com.Restaurant.RestaurantOrderManagementSystem.entities.*;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.Category;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.DietType;
 import com.Restaurant.RestaurantOrderManagementSystem.enums.OrderStatus;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.PricingRuleType;
+import com.Restaurant.RestaurantOrderManagementSystem.event.OrderLifecycleEvent;
 import com.Restaurant.RestaurantOrderManagementSystem.exception.BusinessException;
+import com.Restaurant.RestaurantOrderManagementSystem.exception.OrderConflictException;
+import com.Restaurant.RestaurantOrderManagementSystem.pricing.PricingEngine;
 import com.Restaurant.RestaurantOrderManagementSystem.repository.BranchRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.ComboMealRepository;
 import com.Restaurant.RestaurantOrderManagementSystem.repository.MenuItemRepository;
 import com.Restaurant.RestaurantOrderManagementSystem.repository.OrderRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.PricingRuleRepository;
 import com.Restaurant.RestaurantOrderManagementSystem.service.impl.OrderServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
 import org.mockito.MockitoAnnotations;
 
 import java.util.*;
@@ -29,7 +47,19 @@ class OrderServiceImplTest {
     @Mock
     private BranchRepository branchRepo;
 
-    @InjectMocks
+    @Mock
+    private PricingRuleRepository ruleRepo;
+
+    @Mock
+    private ComboMealRepository comboRepo;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    private BranchRegistry branchRegistry;
+
+    private ComboIndex comboIndex;
+
     private OrderServiceImpl orderService;
 
     private Branch branch;
@@ -39,6 +69,11 @@ class OrderServiceImplTest {
     void setup() {
         MockitoAnnotations.openMocks(this);
 
+        branchRegistry = new BranchRegistry(branchRepo, CacheInvalidationBus.NONE);
+        comboIndex = new ComboIndex(comboRepo, CacheInvalidationBus.NONE);
+        orderService = new OrderServiceImpl(orderRepo, menuRepo, branchRegistry, new MenuPriceBook(menuRepo),
+                new PricingEngine(ruleRepo, CacheInvalidationBus.NONE), comboIndex, comboRepo, events);
+
         branch = new Branch();
         branch.setId(1L);
         branch.setActive(true);
@@ -48,6 +83,7 @@ class OrderServiceImplTest {
         menuItem.setName("Pizza");
         menuItem.setPrice(200);
         menuItem.setAvailable(true);
+        menuItem.setBranch(branch);
     }
 
 
@@ -56,11 +92,15 @@ class OrderServiceImplTest {
         Map<Long, Integer> items = Map.of(10L, 2);
         Map<Long, String> instructions = Map.of(10L, "Extra cheese");
 
-        when(branchRepo.findById(1L)).thenReturn(Optional.of(branch));
-        when(menuRepo.findById(10L)).thenReturn(Optional.of(menuItem));
+        branchRegistry.put(branch);
+        when(menuRepo.findByBranchId(1L)).thenReturn(List.of(menuItem));
+        when(menuRepo.getReferenceById(10L)).thenReturn(menuItem);
         when(orderRepo.save(any(Order.class))).thenAnswer(i -> i.getArgument(0));
+        when(ruleRepo.findByBranchIdOrBranchIdIsNull(1L)).thenReturn(List.of(
+                new PricingRule(1L, null, PricingRuleType.DELIVERY_FEE, null, null, 0, 20, 0),
+                new PricingRule(2L, null, PricingRuleType.DELIVERY_FEE, null, null, 0, 50, 5_000)));
 
-        Order order = orderService.createOrder(1L, "Ravi", items, instructions, 20);
+        Order order = orderService.createOrder(1L, "Ravi", items, instructions, 1_500);
 
         assertNotNull(order);
         assertEquals("Ravi", order.getCustomerName());
@@ -71,8 +111,46 @@ class OrderServiceImplTest {
         // tax = 72
         // total = 492
         assertEquals(492, order.getTotalAmount(), 0.01);
+        assertEquals(400, order.getSubtotal(), 0.01);
+        assertEquals(72, order.getTaxAmount(), 0.01);
+        assertEquals(20, order.getDeliveryCharge(), 0.01);
+
+        OrderItem line = order.getItems().get(0);
+        assertEquals(200, line.getUnitPrice(), 0.01);
+        assertEquals(400, line.getLineTotal(), 0.01);
+        assertEquals(72, line.getTaxAmount(), 0.01);
 
         verify(orderRepo).save(any(Order.class));
+        verify(menuRepo, never()).findById(any());
+        verify(branchRepo, never()).findById(any());
+        verify(events).publishEvent(OrderLifecycleEvent.created(null, 1L, OrderStatus.CREATED, 0));
+    }
+
+    @Test
+    void createOrder_resolvesAllItemsInOneLookup() {
+        MenuItem other = new MenuItem();
+        other.setId(11L);
+        other.setName("Pasta");
+        other.setPrice(150);
+        other.setAvailable(true);
+        other.setBranch(branch);
+
+        Map<Long, Integer> items = new LinkedHashMap<>();
+        items.put(10L, 1);
+        items.put(11L, 2);
+
+        branchRegistry.put(branch);
+        when(menuRepo.findByBranchId(1L)).thenReturn(List.of(menuItem));
+        when(menuRepo.findAllById(List.of(11L))).thenReturn(List.of(other));
+        when(orderRepo.save(any(Order.class))).thenAnswer(i -> i.getArgument(0));
+
+        Order order = orderService.createOrder(1L, "Ravi", items, Map.of(), 0);
+
+        // subtotal = 200 + 300 = 500, tax = 90
+        assertEquals(590, order.getTotalAmount(), 0.01);
+        verify(menuRepo, times(1)).findByBranchId(1L);
+        verify(menuRepo, times(1)).findAllById(any());
+        verify(menuRepo, never()).findById(any());
     }
 
     @Test
@@ -86,7 +164,7 @@ class OrderServiceImplTest {
     @Test
     void createOrder_branchInactive() {
         branch.setActive(false);
-        when(branchRepo.findById(1L)).thenReturn(Optional.of(branch));
+        branchRegistry.put(branch);
 
         assertThrows(BusinessException.class,
                 () -> orderService.createOrder(1L, "Ravi", Map.of(), Map.of(), 0));
@@ -94,8 +172,9 @@ class OrderServiceImplTest {
 
     @Test
     void createOrder_menuItemNotFound() {
-        when(branchRepo.findById(1L)).thenReturn(Optional.of(branch));
-        when(menuRepo.findById(10L)).thenReturn(Optional.empty());
+        branchRegistry.put(branch);
+        when(menuRepo.findByBranchId(1L)).thenReturn(List.of());
+        when(menuRepo.findAllById(any())).thenReturn(List.of());
 
         assertThrows(BusinessException.class,
                 () -> orderService.createOrder(1L, "Ravi", Map.of(10L, 1), Map.of(), 0));
@@ -105,8 +184,8 @@ class OrderServiceImplTest {
     void createOrder_menuItemUnavailable() {
         menuItem.setAvailable(false);
 
-        when(branchRepo.findById(1L)).thenReturn(Optional.of(branch));
-        when(menuRepo.findById(10L)).thenReturn(Optional.of(menuItem));
+        branchRegistry.put(branch);
+        when(menuRepo.findByBranchId(1L)).thenReturn(List.of(menuItem));
 
         assertThrows(BusinessException.class,
                 () -> orderService.createOrder(1L, "Ravi", Map.of(10L, 1), Map.of(), 0));
@@ -114,55 +193,211 @@ class OrderServiceImplTest {
 
 
     @Test
-    void updateStatus_success() {
-        Order order = new Order();
-        order.setId(5L);
+    void createOrder_branchCreatedElsewhereIsLoadedOnce() {
+        when(branchRepo.findById(1L)).thenReturn(Optional.of(branch));
+        when(menuRepo.findByBranchId(1L)).thenReturn(List.of(menuItem));
+        when(orderRepo.save(any(Order.class))).thenAnswer(i -> i.getArgument(0));
+
+        orderService.createOrder(1L, "Ravi", Map.of(10L, 1), Map.of(), 0);
+        orderService.createOrder(1L, "Asha", Map.of(10L, 1), Map.of(), 0);
+
+        verify(branchRepo, times(1)).findById(1L);
+    }
+
+    @Test
+    void createOrder_appliesMostSpecificRules() {
+        menuItem.setCategory(Category.DESSERT);
+        menuItem.setDietType(DietType.VEG);
 
-        when(orderRepo.findById(5L)).thenReturn(Optional.of(order));
+        branchRegistry.put(branch);
+        when(menuRepo.findByBranchId(1L)).thenReturn(List.of(menuItem));
         when(orderRepo.save(any(Order.class))).thenAnswer(i -> i.getArgument(0));
+        when(ruleRepo.findByBranchIdOrBranchIdIsNull(1L)).thenReturn(List.of(
+                new PricingRule(1L, null, PricingRuleType.TAX, null, DietType.VEG, 500, 0, 0),
+                new PricingRule(2L, 1L, PricingRuleType.TAX, Category.DESSERT, null, 1_200, 0, 0),
+                new PricingRule(3L, null, PricingRuleType.PACKAGING_FEE, Category.DESSERT, null, 0, 10, 0)));
+
+        Order order = orderService.createOrder(1L, "Ravi", Map.of(10L, 2), Map.of(), 0);
+
+        // subtotal = 400, branch dessert tax 12% = 48, packaging 2 * 10 = 20, not delivered
+        assertEquals(48, order.getTaxAmount());
+        assertEquals(20, order.getPackagingCharge());
+        assertEquals(0, order.getDeliveryCharge());
+        assertEquals(468, order.getTotalAmount());
+        assertEquals(20, order.getItems().get(0).getPackagingFee());
+    }
 
-        Order updated = orderService.updateStatus(5L, "DELIVERED");
+    @Test
+    void createOrder_discountsOrderedAndDetectedCombos() {
+        MenuItem coke = new MenuItem();
+        coke.setId(11L);
+        coke.setName("Coke");
+        coke.setPrice(100);
+        coke.setAvailable(true);
+        coke.setBranch(branch);
+        ComboMeal meal = new ComboMeal(1L, "Pizza Meal", 10, List.of(menuItem, coke), branch);
+
+        branchRegistry.put(branch);
+        when(menuRepo.findByBranchId(1L)).thenReturn(List.of(menuItem, coke));
+        when(comboRepo.findByBranchIdWithItems(1L)).thenReturn(List.of(meal));
+        when(comboRepo.getReferenceById(1L)).thenReturn(meal);
+        when(orderRepo.save(any(Order.class))).thenAnswer(i -> i.getArgument(0));
 
-        assertEquals(OrderStatus.DELIVERED, updated.getStatus());
-        verify(orderRepo).save(order);
+        // One combo ordered by ID, and a pizza and coke in the loose items that make up another
+        Order order = orderService.createOrder(
+                new OrderRequest(1L, "Ravi", Map.of(10L, 2, 11L, 1), Map.of(1L, 1), Map.of(), 0));
+
+        // loose pizza 200, two combos of 180 + 90 each
+        assertEquals(740, order.getSubtotal());
+        assertEquals(60, order.getDiscountAmount());
+        // 36 + 2 * (32 + 16), tax rounded per line
+        assertEquals(132, order.getTaxAmount());
+        assertEquals(872, order.getTotalAmount());
+        assertEquals(5, order.getItems().size());
+        assertEquals(4, order.getItems().stream().filter(line -> Long.valueOf(1L).equals(line.getComboId())).count());
     }
 
     @Test
-    void updateStatus_invalidStatus() {
-        Order order = new Order();
-        when(orderRepo.findById(5L)).thenReturn(Optional.of(order));
+    void createOrder_unknownCombo() {
+        branchRegistry.put(branch);
 
+        assertThrows(BusinessException.class, () -> orderService.createOrder(
+                new OrderRequest(1L, "Ravi", Map.of(), Map.of(9L, 1), Map.of(), 0)));
+    }
+
+    @Test
+    void createOrder_rejectsMissingOrNonPositiveQuantities() {
+        branchRegistry.put(branch);
+        Map<Long, Integer> missing = new HashMap<>();
+        missing.put(1L, null);
+
+        assertThrows(BusinessException.class, () -> orderService.createOrder(
+                new OrderRequest(1L, "Ravi", Map.of(), missing, Map.of(), 0)));
+        assertThrows(BusinessException.class, () -> orderService.createOrder(
+                new OrderRequest(1L, "Ravi", Map.of(), Map.of(1L, 0), Map.of(), 0)));
         assertThrows(BusinessException.class,
-                () -> orderService.updateStatus(5L, "WRONG_STATUS"));
+                () -> orderService.createOrder(1L, "Ravi", Map.of(10L, -2), Map.of(), 0));
+        verifyNoInteractions(comboRepo);
+        verify(orderRepo, never()).save(any());
+    }
+
+    @Test
+    void createOrder_rejectsNegativeOrOutOfRangeDeliveryDistance() {
+        branchRegistry.put(branch);
+
+        assertThrows(BusinessException.class,
+                () -> orderService.createOrder(1L, "Ravi", Map.of(10L, 1), Map.of(), -1));
+        assertThrows(BusinessException.class,
+                () -> orderService.createOrder(1L, "Ravi", Map.of(10L, 1), Map.of(), Integer.MAX_VALUE));
+        verify(orderRepo, never()).save(any());
+    }
+
+    @Test
+    void updateStatus_success() {
+        when(orderRepo.updateStatus(5L, EnumSet.of(OrderStatus.READY), OrderStatus.DELIVERED, 3L)).thenReturn(1);
+
+        OrderStatusChange updated = orderService.updateStatus(5L, "delivered", 3L);
+
+        assertEquals(OrderStatus.DELIVERED, updated.status());
+        assertEquals(4L, updated.version());
+        verify(orderRepo, never()).findById(any());
+        verify(orderRepo, never()).findSummaryById(any());
+        verify(orderRepo, never()).save(any());
+        verify(events).publishEvent(OrderLifecycleEvent.statusChanged(5L, null, OrderStatus.DELIVERED, 4L));
+    }
+
+    @Test
+    void updateStatus_invalidStatus() {
+        assertThrows(BusinessException.class,
+                () -> orderService.updateStatus(5L, "WRONG_STATUS", null));
+        verifyNoInteractions(orderRepo);
     }
 
     @Test
     void updateStatus_orderNotFound() {
-        when(orderRepo.findById(5L)).thenReturn(Optional.empty());
+        when(orderRepo.findSummaryById(5L)).thenReturn(Optional.empty());
 
         assertThrows(BusinessException.class,
-                () -> orderService.updateStatus(5L, "CREATED"));
+                () -> orderService.updateStatus(5L, "ACCEPTED", null));
+    }
+
+    @Test
+    void updateStatus_rejectsTransitionFromFinalStatus() {
+        when(orderRepo.findSummaryById(5L)).thenReturn(Optional.of(summary(5L, OrderStatus.DELIVERED, 4L)));
+
+        OrderConflictException conflict = assertThrows(OrderConflictException.class,
+                () -> orderService.updateStatus(5L, "CREATED", null));
+
+        assertEquals(OrderStatus.DELIVERED, conflict.getCurrentStatus());
+        verify(orderRepo).updateStatus(5L, EnumSet.noneOf(OrderStatus.class), OrderStatus.CREATED, null);
     }
 
+    @Test
+    void updateStatus_staleVersion() {
+        when(orderRepo.findSummaryById(5L)).thenReturn(Optional.of(summary(5L, OrderStatus.ACCEPTED, 2L)));
+
+        OrderConflictException conflict = assertThrows(OrderConflictException.class,
+                () -> orderService.updateStatus(5L, "PREPARING", 1L));
+
+        assertEquals(2L, conflict.getCurrentVersion());
+    }
 
     @Test
-    void updateOrderStatus_success() {
-        Order order = new Order();
-        order.setId(7L);
+    void transitions_areConsistent() {
+        assertEquals(EnumSet.of(OrderStatus.ACCEPTED, OrderStatus.CANCELLED), OrderStatus.CREATED.next());
+        assertEquals(EnumSet.of(OrderStatus.CREATED, OrderStatus.ACCEPTED, OrderStatus.PREPARING),
+                OrderStatus.CANCELLED.previous());
+        assertTrue(OrderStatus.DELIVERED.next().isEmpty());
+        assertFalse(OrderStatus.DELIVERED.canMoveTo(OrderStatus.CREATED));
+        for (OrderStatus from : OrderStatus.values()) {
+            for (OrderStatus to : from.next()) {
+                assertTrue(to.previous().contains(from));
+            }
+        }
+    }
 
-        when(orderRepo.findById(7L)).thenReturn(Optional.of(order));
+    @Test
+    void updateOrderStatus_success() {
+        when(orderRepo.updateStatus(7L, OrderStatus.CANCELLED.previous(), OrderStatus.CANCELLED, null)).thenReturn(1);
 
         orderService.updateOrderStatus(7L, OrderStatus.CANCELLED);
 
-        assertEquals(OrderStatus.CANCELLED, order.getStatus());
-        verify(orderRepo).save(order);
+        verify(orderRepo).updateStatus(7L, OrderStatus.CANCELLED.previous(), OrderStatus.CANCELLED, null);
+        verify(orderRepo, never()).findById(any());
     }
 
     @Test
     void updateOrderStatus_orderNotFound() {
-        when(orderRepo.findById(7L)).thenReturn(Optional.empty());
+        when(orderRepo.findSummaryById(7L)).thenReturn(Optional.empty());
 
         assertThrows(BusinessException.class,
-                () -> orderService.updateOrderStatus(7L, OrderStatus.CREATED));
+                () -> orderService.updateOrderStatus(7L, OrderStatus.ACCEPTED));
+    }
+
+    @Test
+    void updateStatuses_reportsOrdersThatMovedOnAsConflicts() {
+        when(orderRepo.findStatesByIds(any()))
+                .thenReturn(List.of(new OrderState(1L, 7L, OrderStatus.PREPARING, 2), new OrderState(2L, 7L, OrderStatus.PREPARING, 5)))
+                .thenReturn(List.of(new OrderState(1L, 7L, OrderStatus.READY, 3), new OrderState(2L, 7L, OrderStatus.CANCELLED, 6)));
+        when(orderRepo.updateStatuses(List.of(1L, 2L), OrderStatus.PREPARING, OrderStatus.READY)).thenReturn(1);
+
+        List<OrderStatusOutcome> outcomes = orderService.updateStatuses(List.of(1L, 2L), "READY");
+
+        assertEquals(List.of(
+                new OrderStatusOutcome(1L, Result.UPDATED, OrderStatus.READY),
+                new OrderStatusOutcome(2L, Result.CONFLICT, OrderStatus.CANCELLED)), outcomes);
+        verify(orderRepo, never()).save(any());
+        verify(events).publishEvent(OrderLifecycleEvent.statusChanged(1L, 7L, OrderStatus.READY, 3L));
+        verifyNoMoreInteractions(events);
+    }
+
+    @Test
+    void updateStatuses_rejectsEmptyBatch() {
+        assertThrows(BusinessException.class, () -> orderService.updateStatuses(List.of(), "READY"));
+        verifyNoInteractions(orderRepo);
+    }
+
+    private OrderSummary summary(Long id, OrderStatus status, long version) {
+        return new OrderSummary(id, 1L, "Ravi", status, 0, 0, 0, 0, 0, 0, 0, null, version);
     }
 }
@@ -0,0 +1,170 @@
+package com.Restaurant.RestaurantOrderManagementSystem.Service;
+
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderStatusChange;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderStatusOutcome;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderStatusOutcome.Result;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderSummary;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Branch;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Order;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.OrderStatus;
+import com.Restaurant.RestaurantOrderManagementSystem.exception.BusinessException;
+import com.Restaurant.RestaurantOrderManagementSystem.exception.OrderConflictException;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.BranchRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.MenuItemRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.OrderRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.service.OrderService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that status changes are one conditional statement, batches one per
+ * source status, and that racing changes of the same order cannot both win.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderStatusUpdateTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Autowired
+    private BranchRepository branchRepo;
+
+    @Autowired
+    private MenuItemRepository menuRepo;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Test
+    void updateStatus_isOneStatementWithoutLoadingTheOrder() {
+        // Placed through the service, so the order stream already knows its branch
+        Branch branch = branchRepo.save(new Branch(null, "Kitchen Branch", "Delhi", true));
+        MenuItem pizza = new MenuItem();
+        pizza.setName("Pizza");
+        pizza.setPrice(200);
+        pizza.setAvailable(true);
+        pizza.setBranch(branch);
+        pizza = menuRepo.save(pizza);
+        Order order = orderService.createOrder(branch.getId(), "Ravi", Map.of(pizza.getId(), 1), Map.of(), 0);
+
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        OrderStatusChange change = orderService.updateStatus(order.getId(), "ACCEPTED", order.getVersion());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(OrderStatus.ACCEPTED, change.status());
+        assertEquals(order.getVersion() + 1, change.version());
+        assertEquals(change.version(), orderRepo.findSummaryById(order.getId()).orElseThrow().version());
+    }
+
+    @Test
+    void updateStatus_rejectsStaleVersionAndIllegalTransition() {
+        Order order = newOrder();
+        orderService.updateStatus(order.getId(), "ACCEPTED", null);
+
+        OrderConflictException stale = assertThrows(OrderConflictException.class,
+                () -> orderService.updateStatus(order.getId(), "PREPARING", order.getVersion()));
+        assertEquals(OrderStatus.ACCEPTED, stale.getCurrentStatus());
+        assertEquals(order.getVersion() + 1, stale.getCurrentVersion());
+
+        assertThrows(OrderConflictException.class, () -> orderService.updateStatus(order.getId(), "CREATED", null));
+        assertEquals(OrderStatus.ACCEPTED, orderRepo.findSummaryById(order.getId()).orElseThrow().status());
+    }
+
+    @Test
+    void updateStatus_racingTabletsOnlyOneWins() throws Exception {
+        Order order = newOrder();
+        int tablets = 4;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(tablets);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < tablets; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        orderService.updateStatus(order.getId(), "ACCEPTED", order.getVersion());
+                        return true;
+                    } catch (OrderConflictException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int wins = 0;
+            for (Future<Boolean> result : results) {
+                wins += result.get() ? 1 : 0;
+            }
+            assertEquals(1, wins);
+            assertEquals(order.getVersion() + 1, orderRepo.findSummaryById(order.getId()).orElseThrow().version());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void updateStatuses_isOneUpdatePerSourceStatus() {
+        Order created = newOrder();
+        Order accepted = newOrder(OrderStatus.ACCEPTED);
+        Order alsoAccepted = newOrder(OrderStatus.ACCEPTED);
+        Order delivered = newOrder(OrderStatus.DELIVERED);
+
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<OrderStatusOutcome> outcomes = orderService.updateStatuses(
+                List.of(created.getId(), accepted.getId(), alsoAccepted.getId(), delivered.getId(), -1L, created.getId()),
+                "CANCELLED");
+
+        // one read, then one update for CREATED and one for ACCEPTED
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(List.of(
+                new OrderStatusOutcome(created.getId(), Result.UPDATED, OrderStatus.CANCELLED),
+                new OrderStatusOutcome(accepted.getId(), Result.UPDATED, OrderStatus.CANCELLED),
+                new OrderStatusOutcome(alsoAccepted.getId(), Result.UPDATED, OrderStatus.CANCELLED),
+                new OrderStatusOutcome(delivered.getId(), Result.INVALID_TRANSITION, OrderStatus.DELIVERED),
+                new OrderStatusOutcome(-1L, Result.NOT_FOUND, null)), outcomes);
+
+        OrderSummary cancelled = orderRepo.findSummaryById(accepted.getId()).orElseThrow();
+        assertEquals(OrderStatus.CANCELLED, cancelled.status());
+        assertEquals(accepted.getVersion() + 1, cancelled.version());
+        assertEquals(OrderStatus.DELIVERED, orderRepo.findSummaryById(delivered.getId()).orElseThrow().status());
+    }
+
+    @Test
+    void updateStatuses_rejectsMissingOrderIdsAsBadRequest() {
+        BusinessException missing = assertThrows(BusinessException.class,
+                () -> orderService.updateStatuses(null, "READY"));
+        assertEquals("Batch must contain between 1 and 100 orders", missing.getMessage());
+    }
+
+    private Order newOrder() {
+        return newOrder(OrderStatus.CREATED);
+    }
+
+    private Order newOrder(OrderStatus status) {
+        Branch branch = branchRepo.save(new Branch(null, "Kitchen Branch", "Delhi", true));
+        return orderRepo.save(new Order(null, "Ravi", status, 0, LocalDateTime.now(), branch, new ArrayList<>()));
+    }
+}
@@ -0,0 +1,85 @@
+package com.Restaurant.RestaurantOrderManagementSystem.Service;
+
+import com.Restaurant.RestaurantOrderManagementSystem.config.PaymentIsolationProperties;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.PaymentMethod;
+import com.Restaurant.RestaurantOrderManagementSystem.exception.PaymentException;
+import com.Restaurant.RestaurantOrderManagementSystem.exception.PaymentUnavailableException;
+import com.Restaurant.RestaurantOrderManagementSystem.resilience.CircuitBreaker;
+import com.Restaurant.RestaurantOrderManagementSystem.service.impl.PaymentMethodGuard;
+import com.Restaurant.RestaurantOrderManagementSystem.service.strategy.PaymentResult;
+import com.Restaurant.RestaurantOrderManagementSystem.service.strategy.PaymentResult.Outcome;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentMethodGuardTest {
+
+    private final PaymentMethodGuard guard = new PaymentMethodGuard(new PaymentIsolationProperties(
+            2, 10, 4, 50, Duration.ofMinutes(1), 1,
+            Map.of(PaymentMethod.CASH, new PaymentIsolationProperties.Method(1))));
+
+    @Test
+    void enter_fullBulkheadRejectsOnlyItsOwnMethod() {
+        PaymentMethodGuard.Permit first = guard.enter(PaymentMethod.UPI);
+        PaymentMethodGuard.Permit second = guard.enter(PaymentMethod.UPI);
+
+        assertThrows(PaymentUnavailableException.class, () -> guard.enter(PaymentMethod.UPI));
+        assertDoesNotThrow(() -> guard.enter(PaymentMethod.CREDIT_CARD).close());
+
+        first.close();
+        first.close(); // closing twice must not free a second slot
+        PaymentMethodGuard.Permit third = guard.enter(PaymentMethod.UPI);
+        assertThrows(PaymentUnavailableException.class, () -> guard.enter(PaymentMethod.UPI));
+        second.close();
+        third.close();
+    }
+
+    @Test
+    void record_gatewayFailuresOpenTheBreakerButBusinessErrorsDoNot() {
+        for (int i = 0; i < 4; i++) {
+            guard.record(PaymentMethod.UPI, result(Outcome.ERROR, new PaymentException("Amount must be greater than zero")));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, guard.snapshot().get(PaymentMethod.UPI).breaker().state());
+
+        guard.record(PaymentMethod.UPI, result(Outcome.SUCCESS, null));
+        guard.record(PaymentMethod.UPI, result(Outcome.DECLINED, null));
+        guard.record(PaymentMethod.UPI, result(Outcome.TIMED_OUT, null));
+        guard.record(PaymentMethod.UPI, result(Outcome.ERROR, new IllegalStateException("connection reset")));
+
+        assertEquals(CircuitBreaker.State.OPEN, guard.snapshot().get(PaymentMethod.UPI).breaker().state());
+        assertFalse(guard.allowAttempt(PaymentMethod.UPI));
+        assertThrows(PaymentUnavailableException.class, () -> guard.enter(PaymentMethod.UPI));
+        assertEquals(CircuitBreaker.State.CLOSED, guard.snapshot().get(PaymentMethod.CASH).breaker().state());
+    }
+
+    @Test
+    void circuitBreaker_halfOpenTrialClosesOrReopens() {
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(4, 2, 50, Duration.ofSeconds(10), 1, now::get);
+
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(0, breaker.snapshot().bufferedCalls());
+    }
+
+    private static PaymentResult result(Outcome outcome, RuntimeException cause) {
+        return new PaymentResult(1L, PaymentMethod.UPI, outcome, null, cause, Duration.ZERO, 1);
+    }
+}
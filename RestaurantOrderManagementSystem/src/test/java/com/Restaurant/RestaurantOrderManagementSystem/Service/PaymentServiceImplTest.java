@@ -1,27 +1,44 @@
 package com.Restaurant.RestaurantOrderManagementSystem.Service;
 
-import com.Restaurant.RestaurantOrderManagementSystem.entities.MenuItem;
+import com.Restaurant.RestaurantOrderManagementSystem.config.PaymentExecutionProperties;
+import com.Restaurant.RestaurantOrderManagementSystem.config.PaymentIsolationProperties;
+import com.Restaurant.RestaurantOrderManagementSystem.config.PaymentRetryProperties;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.Bill;
+import com.Restaurant.RestaurantOrderManagementSystem.dto.OrderBill;
 import com.Restaurant.RestaurantOrderManagementSystem.entities.Order;
-import com.Restaurant.RestaurantOrderManagementSystem.entities.OrderItem;
 import com.Restaurant.RestaurantOrderManagementSystem.entities.Payment;
 import com.Restaurant.RestaurantOrderManagementSystem.enums.PaymentMethod;
 import com.Restaurant.RestaurantOrderManagementSystem.enums.PaymentStatus;
 import com.Restaurant.RestaurantOrderManagementSystem.exception.PaymentException;
+import com.Restaurant.RestaurantOrderManagementSystem.exception.PaymentUnavailableException;
+import com.Restaurant.RestaurantOrderManagementSystem.exception.TransientPaymentException;
 import com.Restaurant.RestaurantOrderManagementSystem.repository.OrderRepository;
 import com.Restaurant.RestaurantOrderManagementSystem.repository.PaymentRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.resilience.RetryEngine;
+import com.Restaurant.RestaurantOrderManagementSystem.service.impl.PaymentMethodGuard;
 import com.Restaurant.RestaurantOrderManagementSystem.service.impl.PaymentServiceImpl;
+import com.Restaurant.RestaurantOrderManagementSystem.service.impl.PaymentStrategyExecutor;
 import com.Restaurant.RestaurantOrderManagementSystem.service.strategy.PaymentStrategy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -40,8 +57,22 @@ class PaymentServiceImplTest {
     @InjectMocks
     private PaymentServiceImpl paymentService;
 
+    private final PaymentStrategyExecutor executor =
+            new PaymentStrategyExecutor(new PaymentExecutionProperties(2, 10, Duration.ofSeconds(2), null));
+
+    private final RetryEngine retryEngine = new RetryEngine();
+
+    private final PaymentRetryProperties retry =
+            new PaymentRetryProperties(3, Duration.ofMillis(1), 2, Duration.ofMillis(10), 0, 1, 100, false);
+
+    private final PaymentMethodGuard guard = new PaymentMethodGuard(
+            new PaymentIsolationProperties(4, 4, 2, 50, Duration.ofMinutes(1), 1, null));
+
     private Order order;
 
+    // Payments saved through the mocked repository, by ID
+    private final Map<Long, Payment> payments = new HashMap<>();
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -49,12 +80,22 @@ class PaymentServiceImplTest {
         Map<String, PaymentStrategy> strategies = new HashMap<>();
         strategies.put("UPI", upiStrategy);
 
-        paymentService = new PaymentServiceImpl(orderRepo, paymentRepo, strategies);
+        paymentService = new PaymentServiceImpl(orderRepo, paymentRepo, strategies, TransactionOperations.withoutTransaction(), executor, retryEngine, retry, guard);
 
         order = new Order();
         order.setId(1L);
         order.setTotalAmount(1000);
         order.setPaidAmount(0);
+
+        when(paymentRepo.save(any())).thenAnswer(i -> {
+            Payment payment = i.getArgument(0);
+            if (payment.getId() == null) {
+                payment.setId(payments.size() + 1L);
+            }
+            payments.put(payment.getId(), payment);
+            return payment;
+        });
+        when(paymentRepo.findById(any())).thenAnswer(i -> Optional.ofNullable(payments.get(i.<Long>getArgument(0))));
     }
 
     // ================= PROCESS PAYMENT =================
@@ -64,7 +105,6 @@ class PaymentServiceImplTest {
         when(orderRepo.findByIdForUpdate(1L)).thenReturn(Optional.of(order));
         when(paymentRepo.existsByOrderIdAndStatus(1L, PaymentStatus.SUCCESS)).thenReturn(false);
         when(upiStrategy.pay(1L, 1000)).thenReturn(true);
-        when(paymentRepo.save(any())).thenAnswer(i -> i.getArgument(0));
 
         Payment payment = paymentService.processPayment(1L, PaymentMethod.UPI);
 
@@ -108,12 +148,205 @@ class PaymentServiceImplTest {
         when(paymentRepo.existsByOrderIdAndStatus(1L, PaymentStatus.SUCCESS)).thenReturn(false);
 
         PaymentServiceImpl service =
-                new PaymentServiceImpl(orderRepo, paymentRepo, new HashMap<>());
+                new PaymentServiceImpl(orderRepo, paymentRepo, new HashMap<>(),
+                        TransactionOperations.withoutTransaction(), executor, retryEngine, retry, guard);
 
         assertThrows(PaymentException.class,
                 () -> service.processPayment(1L, PaymentMethod.UPI));
     }
 
+    @Test
+    void processPayment_gatewayCalledOutsideTransaction() {
+        AtomicBoolean inTransaction = new AtomicBoolean();
+        TransactionOperations tracking = new TransactionOperations() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                inTransaction.set(true);
+                try {
+                    return action.doInTransaction(null);
+                } finally {
+                    inTransaction.set(false);
+                }
+            }
+        };
+        PaymentServiceImpl service = new PaymentServiceImpl(orderRepo, paymentRepo, Map.of("UPI", upiStrategy), tracking, executor, retryEngine, retry, guard);
+
+        when(orderRepo.findByIdForUpdate(1L)).thenReturn(Optional.of(order));
+        when(upiStrategy.pay(1L, 1000)).thenAnswer(i -> {
+            assertFalse(inTransaction.get(), "gateway must not be called inside a transaction");
+            return true;
+        });
+
+        Payment payment = service.processPayment(1L, PaymentMethod.UPI);
+
+        assertEquals(PaymentStatus.SUCCESS, payment.getStatus());
+        // Once to reserve, once to finalize
+        verify(orderRepo, times(2)).findByIdForUpdate(1L);
+    }
+
+    @Test
+    void processPayment_gatewayErrorMarksPaymentFailed() {
+        when(orderRepo.findByIdForUpdate(1L)).thenReturn(Optional.of(order));
+        when(upiStrategy.pay(1L, 1000)).thenThrow(new IllegalStateException("gateway down"));
+
+        assertThrows(IllegalStateException.class,
+                () -> paymentService.processPayment(1L, PaymentMethod.UPI));
+
+        ArgumentCaptor<Payment> saved = ArgumentCaptor.forClass(Payment.class);
+        verify(paymentRepo, times(2)).save(saved.capture());
+        assertEquals(PaymentStatus.FAILED, saved.getValue().getStatus());
+        verify(orderRepo, never()).save(any());
+    }
+
+    @Test
+    void processPayment_outcomeIgnoredOncePaymentWasSettled() {
+        when(orderRepo.findByIdForUpdate(1L)).thenReturn(Optional.of(order));
+        when(upiStrategy.pay(1L, 1000)).thenAnswer(i -> {
+            // Recovery settles the payment while the gateway call is still running
+            payments.values().forEach(p -> p.setStatus(PaymentStatus.FAILED));
+            return true;
+        });
+
+        Payment payment = paymentService.processPayment(1L, PaymentMethod.UPI);
+
+        assertEquals(PaymentStatus.FAILED, payment.getStatus());
+        assertEquals(0, order.getPaidAmount());
+        verify(orderRepo, never()).save(any());
+    }
+
+    @Test
+    void processPayment_pendingPaymentInProgress() {
+        when(orderRepo.findByIdForUpdate(1L)).thenReturn(Optional.of(order));
+        when(paymentRepo.existsByOrderIdAndStatus(1L, PaymentStatus.PENDING)).thenReturn(true);
+
+        assertThrows(PaymentException.class,
+                () -> paymentService.processPayment(1L, PaymentMethod.UPI));
+        verifyNoInteractions(upiStrategy);
+    }
+
+    @Test
+    void processPaymentAsync_success() {
+        when(orderRepo.findByIdForUpdate(1L)).thenReturn(Optional.of(order));
+        when(upiStrategy.pay(1L, 1000)).thenReturn(true);
+
+        Payment payment = paymentService.processPaymentAsync(1L, PaymentMethod.UPI).join();
+
+        assertEquals(PaymentStatus.SUCCESS, payment.getStatus());
+        assertEquals(1000, order.getPaidAmount());
+    }
+
+    @Test
+    void processPaymentAsync_strategyErrorYieldsFailedPayment() {
+        when(orderRepo.findByIdForUpdate(1L)).thenReturn(Optional.of(order));
+        when(upiStrategy.pay(1L, 1000)).thenThrow(new PaymentException("declined"));
+
+        Payment payment = paymentService.processPaymentAsync(1L, PaymentMethod.UPI).join();
+
+        assertEquals(PaymentStatus.FAILED, payment.getStatus());
+        assertEquals(0, order.getPaidAmount());
+    }
+
+    @Test
+    void processPaymentAsync_recordsOutcomeOnTheFinalizerPool() {
+        List<String> lockedOn = new CopyOnWriteArrayList<>();
+        when(orderRepo.findByIdForUpdate(1L)).thenAnswer(i -> {
+            lockedOn.add(Thread.currentThread().getName());
+            return Optional.of(order);
+        });
+        when(upiStrategy.pay(1L, 1000)).thenReturn(true);
+
+        paymentService.processPaymentAsync(1L, PaymentMethod.UPI).join();
+
+        // Reserved on the caller's thread, finalized on neither the timer nor a gateway worker
+        assertEquals(2, lockedOn.size());
+        assertTrue(lockedOn.get(1).startsWith("payment-finalize-"), lockedOn.get(1));
+    }
+
+    @Test
+    void processPaymentAsync_fullFinalizerIsUnavailableAndLeavesPaymentPending() {
+        PaymentStrategyExecutor saturated =
+                new PaymentStrategyExecutor(new PaymentExecutionProperties(2, 10, Duration.ofSeconds(2), null)) {
+                    @Override
+                    public Executor finalizer() {
+                        return task -> {
+                            throw new RejectedExecutionException("finalizer full");
+                        };
+                    }
+                };
+        PaymentServiceImpl service = new PaymentServiceImpl(orderRepo, paymentRepo, Map.of("UPI", upiStrategy),
+                TransactionOperations.withoutTransaction(), saturated, retryEngine, retry, guard);
+        when(orderRepo.findByIdForUpdate(1L)).thenReturn(Optional.of(order));
+        when(upiStrategy.pay(1L, 1000)).thenReturn(true);
+
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> service.processPaymentAsync(1L, PaymentMethod.UPI).join());
+
+        assertInstanceOf(PaymentUnavailableException.class, error.getCause());
+        assertEquals(PaymentStatus.PENDING, payments.get(1L).getStatus());
+        assertEquals(0, order.getPaidAmount());
+    }
+
+    @Test
+    void processPayment_timeoutLeavesPaymentPending() {
+        PaymentStrategyExecutor impatient =
+                new PaymentStrategyExecutor(new PaymentExecutionProperties(2, 10, Duration.ofMillis(50), null));
+        PaymentServiceImpl service = new PaymentServiceImpl(orderRepo, paymentRepo, Map.of("UPI", upiStrategy),
+                TransactionOperations.withoutTransaction(), impatient, retryEngine, retry, guard);
+
+        when(orderRepo.findByIdForUpdate(1L)).thenReturn(Optional.of(order));
+        when(upiStrategy.pay(1L, 1000)).thenAnswer(i -> {
+            Thread.sleep(2000);
+            return true;
+        });
+
+        Payment payment = service.processPayment(1L, PaymentMethod.UPI);
+
+        assertEquals(PaymentStatus.PENDING, payment.getStatus());
+        assertEquals(0, order.getPaidAmount());
+        verify(orderRepo, never()).save(any());
+    }
+
+    @Test
+    void processPayment_transientFailureIsRetriedAndCounted() {
+        when(orderRepo.findByIdForUpdate(1L)).thenReturn(Optional.of(order));
+        when(upiStrategy.pay(1L, 1000))
+                .thenThrow(new TransientPaymentException("gateway busy"))
+                .thenReturn(true);
+
+        Payment payment = paymentService.processPayment(1L, PaymentMethod.UPI);
+
+        assertEquals(PaymentStatus.SUCCESS, payment.getStatus());
+        assertEquals(1, payment.getRetryCount());
+        verify(upiStrategy, times(2)).pay(1L, 1000);
+    }
+
+    @Test
+    void processPayment_declineIsNotRetried() {
+        when(orderRepo.findByIdForUpdate(1L)).thenReturn(Optional.of(order));
+        when(upiStrategy.pay(1L, 1000)).thenReturn(false);
+
+        Payment payment = paymentService.processPayment(1L, PaymentMethod.UPI);
+
+        assertEquals(PaymentStatus.FAILED, payment.getStatus());
+        assertEquals(0, payment.getRetryCount());
+        verify(upiStrategy, times(1)).pay(1L, 1000);
+    }
+
+    @Test
+    void processPayment_openCircuitFailsFastWithoutReserving() {
+        when(orderRepo.findByIdForUpdate(1L)).thenReturn(Optional.of(order));
+        when(upiStrategy.pay(1L, 1000)).thenThrow(new IllegalStateException("gateway down"));
+
+        // Two failed gateway calls reach the breaker's minimum and open it
+        assertThrows(IllegalStateException.class, () -> paymentService.processPayment(1L, PaymentMethod.UPI));
+        assertThrows(IllegalStateException.class, () -> paymentService.processPayment(1L, PaymentMethod.UPI));
+        clearInvocations(orderRepo, paymentRepo, upiStrategy);
+
+        assertThrows(PaymentUnavailableException.class,
+                () -> paymentService.processPayment(1L, PaymentMethod.UPI));
+        verifyNoInteractions(orderRepo, paymentRepo, upiStrategy);
+    }
+
     // ================= RETRY =================
 
     @Test
@@ -135,7 +368,6 @@ class PaymentServiceImplTest {
         order.setPaidAmount(500);
 
         when(orderRepo.findByIdForUpdate(1L)).thenReturn(Optional.of(order));
-        when(paymentRepo.save(any())).thenAnswer(i -> i.getArgument(0));
 
         Payment refund = paymentService.partialRefund(1L, 200);
 
@@ -169,31 +401,23 @@ class PaymentServiceImplTest {
 
     @Test
     void getBill_success() {
-        MenuItem item = new MenuItem();
-        item.setPrice(100);
-
-        OrderItem oi = new OrderItem();
-        oi.setMenuItem(item);
-        oi.setQuantity(2);
-
-        order.setItems(List.of(oi));
-        order.setTotalAmount(236); // 200 + 36 tax
-        order.setPaidAmount(100);
-
-        when(orderRepo.findById(1L)).thenReturn(Optional.of(order));
-
-        Map<String, Double> bill = paymentService.getBill(1L);
-
-        assertEquals(200, bill.get("itemsTotal"));
-        assertEquals(36, bill.get("tax"));
-        assertEquals(236, bill.get("grandTotal"));
-        assertEquals(100, bill.get("paidAmount"));
-        assertEquals(136, bill.get("remainingAmount"));
+        // 200 + 36 tax + 20 delivery
+        when(orderRepo.findBillById(1L)).thenReturn(Optional.of(new OrderBill(200, 36, 0, 20, 256, 100)));
+
+        Bill bill = paymentService.getBill(1L);
+
+        assertEquals(200, bill.itemsTotal());
+        assertEquals(36, bill.tax());
+        assertEquals(20, bill.deliveryCharge());
+        assertEquals(256, bill.grandTotal());
+        assertEquals(100, bill.paidAmount());
+        assertEquals(156, bill.remainingAmount());
+        verify(orderRepo, never()).findById(any());
     }
 
     @Test
     void getBill_orderNotFound() {
-        when(orderRepo.findById(1L)).thenReturn(Optional.empty());
+        when(orderRepo.findBillById(1L)).thenReturn(Optional.empty());
 
         assertThrows(PaymentException.class,
                 () -> paymentService.getBill(1L));
@@ -0,0 +1,108 @@
+package com.Restaurant.RestaurantOrderManagementSystem.Service;
+
+import com.Restaurant.RestaurantOrderManagementSystem.config.PaymentExecutionProperties;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.PaymentMethod;
+import com.Restaurant.RestaurantOrderManagementSystem.service.impl.PaymentStrategyExecutor;
+import com.Restaurant.RestaurantOrderManagementSystem.service.impl.StubPaymentGateway;
+import com.Restaurant.RestaurantOrderManagementSystem.service.impl.UpiPayment;
+import com.Restaurant.RestaurantOrderManagementSystem.service.strategy.PaymentResult;
+import com.Restaurant.RestaurantOrderManagementSystem.service.strategy.PaymentResult.Outcome;
+import com.Restaurant.RestaurantOrderManagementSystem.service.strategy.PaymentStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentStrategyExecutorTest {
+
+    @Test
+    void pay_slowGatewayDoesNotSerializePayments() {
+        PaymentStrategyExecutor executor = executor(8, 10, Duration.ofSeconds(5));
+        PaymentStrategy upi = new UpiPayment(new StubPaymentGateway(Duration.ofMillis(300), 0));
+
+        long start = System.nanoTime();
+        List<CompletableFuture<PaymentResult>> futures = IntStream.range(0, 8)
+                .mapToObj(i -> executor.pay(PaymentMethod.UPI, upi, (long) i, 100))
+                .toList();
+        long submitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        futures.forEach(f -> assertEquals(Outcome.SUCCESS, f.join().outcome()));
+        long totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Submitting never waits for the gateway, and eight 300 ms calls overlap instead of taking 2.4 s
+        assertTrue(submitMillis < 300, "submission blocked for " + submitMillis + " ms");
+        assertTrue(totalMillis < 1500, "payments took " + totalMillis + " ms");
+    }
+
+    @Test
+    void pay_timeoutCancelsTheCall() throws Exception {
+        PaymentStrategyExecutor executor = executor(1, 1, Duration.ofMillis(50));
+        CountDownLatch interrupted = new CountDownLatch(1);
+        PaymentStrategy hanging = strategy(() -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return true;
+        });
+
+        PaymentResult result = executor.pay(PaymentMethod.UPI, hanging, 1L, 100).join();
+
+        assertEquals(Outcome.TIMED_OUT, result.outcome());
+        assertFalse(result.success());
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS), "timed-out call was not interrupted");
+    }
+
+    @Test
+    void pay_saturatedMethodIsRejectedWithoutAffectingOthers() {
+        PaymentStrategyExecutor executor = executor(1, 1, Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        PaymentStrategy blocked = strategy(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        });
+
+        CompletableFuture<PaymentResult> running = executor.pay(PaymentMethod.CREDIT_CARD, blocked, 1L, 100);
+        CompletableFuture<PaymentResult> queued = executor.pay(PaymentMethod.CREDIT_CARD, blocked, 2L, 100);
+        PaymentResult rejected = executor.pay(PaymentMethod.CREDIT_CARD, blocked, 3L, 100).join();
+        PaymentResult otherMethod = executor.pay(PaymentMethod.CASH, strategy(() -> true), 4L, 100).join();
+
+        assertEquals(Outcome.REJECTED, rejected.outcome());
+        assertEquals(Outcome.SUCCESS, otherMethod.outcome());
+
+        release.countDown();
+        assertEquals(Outcome.SUCCESS, running.join().outcome());
+        assertEquals(Outcome.SUCCESS, queued.join().outcome());
+    }
+
+    private static PaymentStrategyExecutor executor(int threads, int queue, Duration timeout) {
+        return new PaymentStrategyExecutor(new PaymentExecutionProperties(threads, queue, timeout, Map.of()));
+    }
+
+    private static PaymentStrategy strategy(BooleanSupplier pay) {
+        return new PaymentStrategy() {
+            @Override
+            public boolean pay(Long orderId, long amount) {
+                return pay.getAsBoolean();
+            }
+
+            @Override
+            public boolean refund(Long orderId, long amount) {
+                return true;
+            }
+        };
+    }
+}
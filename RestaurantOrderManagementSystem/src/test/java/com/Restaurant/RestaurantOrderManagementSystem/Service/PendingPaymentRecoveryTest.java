@@ -0,0 +1,112 @@
+package com.Restaurant.RestaurantOrderManagementSystem.Service;
+
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Order;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.Payment;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.PaymentMethod;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.PaymentStatus;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.OrderRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.PaymentRepository;
+import com.Restaurant.RestaurantOrderManagementSystem.service.impl.PendingPaymentRecovery;
+import com.Restaurant.RestaurantOrderManagementSystem.service.strategy.PaymentGateway;
+import com.Restaurant.RestaurantOrderManagementSystem.service.strategy.PaymentGateway.ChargeStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PendingPaymentRecoveryTest {
+
+    @Mock
+    private PaymentRepository paymentRepo;
+
+    @Mock
+    private OrderRepository orderRepo;
+
+    @Mock
+    private PaymentGateway gateway;
+
+    private PendingPaymentRecovery recovery;
+
+    private Order order;
+    private Payment payment;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        recovery = new PendingPaymentRecovery(paymentRepo, orderRepo, gateway,
+                TransactionOperations.withoutTransaction(), Duration.ofMinutes(5));
+
+        order = new Order();
+        order.setId(1L);
+        order.setTotalAmount(1000);
+        order.setPaidAmount(0);
+
+        payment = new Payment();
+        payment.setId(7L);
+        payment.setOrderId(1L);
+        payment.setAmount(1000);
+        payment.setMethod(PaymentMethod.UPI);
+        payment.setStatus(PaymentStatus.PENDING);
+        payment.setCreatedAt(LocalDateTime.now().minusMinutes(10));
+
+        when(paymentRepo.findByStatusAndCreatedAtBefore(eq(PaymentStatus.PENDING), any())).thenReturn(List.of(payment));
+        when(paymentRepo.findById(7L)).thenReturn(Optional.of(payment));
+        when(orderRepo.findByIdForUpdate(1L)).thenReturn(Optional.of(order));
+    }
+
+    @Test
+    void chargedPayment_isMarkedSuccessfulAndCounted() {
+        when(gateway.status(PaymentMethod.UPI, 1L)).thenReturn(ChargeStatus.CHARGED);
+
+        assertEquals(1, recovery.recoverStalePayments());
+
+        assertEquals(PaymentStatus.SUCCESS, payment.getStatus());
+        assertEquals(1000, order.getPaidAmount());
+        verify(orderRepo).save(order);
+    }
+
+    @Test
+    void unchargedPayment_isMarkedFailed() {
+        when(gateway.status(PaymentMethod.UPI, 1L)).thenReturn(ChargeStatus.NOT_CHARGED);
+
+        assertEquals(1, recovery.recoverStalePayments());
+
+        assertEquals(PaymentStatus.FAILED, payment.getStatus());
+        assertEquals(0, order.getPaidAmount());
+        verify(orderRepo, never()).save(any());
+    }
+
+    @Test
+    void unknownOutcome_staysPendingWithoutLockingTheOrder() {
+        when(gateway.status(PaymentMethod.UPI, 1L)).thenReturn(ChargeStatus.UNKNOWN);
+
+        assertEquals(0, recovery.recoverStalePayments());
+
+        assertEquals(PaymentStatus.PENDING, payment.getStatus());
+        verifyNoInteractions(orderRepo);
+        verify(paymentRepo, never()).save(any());
+    }
+
+    @Test
+    void paymentFinalizedMeanwhile_isLeftAlone() {
+        when(gateway.status(PaymentMethod.UPI, 1L)).thenReturn(ChargeStatus.NOT_CHARGED);
+        Payment finalized = new Payment();
+        finalized.setId(7L);
+        finalized.setStatus(PaymentStatus.SUCCESS);
+        when(paymentRepo.findById(7L)).thenReturn(Optional.of(finalized));
+
+        assertEquals(0, recovery.recoverStalePayments());
+
+        assertEquals(PaymentStatus.SUCCESS, finalized.getStatus());
+        verify(paymentRepo, never()).save(any());
+    }
+}
@@ -0,0 +1,124 @@
+package com.Restaurant.RestaurantOrderManagementSystem.Service;
+
+import com.Restaurant.RestaurantOrderManagementSystem.cache.CacheInvalidationBus;
+import com.Restaurant.RestaurantOrderManagementSystem.entities.PricingRule;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.Category;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.DietType;
+import com.Restaurant.RestaurantOrderManagementSystem.enums.PricingRuleType;
+import com.Restaurant.RestaurantOrderManagementSystem.event.PricingRulesChangedEvent;
+import com.Restaurant.RestaurantOrderManagementSystem.money.Money;
+import com.Restaurant.RestaurantOrderManagementSystem.pricing.PricingEngine;
+import com.Restaurant.RestaurantOrderManagementSystem.pricing.PricingPlan;
+import com.Restaurant.RestaurantOrderManagementSystem.repository.PricingRuleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PricingEngineTest {
+
+    private static final int PIZZA = PricingPlan.slotOf(Category.MAIN_COURSE, DietType.VEG);
+    private static final int CHICKEN = PricingPlan.slotOf(Category.MAIN_COURSE, DietType.NON_VEG);
+    private static final int UNCATEGORISED = PricingPlan.slotOf(null, null);
+
+    @Mock
+    private PricingRuleRepository ruleRepo;
+
+    private PricingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        engine = new PricingEngine(ruleRepo, CacheInvalidationBus.NONE);
+    }
+
+    @Test
+    void compile_withoutRulesUsesTheDefaultTax() {
+        PricingPlan plan = PricingPlan.DEFAULT;
+
+        assertEquals(Money.tax(10_000), plan.lineTax(PIZZA, 10_000));
+        assertEquals(0, plan.packagingFee(PIZZA, 3));
+        assertEquals(0, plan.deliveryCharge(2_000));
+    }
+
+    @Test
+    void compile_mostSpecificRuleWins() {
+        PricingPlan plan = PricingPlan.compile(1L, List.of(
+                tax(1L, null, null, null, 1_000),
+                tax(2L, null, Category.MAIN_COURSE, null, 1_200),
+                tax(3L, null, null, DietType.NON_VEG, 2_800),
+                tax(4L, 1L, null, DietType.VEG, 500),
+                tax(5L, 2L, null, null, 0)));
+
+        // Branch rule beats the shared category rule
+        assertEquals(50, plan.lineTax(PIZZA, 1_000));
+        // Shared category rule beats the shared diet type rule
+        assertEquals(120, plan.lineTax(CHICKEN, 1_000));
+        // Only the catch-all matches items without category or diet type
+        assertEquals(100, plan.lineTax(UNCATEGORISED, 1_000));
+    }
+
+    @Test
+    void compile_newestOfEquallySpecificRulesWins() {
+        PricingPlan plan = PricingPlan.compile(1L, List.of(
+                tax(7L, null, null, null, 900),
+                tax(3L, null, null, null, 100)));
+
+        assertEquals(90, plan.lineTax(PIZZA, 1_000));
+    }
+
+    @Test
+    void deliveryCharge_picksTheBandOfTheDistance() {
+        PricingPlan plan = PricingPlan.compile(1L, List.of(
+                delivery(1L, null, 0, 9_900),
+                delivery(2L, 1L, 0, 2_000),
+                delivery(3L, 1L, 3_000, 4_000),
+                delivery(4L, 1L, 8_000, 7_500)));
+
+        // Branch bands replace the shared ones
+        assertEquals(0, plan.deliveryCharge(0));
+        assertEquals(2_000, plan.deliveryCharge(1));
+        assertEquals(4_000, plan.deliveryCharge(3_000));
+        assertEquals(4_000, plan.deliveryCharge(7_999));
+        assertEquals(7_500, plan.deliveryCharge(12_000));
+    }
+
+    @Test
+    void plan_isCompiledOnceAndSwappedOnChange() {
+        when(ruleRepo.findByBranchIdOrBranchIdIsNull(1L))
+                .thenReturn(List.of())
+                .thenReturn(List.of(new PricingRule(1L, 1L, PricingRuleType.PACKAGING_FEE, null, null, 0, 15, 0)));
+
+        PricingPlan before = engine.plan(1L);
+        assertSame(before, engine.plan(1L));
+
+        engine.onRulesChanged(new PricingRulesChangedEvent(1L));
+
+        PricingPlan after = engine.plan(1L);
+        assertNotSame(before, after);
+        assertEquals(0, before.packagingFee(PIZZA, 2));
+        assertEquals(30, after.packagingFee(PIZZA, 2));
+        verify(ruleRepo, times(2)).findByBranchIdOrBranchIdIsNull(1L);
+    }
+
+    @Test
+    void onRulesChanged_ignoresBranchesNotYetPriced() {
+        engine.onRulesChanged(new PricingRulesChangedEvent(2L));
+        engine.onRulesChanged(new PricingRulesChangedEvent(null));
+
+        verify(ruleRepo, never()).findByBranchIdOrBranchIdIsNull(any());
+    }
+
+    private static PricingRule tax(Long id, Long branchId, Category category, DietType dietType, int basisPoints) {
+        return new PricingRule(id, branchId, PricingRuleType.TAX, category, dietType, basisPoints, 0, 0);
+    }
+
+    private static PricingRule delivery(Long id, Long branchId, int fromMeters, long amount) {
+        return new PricingRule(id, branchId, PricingRuleType.DELIVERY_FEE, null, null, 0, amount, fromMeters);
+    }
+}
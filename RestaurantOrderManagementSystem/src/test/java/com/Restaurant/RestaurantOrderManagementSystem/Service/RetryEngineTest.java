@@ -0,0 +1,107 @@
+package com.Restaurant.RestaurantOrderManagementSystem.Service;
+
+import com.Restaurant.RestaurantOrderManagementSystem.resilience.RetryBudget;
+import com.Restaurant.RestaurantOrderManagementSystem.resilience.RetryEngine;
+import com.Restaurant.RestaurantOrderManagementSystem.resilience.RetryPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryEngineTest {
+
+    private final RetryEngine engine = new RetryEngine();
+
+    private static RetryPolicy policy(int maxAttempts, double budgetRatio, double budgetMinPerSecond) {
+        return new RetryPolicy(maxAttempts, Duration.ofMillis(1), 2, Duration.ofMillis(10), 0.5,
+                budgetRatio, budgetMinPerSecond);
+    }
+
+    @Test
+    void execute_retriesUntilResultIsNotRetryable() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = engine.execute("ok-on-third", policy(5, 1, 100),
+                attempt -> CompletableFuture.completedFuture(calls.incrementAndGet() < 3 ? "busy" : "done"),
+                "busy"::equals).join();
+
+        assertEquals("done", result);
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void execute_stopsAtMaxAttempts() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = engine.execute("always-busy", policy(3, 1, 100),
+                attempt -> CompletableFuture.completedFuture("busy-" + calls.incrementAndGet()),
+                r -> r.startsWith("busy")).join();
+
+        assertEquals("busy-3", result);
+    }
+
+    @Test
+    void execute_exhaustedBudgetStopsRetrying() {
+        // No steady refill and a ratio of zero: only the initial allowance of one retry exists
+        RetryPolicy policy = policy(5, 0, 0);
+        AtomicInteger calls = new AtomicInteger();
+
+        engine.execute("brownout", policy,
+                attempt -> CompletableFuture.completedFuture(calls.incrementAndGet()), r -> true).join();
+        int firstCall = calls.getAndSet(0);
+        engine.execute("brownout", policy,
+                attempt -> CompletableFuture.completedFuture(calls.incrementAndGet()), r -> true).join();
+
+        assertEquals(2, firstCall);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_neverClassifiesOrRetriesOnTheTimer() {
+        List<String> threads = new CopyOnWriteArrayList<>();
+
+        engine.execute("off-timer", policy(3, 1, 100),
+                attempt -> {
+                    threads.add(Thread.currentThread().getName());
+                    return CompletableFuture.completedFuture(attempt);
+                },
+                attempt -> {
+                    threads.add(Thread.currentThread().getName());
+                    return attempt < 3;
+                }).join();
+
+        // First attempt on the caller, then classify, retry, classify, retry
+        assertEquals(5, threads.size());
+        threads.subList(1, 5).forEach(name -> assertTrue(name.startsWith("retry-worker-"), name));
+    }
+
+    @Test
+    void backoff_growsExponentiallyUpToTheCapWithJitterBelowIt() {
+        RetryPolicy policy = new RetryPolicy(5, Duration.ofMillis(100), 2, Duration.ofMillis(350), 0.5, 0, 0);
+
+        assertEquals(Duration.ofMillis(100), policy.backoff(1, 0));
+        assertEquals(Duration.ofMillis(200), policy.backoff(2, 0));
+        assertEquals(Duration.ofMillis(350), policy.backoff(3, 0));
+        assertEquals(Duration.ofMillis(100), policy.backoff(2, 1));
+    }
+
+    @Test
+    void budget_allowsRetriesInProportionToTraffic() {
+        AtomicLong now = new AtomicLong();
+        RetryBudget budget = new RetryBudget(0.5, 0, now::get);
+
+        assertTrue(budget.tryWithdraw()); // initial allowance
+        assertFalse(budget.tryWithdraw());
+
+        budget.deposit();
+        assertFalse(budget.tryWithdraw());
+        budget.deposit();
+        assertTrue(budget.tryWithdraw());
+    }
+}
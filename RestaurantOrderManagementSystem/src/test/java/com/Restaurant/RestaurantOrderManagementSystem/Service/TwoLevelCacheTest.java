@@ -0,0 +1,220 @@
+package com.Restaurant.RestaurantOrderManagementSystem.Service;
+
+import com.Restaurant.RestaurantOrderManagementSystem.cache.CacheInvalidation;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.CacheInvalidationBus;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.RedisCacheTier;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.RemoteCacheTier;
+import com.Restaurant.RestaurantOrderManagementSystem.cache.TwoLevelCacheManager;
+import com.Restaurant.RestaurantOrderManagementSystem.config.TieredCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs two cache managers, standing for two application instances, against an
+ * in-process stand-in for the shared Redis tier and its pub/sub channel.
+ */
+class TwoLevelCacheTest {
+
+    private static final TieredCacheProperties PROPERTIES = new TieredCacheProperties(100, Duration.ofMinutes(10),
+            new TieredCacheProperties.Redis(true, Duration.ofHours(1), "test:", "test:invalidations", Duration.ofSeconds(5)));
+
+    private SharedTier shared;
+    private SharedChannel channel;
+    private Cache nodeA;
+    private Cache nodeB;
+
+    @BeforeEach
+    void setUp() {
+        shared = new SharedTier();
+        channel = new SharedChannel();
+        nodeA = new TwoLevelCacheManager(PROPERTIES, List.of("branches"), shared, channel.join()).getCache("branches");
+        nodeB = new TwoLevelCacheManager(PROPERTIES, List.of("branches"), shared, channel.join()).getCache("branches");
+    }
+
+    @Test
+    void get_loadsOnceAcrossInstances() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("Main#1", nodeA.get(1L, () -> "Main#" + loads.incrementAndGet()));
+        assertEquals("Main#1", nodeB.get(1L, () -> "Main#" + loads.incrementAndGet()));
+
+        // Node B found the value in the shared tier and now holds it locally as well
+        shared.values.clear();
+        assertEquals("Main#1", nodeB.get(1L, String.class));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void evict_dropsLocalCopiesOnOtherInstances() {
+        nodeA.put(1L, "Main");
+        assertEquals("Main", nodeB.get(1L, String.class));
+
+        nodeA.evict(1L);
+
+        assertNull(nodeB.get(1L));
+        assertNull(nodeA.get(1L));
+    }
+
+    @Test
+    void clear_dropsEveryLocalCopy() {
+        nodeA.put(1L, "Main");
+        nodeA.put(2L, "Airport");
+        nodeB.get(1L);
+        nodeB.get(2L);
+
+        nodeB.clear();
+
+        assertNull(nodeA.get(1L));
+        assertNull(nodeA.get(2L));
+    }
+
+    @Test
+    void sharedTierDown_fallsBackToLocalCache() {
+        shared.down = true;
+        AtomicInteger loads = new AtomicInteger();
+
+        nodeA.get(1L, () -> "Main#" + loads.incrementAndGet());
+        nodeA.get(1L, () -> "Main#" + loads.incrementAndGet());
+
+        assertEquals("Main#1", nodeA.get(1L, String.class));
+        assertEquals(1, loads.get());
+        assertNull(nodeB.get(1L));
+    }
+
+    @Test
+    void redisTier_skipsRedisAfterFailureAndClearsLocalCachesOnReconnect() {
+        @SuppressWarnings("unchecked")
+        RedisTemplate<String, Object> template = mock(RedisTemplate.class);
+        @SuppressWarnings("unchecked")
+        ValueOperations<String, Object> values = mock(ValueOperations.class);
+        when(template.opsForValue()).thenReturn(values);
+        when(values.get("test:branches:1"))
+                .thenThrow(new RedisConnectionFailureException("refused"))
+                .thenReturn("Main");
+
+        MutableClock clock = new MutableClock();
+        RedisCacheTier tier = new RedisCacheTier(template, PROPERTIES.redis(), clock);
+        AtomicInteger reconnects = new AtomicInteger();
+        tier.onReconnect(reconnects::incrementAndGet);
+
+        assertNull(tier.get("branches", "1"));
+        assertNull(tier.get("branches", "1"));
+        verify(values, times(1)).get("test:branches:1");
+
+        clock.advance(Duration.ofSeconds(6));
+        assertEquals("Main", tier.get("branches", "1"));
+        assertEquals(1, reconnects.get());
+    }
+
+    /**
+     * Shared tier stand-in that can be taken down like an unreachable Redis.
+     */
+    private static class SharedTier implements RemoteCacheTier {
+
+        final Map<String, Object> values = new ConcurrentHashMap<>();
+        volatile boolean down;
+
+        @Override
+        public Object get(String cache, String key) {
+            return down ? null : values.get(cache + ":" + key);
+        }
+
+        @Override
+        public void put(String cache, String key, Object value) {
+            if (!down) {
+                values.put(cache + ":" + key, value);
+            }
+        }
+
+        @Override
+        public void evict(String cache, String key) {
+            if (!down) {
+                values.remove(cache + ":" + key);
+            }
+        }
+
+        @Override
+        public void clear(String cache) {
+            if (!down) {
+                values.keySet().removeIf(key -> key.startsWith(cache + ":"));
+            }
+        }
+
+        @Override
+        public void onReconnect(Runnable listener) {
+        }
+    }
+
+    /**
+     * Pub/sub stand-in delivering each message synchronously to every other member.
+     */
+    private static class SharedChannel {
+
+        final List<Member> members = new CopyOnWriteArrayList<>();
+
+        CacheInvalidationBus join() {
+            Member member = new Member();
+            members.add(member);
+            return member;
+        }
+
+        class Member implements CacheInvalidationBus {
+
+            final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+            @Override
+            public void publish(CacheInvalidation invalidation) {
+                members.stream()
+                        .filter(other -> other != this)
+                        .forEach(other -> other.listeners.forEach(listener -> listener.accept(invalidation)));
+            }
+
+            @Override
+            public void subscribe(Consumer<CacheInvalidation> listener) {
+                listeners.add(listener);
+            }
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -2,9 +2,12 @@ package com.Restaurant.RestaurantOrderManagementSystem.Service;
 
 import com.Restaurant.RestaurantOrderManagementSystem.exception.PaymentException;
 import com.Restaurant.RestaurantOrderManagementSystem.service.impl.UpiPayment;
+import com.Restaurant.RestaurantOrderManagementSystem.service.impl.StubPaymentGateway;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class UpiPaymentTest {
@@ -13,7 +16,7 @@ class UpiPaymentTest {
 
     @BeforeEach
     void setUp() {
-        upiPayment = new UpiPayment();
+        upiPayment = new UpiPayment(new StubPaymentGateway(Duration.ZERO, 0));
     }
 
     // ---------------- PAY TESTS ----------------
@@ -21,7 +24,7 @@ class UpiPaymentTest {
     @Test
     void pay_successfulPayment_returnsTrue() {
         Long orderId = 1L;
-        double amount = 500.0;
+        long amount = 50_000;
 
         boolean result = upiPayment.pay(orderId, amount);
 
@@ -31,7 +34,7 @@ class UpiPaymentTest {
     @Test
     void pay_zeroAmount_throwsException() {
         Long orderId = 1L;
-        double amount = 0.0;
+        long amount = 0;
 
         PaymentException ex = assertThrows(
                 PaymentException.class,
@@ -44,7 +47,7 @@ class UpiPaymentTest {
     @Test
     void pay_negativeAmount_throwsException() {
         Long orderId = 1L;
-        double amount = -10.0;
+        long amount = -1_000;
 
         assertThrows(PaymentException.class,
                 () -> upiPayment.pay(orderId, amount));
@@ -55,7 +58,7 @@ class UpiPaymentTest {
     @Test
     void refund_successfulRefund_returnsTrue() {
         Long orderId = 2L;
-        double amount = 200.0;
+        long amount = 20_000;
 
         boolean result = upiPayment.refund(orderId, amount);
 
@@ -65,7 +68,7 @@ class UpiPaymentTest {
     @Test
     void refund_invalidAmount_throwsException() {
         Long orderId = 2L;
-        double amount = -50.0;
+        long amount = -5_000;
 
         assertThrows(PaymentException.class,
                 () -> upiPayment.refund(orderId, amount));